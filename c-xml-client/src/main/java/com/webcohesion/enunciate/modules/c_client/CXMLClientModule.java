@@ -146,6 +146,10 @@ public class CXMLClientModule extends BasicGeneratingModule implements ApiFeatur
       throw new EnunciateException("JAXB naming conflicts detected.");
     }
 
+    for (String typeNamingConflict : JAXBCodeErrors.findConflictingTypeNamingErrors(this.jaxbModule.getJaxbContext())) {
+      warn(typeNamingConflict);
+    }
+
     File srcDir = getSourceDir();
     srcDir.mkdirs();
 
@@ -17,11 +17,15 @@ package com.webcohesion.enunciate;
 
 import com.sun.tools.javac.api.JavacTool;
 import com.webcohesion.enunciate.api.ApiRegistry;
+import com.webcohesion.enunciate.api.detached.ApiModelSnapshot;
 import com.webcohesion.enunciate.artifacts.Artifact;
 import com.webcohesion.enunciate.io.InvokeEnunciateModule;
 import com.webcohesion.enunciate.module.ApiRegistryAwareModule;
+import com.webcohesion.enunciate.module.BasicGeneratingModule;
+import com.webcohesion.enunciate.module.CompilerModelReleasingModule;
 import com.webcohesion.enunciate.module.DependencySpec;
 import com.webcohesion.enunciate.module.DependingModuleAwareModule;
+import com.webcohesion.enunciate.module.DetachedApiModelModule;
 import com.webcohesion.enunciate.module.EnunciateModule;
 import org.apache.commons.configuration.ConfigurationException;
 import org.jgrapht.DirectedGraph;
@@ -68,7 +72,7 @@ public class Enunciate implements Runnable {
   private final List<String> compilerArgs = new ArrayList<String>();
   private final Set<Artifact> artifacts = new TreeSet<Artifact>();
   private final Map<String, File> exports = new HashMap<String, File>();
-  private final ApiRegistry apiRegistry = new ApiRegistry();
+  private ApiRegistry apiRegistry = new ApiRegistry();
 
   public List<EnunciateModule> getModules() {
     return modules;
@@ -126,6 +130,15 @@ public class Enunciate implements Runnable {
     return this;
   }
 
+  /**
+   * The executor service for work that can be done in parallel, or null if Enunciate is to run in a single thread.
+   *
+   * @return The executor service, or null.
+   */
+  public ExecutorService getExecutorService() {
+    return executorService;
+  }
+
   public Enunciate setExecutorService(ExecutorService executorService) {
     this.executorService = executorService;
     return this;
@@ -538,6 +551,14 @@ public class Enunciate implements Runnable {
   @Override
   public void run() {
     if (this.modules != null && !this.modules.isEmpty()) {
+      File snapshotSource = this.configuration.getApiModelSnapshotSource();
+      if (snapshotSource != null) {
+        //no need for the compiler; the API model has already been resolved.
+        invokeSnapshotModules(snapshotSource);
+        exportArtifacts();
+        return;
+      }
+
       //scan for any included types.
       List<File> classpath = this.classpath == null ? new ArrayList<File>() : this.classpath;
       List<File> sourcepath = this.sourcepath == null ? new ArrayList<File>() : this.sourcepath;
@@ -671,6 +692,9 @@ public class Enunciate implements Runnable {
       EnunciateAnnotationProcessor processor = new EnunciateAnnotationProcessor(this, includedTypes);
       task.setProcessors(Collections.singletonList(processor));
       Boolean javacSuccess = task.call();
+      EnunciateContext detachedContext = processor.detachedContext;
+      Map<String, ? extends EnunciateModule> detachedModules = processor.detachedModules;
+      DirectedGraph<String, DefaultEdge> detachedGraph = processor.detachedGraph;
       if (!javacSuccess || !processor.processed) {
         String outputText = compilerOutput.toString();
         try {
@@ -730,40 +754,68 @@ public class Enunciate implements Runnable {
         getLogger().debug("[javac] [%s] %s:%s:%s %s", diagnostic.getKind(), diagnostic.getSource(), diagnostic.getLineNumber(), diagnostic.getColumnNumber(), diagnostic);
       }
 
-      HashSet<String> exportedArtifacts = new HashSet<String>();
-      for (Artifact artifact : artifacts) {
-        String artifactId = artifact.getId();
-        Map.Entry<String, File> export = null;
-        for (Map.Entry<String, File> entry : this.exports.entrySet()) {
-          if (artifactId.equals(entry.getKey()) || artifact.getAliases().contains(entry.getKey())) {
-            export = entry;
-          }
-        }
+      if (detachedContext != null) {
+        //drop our references to the compiler (the diagnostics reference compiler symbols, too) so it can be reclaimed.
+        task = null;
+        processor = null;
+        diagnostics = null;
 
-        if (export != null) {
-          File dest = export.getValue();
-          getLogger().debug("Exporting artifact %s to %s.", export.getKey(), dest);
+        File snapshotFile = this.configuration.getApiModelSnapshotFile();
+        if (snapshotFile != null) {
+          ApiModelSnapshot snapshot = ApiModelSnapshot.of(detachedContext.getApiRegistry(), this);
           try {
-            artifact.exportTo(dest, this);
+            snapshot.writeTo(snapshotFile);
           }
           catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new EnunciateException(e);
           }
-          exportedArtifacts.add(export.getKey());
+          getLogger().info("API model snapshot %s written to %s.", snapshot.getContentHash(), snapshotFile);
         }
-      }
 
-      for (String export : this.exports.keySet()) {
-        if (!exportedArtifacts.remove(export)) {
-          getLogger().warn("Unknown artifact '%s'.  Artifact will not be exported.", export);
-        }
+        invokeDetachedModules(detachedContext, detachedModules, detachedGraph);
       }
+
+      exportArtifacts();
     }
     else {
       this.logger.warn("No Enunciate modules have been loaded. No work was done.");
     }
   }
 
+  /**
+   * Export the artifacts that have been configured to be exported.
+   */
+  protected void exportArtifacts() {
+    HashSet<String> exportedArtifacts = new HashSet<String>();
+    for (Artifact artifact : artifacts) {
+      String artifactId = artifact.getId();
+      Map.Entry<String, File> export = null;
+      for (Map.Entry<String, File> entry : this.exports.entrySet()) {
+        if (artifactId.equals(entry.getKey()) || artifact.getAliases().contains(entry.getKey())) {
+          export = entry;
+        }
+      }
+
+      if (export != null) {
+        File dest = export.getValue();
+        getLogger().debug("Exporting artifact %s to %s.", export.getKey(), dest);
+        try {
+          artifact.exportTo(dest, this);
+        }
+        catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+        exportedArtifacts.add(export.getKey());
+      }
+    }
+
+    for (String export : this.exports.keySet()) {
+      if (!exportedArtifacts.remove(export)) {
+        getLogger().warn("Unknown artifact '%s'.  Artifact will not be exported.", export);
+      }
+    }
+  }
+
   private String findEncoding(List<String> compilerArgs) {
     for (int i = 0; i < compilerArgs.size(); i++) {
       String arg = compilerArgs.get(i);
@@ -896,6 +948,133 @@ public class Enunciate implements Runnable {
     return graph;
   }
 
+  /**
+   * Find the modules that can be invoked against the API model after it has been detached from the compiler, i.e. the
+   * modules that read the API model exclusively through the API registry and upon which only other such modules depend.
+   *
+   * @param modules The enabled modules.
+   * @param graph The module graph.
+   * @return The names of the modules that can be invoked against the detached API model.
+   */
+  protected Set<String> findDetachedModules(Map<String, ? extends EnunciateModule> modules, DirectedGraph<String, DefaultEdge> graph) {
+    Set<String> detachedModules = new TreeSet<String>();
+    for (EnunciateModule module : modules.values()) {
+      if (module instanceof DetachedApiModelModule) {
+        detachedModules.add(module.getName());
+      }
+    }
+
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      Iterator<String> moduleIt = detachedModules.iterator();
+      while (moduleIt.hasNext()) {
+        String module = moduleIt.next();
+        for (DefaultEdge edge : graph.outgoingEdgesOf(module)) {
+          if (!detachedModules.contains(graph.getEdgeTarget(edge))) {
+            //a module that needs the compiler depends on this one, so it can't wait for the compiler to finish.
+            moduleIt.remove();
+            changed = true;
+            break;
+          }
+        }
+      }
+    }
+
+    return detachedModules;
+  }
+
+  /**
+   * Select a subset of the module graph.
+   *
+   * @param graph The module graph.
+   * @param modules The modules to select.
+   * @return The subgraph of the specified modules.
+   */
+  protected DirectedGraph<String, DefaultEdge> subgraph(DirectedGraph<String, DefaultEdge> graph, Set<String> modules) {
+    DirectedGraph<String, DefaultEdge> subgraph = new DefaultDirectedGraph<String, DefaultEdge>(DefaultEdge.class);
+    for (String module : modules) {
+      subgraph.addVertex(module);
+    }
+
+    for (DefaultEdge edge : graph.edgeSet()) {
+      String source = graph.getEdgeSource(edge);
+      String target = graph.getEdgeTarget(edge);
+      if (modules.contains(source) && modules.contains(target)) {
+        subgraph.addEdge(source, target);
+      }
+    }
+
+    return subgraph;
+  }
+
+  /**
+   * Invoke the detached modules against the detached API model. The compiler has finished at this point, so the
+   * references to the model backed by the compiler are released first.
+   *
+   * @param context The context (without a processing environment) holding the detached API registry.
+   * @param detachedModules The modules to invoke.
+   * @param graph The graph of the modules to invoke.
+   */
+  protected void invokeDetachedModules(EnunciateContext context, Map<String, ? extends EnunciateModule> detachedModules, DirectedGraph<String, DefaultEdge> graph) {
+    ApiRegistry registry = context.getApiRegistry();
+    this.apiRegistry = registry;
+    for (EnunciateModule module : this.modules) {
+      if (module instanceof CompilerModelReleasingModule) {
+        ((CompilerModelReleasingModule) module).releaseCompilerModel();
+      }
+      module.init(context);
+    }
+
+    for (EnunciateModule module : detachedModules.values()) {
+      ((ApiRegistryAwareModule) module).setApiRegistry(registry);
+    }
+
+    getLogger().debug("Invoking modules %s against the detached API model.", new EnunciateLogger.ListWriter(detachedModules.keySet()));
+    composeEngine(context, detachedModules, graph).toList().toBlocking().single();
+  }
+
+  /**
+   * Invoke the modules that only read the API model against a previously-written snapshot of the API model. The Java
+   * compiler isn't invoked, so the modules that need the compiler are skipped.
+   *
+   * @param snapshotSource The snapshot.
+   */
+  protected void invokeSnapshotModules(File snapshotSource) {
+    ApiModelSnapshot snapshot;
+    try {
+      snapshot = ApiModelSnapshot.readFrom(snapshotSource);
+    }
+    catch (IOException e) {
+      throw new EnunciateException(e);
+    }
+    getLogger().info("Using API model snapshot %s (%s).", snapshotSource, snapshot.getContentHash());
+
+    Map<String, ? extends EnunciateModule> enabledModules = findEnabledModules();
+    DirectedGraph<String, DefaultEdge> graph = buildModuleGraph(enabledModules);
+    TreeMap<String, EnunciateModule> snapshotModules = new TreeMap<String, EnunciateModule>();
+    for (EnunciateModule module : enabledModules.values()) {
+      if (module instanceof DetachedApiModelModule) {
+        snapshotModules.put(module.getName(), module);
+      }
+    }
+
+    Set<String> skippedModules = new TreeSet<String>(enabledModules.keySet());
+    skippedModules.removeAll(snapshotModules.keySet());
+    if (!skippedModules.isEmpty()) {
+      getLogger().info("Modules %s need the Java compiler and won't be invoked against the API model snapshot.", new EnunciateLogger.ListWriter(skippedModules));
+    }
+
+    EnunciateContext context = new EnunciateContext(null, getLogger(), snapshot.toApiRegistry(), this.configuration, getIncludePatterns(), getExcludePatterns());
+    long newestSourceTimestamp = snapshotSource.lastModified();
+    File configFile = this.configuration.getConfigFile();
+    if (configFile != null && configFile.exists()) {
+      newestSourceTimestamp = Math.max(newestSourceTimestamp, configFile.lastModified());
+    }
+    context.setProperty(BasicGeneratingModule.NEWEST_SOURCE_TIMESTAMP_PROPERTY, newestSourceTimestamp);
+    invokeDetachedModules(context, snapshotModules, subgraph(graph, snapshotModules.keySet()));
+  }
+
   protected Observable<EnunciateContext> composeEngine(EnunciateContext context, Map<String, ? extends EnunciateModule> modules, DirectedGraph<String, DefaultEdge> graph) {
     Scheduler scheduler = this.executorService == null ? Schedulers.immediate() : Schedulers.from(this.executorService);
     Observable<EnunciateContext> source = Observable.just(context).subscribeOn(scheduler);
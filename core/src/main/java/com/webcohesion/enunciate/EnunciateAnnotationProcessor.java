@@ -15,9 +15,12 @@
  */
 package com.webcohesion.enunciate;
 
+import com.webcohesion.enunciate.api.ApiRegistry;
+import com.webcohesion.enunciate.api.detached.ApiModelDetacher;
 import com.webcohesion.enunciate.javac.decorations.DecoratedProcessingEnvironment;
 import com.webcohesion.enunciate.javac.decorations.DecoratedRoundEnvironment;
 import com.webcohesion.enunciate.javac.decorations.ElementDecorator;
+import com.webcohesion.enunciate.module.BasicGeneratingModule;
 import com.webcohesion.enunciate.module.EnunciateModule;
 import org.jgrapht.DirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
@@ -28,10 +31,7 @@ import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 /**
  * @author Ryan Heaton
@@ -44,6 +44,9 @@ public class EnunciateAnnotationProcessor extends AbstractProcessor {
   private final Set<String> includedTypes;
   private EnunciateContext context;
   protected boolean processed = false;
+  protected EnunciateContext detachedContext;
+  protected Map<String, ? extends EnunciateModule> detachedModules;
+  protected DirectedGraph<String, DefaultEdge> detachedGraph;
 
   public EnunciateAnnotationProcessor(Enunciate enunciate, Set<String> includedTypes) {
     this.enunciate = enunciate;
@@ -101,11 +104,33 @@ public class EnunciateAnnotationProcessor extends AbstractProcessor {
       //compose the engine.
       Map<String, ? extends EnunciateModule> enabledModules = this.enunciate.findEnabledModules();
       DirectedGraph<String, DefaultEdge> graph = this.enunciate.buildModuleGraph(enabledModules);
+      Set<String> detachedModuleNames = this.enunciate.getConfiguration().isDetachApiModel() ? this.enunciate.findDetachedModules(enabledModules, graph) : Collections.<String>emptySet();
+      if (!detachedModuleNames.isEmpty() || this.enunciate.getConfiguration().getApiModelSnapshotFile() != null) {
+        //the detached modules are invoked (and the snapshot written) once the compiler has finished.
+        TreeMap<String, EnunciateModule> compilerModules = new TreeMap<String, EnunciateModule>(enabledModules);
+        TreeMap<String, EnunciateModule> detachedModules = new TreeMap<String, EnunciateModule>(enabledModules);
+        compilerModules.keySet().removeAll(detachedModuleNames);
+        detachedModules.keySet().retainAll(detachedModuleNames);
+        this.detachedModules = detachedModules;
+        this.detachedGraph = this.enunciate.subgraph(graph, detachedModuleNames);
+        enabledModules = compilerModules;
+        graph = this.enunciate.subgraph(graph, compilerModules.keySet());
+      }
       Observable<EnunciateContext> engine = this.enunciate.composeEngine(this.context, enabledModules, graph);
 
       //fire off (and block on) the engine.
       engine.toList().toBlocking().single();
 
+      if (this.detachedModules != null) {
+        this.enunciate.getLogger().debug("Detaching the API model from the compiler...");
+        ApiRegistry detachedRegistry = new ApiModelDetacher(this.enunciate).detach(this.enunciate.getApiRegistry());
+        this.detachedContext = new EnunciateContext(null, this.enunciate.getLogger(), detachedRegistry, this.enunciate.getConfiguration(), this.enunciate.getIncludePatterns(), this.enunciate.getExcludePatterns());
+
+        //resolve what the detached modules need from the compiler while it's still available.
+        this.detachedContext.setProperty(BasicGeneratingModule.NEWEST_SOURCE_TIMESTAMP_PROPERTY, BasicGeneratingModule.findNewestSourceTimestamp(this.context));
+        this.enunciate.getConfiguration().readDescription(this.context);
+      }
+
       this.processed = true;
     }
 
@@ -43,6 +43,7 @@ public class EnunciateConfiguration {
   private File configFile;
   private FacetFilter facetFilter;
   private Map<String, String> annotationStyles;
+  private String packageDescription;
 
   public EnunciateConfiguration() {
     this(createDefaultConfigurationSource());
@@ -116,12 +117,14 @@ public class EnunciateConfiguration {
   public String readDescription(EnunciateContext context) {
     String descriptionPackage = this.source.getString("description[@package]", null);
     if (descriptionPackage != null) {
-      DecoratedPackageElement packageElement = (DecoratedPackageElement) context.getProcessingEnvironment().getElementUtils().getPackageElement(descriptionPackage);
-      if (packageElement != null) {
-        String docValue = packageElement.getDocValue();
-        if (docValue != null) {
-          return docValue;
-        }
+      if (context.getProcessingEnvironment() != null) {
+        DecoratedPackageElement packageElement = (DecoratedPackageElement) context.getProcessingEnvironment().getElementUtils().getPackageElement(descriptionPackage);
+        //remember the package description for when the compiler is no longer available.
+        this.packageDescription = packageElement == null ? null : packageElement.getDocValue();
+      }
+
+      if (this.packageDescription != null) {
+        return this.packageDescription;
       }
     }
 
@@ -267,6 +270,37 @@ public class EnunciateConfiguration {
     return resolved;
   }
 
+  /**
+   * Whether to detach the API model from the Java compiler once the modules that need the compiler have finished, so
+   * that the modules that only read the API registry run against the detached model after the compiler is released.
+   *
+   * @return Whether to detach the API model from the Java compiler.
+   */
+  public boolean isDetachApiModel() {
+    return this.source.getBoolean("[@detachApiModel]", false) || getApiModelSnapshotFile() != null;
+  }
+
+  /**
+   * The file to which to write a snapshot of the detached API model. Writing a snapshot implies detaching the API model.
+   *
+   * @return The file to which to write a snapshot of the API model, or null if no snapshot is to be written.
+   */
+  public File getApiModelSnapshotFile() {
+    String snapshotFile = this.source.getString("[@apiModelSnapshotFile]", null);
+    return snapshotFile == null ? null : resolveFile(snapshotFile);
+  }
+
+  /**
+   * A previously-written snapshot of the API model against which to invoke the modules that only read the API model,
+   * instead of invoking the Java compiler.
+   *
+   * @return The snapshot of the API model, or null if the API model is to be built by the Java compiler.
+   */
+  public File getApiModelSnapshotSource() {
+    String snapshotSource = this.source.getString("[@apiModelSnapshotSource]", null);
+    return snapshotSource == null ? null : resolveFile(snapshotSource);
+  }
+
   public FacetFilter getFacetFilter() {
     if (this.facetFilter == null) {
       this.facetFilter = new FacetFilter(getFacetIncludes(), getFacetExcludes());
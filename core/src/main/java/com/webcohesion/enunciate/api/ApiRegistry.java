@@ -53,4 +53,14 @@ public class ApiRegistry {
   public void setSwaggerUI(InterfaceDescriptionFile swaggerUI) {
     this.swaggerUI = swaggerUI;
   }
+
+  /**
+   * Whether the contents of this registry have been detached from the Java compiler, in which case they hold no
+   * references into the compiler and can be read concurrently.
+   *
+   * @return Whether the contents of this registry have been detached from the Java compiler.
+   */
+  public boolean isDetached() {
+    return false;
+  }
 }
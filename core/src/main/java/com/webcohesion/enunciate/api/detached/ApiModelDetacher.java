@@ -0,0 +1,202 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.Enunciate;
+import com.webcohesion.enunciate.EnunciateException;
+import com.webcohesion.enunciate.api.ApiRegistry;
+import com.webcohesion.enunciate.api.InterfaceDescriptionFile;
+import com.webcohesion.enunciate.api.datatype.*;
+import com.webcohesion.enunciate.api.resources.ResourceApi;
+import com.webcohesion.enunciate.api.services.ServiceApi;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Materializes the API model into plain, immutable objects that hold no references into the Java compiler. All
+ * values (including javadoc, examples and interface description files) are resolved eagerly at the time the model is
+ * detached. Annotation mirrors can't live outside of the compiler, so the detached model reports no annotations.
+ *
+ * @author Ryan Heaton
+ */
+public class ApiModelDetacher {
+
+  private final Enunciate enunciate;
+  private final Map<String, Object> detached = new HashMap<String, Object>();
+  private final Map<InterfaceDescriptionFile, InterfaceDescriptionFile> detachedFiles = new IdentityHashMap<InterfaceDescriptionFile, InterfaceDescriptionFile>();
+
+  public ApiModelDetacher(Enunciate enunciate) {
+    this.enunciate = enunciate;
+  }
+
+  /**
+   * Detach the contents of the specified registry into a new registry. The specified registry is left untouched, so the
+   * modules that hold on to it keep seeing the model backed by the compiler.
+   *
+   * @param registry The registry.
+   * @return The detached registry.
+   */
+  public ApiRegistry detach(ApiRegistry registry) {
+    ApiRegistry detached = new DetachedApiRegistry();
+
+    //syntaxes first, so that references from resources and services resolve to the already-detached data types.
+    for (Syntax syntax : registry.getSyntaxes()) {
+      detached.getSyntaxes().add(detach(syntax));
+    }
+
+    for (ResourceApi resourceApi : registry.getResourceApis()) {
+      detached.getResourceApis().add(detach(resourceApi));
+    }
+
+    for (ServiceApi serviceApi : registry.getServiceApis()) {
+      detached.getServiceApis().add(detach(serviceApi));
+    }
+
+    detached.setSwaggerUI(detach(registry.getSwaggerUI()));
+    return detached;
+  }
+
+  public Syntax detach(Syntax syntax) {
+    if (syntax == null || syntax instanceof DetachedSyntax) {
+      return syntax;
+    }
+
+    Syntax existing = lookup("syntax:" + syntax.getId(), Syntax.class);
+    return existing != null ? existing : new DetachedSyntax(syntax, this);
+  }
+
+  public Namespace detach(Namespace namespace, Syntax syntax) {
+    if (namespace == null || namespace instanceof DetachedNamespace) {
+      return namespace;
+    }
+
+    Namespace existing = lookup(namespaceKey(namespace, syntax), Namespace.class);
+    return existing != null ? existing : new DetachedNamespace(namespace, syntax, this);
+  }
+
+  public DataType detach(DataType dataType) {
+    if (dataType == null || dataType instanceof DetachedDataType) {
+      return dataType;
+    }
+
+    DataType existing = lookup(dataTypeKey(dataType), DataType.class);
+    return existing != null ? existing : new DetachedDataType(dataType, this);
+  }
+
+  public Property detach(Property property) {
+    if (property == null || property instanceof DetachedProperty) {
+      return property;
+    }
+
+    return property instanceof XmlProperty ? new DetachedXmlProperty((XmlProperty) property, this) : new DetachedProperty(property, this);
+  }
+
+  public DataTypeReference detach(DataTypeReference reference) {
+    return reference == null || reference instanceof DetachedDataTypeReference ? reference : new DetachedDataTypeReference(reference, this);
+  }
+
+  public ResourceApi detach(ResourceApi resourceApi) {
+    return resourceApi == null || resourceApi instanceof DetachedResourceApi ? resourceApi : new DetachedResourceApi(resourceApi, this);
+  }
+
+  public ServiceApi detach(ServiceApi serviceApi) {
+    return serviceApi == null || serviceApi instanceof DetachedServiceApi ? serviceApi : new DetachedServiceApi(serviceApi, this);
+  }
+
+  /**
+   * Detach an interface description file by writing it out to a temporary directory and reading back the results.
+   *
+   * @param file The file to detach.
+   * @return The detached file.
+   */
+  public InterfaceDescriptionFile detach(InterfaceDescriptionFile file) {
+    if (file == null || file instanceof DetachedInterfaceDescriptionFile) {
+      return file;
+    }
+
+    InterfaceDescriptionFile detachedFile = this.detachedFiles.get(file);
+    if (detachedFile == null) {
+      try {
+        File dir = this.enunciate.createTempDir();
+        file.writeTo(dir);
+        detachedFile = new DetachedInterfaceDescriptionFile(file.getHref(), dir);
+      }
+      catch (IOException e) {
+        throw new EnunciateException(e);
+      }
+      this.detachedFiles.put(file, detachedFile);
+    }
+    return detachedFile;
+  }
+
+  /**
+   * Copy the javadoc (already resolved against its tag handler) into a new instance.
+   *
+   * @param javaDoc The javadoc.
+   * @return The copy.
+   */
+  public JavaDoc detach(JavaDoc javaDoc) {
+    JavaDoc copy = new JavaDoc(null, null);
+    if (javaDoc != null) {
+      copy.setValue(javaDoc.toString());
+      for (Map.Entry<String, JavaDoc.JavaDocTagList> tag : javaDoc.entrySet()) {
+        JavaDoc.JavaDocTagList values = null;
+        for (String value : tag.getValue()) {
+          if (values == null) {
+            values = new JavaDoc.JavaDocTagList(value);
+          }
+          else {
+            values.add(value);
+          }
+        }
+
+        if (values != null) {
+          copy.put(tag.getKey(), values);
+        }
+      }
+    }
+    return copy;
+  }
+
+  <L> List<L> unmodifiable(List<L> list) {
+    return list == null ? null : Collections.unmodifiableList(list);
+  }
+
+  <S> Set<S> copyOf(Set<S> set) {
+    return set == null ? null : Collections.unmodifiableSet(new TreeSet<S>(set));
+  }
+
+  void register(String key, Object value) {
+    this.detached.put(key, value);
+  }
+
+  private <T> T lookup(String key, Class<T> type) {
+    Object value = this.detached.get(key);
+    return type.isInstance(value) ? type.cast(value) : null;
+  }
+
+  static String namespaceKey(Namespace namespace, Syntax syntax) {
+    return "namespace:" + (syntax == null ? "" : syntax.getId()) + ":" + namespace.getUri();
+  }
+
+  static String dataTypeKey(DataType dataType) {
+    Syntax syntax = dataType.getSyntax();
+    return "datatype:" + (syntax == null ? "" : syntax.getId()) + ":" + dataType.getSlug();
+  }
+}
@@ -0,0 +1,236 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.Enunciate;
+import com.webcohesion.enunciate.EnunciateException;
+import com.webcohesion.enunciate.api.ApiRegistry;
+import com.webcohesion.enunciate.api.InterfaceDescriptionFile;
+import com.webcohesion.enunciate.api.datatype.Syntax;
+import com.webcohesion.enunciate.api.resources.ResourceApi;
+import com.webcohesion.enunciate.api.services.ServiceApi;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+
+import java.io.*;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A serializable snapshot of a fully-resolved (detached) API model. A snapshot can be written to disk and read back in
+ * to populate an API registry without running the Java compiler, and its content hash identifies the model.
+ *
+ * @author Ryan Heaton
+ */
+public class ApiModelSnapshot implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final List<Syntax> syntaxes;
+  private final List<ResourceApi> resourceApis;
+  private final List<ServiceApi> serviceApis;
+  private final InterfaceDescriptionFile swaggerUI;
+  private transient String contentHash;
+
+  private ApiModelSnapshot(List<Syntax> syntaxes, List<ResourceApi> resourceApis, List<ServiceApi> serviceApis, InterfaceDescriptionFile swaggerUI) {
+    this.syntaxes = Collections.unmodifiableList(syntaxes);
+    this.resourceApis = Collections.unmodifiableList(resourceApis);
+    this.serviceApis = Collections.unmodifiableList(serviceApis);
+    this.swaggerUI = swaggerUI;
+  }
+
+  /**
+   * Take a snapshot of the specified registry, detaching its contents if they haven't been detached already.
+   *
+   * @param registry The registry.
+   * @param enunciate The enunciate mechanism.
+   * @return The snapshot.
+   */
+  public static ApiModelSnapshot of(ApiRegistry registry, Enunciate enunciate) {
+    ApiRegistry detached = registry.isDetached() ? registry : new ApiModelDetacher(enunciate).detach(registry);
+    return new ApiModelSnapshot(
+      new ArrayList<Syntax>(detached.getSyntaxes()),
+      new ArrayList<ResourceApi>(detached.getResourceApis()),
+      new ArrayList<ServiceApi>(detached.getServiceApis()),
+      detached.getSwaggerUI()
+    );
+  }
+
+  /**
+   * Read a snapshot from the specified file.
+   *
+   * @param file The file.
+   * @return The snapshot.
+   */
+  public static ApiModelSnapshot readFrom(File file) throws IOException {
+    ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))));
+    try {
+      return (ApiModelSnapshot) in.readObject();
+    }
+    catch (ClassNotFoundException e) {
+      throw new IOException("Unable to read API model snapshot " + file + ": " + e.getMessage());
+    }
+    finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Write this snapshot to the specified file.
+   *
+   * @param file The file.
+   */
+  public void writeTo(File file) throws IOException {
+    file.getParentFile().mkdirs();
+    ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file))));
+    try {
+      out.writeObject(this);
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Create a (detached) registry with the contents of this snapshot.
+   *
+   * @return The registry.
+   */
+  public ApiRegistry toApiRegistry() {
+    ApiRegistry registry = new DetachedApiRegistry();
+    registry.getSyntaxes().addAll(this.syntaxes);
+    registry.getResourceApis().addAll(this.resourceApis);
+    registry.getServiceApis().addAll(this.serviceApis);
+    registry.setSwaggerUI(this.swaggerUI);
+    return registry;
+  }
+
+  /**
+   * A (hex-encoded) SHA-1 hash of the contents of this snapshot, suitable for use as a cache key. The hash is computed
+   * over a canonical form of the serialized contents (hash-based maps and sets are written in sorted order), so it
+   * doesn't depend on the iteration order of any hash-based collections in the model.
+   *
+   * @return The content hash.
+   */
+  public String getContentHash() {
+    if (this.contentHash == null) {
+      try {
+        MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        ObjectOutputStream out = new CanonicalObjectOutputStream(new DigestOutputStream(new NullOutputStream(), digest));
+        try {
+          out.writeObject(this);
+        }
+        finally {
+          out.close();
+        }
+
+        byte[] hashBytes = digest.digest();
+        StringBuilder hash = new StringBuilder(hashBytes.length * 2);
+        for (byte b : hashBytes) {
+          hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        this.contentHash = hash.toString();
+      }
+      catch (NoSuchAlgorithmException e) {
+        throw new EnunciateException(e);
+      }
+      catch (IOException e) {
+        throw new EnunciateException(e);
+      }
+    }
+    return this.contentHash;
+  }
+
+  public List<Syntax> getSyntaxes() {
+    return syntaxes;
+  }
+
+  public List<ResourceApi> getResourceApis() {
+    return resourceApis;
+  }
+
+  public List<ServiceApi> getServiceApis() {
+    return serviceApis;
+  }
+
+  public InterfaceDescriptionFile getSwaggerUI() {
+    return swaggerUI;
+  }
+
+  /**
+   * An object output stream that writes the entries of hash-based maps and sets (including javadoc) in sorted order.
+   */
+  static class CanonicalObjectOutputStream extends ObjectOutputStream {
+
+    CanonicalObjectOutputStream(OutputStream out) throws IOException {
+      super(out);
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(Object obj) throws IOException {
+      if (obj instanceof JavaDoc) {
+        return new Object[]{JavaDoc.class.getName(), obj.toString(), sorted((Map<?, ?>) obj)};
+      }
+      else if (obj != null && (obj.getClass() == HashMap.class || obj.getClass() == Hashtable.class)) {
+        return sorted((Map<?, ?>) obj);
+      }
+      else if (obj != null && obj.getClass() == HashSet.class) {
+        List<Object> items = new ArrayList<Object>((Set<?>) obj);
+        Collections.sort(items, BY_STRING_VALUE);
+        return new LinkedHashSet<Object>(items);
+      }
+      return obj;
+    }
+
+    private static Map<Object, Object> sorted(Map<?, ?> map) {
+      List<Map.Entry<?, ?>> entries = new ArrayList<Map.Entry<?, ?>>(map.entrySet());
+      Collections.sort(entries, new Comparator<Map.Entry<?, ?>>() {
+        public int compare(Map.Entry<?, ?> e1, Map.Entry<?, ?> e2) {
+          return BY_STRING_VALUE.compare(e1.getKey(), e2.getKey());
+        }
+      });
+
+      Map<Object, Object> sorted = new LinkedHashMap<Object, Object>();
+      for (Map.Entry<?, ?> entry : entries) {
+        sorted.put(entry.getKey(), entry.getValue());
+      }
+      return sorted;
+    }
+
+    private static final Comparator<Object> BY_STRING_VALUE = new Comparator<Object>() {
+      public int compare(Object o1, Object o2) {
+        return String.valueOf(o1).compareTo(String.valueOf(o2));
+      }
+    };
+  }
+
+  /**
+   * An output stream that discards its output.
+   */
+  private static class NullOutputStream extends OutputStream {
+    @Override
+    public void write(int b) {
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+    }
+  }
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.ApiRegistry;
+
+/**
+ * A registry of an API model that has been detached from the Java compiler.
+ *
+ * @author Ryan Heaton
+ */
+public class DetachedApiRegistry extends ApiRegistry {
+
+  @Override
+  public boolean isDetached() {
+    return true;
+  }
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.datatype.*;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+
+import javax.lang.model.element.AnnotationMirror;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedDataType implements DataType, HasJavaType, Serializable {
+
+  private final String label;
+  private final String slug;
+  private final String description;
+  private final String deprecated;
+  private final Namespace namespace;
+  private final Syntax syntax;
+  private final BaseType baseType;
+  private final List<DataTypeReference> supertypes;
+  private final String since;
+  private final String version;
+  private final Example example;
+  private final List<Value> values;
+  private final List<Property> properties;
+  private final Map<String, String> propertyMetadata;
+  private final JavaDoc javaDoc;
+  private final Set<String> styles;
+  private final String javaTypeName;
+
+  DetachedDataType(DataType source, ApiModelDetacher detacher) {
+    detacher.register(ApiModelDetacher.dataTypeKey(source), this);
+    this.label = source.getLabel();
+    this.slug = source.getSlug();
+    this.description = source.getDescription();
+    this.deprecated = source.getDeprecated();
+    this.syntax = detacher.detach(source.getSyntax());
+    this.namespace = detacher.detach(source.getNamespace(), source.getSyntax());
+    this.baseType = source.getBaseType();
+    this.since = source.getSince();
+    this.version = source.getVersion();
+    this.javaTypeName = source instanceof HasJavaType ? ((HasJavaType) source).getJavaTypeName() : null;
+    if (this.javaTypeName != null && this.syntax instanceof DetachedSyntax) {
+      ((DetachedSyntax) this.syntax).addDataType(this.javaTypeName, this);
+    }
+
+    List<DataTypeReference> sourceSupertypes = source.getSupertypes();
+    List<DataTypeReference> supertypes = null;
+    if (sourceSupertypes != null) {
+      supertypes = new ArrayList<DataTypeReference>(sourceSupertypes.size());
+      for (DataTypeReference supertype : sourceSupertypes) {
+        supertypes.add(detacher.detach(supertype));
+      }
+    }
+    this.supertypes = detacher.unmodifiable(supertypes);
+
+    Example example = source.getExample();
+    this.example = example == null ? null : new DetachedDataTypeExample(example);
+
+    List<? extends Value> sourceValues = source.getValues();
+    List<Value> values = null;
+    if (sourceValues != null) {
+      values = new ArrayList<Value>(sourceValues.size());
+      for (Value value : sourceValues) {
+        values.add(new DetachedValue(value));
+      }
+    }
+    this.values = detacher.unmodifiable(values);
+
+    Map<String, String> propertyMetadata = source.getPropertyMetadata();
+    this.propertyMetadata = propertyMetadata == null ? null : Collections.unmodifiableMap(new LinkedHashMap<String, String>(propertyMetadata));
+
+    List<? extends Property> sourceProperties = source.getProperties();
+    List<Property> properties = null;
+    if (sourceProperties != null) {
+      properties = new ArrayList<Property>(sourceProperties.size());
+      for (Property property : sourceProperties) {
+        properties.add(detacher.detach(property));
+      }
+    }
+    this.properties = detacher.unmodifiable(properties);
+
+    this.javaDoc = detacher.detach(source.getJavaDoc());
+    this.styles = detacher.copyOf(source.getStyles());
+  }
+
+  @Override
+  public String getLabel() {
+    return label;
+  }
+
+  @Override
+  public String getSlug() {
+    return slug;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String getDeprecated() {
+    return deprecated;
+  }
+
+  @Override
+  public Namespace getNamespace() {
+    return namespace;
+  }
+
+  @Override
+  public Syntax getSyntax() {
+    return syntax;
+  }
+
+  @Override
+  public BaseType getBaseType() {
+    return baseType;
+  }
+
+  @Override
+  public List<DataTypeReference> getSupertypes() {
+    return supertypes;
+  }
+
+  @Override
+  public String getJavaTypeName() {
+    return javaTypeName;
+  }
+
+  @Override
+  public String getSince() {
+    return since;
+  }
+
+  @Override
+  public String getVersion() {
+    return version;
+  }
+
+  @Override
+  public Example getExample() {
+    return example;
+  }
+
+  @Override
+  public List<? extends Value> getValues() {
+    return values;
+  }
+
+  @Override
+  public List<? extends Property> getProperties() {
+    return properties;
+  }
+
+  public List<? extends Property> getRequiredProperties() {
+    if (this.properties == null) {
+      return null;
+    }
+
+    ArrayList<Property> requiredProperties = new ArrayList<Property>();
+    for (Property property : this.properties) {
+      if (property.isRequired()) {
+        requiredProperties.add(property);
+      }
+    }
+    return requiredProperties;
+  }
+
+  @Override
+  public Map<String, String> getPropertyMetadata() {
+    return propertyMetadata;
+  }
+
+  @Override
+  public Map<String, AnnotationMirror> getAnnotations() {
+    return Collections.emptyMap();
+  }
+
+  @Override
+  public JavaDoc getJavaDoc() {
+    return javaDoc;
+  }
+
+  @Override
+  public Set<String> getStyles() {
+    return styles;
+  }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.datatype.BaseType;
+import com.webcohesion.enunciate.api.datatype.DataType;
+import com.webcohesion.enunciate.api.datatype.DataTypeReference;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedDataTypeReference implements DataTypeReference, Serializable {
+
+  private final String label;
+  private final String slug;
+  private final List<ContainerType> containers;
+  private final DataType value;
+  private final BaseType baseType;
+
+  DetachedDataTypeReference(DataTypeReference source, ApiModelDetacher detacher) {
+    this.label = source.getLabel();
+    this.slug = source.getSlug();
+    List<ContainerType> containers = source.getContainers();
+    this.containers = containers == null ? null : detacher.unmodifiable(new ArrayList<ContainerType>(containers));
+    this.value = detacher.detach(source.getValue());
+    this.baseType = source.getBaseType();
+  }
+
+  DetachedDataTypeReference(DataType value, boolean list) {
+    this.label = value.getLabel();
+    this.slug = value.getSlug();
+    this.containers = list ? Collections.singletonList(ContainerType.list) : null;
+    this.value = value;
+    this.baseType = value.getBaseType();
+  }
+
+  @Override
+  public String getLabel() {
+    return label;
+  }
+
+  @Override
+  public String getSlug() {
+    return slug;
+  }
+
+  @Override
+  public List<ContainerType> getContainers() {
+    return containers;
+  }
+
+  @Override
+  public DataType getValue() {
+    return value;
+  }
+
+  @Override
+  public BaseType getBaseType() {
+    return baseType;
+  }
+}
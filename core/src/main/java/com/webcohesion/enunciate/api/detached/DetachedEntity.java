@@ -0,0 +1,62 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.resources.Entity;
+import com.webcohesion.enunciate.api.resources.MediaTypeDescriptor;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+
+import javax.lang.model.element.AnnotationMirror;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedEntity implements Entity, Serializable {
+
+  private final String description;
+  private final List<MediaTypeDescriptor> mediaTypes;
+  private final JavaDoc javaDoc;
+
+  DetachedEntity(Entity source, ApiModelDetacher detacher) {
+    this.description = source.getDescription();
+    this.mediaTypes = DetachedMediaTypeDescriptor.detachAll(source.getMediaTypes(), detacher);
+    this.javaDoc = detacher.detach(source.getJavaDoc());
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public List<? extends MediaTypeDescriptor> getMediaTypes() {
+    return mediaTypes;
+  }
+
+  @Override
+  public Map<String, AnnotationMirror> getAnnotations() {
+    return Collections.emptyMap();
+  }
+
+  @Override
+  public JavaDoc getJavaDoc() {
+    return javaDoc;
+  }
+}
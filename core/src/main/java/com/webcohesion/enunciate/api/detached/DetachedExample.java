@@ -0,0 +1,72 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.resources.Example;
+
+import java.io.Serializable;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedExample implements Example, Serializable {
+
+  private final String requestLang;
+  private final String requestHeaders;
+  private final String requestBody;
+  private final String responseLang;
+  private final String responseHeaders;
+  private final String responseBody;
+
+  DetachedExample(Example source) {
+    this.requestLang = source.getRequestLang();
+    this.requestHeaders = source.getRequestHeaders();
+    this.requestBody = source.getRequestBody();
+    this.responseLang = source.getResponseLang();
+    this.responseHeaders = source.getResponseHeaders();
+    this.responseBody = source.getResponseBody();
+  }
+
+  @Override
+  public String getRequestLang() {
+    return requestLang;
+  }
+
+  @Override
+  public String getRequestHeaders() {
+    return requestHeaders;
+  }
+
+  @Override
+  public String getRequestBody() {
+    return requestBody;
+  }
+
+  @Override
+  public String getResponseLang() {
+    return responseLang;
+  }
+
+  @Override
+  public String getResponseHeaders() {
+    return responseHeaders;
+  }
+
+  @Override
+  public String getResponseBody() {
+    return responseBody;
+  }
+}
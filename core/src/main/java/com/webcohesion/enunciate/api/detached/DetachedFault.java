@@ -0,0 +1,76 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.datatype.DataTypeReference;
+import com.webcohesion.enunciate.api.services.Fault;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+
+import javax.lang.model.element.AnnotationMirror;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedFault implements Fault, Serializable {
+
+  private final String name;
+  private final String conditions;
+  private final DataTypeReference dataType;
+  private final JavaDoc javaDoc;
+  private final Set<String> styles;
+
+  DetachedFault(Fault source, ApiModelDetacher detacher) {
+    this.name = source.getName();
+    this.conditions = source.getConditions();
+    this.dataType = detacher.detach(source.getDataType());
+    this.javaDoc = detacher.detach(source.getJavaDoc());
+    this.styles = detacher.copyOf(source.getStyles());
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getConditions() {
+    return conditions;
+  }
+
+  @Override
+  public DataTypeReference getDataType() {
+    return dataType;
+  }
+
+  @Override
+  public Map<String, AnnotationMirror> getAnnotations() {
+    return Collections.emptyMap();
+  }
+
+  @Override
+  public JavaDoc getJavaDoc() {
+    return javaDoc;
+  }
+
+  @Override
+  public Set<String> getStyles() {
+    return styles;
+  }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.InterfaceDescriptionFile;
+
+import java.io.*;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An interface description file that was written out at the time the model was detached. The contents of the
+ * written files are held in memory so that the file survives serialization of the model.
+ *
+ * @author Ryan Heaton
+ */
+public class DetachedInterfaceDescriptionFile implements InterfaceDescriptionFile, Serializable {
+
+  private final String href;
+  private final Map<String, byte[]> files;
+
+  DetachedInterfaceDescriptionFile(String href, File dir) throws IOException {
+    this.href = href;
+    this.files = new TreeMap<String, byte[]>();
+    readFiles(dir, "", this.files);
+  }
+
+  private static void readFiles(File dir, String prefix, Map<String, byte[]> files) throws IOException {
+    File[] children = dir.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        if (child.isDirectory()) {
+          readFiles(child, prefix + child.getName() + "/", files);
+        }
+        else {
+          ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+          InputStream in = new FileInputStream(child);
+          try {
+            byte[] buffer = new byte[1024 * 8];
+            int len;
+            while ((len = in.read(buffer)) >= 0) {
+              bytes.write(buffer, 0, len);
+            }
+          }
+          finally {
+            in.close();
+          }
+          files.put(prefix + child.getName(), bytes.toByteArray());
+        }
+      }
+    }
+  }
+
+  @Override
+  public String getHref() {
+    return href;
+  }
+
+  @Override
+  public void writeTo(File directory) throws IOException {
+    for (Map.Entry<String, byte[]> file : this.files.entrySet()) {
+      File to = new File(directory, file.getKey());
+      to.getParentFile().mkdirs();
+      OutputStream out = new FileOutputStream(to);
+      try {
+        out.write(file.getValue());
+      }
+      finally {
+        out.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.datatype.DataType;
+import com.webcohesion.enunciate.api.datatype.DataTypeReference;
+import com.webcohesion.enunciate.api.resources.MediaTypeDescriptor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedMediaTypeDescriptor implements MediaTypeDescriptor, Serializable {
+
+  private final String mediaType;
+  private final DataTypeReference dataType;
+  private final String syntax;
+  private final float qualityOfSourceFactor;
+
+  DetachedMediaTypeDescriptor(MediaTypeDescriptor source, ApiModelDetacher detacher) {
+    this.mediaType = source.getMediaType();
+    this.dataType = detacher.detach(source.getDataType());
+    this.syntax = source.getSyntax();
+    this.qualityOfSourceFactor = source.getQualityOfSourceFactor();
+
+    //note the media types in use for the syntax of the data type so it can find media type descriptors, too.
+    DataType value = this.dataType == null ? null : this.dataType.getValue();
+    if (value != null && value.getSyntax() instanceof DetachedSyntax) {
+      ((DetachedSyntax) value.getSyntax()).addMediaType(this.mediaType);
+    }
+  }
+
+  DetachedMediaTypeDescriptor(String mediaType, DataTypeReference dataType, String syntax, float qualityOfSourceFactor) {
+    this.mediaType = mediaType;
+    this.dataType = dataType;
+    this.syntax = syntax;
+    this.qualityOfSourceFactor = qualityOfSourceFactor;
+  }
+
+  static List<MediaTypeDescriptor> detachAll(List<? extends MediaTypeDescriptor> source, ApiModelDetacher detacher) {
+    if (source == null) {
+      return null;
+    }
+
+    List<MediaTypeDescriptor> mediaTypes = new ArrayList<MediaTypeDescriptor>(source.size());
+    for (MediaTypeDescriptor mediaType : source) {
+      mediaTypes.add(new DetachedMediaTypeDescriptor(mediaType, detacher));
+    }
+    return detacher.unmodifiable(mediaTypes);
+  }
+
+  @Override
+  public String getMediaType() {
+    return mediaType;
+  }
+
+  @Override
+  public DataTypeReference getDataType() {
+    return dataType;
+  }
+
+  @Override
+  public String getSyntax() {
+    return syntax;
+  }
+
+  @Override
+  public float getQualityOfSourceFactor() {
+    return qualityOfSourceFactor;
+  }
+}
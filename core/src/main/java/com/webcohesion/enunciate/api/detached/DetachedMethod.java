@@ -0,0 +1,209 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.resources.*;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+
+import javax.lang.model.element.AnnotationMirror;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedMethod implements Method, Serializable {
+
+  private final Resource resource;
+  private final String label;
+  private final String httpMethod;
+  private final String slug;
+  private final String description;
+  private final String deprecated;
+  private final String since;
+  private final String version;
+  private final boolean includeDefaultParameterValues;
+  private final List<Parameter> parameters;
+  private final boolean hasParameterConstraints;
+  private final boolean hasParameterMultiplicity;
+  private final Entity requestEntity;
+  private final List<StatusCode> responseCodes;
+  private final Entity responseEntity;
+  private final List<StatusCode> warnings;
+  private final List<Parameter> responseHeaders;
+  private final Set<String> securityRoles;
+  private final JavaDoc javaDoc;
+  private final Example example;
+  private final Set<String> styles;
+
+  DetachedMethod(Method source, Resource resource, ApiModelDetacher detacher) {
+    this.resource = resource;
+    this.label = source.getLabel();
+    this.httpMethod = source.getHttpMethod();
+    this.slug = source.getSlug();
+    this.description = source.getDescription();
+    this.deprecated = source.getDeprecated();
+    this.since = source.getSince();
+    this.version = source.getVersion();
+    this.includeDefaultParameterValues = source.isIncludeDefaultParameterValues();
+    this.parameters = detachParameters(source.getParameters(), detacher);
+    this.hasParameterConstraints = source.isHasParameterConstraints();
+    this.hasParameterMultiplicity = source.isHasParameterMultiplicity();
+    this.requestEntity = source.getRequestEntity() == null ? null : new DetachedEntity(source.getRequestEntity(), detacher);
+    this.responseCodes = detachStatusCodes(source.getResponseCodes(), detacher);
+    this.responseEntity = source.getResponseEntity() == null ? null : new DetachedEntity(source.getResponseEntity(), detacher);
+    this.warnings = detachStatusCodes(source.getWarnings(), detacher);
+    this.responseHeaders = detachParameters(source.getResponseHeaders(), detacher);
+    this.securityRoles = detacher.copyOf(source.getSecurityRoles());
+    this.javaDoc = detacher.detach(source.getJavaDoc());
+    this.example = source.getExample() == null ? null : new DetachedExample(source.getExample());
+    this.styles = detacher.copyOf(source.getStyles());
+  }
+
+  private static List<Parameter> detachParameters(List<? extends Parameter> source, ApiModelDetacher detacher) {
+    if (source == null) {
+      return null;
+    }
+
+    List<Parameter> parameters = new ArrayList<Parameter>(source.size());
+    for (Parameter parameter : source) {
+      parameters.add(new DetachedParameter(parameter, detacher));
+    }
+    return detacher.unmodifiable(parameters);
+  }
+
+  private static List<StatusCode> detachStatusCodes(List<? extends StatusCode> source, ApiModelDetacher detacher) {
+    if (source == null) {
+      return null;
+    }
+
+    List<StatusCode> codes = new ArrayList<StatusCode>(source.size());
+    for (StatusCode code : source) {
+      codes.add(new DetachedStatusCode(code, detacher));
+    }
+    return detacher.unmodifiable(codes);
+  }
+
+  @Override
+  public Resource getResource() {
+    return resource;
+  }
+
+  @Override
+  public String getLabel() {
+    return label;
+  }
+
+  @Override
+  public String getHttpMethod() {
+    return httpMethod;
+  }
+
+  @Override
+  public String getSlug() {
+    return slug;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String getDeprecated() {
+    return deprecated;
+  }
+
+  @Override
+  public String getSince() {
+    return since;
+  }
+
+  @Override
+  public String getVersion() {
+    return version;
+  }
+
+  @Override
+  public boolean isIncludeDefaultParameterValues() {
+    return includeDefaultParameterValues;
+  }
+
+  @Override
+  public List<? extends Parameter> getParameters() {
+    return parameters;
+  }
+
+  @Override
+  public boolean isHasParameterConstraints() {
+    return hasParameterConstraints;
+  }
+
+  @Override
+  public boolean isHasParameterMultiplicity() {
+    return hasParameterMultiplicity;
+  }
+
+  @Override
+  public Entity getRequestEntity() {
+    return requestEntity;
+  }
+
+  @Override
+  public List<? extends StatusCode> getResponseCodes() {
+    return responseCodes;
+  }
+
+  @Override
+  public Entity getResponseEntity() {
+    return responseEntity;
+  }
+
+  @Override
+  public List<? extends StatusCode> getWarnings() {
+    return warnings;
+  }
+
+  @Override
+  public List<? extends Parameter> getResponseHeaders() {
+    return responseHeaders;
+  }
+
+  @Override
+  public Set<String> getSecurityRoles() {
+    return securityRoles;
+  }
+
+  @Override
+  public Map<String, AnnotationMirror> getAnnotations() {
+    return Collections.emptyMap();
+  }
+
+  @Override
+  public JavaDoc getJavaDoc() {
+    return javaDoc;
+  }
+
+  @Override
+  public Example getExample() {
+    return example;
+  }
+
+  @Override
+  public Set<String> getStyles() {
+    return styles;
+  }
+}
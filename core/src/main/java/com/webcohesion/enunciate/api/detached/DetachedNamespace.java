@@ -0,0 +1,66 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.InterfaceDescriptionFile;
+import com.webcohesion.enunciate.api.datatype.DataType;
+import com.webcohesion.enunciate.api.datatype.Namespace;
+import com.webcohesion.enunciate.api.datatype.Syntax;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedNamespace implements Namespace, Serializable {
+
+  private final String uri;
+  private final InterfaceDescriptionFile schemaFile;
+  private final List<DataType> types;
+
+  DetachedNamespace(Namespace source, Syntax syntax, ApiModelDetacher detacher) {
+    detacher.register(ApiModelDetacher.namespaceKey(source, syntax), this);
+    this.uri = source.getUri();
+    this.schemaFile = detacher.detach(source.getSchemaFile());
+
+    List<? extends DataType> sourceTypes = source.getTypes();
+    List<DataType> types = null;
+    if (sourceTypes != null) {
+      types = new ArrayList<DataType>(sourceTypes.size());
+      for (DataType type : sourceTypes) {
+        types.add(detacher.detach(type));
+      }
+    }
+    this.types = detacher.unmodifiable(types);
+  }
+
+  @Override
+  public String getUri() {
+    return uri;
+  }
+
+  @Override
+  public InterfaceDescriptionFile getSchemaFile() {
+    return schemaFile;
+  }
+
+  @Override
+  public List<? extends DataType> getTypes() {
+    return types;
+  }
+}
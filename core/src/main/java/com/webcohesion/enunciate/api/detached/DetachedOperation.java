@@ -0,0 +1,154 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.datatype.DataTypeReference;
+import com.webcohesion.enunciate.api.services.Fault;
+import com.webcohesion.enunciate.api.services.Operation;
+import com.webcohesion.enunciate.api.services.Parameter;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+
+import javax.lang.model.element.AnnotationMirror;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedOperation implements Operation, Serializable {
+
+  private final String name;
+  private final String slug;
+  private final String description;
+  private final String deprecated;
+  private final String since;
+  private final String version;
+  private final List<Parameter> inputParameters;
+  private final List<Parameter> outputParameters;
+  private final DataTypeReference returnType;
+  private final String returnDescription;
+  private final List<Fault> faults;
+  private final JavaDoc javaDoc;
+  private final Set<String> styles;
+
+  DetachedOperation(Operation source, ApiModelDetacher detacher) {
+    this.name = source.getName();
+    this.slug = source.getSlug();
+    this.description = source.getDescription();
+    this.deprecated = source.getDeprecated();
+    this.since = source.getSince();
+    this.version = source.getVersion();
+    this.inputParameters = detachParameters(source.getInputParameters(), detacher);
+    this.outputParameters = detachParameters(source.getOutputParameters(), detacher);
+    this.returnType = detacher.detach(source.getReturnType());
+    this.returnDescription = source.getReturnDescription();
+
+    List<? extends Fault> sourceFaults = source.getFaults();
+    List<Fault> faults = null;
+    if (sourceFaults != null) {
+      faults = new ArrayList<Fault>(sourceFaults.size());
+      for (Fault fault : sourceFaults) {
+        faults.add(new DetachedFault(fault, detacher));
+      }
+    }
+    this.faults = detacher.unmodifiable(faults);
+
+    this.javaDoc = detacher.detach(source.getJavaDoc());
+    this.styles = detacher.copyOf(source.getStyles());
+  }
+
+  private static List<Parameter> detachParameters(List<? extends Parameter> source, ApiModelDetacher detacher) {
+    if (source == null) {
+      return null;
+    }
+
+    List<Parameter> parameters = new ArrayList<Parameter>(source.size());
+    for (Parameter parameter : source) {
+      parameters.add(new DetachedServiceParameter(parameter, detacher));
+    }
+    return detacher.unmodifiable(parameters);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getSlug() {
+    return slug;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String getDeprecated() {
+    return deprecated;
+  }
+
+  @Override
+  public String getSince() {
+    return since;
+  }
+
+  @Override
+  public String getVersion() {
+    return version;
+  }
+
+  @Override
+  public List<? extends Parameter> getInputParameters() {
+    return inputParameters;
+  }
+
+  @Override
+  public List<? extends Parameter> getOutputParameters() {
+    return outputParameters;
+  }
+
+  @Override
+  public DataTypeReference getReturnType() {
+    return returnType;
+  }
+
+  @Override
+  public String getReturnDescription() {
+    return returnDescription;
+  }
+
+  @Override
+  public List<? extends Fault> getFaults() {
+    return faults;
+  }
+
+  @Override
+  public Map<String, AnnotationMirror> getAnnotations() {
+    return Collections.emptyMap();
+  }
+
+  @Override
+  public JavaDoc getJavaDoc() {
+    return javaDoc;
+  }
+
+  @Override
+  public Set<String> getStyles() {
+    return styles;
+  }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.resources.Parameter;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+
+import javax.lang.model.element.AnnotationMirror;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedParameter implements Parameter, Serializable {
+
+  private final String name;
+  private final String description;
+  private final String typeLabel;
+  private final String typeName;
+  private final String defaultValue;
+  private final String constraints;
+  private final Set<String> constraintValues;
+  private final JavaDoc javaDoc;
+  private final boolean multivalued;
+  private final Set<String> styles;
+
+  DetachedParameter(Parameter source, ApiModelDetacher detacher) {
+    this.name = source.getName();
+    this.description = source.getDescription();
+    this.typeLabel = source.getTypeLabel();
+    this.typeName = source.getTypeName();
+    this.defaultValue = source.getDefaultValue();
+    this.constraints = source.getConstraints();
+    this.constraintValues = detacher.copyOf(source.getConstraintValues());
+    this.javaDoc = detacher.detach(source.getJavaDoc());
+    this.multivalued = source.isMultivalued();
+    this.styles = detacher.copyOf(source.getStyles());
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String getTypeLabel() {
+    return typeLabel;
+  }
+
+  @Override
+  public String getTypeName() {
+    return typeName;
+  }
+
+  @Override
+  public String getDefaultValue() {
+    return defaultValue;
+  }
+
+  @Override
+  public String getConstraints() {
+    return constraints;
+  }
+
+  @Override
+  public Set<String> getConstraintValues() {
+    return constraintValues;
+  }
+
+  @Override
+  public Map<String, AnnotationMirror> getAnnotations() {
+    return Collections.emptyMap();
+  }
+
+  @Override
+  public JavaDoc getJavaDoc() {
+    return javaDoc;
+  }
+
+  @Override
+  public boolean isMultivalued() {
+    return multivalued;
+  }
+
+  @Override
+  public Set<String> getStyles() {
+    return styles;
+  }
+}
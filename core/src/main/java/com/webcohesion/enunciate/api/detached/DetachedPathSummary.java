@@ -0,0 +1,56 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.PathSummary;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedPathSummary implements PathSummary, Serializable {
+
+  private final String path;
+  private final Set<String> methods;
+  private final Set<String> styles;
+
+  DetachedPathSummary(PathSummary source) {
+    this.path = source.getPath();
+    Set<String> methods = source.getMethods();
+    this.methods = methods == null ? null : Collections.unmodifiableSet(new TreeSet<String>(methods));
+    Set<String> styles = source.getStyles();
+    this.styles = styles == null ? null : Collections.unmodifiableSet(new TreeSet<String>(styles));
+  }
+
+  @Override
+  public String getPath() {
+    return path;
+  }
+
+  @Override
+  public Set<String> getMethods() {
+    return methods;
+  }
+
+  @Override
+  public Set<String> getStyles() {
+    return styles;
+  }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.datatype.DataTypeReference;
+import com.webcohesion.enunciate.api.datatype.HasMetadata;
+import com.webcohesion.enunciate.api.datatype.Property;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+
+import javax.lang.model.element.AnnotationMirror;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedProperty implements Property, HasMetadata, Serializable {
+
+  private final String name;
+  private final String description;
+  private final DataTypeReference dataType;
+  private final String deprecated;
+  private final boolean required;
+  private final JavaDoc javaDoc;
+  private final Set<String> styles;
+  private final Map<String, Object> metadata;
+
+  DetachedProperty(Property source, ApiModelDetacher detacher) {
+    this.name = source.getName();
+    this.description = source.getDescription();
+    this.dataType = detacher.detach(source.getDataType());
+    this.deprecated = source.getDeprecated();
+    this.required = source.isRequired();
+    this.javaDoc = detacher.detach(source.getJavaDoc());
+    this.styles = detacher.copyOf(source.getStyles());
+
+    Map<String, Object> metadata = new LinkedHashMap<String, Object>();
+    if (source instanceof HasMetadata) {
+      for (Map.Entry<String, Object> entry : ((HasMetadata) source).getMetadata().entrySet()) {
+        if (entry.getValue() != null) {
+          metadata.put(entry.getKey(), entry.getValue());
+        }
+      }
+    }
+    this.metadata = Collections.unmodifiableMap(metadata);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public DataTypeReference getDataType() {
+    return dataType;
+  }
+
+  @Override
+  public String getDeprecated() {
+    return deprecated;
+  }
+
+  @Override
+  public boolean isRequired() {
+    return required;
+  }
+
+  @Override
+  public Map<String, AnnotationMirror> getAnnotations() {
+    return Collections.emptyMap();
+  }
+
+  @Override
+  public JavaDoc getJavaDoc() {
+    return javaDoc;
+  }
+
+  @Override
+  public Set<String> getStyles() {
+    return styles;
+  }
+
+  @Override
+  public Map<String, Object> getMetadata() {
+    return metadata;
+  }
+
+  /**
+   * The value of the specified metadata of the property, by which templates look up the metadata named by the
+   * property metadata of the data type (e.g. <code>property[meta]</code>).
+   *
+   * @param name The name of the metadata.
+   * @return The value of the metadata, or null if none.
+   */
+  public Object get(String name) {
+    return this.metadata.get(name);
+  }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.resources.Method;
+import com.webcohesion.enunciate.api.resources.Resource;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+
+import javax.lang.model.element.AnnotationMirror;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedResource implements Resource, Serializable {
+
+  private final String path;
+  private final String relativePath;
+  private final String slug;
+  private final String deprecated;
+  private final String since;
+  private final String version;
+  private final List<Method> methods;
+  private final JavaDoc javaDoc;
+  private final Set<String> styles;
+
+  DetachedResource(Resource source, ApiModelDetacher detacher) {
+    this.path = source.getPath();
+    this.relativePath = source.getRelativePath();
+    this.slug = source.getSlug();
+    this.deprecated = source.getDeprecated();
+    this.since = source.getSince();
+    this.version = source.getVersion();
+
+    List<? extends Method> sourceMethods = source.getMethods();
+    List<Method> methods = null;
+    if (sourceMethods != null) {
+      methods = new ArrayList<Method>(sourceMethods.size());
+      for (Method method : sourceMethods) {
+        methods.add(new DetachedMethod(method, this, detacher));
+      }
+    }
+    this.methods = detacher.unmodifiable(methods);
+
+    this.javaDoc = detacher.detach(source.getJavaDoc());
+    this.styles = detacher.copyOf(source.getStyles());
+  }
+
+  @Override
+  public String getPath() {
+    return path;
+  }
+
+  @Override
+  public String getRelativePath() {
+    return relativePath;
+  }
+
+  @Override
+  public String getSlug() {
+    return slug;
+  }
+
+  @Override
+  public String getDeprecated() {
+    return deprecated;
+  }
+
+  @Override
+  public String getSince() {
+    return since;
+  }
+
+  @Override
+  public String getVersion() {
+    return version;
+  }
+
+  @Override
+  public List<? extends Method> getMethods() {
+    return methods;
+  }
+
+  @Override
+  public Map<String, AnnotationMirror> getAnnotations() {
+    return Collections.emptyMap();
+  }
+
+  @Override
+  public JavaDoc getJavaDoc() {
+    return javaDoc;
+  }
+
+  @Override
+  public Set<String> getStyles() {
+    return styles;
+  }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.InterfaceDescriptionFile;
+import com.webcohesion.enunciate.api.resources.Method;
+import com.webcohesion.enunciate.api.resources.ResourceApi;
+import com.webcohesion.enunciate.api.resources.ResourceGroup;
+import com.webcohesion.enunciate.util.ResourceMethodIndex;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedResourceApi implements ResourceApi, Serializable {
+
+  private final boolean includeResourceGroupName;
+  private final InterfaceDescriptionFile wadlFile;
+  private final List<ResourceGroup> resourceGroups;
+  private transient ResourceMethodIndex methodIndex;
+
+  DetachedResourceApi(ResourceApi source, ApiModelDetacher detacher) {
+    this.includeResourceGroupName = source.isIncludeResourceGroupName();
+    this.wadlFile = detacher.detach(source.getWadlFile());
+
+    List<ResourceGroup> sourceGroups = source.getResourceGroups();
+    List<ResourceGroup> resourceGroups = new ArrayList<ResourceGroup>(sourceGroups.size());
+    for (ResourceGroup group : sourceGroups) {
+      resourceGroups.add(new DetachedResourceGroup(group, detacher));
+    }
+    this.resourceGroups = detacher.unmodifiable(resourceGroups);
+  }
+
+  @Override
+  public boolean isIncludeResourceGroupName() {
+    return includeResourceGroupName;
+  }
+
+  @Override
+  public InterfaceDescriptionFile getWadlFile() {
+    return wadlFile;
+  }
+
+  @Override
+  public List<ResourceGroup> getResourceGroups() {
+    return resourceGroups;
+  }
+
+  /**
+   * Find the methods of the resource at the specified path.
+   *
+   * @param path The path of the resource.
+   * @param httpMethod The HTTP method, or null for all HTTP methods.
+   * @return The methods.
+   */
+  public List<Method> findMethods(String path, String httpMethod) {
+    if (this.methodIndex == null) {
+      this.methodIndex = new ResourceMethodIndex(this.resourceGroups);
+    }
+    return this.methodIndex.findMethods(path, httpMethod);
+  }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.PathSummary;
+import com.webcohesion.enunciate.api.resources.Resource;
+import com.webcohesion.enunciate.api.resources.ResourceGroup;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+
+import javax.lang.model.element.AnnotationMirror;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedResourceGroup implements ResourceGroup, Serializable {
+
+  private final String slug;
+  private final String label;
+  private final String sortKey;
+  private final String description;
+  private final String deprecated;
+  private final List<PathSummary> paths;
+  private final String relativeContextPath;
+  private final List<Resource> resources;
+  private final JavaDoc javaDoc;
+  private final Set<String> styles;
+
+  DetachedResourceGroup(ResourceGroup source, ApiModelDetacher detacher) {
+    this.slug = source.getSlug();
+    this.label = source.getLabel();
+    this.sortKey = source.getSortKey();
+    this.description = source.getDescription();
+    this.deprecated = source.getDeprecated();
+    this.relativeContextPath = source.getRelativeContextPath();
+
+    List<PathSummary> sourcePaths = source.getPaths();
+    List<PathSummary> paths = null;
+    if (sourcePaths != null) {
+      paths = new ArrayList<PathSummary>(sourcePaths.size());
+      for (PathSummary path : sourcePaths) {
+        paths.add(new DetachedPathSummary(path));
+      }
+    }
+    this.paths = detacher.unmodifiable(paths);
+
+    List<Resource> sourceResources = source.getResources();
+    List<Resource> resources = null;
+    if (sourceResources != null) {
+      resources = new ArrayList<Resource>(sourceResources.size());
+      for (Resource resource : sourceResources) {
+        resources.add(new DetachedResource(resource, detacher));
+      }
+    }
+    this.resources = detacher.unmodifiable(resources);
+
+    this.javaDoc = detacher.detach(source.getJavaDoc());
+    this.styles = detacher.copyOf(source.getStyles());
+  }
+
+  @Override
+  public String getSlug() {
+    return slug;
+  }
+
+  @Override
+  public String getLabel() {
+    return label;
+  }
+
+  @Override
+  public String getSortKey() {
+    return sortKey;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String getDeprecated() {
+    return deprecated;
+  }
+
+  @Override
+  public List<PathSummary> getPaths() {
+    return paths;
+  }
+
+  @Override
+  public String getRelativeContextPath() {
+    return relativeContextPath;
+  }
+
+  @Override
+  public List<Resource> getResources() {
+    return resources;
+  }
+
+  @Override
+  public Map<String, AnnotationMirror> getAnnotations() {
+    return Collections.emptyMap();
+  }
+
+  @Override
+  public JavaDoc getJavaDoc() {
+    return javaDoc;
+  }
+
+  @Override
+  public Set<String> getStyles() {
+    return styles;
+  }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.services.Operation;
+import com.webcohesion.enunciate.api.services.Service;
+import com.webcohesion.enunciate.api.services.ServiceGroup;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+
+import javax.lang.model.element.AnnotationMirror;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedService implements Service, Serializable {
+
+  private final String label;
+  private final String path;
+  private final String namespace;
+  private final ServiceGroup group;
+  private final String slug;
+  private final String description;
+  private final String deprecated;
+  private final String since;
+  private final String version;
+  private final List<Operation> operations;
+  private final JavaDoc javaDoc;
+  private final Set<String> styles;
+
+  DetachedService(Service source, ServiceGroup group, ApiModelDetacher detacher) {
+    this.label = source.getLabel();
+    this.path = source.getPath();
+    this.namespace = source.getNamespace();
+    this.group = group;
+    this.slug = source.getSlug();
+    this.description = source.getDescription();
+    this.deprecated = source.getDeprecated();
+    this.since = source.getSince();
+    this.version = source.getVersion();
+
+    List<? extends Operation> sourceOperations = source.getOperations();
+    List<Operation> operations = null;
+    if (sourceOperations != null) {
+      operations = new ArrayList<Operation>(sourceOperations.size());
+      for (Operation operation : sourceOperations) {
+        operations.add(new DetachedOperation(operation, detacher));
+      }
+    }
+    this.operations = detacher.unmodifiable(operations);
+
+    this.javaDoc = detacher.detach(source.getJavaDoc());
+    this.styles = detacher.copyOf(source.getStyles());
+  }
+
+  @Override
+  public String getLabel() {
+    return label;
+  }
+
+  @Override
+  public String getPath() {
+    return path;
+  }
+
+  @Override
+  public String getNamespace() {
+    return namespace;
+  }
+
+  @Override
+  public ServiceGroup getGroup() {
+    return group;
+  }
+
+  @Override
+  public String getSlug() {
+    return slug;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String getDeprecated() {
+    return deprecated;
+  }
+
+  @Override
+  public String getSince() {
+    return since;
+  }
+
+  @Override
+  public String getVersion() {
+    return version;
+  }
+
+  @Override
+  public List<? extends Operation> getOperations() {
+    return operations;
+  }
+
+  @Override
+  public Map<String, AnnotationMirror> getAnnotations() {
+    return Collections.emptyMap();
+  }
+
+  @Override
+  public JavaDoc getJavaDoc() {
+    return javaDoc;
+  }
+
+  @Override
+  public Set<String> getStyles() {
+    return styles;
+  }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.services.ServiceApi;
+import com.webcohesion.enunciate.api.services.ServiceGroup;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedServiceApi implements ServiceApi, Serializable {
+
+  private final String contextPath;
+  private final List<ServiceGroup> serviceGroups;
+
+  DetachedServiceApi(ServiceApi source, ApiModelDetacher detacher) {
+    this.contextPath = source.getContextPath();
+
+    List<ServiceGroup> sourceGroups = source.getServiceGroups();
+    List<ServiceGroup> serviceGroups = null;
+    if (sourceGroups != null) {
+      serviceGroups = new ArrayList<ServiceGroup>(sourceGroups.size());
+      for (ServiceGroup group : sourceGroups) {
+        serviceGroups.add(new DetachedServiceGroup(group, detacher));
+      }
+    }
+    this.serviceGroups = detacher.unmodifiable(serviceGroups);
+  }
+
+  @Override
+  public String getContextPath() {
+    return contextPath;
+  }
+
+  @Override
+  public List<ServiceGroup> getServiceGroups() {
+    return serviceGroups;
+  }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.InterfaceDescriptionFile;
+import com.webcohesion.enunciate.api.services.Service;
+import com.webcohesion.enunciate.api.services.ServiceGroup;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedServiceGroup implements ServiceGroup, Serializable {
+
+  private final String namespace;
+  private final InterfaceDescriptionFile wsdlFile;
+  private final List<Service> services;
+
+  DetachedServiceGroup(ServiceGroup source, ApiModelDetacher detacher) {
+    this.namespace = source.getNamespace();
+    this.wsdlFile = detacher.detach(source.getWsdlFile());
+
+    List<? extends Service> sourceServices = source.getServices();
+    List<Service> services = null;
+    if (sourceServices != null) {
+      services = new ArrayList<Service>(sourceServices.size());
+      for (Service service : sourceServices) {
+        services.add(new DetachedService(service, this, detacher));
+      }
+    }
+    this.services = detacher.unmodifiable(services);
+  }
+
+  @Override
+  public String getNamespace() {
+    return namespace;
+  }
+
+  @Override
+  public InterfaceDescriptionFile getWsdlFile() {
+    return wsdlFile;
+  }
+
+  @Override
+  public List<? extends Service> getServices() {
+    return services;
+  }
+}
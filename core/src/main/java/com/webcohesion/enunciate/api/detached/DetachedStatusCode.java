@@ -0,0 +1,53 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.resources.MediaTypeDescriptor;
+import com.webcohesion.enunciate.api.resources.StatusCode;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedStatusCode implements StatusCode, Serializable {
+
+  private final int code;
+  private final String condition;
+  private final List<MediaTypeDescriptor> mediaTypes;
+
+  DetachedStatusCode(StatusCode source, ApiModelDetacher detacher) {
+    this.code = source.getCode();
+    this.condition = source.getCondition();
+    this.mediaTypes = DetachedMediaTypeDescriptor.detachAll(source.getMediaTypes(), detacher);
+  }
+
+  @Override
+  public int getCode() {
+    return code;
+  }
+
+  @Override
+  public String getCondition() {
+    return condition;
+  }
+
+  @Override
+  public List<? extends MediaTypeDescriptor> getMediaTypes() {
+    return mediaTypes;
+  }
+}
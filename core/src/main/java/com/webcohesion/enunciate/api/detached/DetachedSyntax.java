@@ -0,0 +1,180 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.datatype.DataType;
+import com.webcohesion.enunciate.api.datatype.DataTypeReference;
+import com.webcohesion.enunciate.api.datatype.Namespace;
+import com.webcohesion.enunciate.api.datatype.Syntax;
+import com.webcohesion.enunciate.api.resources.MediaTypeDescriptor;
+import com.webcohesion.enunciate.javac.decorations.type.DecoratedTypeMirror;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedSyntax implements Syntax, Serializable {
+
+  private final String id;
+  private final String slug;
+  private final String label;
+  private final boolean empty;
+  private final List<Namespace> namespaces;
+  private final Map<String, DataType> dataTypesByJavaType = new TreeMap<String, DataType>();
+  private final Set<String> mediaTypes = new TreeSet<String>();
+
+  DetachedSyntax(Syntax source, ApiModelDetacher detacher) {
+    detacher.register("syntax:" + source.getId(), this);
+    this.id = source.getId();
+    this.slug = source.getSlug();
+    this.label = source.getLabel();
+    this.empty = source.isEmpty();
+
+    List<Namespace> sourceNamespaces = source.getNamespaces();
+    List<Namespace> namespaces = null;
+    if (sourceNamespaces != null) {
+      namespaces = new ArrayList<Namespace>(sourceNamespaces.size());
+      for (Namespace namespace : sourceNamespaces) {
+        namespaces.add(detacher.detach(namespace, source));
+      }
+    }
+    this.namespaces = detacher.unmodifiable(namespaces);
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public String getSlug() {
+    return slug;
+  }
+
+  @Override
+  public String getLabel() {
+    return label;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return empty;
+  }
+
+  @Override
+  public List<Namespace> getNamespaces() {
+    return namespaces;
+  }
+
+  /**
+   * Find the media type descriptor for the specified type. The detached syntax supports the media types that the
+   * detached resources were found to use with its data types, and resolves the data type by the name of the Java type.
+   *
+   * @param mediaType The media type.
+   * @param typeMirror The type.
+   * @param qualityOfSource The quality of source.
+   * @return The media type descriptor, or null if the media type or type isn't supported by this syntax.
+   */
+  @Override
+  public MediaTypeDescriptor findMediaTypeDescriptor(String mediaType, DecoratedTypeMirror typeMirror, float qualityOfSource) {
+    mediaType = resolveMediaType(mediaType);
+    if (mediaType == null || typeMirror == null) {
+      return null;
+    }
+
+    DataTypeReference typeReference = findDataTypeReference(typeMirror);
+    return typeReference == null ? null : new DetachedMediaTypeDescriptor(mediaType, typeReference, this.label, qualityOfSource);
+  }
+
+  private String resolveMediaType(String mediaType) {
+    if (mediaType == null) {
+      return null;
+    }
+
+    if (mediaType.equals("*/*")) {
+      //prefer an application type, like the compiler-backed syntaxes do.
+      String resolved = resolveMediaType("application/*");
+      return resolved != null ? resolved : this.mediaTypes.isEmpty() ? null : this.mediaTypes.iterator().next();
+    }
+
+    if (mediaType.endsWith("/*")) {
+      String type = mediaType.substring(0, mediaType.length() - 1);
+      for (String supported : this.mediaTypes) {
+        if (supported.startsWith(type)) {
+          return supported;
+        }
+      }
+      return null;
+    }
+
+    for (String supported : this.mediaTypes) {
+      //accept the media types that share the (structured syntax) suffix of a supported media type, e.g. "+xml" or "/json".
+      String subtype = supported.substring(supported.indexOf('/') + 1);
+      String suffix = subtype.substring(subtype.lastIndexOf('+') + 1);
+      if (mediaType.equals(supported) || mediaType.endsWith("/" + suffix) || mediaType.endsWith("+" + suffix)) {
+        return mediaType;
+      }
+    }
+
+    return null;
+  }
+
+  private DataTypeReference findDataTypeReference(TypeMirror typeMirror) {
+    boolean list = false;
+    if (typeMirror instanceof ArrayType) {
+      typeMirror = ((ArrayType) typeMirror).getComponentType();
+      list = true;
+    }
+    else if (typeMirror instanceof DecoratedTypeMirror && ((DecoratedTypeMirror) typeMirror).isCollection() && typeMirror instanceof DeclaredType) {
+      List<? extends TypeMirror> typeArgs = ((DeclaredType) typeMirror).getTypeArguments();
+      if (typeArgs.size() != 1) {
+        return null;
+      }
+      typeMirror = typeArgs.get(0);
+      list = true;
+    }
+
+    if (!(typeMirror instanceof DeclaredType)) {
+      return null;
+    }
+
+    Element element = ((DeclaredType) typeMirror).asElement();
+    DataType dataType = element instanceof TypeElement ? this.dataTypesByJavaType.get(((TypeElement) element).getQualifiedName().toString()) : null;
+    return dataType == null ? null : new DetachedDataTypeReference(dataType, list);
+  }
+
+  void addDataType(String javaTypeName, DataType dataType) {
+    this.dataTypesByJavaType.put(javaTypeName, dataType);
+  }
+
+  void addMediaType(String mediaType) {
+    if (mediaType != null && mediaType.indexOf('/') > 0 && !mediaType.contains("*")) {
+      this.mediaTypes.add(mediaType);
+    }
+  }
+
+  @Override
+  public int compareTo(Syntax syntax) {
+    return getId().compareTo(syntax.getId());
+  }
+}
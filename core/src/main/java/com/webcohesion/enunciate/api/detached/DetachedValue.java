@@ -0,0 +1,55 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.datatype.Value;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedValue implements Value, Serializable {
+
+  private final String value;
+  private final String description;
+  private final Set<String> styles;
+
+  DetachedValue(Value source) {
+    this.value = source.getValue();
+    this.description = source.getDescription();
+    Set<String> styles = source.getStyles();
+    this.styles = styles == null ? null : Collections.unmodifiableSet(new TreeSet<String>(styles));
+  }
+
+  @Override
+  public String getValue() {
+    return value;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public Set<String> getStyles() {
+    return styles;
+  }
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.datatype.PropertyMetadata;
+import com.webcohesion.enunciate.api.datatype.XmlProperty;
+
+/**
+ * @author Ryan Heaton
+ */
+public class DetachedXmlProperty extends DetachedProperty implements XmlProperty {
+
+  private final PropertyMetadata namespaceInfo;
+  private final String namespace;
+  private final String wrapperName;
+  private final boolean attribute;
+
+  DetachedXmlProperty(XmlProperty source, ApiModelDetacher detacher) {
+    super(source, detacher);
+    this.namespaceInfo = source.getNamespaceInfo();
+    this.namespace = source.getNamespace();
+    this.wrapperName = source.getWrapperName();
+    this.attribute = source.isAttribute();
+  }
+
+  @Override
+  public PropertyMetadata getNamespaceInfo() {
+    return namespaceInfo;
+  }
+
+  @Override
+  public String getNamespace() {
+    return namespace;
+  }
+
+  @Override
+  public String getWrapperName() {
+    return wrapperName;
+  }
+
+  @Override
+  public boolean isAttribute() {
+    return attribute;
+  }
+}
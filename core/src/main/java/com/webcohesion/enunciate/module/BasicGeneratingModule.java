@@ -15,6 +15,7 @@
  */
 package com.webcohesion.enunciate.module;
 
+import com.webcohesion.enunciate.EnunciateContext;
 import com.webcohesion.enunciate.javac.decorations.DecoratedProcessingEnvironment;
 import com.webcohesion.enunciate.javac.decorations.SourcePosition;
 
@@ -32,6 +33,11 @@ import java.util.Set;
  */
 public abstract class BasicGeneratingModule extends BasicEnunicateModule {
 
+  /**
+   * The context property holding the timestamp of the newest source file, for when the compiler is no longer available.
+   */
+  public static final String NEWEST_SOURCE_TIMESTAMP_PROPERTY = "com.webcohesion.enunciate.module.BasicGeneratingModule#NEWEST_SOURCE_TIMESTAMP";
+
   /**
    * Whether all files in the specified directory are newer than all the source files.
    *
@@ -39,10 +45,21 @@ public abstract class BasicGeneratingModule extends BasicEnunicateModule {
    * @return Whether the destination directory is up-to-date.
    */
   public boolean isUpToDateWithSources(File destDir) {
-    Set<Element> apiElements = this.context.getApiElements();
-    DecoratedProcessingEnvironment env = this.context.getProcessingEnvironment();
+    Long newestSourceTimestamp = this.context.getProperty(NEWEST_SOURCE_TIMESTAMP_PROPERTY, Long.class);
+    return isUpToDate(newestSourceTimestamp != null ? newestSourceTimestamp : findNewestSourceTimestamp(this.context), destDir);
+  }
+
+  /**
+   * Find the timestamp of the newest source file (including the configuration file) of the API elements of the context.
+   *
+   * @param context The context.
+   * @return The timestamp of the newest source file.
+   */
+  public static long findNewestSourceTimestamp(EnunciateContext context) {
+    Set<Element> apiElements = context.getApiElements();
+    DecoratedProcessingEnvironment env = context.getProcessingEnvironment();
     long newestSourceTimestamp = 0;
-    File configFile = this.context.getConfiguration().getConfigFile();
+    File configFile = context.getConfiguration().getConfigFile();
     if (configFile != null && configFile.exists()) {
       newestSourceTimestamp = configFile.lastModified();
     }
@@ -52,10 +69,10 @@ public abstract class BasicGeneratingModule extends BasicEnunicateModule {
       newestSourceTimestamp = Math.max(newestSourceTimestamp, sourceTimestamp);
     }
 
-    return isUpToDate(newestSourceTimestamp, destDir);
+    return newestSourceTimestamp;
   }
 
-  public long findSourceTimestamp(DecoratedProcessingEnvironment env, Element apiElement) {
+  public static long findSourceTimestamp(DecoratedProcessingEnvironment env, Element apiElement) {
     SourcePosition sp = env.findSourcePosition(apiElement);
     URI uri = sp == null ? null : sp.getPath() == null ? null : sp.getPath().getCompilationUnit() == null ? null : sp.getPath().getCompilationUnit().getSourceFile() == null ? null : sp.getPath().getCompilationUnit().getSourceFile().toUri();
     if (uri != null && "file".equalsIgnoreCase(uri.getScheme())) {
@@ -0,0 +1,26 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.module;
+
+/**
+ * Marker interface for a module that reads the API model exclusively through the API registry. If so configured, these
+ * modules are invoked after the Java compiler has finished, against a copy of the API model that has been detached
+ * from the compiler.
+ *
+ * @author Ryan Heaton
+ */
+public interface DetachedApiModelModule extends ApiRegistryAwareModule {
+}
@@ -0,0 +1,328 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.util;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The splice points of an IDL file: the byte ranges that are replaced with the base address of the request when the
+ * IDL is served by the IDL filter of the runtime, and the byte range of the "enunciate-assumed-base-uri" processing
+ * instruction, which is dropped. The index is shipped next to the copy of the IDL file that's served by the filter
+ * (with the same name plus a ".splices" suffix) so that the filter can splice the base address into the file as it's
+ * streamed instead of parsing it.<br/><br/>
+ *
+ * The index is a text file with one entry per line: "size [bytes]" gives the size of the IDL file, and "drop [offset]
+ * [length]" and "base [offset] [length]" give the ranges to drop and to replace, in ascending order. Only the
+ * occurrences the filter would rewrite are recorded, i.e. those in character data and attribute values following the
+ * processing instruction.
+ *
+ * @author Ryan Heaton
+ */
+public class IDLSpliceIndex {
+
+  public static final String SUFFIX = ".splices";
+  public static final String ASSUMED_BASE_URI_TARGET = "enunciate-assumed-base-uri";
+
+  private static final int TEXT = 0;
+  private static final int OPEN = 1;
+  private static final int BANG = 2;
+  private static final int BANG_DASH = 3;
+  private static final int COMMENT = 4;
+  private static final int PROCESSING_INSTRUCTION = 5;
+
+  private final long size;
+  private final List<long[]> drops = new ArrayList<long[]>();
+  private final List<long[]> splices = new ArrayList<long[]>();
+
+  private IDLSpliceIndex(long size) {
+    this.size = size;
+  }
+
+  /**
+   * Scan an IDL file (encoded in UTF-8) for its splice points.
+   *
+   * @param idl The IDL file.
+   * @return The splice index, or null if the file doesn't declare the base address that was assumed when it was
+   * generated, or if the base address can't be found literally in the file (e.g. it has characters that need to be
+   * escaped).
+   */
+  public static IDLSpliceIndex scan(File idl) throws IOException {
+    List<long[]> drops = new ArrayList<long[]>();
+    List<long[]> splices = new ArrayList<long[]>();
+    ByteArrayOutputStream instruction = new ByteArrayOutputStream();
+    byte[] base = null;
+    int[] fallback = null;
+    int matched = 0;
+    int state = TEXT;
+    int previous = -1;
+    int dashes = 0;
+    long markupStart = 0;
+    long offset = -1;
+
+    InputStream in = new BufferedInputStream(new FileInputStream(idl));
+    try {
+      int b;
+      while ((b = in.read()) >= 0) {
+        offset++;
+        switch (state) {
+          case OPEN:
+            if (b == '?') {
+              instruction.reset();
+              state = PROCESSING_INSTRUCTION;
+              break;
+            }
+            else if (b == '!') {
+              state = BANG;
+              break;
+            }
+            state = TEXT;
+            break;
+          case BANG:
+            state = b == '-' ? BANG_DASH : TEXT;
+            break;
+          case BANG_DASH:
+            state = b == '-' ? COMMENT : TEXT;
+            dashes = 0;
+            break;
+          case COMMENT:
+            if (b == '-') {
+              dashes++;
+            }
+            else {
+              if (b == '>' && dashes >= 2) {
+                state = TEXT;
+              }
+              dashes = 0;
+            }
+            break;
+          case PROCESSING_INSTRUCTION:
+            if (b == '>' && previous == '?') {
+              String[] targetAndData = parseInstruction(instruction.toByteArray());
+              if (ASSUMED_BASE_URI_TARGET.equals(targetAndData[0])) {
+                String assumedBaseAddress = targetAndData[1];
+                if (assumedBaseAddress.endsWith("/")) {
+                  assumedBaseAddress = assumedBaseAddress.substring(0, assumedBaseAddress.length() - 1);
+                }
+
+                if (assumedBaseAddress.isEmpty() || needsEscaping(assumedBaseAddress)) {
+                  return null;
+                }
+
+                drops.add(new long[]{markupStart, offset - markupStart + 1});
+                base = assumedBaseAddress.getBytes("utf-8");
+                fallback = fallback(base);
+              }
+              state = TEXT;
+            }
+            else {
+              instruction.write(b);
+            }
+            break;
+          default:
+            break;
+        }
+
+        if (state == TEXT && b == '<') {
+          markupStart = offset;
+          matched = 0;
+          state = OPEN;
+        }
+        else if (state == TEXT && base != null) {
+          while (matched > 0 && base[matched] != (byte) b) {
+            matched = fallback[matched - 1];
+          }
+
+          if (base[matched] == (byte) b) {
+            matched++;
+          }
+
+          if (matched == base.length) {
+            splices.add(new long[]{offset - base.length + 1, base.length});
+            matched = 0;
+          }
+        }
+
+        previous = b;
+      }
+    }
+    finally {
+      in.close();
+    }
+
+    if (base == null) {
+      return null;
+    }
+
+    IDLSpliceIndex index = new IDLSpliceIndex(offset + 1);
+    index.drops.addAll(drops);
+    index.splices.addAll(splices);
+    return index;
+  }
+
+  /**
+   * Write the splice index of the specified IDL file next to it, or remove a stale index if the file has no splice
+   * points. An index that's already up to date is left untouched.
+   *
+   * @param idl The IDL file.
+   */
+  public static void writeIndex(File idl) throws IOException {
+    IDLSpliceIndex index = scan(idl);
+    if (index == null) {
+      removeIndex(idl);
+      return;
+    }
+
+    StringWriter writer = new StringWriter();
+    index.writeTo(writer);
+    byte[] content = writer.toString().getBytes("utf-8");
+    File indexFile = new File(idl.getParentFile(), idl.getName() + SUFFIX);
+    if (indexFile.length() == content.length && Arrays.equals(content, read(indexFile))) {
+      return;
+    }
+
+    OutputStream out = new FileOutputStream(indexFile);
+    try {
+      out.write(content);
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Remove the splice index of the specified IDL file, if there is one.
+   *
+   * @param idl The IDL file.
+   */
+  public static void removeIndex(File idl) throws IOException {
+    File indexFile = new File(idl.getParentFile(), idl.getName() + SUFFIX);
+    if (indexFile.exists() && !indexFile.delete()) {
+      throw new IOException("Unable to remove " + indexFile + ".");
+    }
+  }
+
+  /**
+   * The size of the IDL file.
+   *
+   * @return The size of the IDL file.
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * The ranges (offset and length) of the IDL file to drop.
+   *
+   * @return The ranges of the IDL file to drop.
+   */
+  public List<long[]> getDrops() {
+    return drops;
+  }
+
+  /**
+   * The ranges (offset and length) of the IDL file to replace with the base address.
+   *
+   * @return The ranges of the IDL file to replace with the base address.
+   */
+  public List<long[]> getSplices() {
+    return splices;
+  }
+
+  /**
+   * Write this index.
+   *
+   * @param writer The writer.
+   */
+  public void writeTo(Writer writer) throws IOException {
+    writer.write("# splice points of the IDL file: \"drop\" and \"base\" ranges are [offset] [length] in bytes.\n");
+    writer.write("size " + this.size + "\n");
+    int drop = 0;
+    int splice = 0;
+    while (drop < this.drops.size() || splice < this.splices.size()) {
+      if (splice >= this.splices.size() || (drop < this.drops.size() && this.drops.get(drop)[0] < this.splices.get(splice)[0])) {
+        long[] range = this.drops.get(drop++);
+        writer.write("drop " + range[0] + " " + range[1] + "\n");
+      }
+      else {
+        long[] range = this.splices.get(splice++);
+        writer.write("base " + range[0] + " " + range[1] + "\n");
+      }
+    }
+    writer.flush();
+  }
+
+  private static byte[] read(File file) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    InputStream in = new FileInputStream(file);
+    try {
+      byte[] buffer = new byte[8192];
+      int len;
+      while ((len = in.read(buffer)) > 0) {
+        bytes.write(buffer, 0, len);
+      }
+    }
+    finally {
+      in.close();
+    }
+    return bytes.toByteArray();
+  }
+
+  private static String[] parseInstruction(byte[] instruction) throws UnsupportedEncodingException {
+    //the instruction is followed by the "?" of its "?>" terminator.
+    String content = new String(instruction, 0, instruction.length - 1, "utf-8");
+    int end = 0;
+    while (end < content.length() && !Character.isWhitespace(content.charAt(end))) {
+      end++;
+    }
+    int start = end;
+    while (start < content.length() && Character.isWhitespace(content.charAt(start))) {
+      start++;
+    }
+    return new String[]{content.substring(0, end), content.substring(start)};
+  }
+
+  private static boolean needsEscaping(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      if (ch == '&' || ch == '<' || ch == '>' || ch == '"' || ch == '\'') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The failure function of the base address, so that occurrences are found in a single pass over the file.
+   */
+  private static int[] fallback(byte[] pattern) {
+    int[] fallback = new int[pattern.length];
+    int k = 0;
+    for (int i = 1; i < pattern.length; i++) {
+      while (k > 0 && pattern[k] != pattern[i]) {
+        k = fallback[k - 1];
+      }
+      if (pattern[k] == pattern[i]) {
+        k++;
+      }
+      fallback[i] = k;
+    }
+    return fallback;
+  }
+
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.util;
+
+import com.webcohesion.enunciate.api.resources.Method;
+import com.webcohesion.enunciate.api.resources.Resource;
+import com.webcohesion.enunciate.api.resources.ResourceGroup;
+
+import java.util.*;
+
+/**
+ * An index of the methods of a set of resource groups by resource path and HTTP method.
+ *
+ * @author Ryan Heaton
+ */
+public class ResourceMethodIndex {
+
+  private final Map<String, Map<String, List<Method>>> methodsByPath = new TreeMap<String, Map<String, List<Method>>>();
+
+  public ResourceMethodIndex(List<ResourceGroup> resourceGroups) {
+    for (ResourceGroup resourceGroup : resourceGroups) {
+      for (Resource resource : resourceGroup.getResources()) {
+        Map<String, List<Method>> methodsByHttpMethod = this.methodsByPath.get(resource.getPath());
+        if (methodsByHttpMethod == null) {
+          methodsByHttpMethod = new TreeMap<String, List<Method>>(String.CASE_INSENSITIVE_ORDER);
+          this.methodsByPath.put(resource.getPath(), methodsByHttpMethod);
+        }
+
+        for (Method method : resource.getMethods()) {
+          List<Method> methods = methodsByHttpMethod.get(method.getHttpMethod());
+          if (methods == null) {
+            methods = new ArrayList<Method>(1);
+            methodsByHttpMethod.put(method.getHttpMethod(), methods);
+          }
+          methods.add(method);
+        }
+      }
+    }
+  }
+
+  /**
+   * The indexed resource paths.
+   *
+   * @return The indexed resource paths.
+   */
+  public Set<String> getPaths() {
+    return Collections.unmodifiableSet(this.methodsByPath.keySet());
+  }
+
+  /**
+   * Find the methods at the specified path.
+   *
+   * @param path The path of the resource.
+   * @param httpMethod The HTTP method, or null for all HTTP methods.
+   * @return The methods.
+   */
+  public List<Method> findMethods(String path, String httpMethod) {
+    Map<String, List<Method>> methodsByHttpMethod = this.methodsByPath.get(path);
+    if (methodsByHttpMethod == null) {
+      return Collections.emptyList();
+    }
+
+    if (httpMethod == null) {
+      List<Method> methods = new ArrayList<Method>();
+      for (List<Method> byHttpMethod : methodsByHttpMethod.values()) {
+        methods.addAll(byHttpMethod);
+      }
+      return methods;
+    }
+
+    List<Method> methods = methodsByHttpMethod.get(httpMethod);
+    return methods == null ? Collections.<Method>emptyList() : Collections.unmodifiableList(methods);
+  }
+}
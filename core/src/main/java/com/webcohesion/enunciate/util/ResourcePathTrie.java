@@ -0,0 +1,236 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.util;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * A trie of resource path segments. Each node of the trie is a segment of a path (split on '/') and holds the values
+ * (e.g. resource methods) mapped to the path that ends at that node. Children are kept in sorted order, so a
+ * breadth-first or depth-first traversal of the trie visits paths in the same order as the
+ * {@link BreadthFirstResourcePathComparator} and the {@link DepthFirstResourcePathComparator}, respectively.
+ *
+ * @author Ryan Heaton
+ */
+public class ResourcePathTrie<V> {
+
+  private final Node<V> root = new Node<V>(null, null);
+
+  /**
+   * The root of the trie. The root doesn't correspond to any path.
+   *
+   * @return The root of the trie.
+   */
+  public Node<V> getRoot() {
+    return root;
+  }
+
+  /**
+   * Get (or create) the node for the specified path.
+   *
+   * @param path The path.
+   * @return The node.
+   */
+  public Node<V> node(String path) {
+    Node<V> node = this.root;
+    for (String segment : path.split("/", -1)) {
+      node = node.child(segment);
+    }
+    return node;
+  }
+
+  /**
+   * Add a value at the specified path.
+   *
+   * @param path The path.
+   * @param value The value.
+   * @return The node for the path.
+   */
+  public Node<V> add(String path, V value) {
+    Node<V> node = node(path);
+    node.getValues().add(value);
+    return node;
+  }
+
+  /**
+   * The nodes that hold values, in the order specified by the sort strategy.
+   *
+   * @param strategy The sort strategy.
+   * @return The nodes.
+   */
+  public List<Node<V>> nodes(PathSortStrategy strategy) {
+    List<Node<V>> nodes = new ArrayList<Node<V>>();
+    if (strategy == PathSortStrategy.breadth_first) {
+      LinkedList<Node<V>> queue = new LinkedList<Node<V>>(this.root.children.values());
+      while (!queue.isEmpty()) {
+        Node<V> node = queue.removeFirst();
+        if (!node.values.isEmpty()) {
+          nodes.add(node);
+        }
+        queue.addAll(node.children.values());
+      }
+    }
+    else {
+      LinkedList<Node<V>> stack = new LinkedList<Node<V>>();
+      pushChildren(this.root, stack);
+      while (!stack.isEmpty()) {
+        Node<V> node = stack.removeFirst();
+        if (!node.values.isEmpty()) {
+          nodes.add(node);
+        }
+        pushChildren(node, stack);
+      }
+    }
+    return nodes;
+  }
+
+  private void pushChildren(Node<V> node, LinkedList<Node<V>> stack) {
+    //push in reverse order so the children are popped in sorted order.
+    for (Node<V> child : node.children.descendingMap().values()) {
+      stack.addFirst(child);
+    }
+  }
+
+  /**
+   * Match a request path against the paths in this trie. Static segments are preferred over variable segments.
+   *
+   * @param requestPath The request path.
+   * @return The matching node, or null if no node holding values matches.
+   */
+  public Node<V> match(String requestPath) {
+    return match(this.root, requestPath.split("/", -1), 0);
+  }
+
+  private Node<V> match(Node<V> node, String[] segments, int index) {
+    if (index == segments.length) {
+      return node.values.isEmpty() ? null : node;
+    }
+
+    String segment = segments[index];
+    Node<V> child = node.children.get(segment);
+    if (child != null && !child.isVariable()) {
+      Node<V> match = match(child, segments, index + 1);
+      if (match != null) {
+        return match;
+      }
+    }
+
+    for (Node<V> variable : node.children.values()) {
+      if (variable.isVariable() && variable.accepts(segment)) {
+        Node<V> match = match(variable, segments, index + 1);
+        if (match != null) {
+          return match;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * A node in the trie.
+   */
+  public static final class Node<V> {
+
+    private final String segment;
+    private final String path;
+    private final TreeMap<String, Node<V>> children = new TreeMap<String, Node<V>>();
+    private final List<V> values = new ArrayList<V>();
+    private String regex;
+    private Pattern pattern;
+
+    private Node(String segment, String path) {
+      this.segment = segment;
+      this.path = path;
+    }
+
+    /**
+     * Get (or create) the child node for the specified segment.
+     *
+     * @param segment The segment.
+     * @return The child.
+     */
+    public Node<V> child(String segment) {
+      Node<V> child = this.children.get(segment);
+      if (child == null) {
+        child = new Node<V>(segment, this.path == null ? segment : this.path + "/" + segment);
+        this.children.put(segment, child);
+      }
+      return child;
+    }
+
+    /**
+     * The path segment of this node.
+     *
+     * @return The path segment of this node.
+     */
+    public String getSegment() {
+      return segment;
+    }
+
+    /**
+     * The full path that ends at this node.
+     *
+     * @return The full path that ends at this node.
+     */
+    public String getPath() {
+      return path;
+    }
+
+    /**
+     * Whether this segment is a template variable (e.g. "{id}").
+     *
+     * @return Whether this segment is a template variable.
+     */
+    public boolean isVariable() {
+      return this.segment != null && this.segment.startsWith("{") && this.segment.endsWith("}");
+    }
+
+    /**
+     * The regular expression a variable segment is constrained to, if any.
+     *
+     * @return The regular expression a variable segment is constrained to.
+     */
+    public String getRegex() {
+      return regex;
+    }
+
+    public void setRegex(String regex) {
+      this.regex = regex;
+      this.pattern = null;
+    }
+
+    public Collection<Node<V>> getChildren() {
+      return Collections.unmodifiableCollection(this.children.values());
+    }
+
+    public List<V> getValues() {
+      return values;
+    }
+
+    boolean accepts(String segment) {
+      if (this.regex == null) {
+        return true;
+      }
+
+      if (this.pattern == null) {
+        this.pattern = Pattern.compile(this.regex);
+      }
+      return this.pattern.matcher(segment).matches();
+    }
+  }
+}
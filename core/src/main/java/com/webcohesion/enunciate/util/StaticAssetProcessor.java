@@ -0,0 +1,348 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.util;
+
+import com.webcohesion.enunciate.EnunciateLogger;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Prepares a directory of generated static files (documentation, Swagger UI) for deployment:
+ * <ul>
+ * <li>Stylesheets, scripts, fonts and images get a copy with the content hash in the file name (e.g.
+ * "style.0123456789.css"), so they can be cached forever.</li>
+ * <li>References to those assets in stylesheets and HTML pages are rewritten to the hashed names, including the
+ * references to hashed names of the last run (e.g. in pages that weren't regenerated). The original files are kept for
+ * any references that can't be rewritten (e.g. paths built by scripts).</li>
+ * <li>Compressible files get a precompressed ".gz" sibling.</li>
+ * </ul>
+ * A manifest of the content hashes is kept in the directory, so that only assets that changed since the last run are
+ * compressed again, and so that the hashed copies written by the last run that are no longer current can be removed.
+ *
+ * @author Ryan Heaton
+ */
+public class StaticAssetProcessor {
+
+  public static final String MANIFEST = ".enunciate-assets";
+
+  private static final Set<String> HASHED_EXTENSIONS = new TreeSet<String>(Arrays.asList("js", "css", "png", "gif", "jpg", "jpeg", "ico", "svg", "woff", "woff2", "ttf", "eot"));
+  private static final Set<String> COMPRESSED_EXTENSIONS = new TreeSet<String>(Arrays.asList("html", "htm", "js", "css", "svg", "ttf", "eot", "json", "xml", "xsd", "wsdl", "wadl", "txt"));
+  private static final Set<String> PAGE_EXTENSIONS = new TreeSet<String>(Arrays.asList("html", "htm"));
+  private static final Pattern HASHED_NAME = Pattern.compile(".*\\.[0-9a-f]{10}\\.[^.]+");
+  private static final Pattern PAGE_REFERENCE = Pattern.compile("(\\b(?:href|src)\\s*=\\s*[\"'])([^\"'#?]+)", Pattern.CASE_INSENSITIVE);
+  private static final Pattern STYLESHEET_REFERENCE = Pattern.compile("(\\burl\\(\\s*[\"']?)([^\"')#?]+)");
+
+  private final EnunciateLogger logger;
+
+  public StaticAssetProcessor(EnunciateLogger logger) {
+    this.logger = logger;
+  }
+
+  /**
+   * Process the static assets in the specified directory.
+   *
+   * @param dir The directory.
+   */
+  public void process(File dir) throws IOException {
+    File manifestFile = new File(dir, MANIFEST);
+    Properties previous = new Properties();
+    if (manifestFile.exists()) {
+      InputStream in = new FileInputStream(manifestFile);
+      try {
+        previous.load(in);
+      }
+      finally {
+        in.close();
+      }
+    }
+    Properties manifest = new Properties();
+
+    //the hashed copies of the last run, mapped to the paths of their originals.
+    Map<String, String> previousHashedPaths = new HashMap<String, String>();
+    for (String path : previous.stringPropertyNames()) {
+      if (HASHED_EXTENSIONS.contains(extensionOf(new File(path)))) {
+        previousHashedPaths.put(hashedPath(path, previous.getProperty(path)), path);
+      }
+    }
+
+    List<File> pages = new ArrayList<File>();
+    List<File> stylesheets = new ArrayList<File>();
+    List<File> assets = new ArrayList<File>();
+    List<File> others = new ArrayList<File>();
+    gatherFiles(dir, pages, stylesheets, assets, others);
+
+    //stylesheets reference the other assets, and pages reference everything, so hash them in that order.
+    Map<String, String> hashedNames = new HashMap<String, String>();
+    for (File asset : assets) {
+      hash(dir, asset, hashedNames, previous, manifest);
+    }
+    for (File stylesheet : stylesheets) {
+      rewriteReferences(dir, stylesheet, STYLESHEET_REFERENCE, hashedNames, previousHashedPaths);
+      hash(dir, stylesheet, hashedNames, previous, manifest);
+    }
+    for (File page : pages) {
+      rewriteReferences(dir, page, PAGE_REFERENCE, hashedNames, previousHashedPaths);
+      compressIfChanged(dir, page, hashOf(page), previous, manifest);
+    }
+    for (File other : others) {
+      if (COMPRESSED_EXTENSIONS.contains(extensionOf(other))) {
+        compressIfChanged(dir, other, hashOf(other), previous, manifest);
+      }
+    }
+
+    //remove the hashed copies (and their compressed siblings) of the last run that are no longer current.
+    Set<String> currentHashedPaths = new HashSet<String>();
+    for (Map.Entry<String, String> hashedName : hashedNames.entrySet()) {
+      String path = hashedName.getKey();
+      currentHashedPaths.add(path.substring(0, path.lastIndexOf('/') + 1) + hashedName.getValue());
+    }
+    for (String hashedPath : previousHashedPaths.keySet()) {
+      if (!currentHashedPaths.contains(hashedPath)) {
+        File stale = new File(dir, hashedPath);
+        this.logger.debug("Removing stale asset %s.", stale);
+        stale.delete();
+        new File(stale.getPath() + ".gz").delete();
+      }
+    }
+
+    OutputStream out = new FileOutputStream(manifestFile);
+    try {
+      manifest.store(out, "Content hashes of the static assets.");
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  private void gatherFiles(File dir, List<File> pages, List<File> stylesheets, List<File> assets, List<File> others) {
+    File[] files = dir.listFiles();
+    if (files != null) {
+      Arrays.sort(files);
+      for (File file : files) {
+        String name = file.getName();
+        if (file.isDirectory()) {
+          gatherFiles(file, pages, stylesheets, assets, others);
+        }
+        else if (MANIFEST.equals(name) || name.endsWith(".gz") || HASHED_NAME.matcher(name).matches()) {
+          //our own output.
+          continue;
+        }
+        else {
+          String extension = extensionOf(file);
+          if (PAGE_EXTENSIONS.contains(extension)) {
+            pages.add(file);
+          }
+          else if ("css".equals(extension)) {
+            stylesheets.add(file);
+          }
+          else if (HASHED_EXTENSIONS.contains(extension)) {
+            assets.add(file);
+          }
+          else {
+            others.add(file);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Write the content-hashed copy of an asset (and its compressed sibling), unless it's already there.
+   */
+  private void hash(File dir, File asset, Map<String, String> hashedNames, Properties previous, Properties manifest) throws IOException {
+    String hash = hashOf(asset);
+    String hashedName = hashedPath(asset.getName(), hash);
+    File hashedAsset = new File(asset.getParentFile(), hashedName);
+    if (!hashedAsset.exists()) {
+      copy(asset, hashedAsset);
+    }
+    String path = relativePath(dir, asset);
+    hashedNames.put(path, hashedName);
+    manifest.setProperty(path, hash);
+
+    File compressedCopy = new File(hashedAsset.getPath() + ".gz");
+    if (compressIfChanged(dir, asset, hash, previous, manifest) && !compressedCopy.exists()) {
+      copy(new File(asset.getPath() + ".gz"), compressedCopy);
+    }
+  }
+
+  /**
+   * Compress the file if its content changed since the last run.
+   *
+   * @return Whether the file is compressible.
+   */
+  private boolean compressIfChanged(File dir, File file, String hash, Properties previous, Properties manifest) throws IOException {
+    if (!COMPRESSED_EXTENSIONS.contains(extensionOf(file))) {
+      return false;
+    }
+
+    String path = relativePath(dir, file);
+    manifest.setProperty(path, hash);
+    File compressed = new File(file.getPath() + ".gz");
+    if (hash.equals(previous.getProperty(path)) && compressed.exists()) {
+      return true;
+    }
+
+    this.logger.debug("Compressing %s.", file);
+    InputStream in = new FileInputStream(file);
+    OutputStream out = new GZIPOutputStream(new FileOutputStream(compressed));
+    try {
+      byte[] buffer = new byte[8192];
+      int len;
+      while ((len = in.read(buffer)) > 0) {
+        out.write(buffer, 0, len);
+      }
+    }
+    finally {
+      in.close();
+      out.close();
+    }
+    return true;
+  }
+
+  /**
+   * Rewrite the references of a file to the assets that have a content-hashed copy, and the references to the hashed
+   * copies of the last run to the current ones.
+   */
+  private void rewriteReferences(File dir, File file, Pattern referencePattern, Map<String, String> hashedNames, Map<String, String> previousHashedPaths) throws IOException {
+    String content = read(file);
+    Matcher matcher = referencePattern.matcher(content);
+    StringBuffer rewritten = new StringBuffer(content.length());
+    boolean changed = false;
+    while (matcher.find()) {
+      String reference = matcher.group(2);
+      String replacement = reference;
+      if (!isAbsolute(reference)) {
+        String path = relativePath(dir, new File(file.getParentFile(), reference));
+        String original = previousHashedPaths.get(path);
+        String hashedName = hashedNames.get(original == null ? path : original);
+        if (hashedName != null) {
+          replacement = reference.substring(0, reference.lastIndexOf('/') + 1) + hashedName;
+          changed |= !replacement.equals(reference);
+        }
+      }
+      matcher.appendReplacement(rewritten, Matcher.quoteReplacement(matcher.group(1) + replacement));
+    }
+
+    if (changed) {
+      matcher.appendTail(rewritten);
+      Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+      try {
+        writer.write(rewritten.toString());
+      }
+      finally {
+        writer.close();
+      }
+    }
+  }
+
+  /**
+   * The path of the content-hashed copy of a file.
+   *
+   * @param path The path of the file.
+   * @param hash The content hash of the file.
+   * @return The path of the content-hashed copy.
+   */
+  static String hashedPath(String path, String hash) {
+    int dot = path.lastIndexOf('.');
+    return path.substring(0, dot) + '.' + hash.substring(0, 10) + path.substring(dot);
+  }
+
+  private static boolean isAbsolute(String reference) {
+    return reference.startsWith("/") || reference.contains(":");
+  }
+
+  private static String relativePath(File dir, File file) throws IOException {
+    String root = dir.getCanonicalPath();
+    String path = file.getCanonicalPath();
+    if (path.startsWith(root + File.separator)) {
+      path = path.substring(root.length() + 1);
+    }
+    return path.replace(File.separatorChar, '/');
+  }
+
+  private static String extensionOf(File file) {
+    String name = file.getName();
+    int dot = name.lastIndexOf('.');
+    return dot < 0 ? "" : name.substring(dot + 1).toLowerCase();
+  }
+
+  private static String read(File file) throws IOException {
+    Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+    try {
+      StringBuilder content = new StringBuilder();
+      char[] buffer = new char[8192];
+      int len;
+      while ((len = reader.read(buffer)) > 0) {
+        content.append(buffer, 0, len);
+      }
+      return content.toString();
+    }
+    finally {
+      reader.close();
+    }
+  }
+
+  private static void copy(File from, File to) throws IOException {
+    InputStream in = new FileInputStream(from);
+    OutputStream out = new FileOutputStream(to);
+    try {
+      byte[] buffer = new byte[8192];
+      int len;
+      while ((len = in.read(buffer)) > 0) {
+        out.write(buffer, 0, len);
+      }
+    }
+    finally {
+      in.close();
+      out.close();
+    }
+  }
+
+  private static String hashOf(File file) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-1");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+
+    InputStream in = new FileInputStream(file);
+    try {
+      byte[] buffer = new byte[8192];
+      int len;
+      while ((len = in.read(buffer)) > 0) {
+        digest.update(buffer, 0, len);
+      }
+    }
+    finally {
+      in.close();
+    }
+
+    StringBuilder hex = new StringBuilder();
+    for (byte b : digest.digest()) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
+  }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.api.detached;
+
+import com.webcohesion.enunciate.api.ApiRegistry;
+import com.webcohesion.enunciate.api.datatype.DataType;
+import com.webcohesion.enunciate.api.datatype.HasMetadata;
+import com.webcohesion.enunciate.api.datatype.Namespace;
+import com.webcohesion.enunciate.api.datatype.Property;
+import com.webcohesion.enunciate.api.datatype.Syntax;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Ryan Heaton
+ */
+public class ApiModelSnapshotTest {
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    ApiModelSnapshot snapshot = ApiModelSnapshot.of(detach(registry("A person.", constraints(false))), null);
+
+    File file = File.createTempFile("enunciate", ".snapshot");
+    try {
+      snapshot.writeTo(file);
+      ApiModelSnapshot read = ApiModelSnapshot.readFrom(file);
+      assertEquals(snapshot.getContentHash(), read.getContentHash());
+
+      ApiRegistry registry = read.toApiRegistry();
+      assertTrue(registry.isDetached());
+      assertEquals(1, registry.getSyntaxes().size());
+      Syntax syntax = registry.getSyntaxes().iterator().next();
+      assertEquals("test", syntax.getId());
+      DataType person = syntax.getNamespaces().get(0).getTypes().get(0);
+      assertEquals("Person", person.getLabel());
+      assertEquals("A person.", person.getDescription());
+      assertSame(syntax, person.getSyntax());
+      assertEquals("The person's name.", person.getProperties().get(0).getDescription());
+      assertEquals("A person.", person.getJavaDoc().toString());
+      assertEquals("2.0", person.getJavaDoc().get("since").get(0));
+      assertEquals(new TreeSet<String>(Arrays.asList("create", "read")), person.getProperties().get(0).getStyles());
+      assertEquals(constraints(false), ((HasMetadata) person.getProperties().get(0)).getMetadata().get("constraints"));
+    }
+    finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void testContentHash() throws Exception {
+    String hash = ApiModelSnapshot.of(detach(registry("A person.", constraints(false))), null).getContentHash();
+    assertEquals(40, hash.length());
+
+    //the same model with a differently-built (hash-based) metadata map has the same hash.
+    Map<String, String> resized = constraints(true);
+    assertEquals(constraints(false), resized);
+    assertFalse("the maps should serialize differently", new ArrayList<String>(constraints(false).keySet()).equals(new ArrayList<String>(resized.keySet())));
+    assertEquals(hash, ApiModelSnapshot.of(detach(registry("A person.", resized)), null).getContentHash());
+
+    //a different model has a different hash.
+    assertFalse(hash.equals(ApiModelSnapshot.of(detach(registry("Somebody.", constraints(false))), null).getContentHash()));
+  }
+
+  private static ApiRegistry detach(ApiRegistry registry) {
+    return new ApiModelDetacher(null).detach(registry);
+  }
+
+  private static Map<String, String> constraints(boolean resized) {
+    Map<String, String> constraints = new HashMap<String, String>();
+    if (resized) {
+      //grow the table, so the remaining entries are iterated (and serialized) in a different order.
+      for (int i = 0; i < 64; i++) {
+        constraints.put("filler" + i, "filler");
+      }
+      for (int i = 0; i < 64; i++) {
+        constraints.remove("filler" + i);
+      }
+    }
+
+    for (String constraint : Arrays.asList("minLength", "maxLength", "pattern", "minimum", "maximum", "format", "enum", "nullable")) {
+      constraints.put(constraint, constraint.toUpperCase());
+    }
+    return constraints;
+  }
+
+  private static JavaDoc javaDoc() {
+    JavaDoc javaDoc = new JavaDoc(null, null);
+    javaDoc.setValue("A person.");
+    javaDoc.put("since", new JavaDoc.JavaDocTagList("2.0"));
+    return javaDoc;
+  }
+
+  private static ApiRegistry registry(String description, Map<String, String> constraints) {
+    Map<String, Object> syntaxValues = new HashMap<String, Object>();
+    Map<String, Object> namespaceValues = new HashMap<String, Object>();
+    Syntax syntax = fake(Syntax.class, syntaxValues);
+    Namespace namespace = fake(Namespace.class, namespaceValues);
+    Property name = fake(Property.class, values("name", "name", "description", "The person's name.", "styles", new HashSet<String>(Arrays.asList("read", "create")), "metadata", values("constraints", constraints)), HasMetadata.class);
+    DataType person = fake(DataType.class, values("label", "Person", "slug", "person", "description", description, "syntax", syntax, "namespace", namespace, "properties", Arrays.asList(name), "javaDoc", javaDoc()));
+    syntaxValues.putAll(values("id", "test", "slug", "test", "label", "Test", "namespaces", Arrays.asList(namespace)));
+    namespaceValues.putAll(values("uri", "urn:test", "types", Arrays.asList(person)));
+
+    ApiRegistry registry = new ApiRegistry();
+    registry.getSyntaxes().add(syntax);
+    return registry;
+  }
+
+  private static Map<String, Object> values(Object... nameValuePairs) {
+    Map<String, Object> values = new HashMap<String, Object>();
+    for (int i = 0; i < nameValuePairs.length; i += 2) {
+      values.put((String) nameValuePairs[i], nameValuePairs[i + 1]);
+    }
+    return values;
+  }
+
+  private static <T> T fake(final Class<T> type, final Map<String, Object> values, Class<?>... otherTypes) {
+    Class<?>[] types = new Class<?>[otherTypes.length + 1];
+    types[0] = type;
+    System.arraycopy(otherTypes, 0, types, 1, otherTypes.length);
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), types, new InvocationHandler() {
+      public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if ("equals".equals(name) && args != null && args.length == 1) {
+          return proxy == args[0];
+        }
+        else if ("hashCode".equals(name) && args == null) {
+          return System.identityHashCode(proxy);
+        }
+        else if ("toString".equals(name) && args == null) {
+          return type.getSimpleName() + values.get("slug");
+        }
+        else if ("compareTo".equals(name)) {
+          return 0;
+        }
+
+        String property = name.startsWith("get") ? name.substring(3) : name.startsWith("is") ? name.substring(2) : name;
+        Object value = values.get(Character.toLowerCase(property.charAt(0)) + property.substring(1));
+        if (value == null && method.getReturnType() == boolean.class) {
+          value = Boolean.FALSE;
+        }
+        return value;
+      }
+    }));
+  }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.util;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Ryan Heaton
+ */
+public class IDLSpliceIndexTest {
+
+  @Test
+  public void testScan() throws Exception {
+    String idl = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<!-- not rewritten: http://localhost:8080/base -->\n"
+      + "<?enunciate-assumed-base-uri http://localhost:8080/base/?>\n"
+      + "<definitions>\n"
+      + "  <documentation>Documentation for http://localhost:8080/base/Service</documentation>\n"
+      + "  <address location=\"http://localhost:8080/base/Service\"/>\n"
+      + "</definitions>\n";
+    File file = File.createTempFile("enunciate", ".wsdl");
+    file.deleteOnExit();
+    OutputStream out = new FileOutputStream(file);
+    out.write(idl.getBytes("utf-8"));
+    out.close();
+
+    IDLSpliceIndex index = IDLSpliceIndex.scan(file);
+    assertNotNull(index);
+    assertEquals(idl.length(), index.getSize());
+    assertEquals(1, index.getDrops().size());
+    int instruction = idl.indexOf("<?enunciate-assumed-base-uri");
+    assertEquals(instruction, index.getDrops().get(0)[0]);
+    assertEquals(idl.indexOf("?>", instruction) + 2 - instruction, index.getDrops().get(0)[1]);
+    assertEquals(2, index.getSplices().size());
+    assertEquals(idl.indexOf("http://localhost:8080/base/Service"), index.getSplices().get(0)[0]);
+    assertEquals(idl.lastIndexOf("http://localhost:8080/base/Service"), index.getSplices().get(1)[0]);
+    assertEquals("http://localhost:8080/base".length(), index.getSplices().get(1)[1]);
+
+    StringWriter writer = new StringWriter();
+    index.writeTo(writer);
+    assertTrue(writer.toString().contains("\ndrop " + instruction + " "));
+
+    out = new FileOutputStream(file);
+    out.write("<definitions location=\"http://localhost:8080/base\"/>".getBytes("utf-8"));
+    out.close();
+    assertNull("an IDL without an assumed base address has no splice points.", IDLSpliceIndex.scan(file));
+  }
+
+  @Test
+  public void testWriteAndRemoveIndex() throws Exception {
+    File dir = File.createTempFile("enunciate", "idl");
+    dir.delete();
+    dir.mkdirs();
+    File file = new File(dir, "service.wsdl");
+    File indexFile = new File(dir, "service.wsdl" + IDLSpliceIndex.SUFFIX);
+
+    OutputStream out = new FileOutputStream(file);
+    out.write("<?enunciate-assumed-base-uri http://localhost:8080/base/?><address location=\"http://localhost:8080/base/Service\"/>".getBytes("utf-8"));
+    out.close();
+    IDLSpliceIndex.writeIndex(file);
+    assertTrue(indexFile.exists());
+
+    out = new FileOutputStream(file);
+    out.write("<address location=\"http://localhost:8080/base/Service\"/>".getBytes("utf-8"));
+    out.close();
+    IDLSpliceIndex.writeIndex(file);
+    assertFalse("a stale index should be removed.", indexFile.exists());
+
+    file.delete();
+    dir.delete();
+  }
+}
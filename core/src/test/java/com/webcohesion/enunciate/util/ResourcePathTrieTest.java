@@ -0,0 +1,75 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author Ryan Heaton
+ */
+public class ResourcePathTrieTest {
+
+  private static final List<String> PATHS = Arrays.asList("/b/{id}", "/a", "/b", "/a/c/d", "/a/b", "/c/{id}/e", "/b/{id}/a", "/a/{name}");
+
+  @Test
+  public void testSortOrder() throws Exception {
+    ResourcePathTrie<String> trie = new ResourcePathTrie<String>();
+    for (String path : PATHS) {
+      trie.add(path, path);
+    }
+
+    List<String> expected = new ArrayList<String>(PATHS);
+    Collections.sort(expected, new BreadthFirstResourcePathComparator());
+    assertEquals(expected, paths(trie.nodes(PathSortStrategy.breadth_first)));
+
+    expected = new ArrayList<String>(PATHS);
+    Collections.sort(expected, new DepthFirstResourcePathComparator());
+    assertEquals(expected, paths(trie.nodes(PathSortStrategy.depth_first)));
+  }
+
+  @Test
+  public void testMatch() throws Exception {
+    ResourcePathTrie<String> trie = new ResourcePathTrie<String>();
+    for (String path : PATHS) {
+      trie.add(path, path);
+    }
+    trie.node("/c/{id}").setRegex("[0-9]+");
+
+    assertEquals("/a/b", trie.match("/a/b").getPath());
+    assertEquals("/a/{name}", trie.match("/a/x").getPath());
+    assertEquals("/b/{id}/a", trie.match("/b/1/a").getPath());
+    assertEquals("/c/{id}/e", trie.match("/c/12/e").getPath());
+    assertNull(trie.match("/c/x/e"));
+    assertEquals("/a/{name}", trie.match("/a/c").getPath());
+    assertNull(trie.match("/a/c/x"));
+  }
+
+  private static List<String> paths(List<ResourcePathTrie.Node<String>> nodes) {
+    List<String> paths = new ArrayList<String>();
+    for (ResourcePathTrie.Node<String> node : nodes) {
+      paths.add(node.getPath());
+    }
+    return paths;
+  }
+}
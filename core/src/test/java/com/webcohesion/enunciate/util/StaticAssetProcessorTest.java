@@ -0,0 +1,177 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.util;
+
+import com.webcohesion.enunciate.EnunciateLogger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Ryan Heaton
+ */
+public class StaticAssetProcessorTest {
+
+  private File dir;
+
+  @Before
+  public void setUp() throws Exception {
+    this.dir = File.createTempFile("enunciate", "assets");
+    this.dir.delete();
+    this.dir.mkdirs();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    delete(this.dir);
+  }
+
+  @Test
+  public void testHashedNamesAndReferences() throws Exception {
+    write("img/logo.png", "not really a png");
+    write("js/app.js", "var app = {};");
+    write("css/style.css", "body { background: url('../img/logo.png'); } .x { background: url(http://example.com/remote.png); }");
+    write("index.html", "<link href=\"css/style.css\" rel=\"stylesheet\"/><script src=\"js/app.js\"></script><script src=\"/js/app.js\"></script><a href=\"other.html#top\">other</a>");
+    write("other.html", "<img src=\"img/logo.png?v=1\"/>");
+
+    new StaticAssetProcessor(new NoopLogger()).process(this.dir);
+
+    String logo = "img/logo." + hash("not really a png") + ".png";
+    String app = "js/app." + hash("var app = {};") + ".js";
+    assertEquals("not really a png", read(logo));
+    assertEquals("var app = {};", read(app));
+    assertTrue("originals are kept", new File(this.dir, "js/app.js").exists());
+
+    //stylesheets are hashed after their references are rewritten.
+    String css = "body { background: url('../" + logo + "'); } .x { background: url(http://example.com/remote.png); }";
+    assertEquals(css, read("css/style.css"));
+    String style = "css/style." + hash(css) + ".css";
+    assertEquals(css, read(style));
+
+    //absolute references aren't rewritten.
+    assertEquals("<link href=\"" + style + "\" rel=\"stylesheet\"/><script src=\"" + app + "\"></script><script src=\"/js/app.js\"></script><a href=\"other.html#top\">other</a>", read("index.html"));
+    assertEquals("<img src=\"" + logo + "?v=1\"/>", read("other.html"));
+
+    //compressible files (and their hashed copies) have a compressed sibling, the others don't.
+    assertEquals("var app = {};", readCompressed(app + ".gz"));
+    assertEquals(read("index.html"), readCompressed("index.html.gz"));
+    assertFalse(new File(this.dir, logo + ".gz").exists());
+  }
+
+  @Test
+  public void testStaleHashedCopiesRemoved() throws Exception {
+    write("js/app.js", "var app = 1;");
+    write("js/lib.js", "var lib = 1;");
+    write("js/vendor.0123456789.js", "var vendor = 1;");
+    write("index.html", "<script src=\"js/app.js\"></script><script src=\"js/lib.js\"></script>");
+    write("skipped.html", "<script src=\"js/app.js\"></script>");
+
+    new StaticAssetProcessor(new NoopLogger()).process(this.dir);
+    String app1 = "js/app." + hash("var app = 1;") + ".js";
+    String lib = "js/lib." + hash("var lib = 1;") + ".js";
+    assertTrue(new File(this.dir, app1).exists());
+    assertTrue(new File(this.dir, app1 + ".gz").exists());
+    assertEquals("<script src=\"" + app1 + "\"></script>", read("skipped.html"));
+
+    write("js/app.js", "var app = 2;");
+    write("index.html", "<script src=\"js/app.js\"></script><script src=\"js/lib.js\"></script>");
+    new StaticAssetProcessor(new NoopLogger()).process(this.dir);
+
+    String app2 = "js/app." + hash("var app = 2;") + ".js";
+    assertEquals("var app = 2;", read(app2));
+    assertTrue(new File(this.dir, app2 + ".gz").exists());
+    assertFalse("the stale hashed copy should be removed", new File(this.dir, app1).exists());
+    assertFalse("the stale compressed copy should be removed", new File(this.dir, app1 + ".gz").exists());
+    assertTrue("unchanged hashed copies are kept", new File(this.dir, lib).exists());
+    assertTrue("files that weren't written by the processor are kept", new File(this.dir, "js/vendor.0123456789.js").exists());
+    assertEquals("<script src=\"" + app2 + "\"></script><script src=\"" + lib + "\"></script>", read("index.html"));
+    assertEquals("pages that weren't regenerated are pointed at the current hashed copy", "<script src=\"" + app2 + "\"></script>", read("skipped.html"));
+  }
+
+  private void write(String path, String content) throws IOException {
+    File file = new File(this.dir, path);
+    file.getParentFile().mkdirs();
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writer.write(content);
+    }
+    finally {
+      writer.close();
+    }
+  }
+
+  private String read(String path) throws IOException {
+    return read(new FileInputStream(new File(this.dir, path)));
+  }
+
+  private String readCompressed(String path) throws IOException {
+    return read(new GZIPInputStream(new FileInputStream(new File(this.dir, path))));
+  }
+
+  private static String read(InputStream in) throws IOException {
+    Reader reader = new InputStreamReader(in, "UTF-8");
+    try {
+      StringBuilder content = new StringBuilder();
+      char[] buffer = new char[1024];
+      int len;
+      while ((len = reader.read(buffer)) > 0) {
+        content.append(buffer, 0, len);
+      }
+      return content.toString();
+    }
+    finally {
+      reader.close();
+    }
+  }
+
+  private static String hash(String content) throws Exception {
+    StringBuilder hex = new StringBuilder();
+    for (byte b : MessageDigest.getInstance("SHA-1").digest(content.getBytes("UTF-8"))) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.substring(0, 10);
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+
+  private static class NoopLogger implements EnunciateLogger {
+    public void debug(String message, Object... formatArgs) {
+    }
+
+    public void info(String message, Object... formatArgs) {
+    }
+
+    public void warn(String message, Object... formatArgs) {
+    }
+
+    public void error(String message, Object... formatArgs) {
+    }
+  }
+}
@@ -139,6 +139,10 @@ public class CSharpXMLClientModule extends BasicGeneratingModule implements ApiF
       throw new EnunciateException("JAXB naming conflicts detected.");
     }
 
+    for (String typeNamingConflict : JAXBCodeErrors.findConflictingTypeNamingErrors(this.jaxbModule.getJaxbContext())) {
+      warn(typeNamingConflict);
+    }
+
     Map<String, String> packageToNamespaceConversions = buildPackageToNamespaceConversions();
     File srcDir = generateSources(packageToNamespaceConversions);
     File compileDir = compileSources(srcDir);
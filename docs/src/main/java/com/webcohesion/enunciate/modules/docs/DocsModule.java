@@ -21,9 +21,12 @@ import com.webcohesion.enunciate.api.ApiRegistry;
 import com.webcohesion.enunciate.api.Download;
 import com.webcohesion.enunciate.api.DownloadFile;
 import com.webcohesion.enunciate.api.InterfaceDescriptionFile;
+import com.webcohesion.enunciate.api.datatype.DataType;
 import com.webcohesion.enunciate.api.datatype.Namespace;
 import com.webcohesion.enunciate.api.datatype.Syntax;
 import com.webcohesion.enunciate.api.resources.ResourceApi;
+import com.webcohesion.enunciate.api.resources.ResourceGroup;
+import com.webcohesion.enunciate.api.services.Service;
 import com.webcohesion.enunciate.api.services.ServiceApi;
 import com.webcohesion.enunciate.api.services.ServiceGroup;
 import com.webcohesion.enunciate.artifacts.Artifact;
@@ -31,6 +34,8 @@ import com.webcohesion.enunciate.artifacts.ClientLibraryArtifact;
 import com.webcohesion.enunciate.artifacts.ClientLibraryJavaArtifact;
 import com.webcohesion.enunciate.artifacts.FileArtifact;
 import com.webcohesion.enunciate.module.*;
+import com.webcohesion.enunciate.util.IDLSpliceIndex;
+import com.webcohesion.enunciate.util.StaticAssetProcessor;
 import com.webcohesion.enunciate.util.freemarker.FileDirective;
 import freemarker.cache.URLTemplateLoader;
 import freemarker.core.Environment;
@@ -45,12 +50,18 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
-public class DocsModule extends BasicGeneratingModule implements ApiRegistryAwareModule, DocumentationProviderModule {
+public class DocsModule extends BasicGeneratingModule implements DetachedApiModelModule, DocumentationProviderModule, WebInfAwareModule {
+
+  static final String SEARCH_DIR = "search";
+  static final String NAVIGATION_DIR = "navigation";
 
   private File defaultDocsDir;
   private String defaultDocsSubdir;
+  private File webInfDir;
   private ApiRegistry apiRegistry;
 
   /**
@@ -188,6 +199,25 @@ public class DocsModule extends BasicGeneratingModule implements ApiRegistryAwar
     return this.config.getBoolean("[@disableResourceLinks]", false);
   }
 
+  /**
+   * Whether the site-wide navigation is written once to a file that the pages render in the browser, rather than
+   * being part of each page.
+   *
+   * @return Whether to load the navigation lazily.
+   */
+  public boolean isLazyNavigation() {
+    return this.config.getBoolean("[@lazyNavigation]", false);
+  }
+
+  /**
+   * Whether to disable the search index (and the search box of the default template).
+   *
+   * @return Whether to disable the search index.
+   */
+  public boolean isDisableSearch() {
+    return this.config.getBoolean("[@disableSearch]", false);
+  }
+
   @Override
   public void setDefaultDocsDir(File docsDir) {
     this.defaultDocsDir = docsDir;
@@ -198,6 +228,17 @@ public class DocsModule extends BasicGeneratingModule implements ApiRegistryAwar
     this.defaultDocsSubdir = defaultDocsSubdir;
   }
 
+  /**
+   * The WEB-INF directory of the web application into which the documentation is assembled, if any. If so, the IDLs in
+   * the documentation are served by the IDL filter of the runtime, so they're shipped with their splice indexes.
+   *
+   * @param webInfDir The WEB-INF directory.
+   */
+  @Override
+  public void setWebInfDir(File webInfDir) {
+    this.webInfDir = webInfDir;
+  }
+
   /**
    * The name of the index page.
    *
@@ -216,6 +257,24 @@ public class DocsModule extends BasicGeneratingModule implements ApiRegistryAwar
     return this.config.getBoolean("[@disableRestMountpoint]", false);
   }
 
+  /**
+   * Whether to render only the pages that read a model element that changed since the documentation was last generated.
+   *
+   * @return Whether to render the documentation incrementally.
+   */
+  public boolean isIncremental() {
+    return this.config.getBoolean("[@incremental]", false);
+  }
+
+  /**
+   * Whether to write content-hashed copies and precompressed siblings of the static assets of the documentation.
+   *
+   * @return Whether to optimize the static assets of the documentation.
+   */
+  public boolean isOptimizeAssets() {
+    return this.config.getBoolean("[@optimizeAssets]", false);
+  }
+
   /**
    * URI to the favicon for the generated documentation.
    *
@@ -240,6 +299,8 @@ public class DocsModule extends BasicGeneratingModule implements ApiRegistryAwar
       }
 
       if (!isUpToDateWithSources(docsDir)) {
+        boolean detached = this.apiRegistry.isDetached();
+
         List<ResourceApi> resourceApis = this.apiRegistry.getResourceApis();
         Set<Artifact> documentationArtifacts = findDocumentationArtifacts();
 
@@ -282,7 +343,7 @@ public class DocsModule extends BasicGeneratingModule implements ApiRegistryAwar
         for (Syntax syntax : this.apiRegistry.getSyntaxes()) {
           for (Namespace namespace : syntax.getNamespaces()) {
             if (namespace.getSchemaFile() != null) {
-              namespace.getSchemaFile().writeTo(docsDir);
+              writeIDL(namespace.getSchemaFile(), docsDir);
             }
           }
         }
@@ -290,7 +351,7 @@ public class DocsModule extends BasicGeneratingModule implements ApiRegistryAwar
 
         for (ResourceApi resourceApi : resourceApis) {
           if (resourceApi.getWadlFile() != null) {
-            resourceApi.getWadlFile().writeTo(docsDir);
+            writeIDL(resourceApi.getWadlFile(), docsDir);
           }
         }
         model.put("resourceApis", resourceApis);
@@ -305,7 +366,7 @@ public class DocsModule extends BasicGeneratingModule implements ApiRegistryAwar
         for (ServiceApi serviceApi : this.apiRegistry.getServiceApis()) {
           for (ServiceGroup serviceGroup : serviceApi.getServiceGroups()) {
             if (serviceGroup.getWsdlFile() != null) {
-              serviceGroup.getWsdlFile().writeTo(docsDir);
+              writeIDL(serviceGroup.getWsdlFile(), docsDir);
             }
           }
         }
@@ -321,7 +382,66 @@ public class DocsModule extends BasicGeneratingModule implements ApiRegistryAwar
 
         model.put("disableResourceLinks", isDisableResourceLinks());
 
-        processTemplate(getDocsTemplateURL(), model);
+        if (!isDisableSearch()) {
+          model.put("searchIndex", SEARCH_DIR + "/");
+        }
+
+        if (isLazyNavigation()) {
+          model.put("navigation", NAVIGATION_DIR + "/");
+        }
+
+        if (getFreemarkerTemplateFile() == null) {
+          //the default template renders the index first, and each page separately.
+          Template template = createConfiguration().getTemplate(getDocsTemplateURL().toString());
+          model.put("deferPages", Boolean.TRUE);
+          Map<String, Object> sharedModel = Collections.unmodifiableMap(model);
+          debug("Processing template %s.", template.getName());
+          processTemplate(template, sharedModel);
+
+          List<Map.Entry<String, Object>> pages = collectPages(resourceApis);
+          DocsPageIndex pageIndex = null;
+          if (isIncremental()) {
+            pageIndex = new DocsPageIndex(docsDir, this.enunciate.getLogger());
+            Map<String, Object> globals = new HashMap<String, Object>(model);
+            globals.remove("file");
+            for (String elements : Arrays.asList("data", "resourceApis", "serviceApis", "downloads")) {
+              //the pages only check whether these are empty; the elements the pages read are tracked page by page.
+              globals.put(elements, ((Collection<?>) model.get(elements)).size());
+            }
+            pages = pageIndex.findStalePages(getDocsTemplateURL(), globals, pages, docsDir);
+            template.setObjectWrapper(pageIndex.getObjectWrapper());
+          }
+
+          //the compiler-backed model can't be read concurrently, so pages are only rendered in parallel once it's detached.
+          renderPages(template, sharedModel, pages, detached ? this.enunciate.getExecutorService() : null, pageIndex);
+
+          if (pageIndex != null) {
+            pageIndex.store();
+          }
+        }
+        else {
+          processTemplate(getDocsTemplateURL(), model);
+        }
+
+        if (isLazyNavigation()) {
+          File navigationDir = new File(docsDir, NAVIGATION_DIR);
+          navigationDir.mkdirs();
+          debug("Writing the navigation to %s.", navigationDir);
+          new DocsNavigation(resourceApis, this.apiRegistry.getServiceApis(), this.apiRegistry.getSyntaxes(), !((List<?>) model.get("downloads")).isEmpty()).writeTo(navigationDir);
+          this.enunciate.copyResource(DocsModule.class.getResource("navigation.js"), new File(navigationDir, "navigation.js"));
+        }
+
+        if (!isDisableSearch()) {
+          File searchDir = new File(docsDir, SEARCH_DIR);
+          debug("Writing the search index to %s.", searchDir);
+          DocsSearchIndex searchIndex = new DocsSearchIndex(searchDir);
+          searchIndex.index(resourceApis, this.apiRegistry.getServiceApis(), this.apiRegistry.getSyntaxes()).close();
+          this.enunciate.copyResource(DocsModule.class.getResource("search.js"), new File(searchDir, "search.js"));
+        }
+
+        if (isOptimizeAssets()) {
+          new StaticAssetProcessor(this.enunciate.getLogger()).process(docsDir);
+        }
       }
       else {
         info("Skipping documentation source generation as everything appears up-to-date...");
@@ -349,6 +469,164 @@ public class DocsModule extends BasicGeneratingModule implements ApiRegistryAwar
    */
   public void processTemplate(URL templateURL, Object model) throws IOException, TemplateException {
     debug("Processing template %s.", templateURL);
+    processTemplate(createConfiguration().getTemplate(templateURL.toString()), model);
+  }
+
+  /**
+   * Processes the specified template with the given model. Each call processes the template in its own environment, so
+   * a template can be processed by several threads at once as long as the model isn't modified.
+   *
+   * @param template The template.
+   * @param model    The root model.
+   */
+  protected void processTemplate(Template template, Object model) throws IOException, TemplateException {
+    StringWriter unhandledOutput = new StringWriter();
+    template.process(model, unhandledOutput);
+    if (unhandledOutput.getBuffer().length() > 0) {
+      debug("Freemarker processing output:\n%s", unhandledOutput);
+    }
+  }
+
+  /**
+   * Write an IDL to the documentation directory, along with its splice index if the documentation is assembled into a
+   * web application (where the IDL filter reads it). Otherwise, a splice index left over from a previous build is
+   * removed.
+   *
+   * @param idl     The IDL.
+   * @param docsDir The documentation directory.
+   */
+  protected void writeIDL(InterfaceDescriptionFile idl, File docsDir) throws IOException {
+    idl.writeTo(docsDir);
+    File written = new File(docsDir, idl.getHref());
+    if (this.webInfDir != null && written.exists()) {
+      IDLSpliceIndex.writeIndex(written);
+    }
+    else {
+      IDLSpliceIndex.removeIndex(written);
+    }
+  }
+
+  /**
+   * Collect the pages that the default template renders separately from the index, as the name of the model variable
+   * that identifies the page, paired with the value of that variable.
+   *
+   * @param resourceApis The resource APIs.
+   * @return The pages.
+   */
+  protected List<Map.Entry<String, Object>> collectPages(List<ResourceApi> resourceApis) {
+    List<Map.Entry<String, Object>> pages = new ArrayList<Map.Entry<String, Object>>();
+    for (ResourceApi resourceApi : resourceApis) {
+      for (ResourceGroup resourceGroup : resourceApi.getResourceGroups()) {
+        pages.add(new AbstractMap.SimpleImmutableEntry<String, Object>("resourceGroupPage", resourceGroup));
+      }
+    }
+
+    for (ServiceApi serviceApi : this.apiRegistry.getServiceApis()) {
+      for (ServiceGroup serviceGroup : serviceApi.getServiceGroups()) {
+        for (Service service : serviceGroup.getServices()) {
+          pages.add(new AbstractMap.SimpleImmutableEntry<String, Object>("servicePage", service));
+        }
+      }
+    }
+
+    for (Syntax syntax : this.apiRegistry.getSyntaxes()) {
+      pages.add(new AbstractMap.SimpleImmutableEntry<String, Object>("syntaxPage", syntax));
+      for (Namespace namespace : syntax.getNamespaces()) {
+        for (DataType dataType : namespace.getTypes()) {
+          pages.add(new AbstractMap.SimpleImmutableEntry<String, Object>("dataTypePage", dataType));
+        }
+      }
+    }
+
+    return pages;
+  }
+
+  /**
+   * Render the pages of the documentation. Each page is processed in its own environment against a copy of the shared
+   * model that names the page. If an executor is supplied, the pages are rendered by a bounded number of workers on the
+   * executor; the current thread works through the pages too, so the pages get rendered even if no thread of the
+   * executor is free. Once the current thread runs out of pages, it waits for the workers that have started.
+   *
+   * @param template The template.
+   * @param model    The shared model.
+   * @param pages    The pages to render.
+   * @param executor The executor, or null to render the pages in the current thread.
+   * @param pageIndex The index in which to record the elements each page reads, or null.
+   */
+  protected void renderPages(Template template, Map<String, Object> model, List<Map.Entry<String, Object>> pages, ExecutorService executor, DocsPageIndex pageIndex) throws IOException, TemplateException {
+    PageWorker worker = new PageWorker(template, model, new ConcurrentLinkedQueue<Map.Entry<String, Object>>(pages), pageIndex);
+    List<PageWorkerSlot> slots = new ArrayList<PageWorkerSlot>();
+    List<Future<Integer>> workers = new ArrayList<Future<Integer>>();
+    if (executor != null) {
+      int workerCount = Math.min(pages.size() - 1, executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getMaximumPoolSize() : Runtime.getRuntime().availableProcessors());
+      for (int i = 0; i < workerCount; i++) {
+        PageWorkerSlot slot = new PageWorkerSlot(worker);
+        slots.add(slot);
+        workers.add(executor.submit(slot));
+      }
+      debug("Rendering %s documentation pages with %s additional workers.", pages.size(), workers.size());
+    }
+
+    List<Future<Integer>> started = new ArrayList<Future<Integer>>();
+    boolean success = false;
+    try {
+      worker.call();
+      success = true;
+    }
+    finally {
+      for (int i = 0; i < slots.size(); i++) {
+        if (slots.get(i).claim()) {
+          //the worker hasn't started, and now it never will.
+          workers.get(i).cancel(false);
+        }
+        else {
+          started.add(workers.get(i));
+        }
+      }
+
+      if (!success) {
+        //the other workers have been stopped; don't leave them writing pages behind the failure.
+        for (Future<Integer> future : started) {
+          try {
+            future.get();
+          }
+          catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            break;
+          }
+          catch (ExecutionException e) {
+            //fall through; the failure of this thread is the one reported.
+          }
+        }
+      }
+    }
+
+    for (Future<Integer> future : started) {
+      try {
+        future.get();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new EnunciateException(e);
+      }
+      catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        if (e.getCause() instanceof TemplateException) {
+          throw (TemplateException) e.getCause();
+        }
+        throw new EnunciateException(e.getCause());
+      }
+    }
+  }
+
+  /**
+   * Create the FreeMarker configuration used to load the documentation templates.
+   *
+   * @return The configuration.
+   */
+  protected Configuration createConfiguration() {
     Configuration configuration = new Configuration(Configuration.VERSION_2_3_22);
 
     configuration.setTemplateLoader(new URLTemplateLoader() {
@@ -371,10 +649,7 @@ public class DocsModule extends BasicGeneratingModule implements ApiRegistryAwar
     configuration.setLocalizedLookup(false);
     configuration.setDefaultEncoding("UTF-8");
     configuration.setURLEscapingCharset("UTF-8");
-    Template template = configuration.getTemplate(templateURL.toString());
-    StringWriter unhandledOutput = new StringWriter();
-    template.process(model, unhandledOutput);
-    debug("Freemarker processing output:\n%s", unhandledOutput);
+    return configuration;
   }
 
   protected String buildBase(File outputDir) throws IOException {
@@ -564,4 +839,77 @@ public class DocsModule extends BasicGeneratingModule implements ApiRegistryAwar
     return DocsModule.class.getResourceAsStream("/docs.base.zip");
   }
 
-}
\ No newline at end of file
+
+  /**
+   * Works through a queue of pages, rendering each against a copy of the shared model that names the page.
+   */
+  private class PageWorker implements Callable<Integer> {
+
+    private final Template template;
+    private final Map<String, Object> model;
+    private final Queue<Map.Entry<String, Object>> pages;
+    private final DocsPageIndex pageIndex;
+
+    private PageWorker(Template template, Map<String, Object> model, Queue<Map.Entry<String, Object>> pages, DocsPageIndex pageIndex) {
+      this.template = template;
+      this.model = model;
+      this.pages = pages;
+      this.pageIndex = pageIndex;
+    }
+
+    @Override
+    public Integer call() throws IOException, TemplateException {
+      int rendered = 0;
+      Map.Entry<String, Object> page;
+      while ((page = this.pages.poll()) != null) {
+        Map<String, Object> pageModel = new HashMap<String, Object>(this.model);
+        pageModel.put(page.getKey(), page.getValue());
+        if (this.pageIndex != null) {
+          this.pageIndex.startPage();
+        }
+
+        boolean success = false;
+        try {
+          processTemplate(this.template, pageModel);
+          success = true;
+        }
+        finally {
+          if (this.pageIndex != null) {
+            this.pageIndex.endPage(page.getValue());
+          }
+
+          if (!success) {
+            //stop the other workers.
+            this.pages.clear();
+          }
+        }
+        rendered++;
+      }
+      return rendered;
+    }
+  }
+
+  /**
+   * A pooled page worker that runs only if it claims its slot before the rendering thread does. The rendering thread
+   * claims the slots of the workers that haven't started once it's done, so that it waits on exactly the workers that
+   * are (or were) rendering pages.
+   */
+  private static class PageWorkerSlot implements Callable<Integer> {
+
+    private final PageWorker worker;
+    private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+    private PageWorkerSlot(PageWorker worker) {
+      this.worker = worker;
+    }
+
+    boolean claim() {
+      return this.claimed.compareAndSet(false, true);
+    }
+
+    @Override
+    public Integer call() throws IOException, TemplateException {
+      return claim() ? this.worker.call() : 0;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.docs;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.webcohesion.enunciate.api.datatype.DataType;
+import com.webcohesion.enunciate.api.datatype.Namespace;
+import com.webcohesion.enunciate.api.datatype.Syntax;
+import com.webcohesion.enunciate.api.resources.ResourceApi;
+import com.webcohesion.enunciate.api.resources.ResourceGroup;
+import com.webcohesion.enunciate.api.services.Service;
+import com.webcohesion.enunciate.api.services.ServiceApi;
+import com.webcohesion.enunciate.api.services.ServiceGroup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The site-wide navigation of the documentation, written once as JSON so that pages can render it in the browser
+ * instead of each page embedding it. The navigation is an array of sections, each with a title, an href and (optionally)
+ * the entries of the section:
+ *
+ * <pre>
+ * [ { "title" : "Resources", "href" : "resources.html", "entries" : [ { "title" : "Persons", "href" : "resource_Persons.html" }, ... ] }, ... ]
+ * </pre>
+ *
+ * @author Ryan Heaton
+ */
+public class DocsNavigation {
+
+  public static final String NAVIGATION_FILE = "navigation.json";
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final List<ResourceApi> resourceApis;
+  private final List<ServiceApi> serviceApis;
+  private final Collection<Syntax> syntaxes;
+  private final boolean downloads;
+
+  public DocsNavigation(List<ResourceApi> resourceApis, List<ServiceApi> serviceApis, Collection<Syntax> syntaxes, boolean downloads) {
+    this.resourceApis = resourceApis;
+    this.serviceApis = serviceApis;
+    this.syntaxes = syntaxes;
+    this.downloads = downloads;
+  }
+
+  /**
+   * Write the navigation to the specified directory.
+   *
+   * @param dir The directory.
+   * @return The navigation file.
+   */
+  public File writeTo(File dir) throws IOException {
+    File file = new File(dir, NAVIGATION_FILE);
+    JsonGenerator json = JSON_FACTORY.createGenerator(file, JsonEncoding.UTF8);
+    try {
+      json.writeStartArray();
+
+      if (!this.resourceApis.isEmpty()) {
+        startSection(json, "Resources", "resources.html");
+        for (ResourceApi resourceApi : this.resourceApis) {
+          for (ResourceGroup resourceGroup : resourceApi.getResourceGroups()) {
+            writeEntry(json, resourceGroup.getLabel(), resourceGroup.getSlug() + ".html");
+          }
+        }
+        endSection(json);
+      }
+
+      if (!this.serviceApis.isEmpty()) {
+        startSection(json, "Services", "services.html");
+        for (ServiceApi serviceApi : this.serviceApis) {
+          for (ServiceGroup serviceGroup : serviceApi.getServiceGroups()) {
+            for (Service service : serviceGroup.getServices()) {
+              writeEntry(json, service.getLabel(), service.getSlug() + ".html");
+            }
+          }
+        }
+        endSection(json);
+      }
+
+      for (Syntax syntax : this.syntaxes) {
+        startSection(json, syntax.getLabel(), syntax.getSlug() + ".html");
+        for (Namespace namespace : syntax.getNamespaces()) {
+          for (DataType type : namespace.getTypes()) {
+            writeEntry(json, type.getLabel(), type.getSlug() + ".html");
+          }
+        }
+        endSection(json);
+      }
+
+      if (this.downloads) {
+        json.writeStartObject();
+        json.writeStringField("title", "Files and Libraries");
+        json.writeStringField("href", "downloads.html");
+        json.writeEndObject();
+      }
+
+      json.writeEndArray();
+    }
+    finally {
+      json.close();
+    }
+    return file;
+  }
+
+  private void startSection(JsonGenerator json, String title, String href) throws IOException {
+    json.writeStartObject();
+    json.writeStringField("title", title);
+    json.writeStringField("href", href);
+    json.writeArrayFieldStart("entries");
+  }
+
+  private void endSection(JsonGenerator json) throws IOException {
+    json.writeEndArray();
+    json.writeEndObject();
+  }
+
+  private void writeEntry(JsonGenerator json, String title, String href) throws IOException {
+    json.writeStartObject();
+    json.writeStringField("title", title);
+    json.writeStringField("href", href);
+    json.writeEndObject();
+  }
+}
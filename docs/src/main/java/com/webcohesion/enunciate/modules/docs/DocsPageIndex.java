@@ -0,0 +1,495 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.docs;
+
+import com.webcohesion.enunciate.EnunciateLogger;
+import com.webcohesion.enunciate.api.datatype.DataType;
+import com.webcohesion.enunciate.api.datatype.DataTypeReference;
+import com.webcohesion.enunciate.api.datatype.Property;
+import com.webcohesion.enunciate.api.datatype.Syntax;
+import com.webcohesion.enunciate.api.resources.ResourceGroup;
+import com.webcohesion.enunciate.api.services.Service;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+import freemarker.template.ObjectWrapper;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the documentation pages that are rendered separately from the index page, kept in the documentation
+ * directory between builds. For each page, the index records the model elements (syntaxes, data types, resource groups
+ * and services) the page read while it was rendered, along with a fingerprint of each element. On the next build, only
+ * the pages that read an element whose fingerprint changed need to be rendered again, and the pages of elements that
+ * no longer exist are deleted.<br/><br/>
+ *
+ * The fingerprint of an element covers everything reachable through the getters of the API model (descriptions,
+ * javadoc, examples, properties, parameters, etc.) up to the next element that has a page of its own, which is
+ * fingerprinted separately. The fingerprint of a data type also covers the property metadata the template reads by
+ * key (<code>property[meta]</code>), which isn't reachable through the getters of the API model. The template and the
+ * values shared by all pages make up a global fingerprint; if it changes, all pages are rendered.
+ *
+ * @author Ryan Heaton
+ */
+public class DocsPageIndex {
+
+  public static final String INDEX_FILE = ".enunciate-pages";
+
+  private static final String GLOBAL = "global";
+  private static final String PAGE = "page.";
+  private static final String DEPENDENCIES = "dependencies.";
+  private static final String FINGERPRINT = "fingerprint.";
+  private static final String API_PACKAGE = "com.webcohesion.enunciate.api.";
+
+  private final File file;
+  private final EnunciateLogger logger;
+  private final TrackingObjectWrapper objectWrapper = new TrackingObjectWrapper();
+  private final Properties previous = new Properties();
+  private final Map<String, String> pages = new TreeMap<String, String>();
+  private final Map<String, String> fingerprints = new TreeMap<String, String>();
+  private final Map<String, Set<String>> dependencies = new ConcurrentHashMap<String, Set<String>>();
+  private final Map<Class<?>, List<Method>> getters = new HashMap<Class<?>, List<Method>>();
+  private String globalFingerprint;
+
+  public DocsPageIndex(File docsDir, EnunciateLogger logger) {
+    this.file = new File(docsDir, INDEX_FILE);
+    this.logger = logger;
+  }
+
+  /**
+   * The key of a model element that has a page of its own.
+   *
+   * @param element The element.
+   * @return The key, or null if the element doesn't have a page of its own.
+   */
+  public static String keyOf(Object element) {
+    if (element instanceof DataType) {
+      return "type:" + ((DataType) element).getSlug();
+    }
+    else if (element instanceof Syntax) {
+      return "syntax:" + ((Syntax) element).getSlug();
+    }
+    else if (element instanceof ResourceGroup) {
+      return "resourceGroup:" + ((ResourceGroup) element).getSlug();
+    }
+    else if (element instanceof Service) {
+      return "service:" + ((Service) element).getSlug();
+    }
+    return null;
+  }
+
+  /**
+   * The file to which the page of an element is written.
+   *
+   * @param element The element.
+   * @return The name of the page file.
+   */
+  public static String fileOf(Object element) {
+    String key = keyOf(element);
+    return key == null ? null : key.substring(key.indexOf(':') + 1) + ".html";
+  }
+
+  /**
+   * The object wrapper to use to render the pages, which tracks the elements each page reads.
+   *
+   * @return The object wrapper.
+   */
+  public ObjectWrapper getObjectWrapper() {
+    return this.objectWrapper;
+  }
+
+  /**
+   * Find the pages that need to be rendered, and delete the pages of the elements that no longer exist.
+   *
+   * @param templateURL The template the pages are rendered with.
+   * @param globals     The values that are shared by all pages.
+   * @param pages       All the pages, as the model variable that names a page paired with the element of the page.
+   * @param docsDir     The documentation directory.
+   * @return The pages that need to be rendered.
+   */
+  public List<Map.Entry<String, Object>> findStalePages(URL templateURL, Map<String, Object> globals, List<Map.Entry<String, Object>> pages, File docsDir) throws IOException {
+    if (this.file.exists()) {
+      InputStream in = new FileInputStream(this.file);
+      try {
+        this.previous.load(in);
+      }
+      finally {
+        in.close();
+      }
+    }
+
+    MessageDigest digest = newDigest();
+    InputStream template = templateURL.openStream();
+    try {
+      byte[] buffer = new byte[8192];
+      int len;
+      while ((len = template.read(buffer)) >= 0) {
+        digest.update(buffer, 0, len);
+      }
+    }
+    finally {
+      template.close();
+    }
+    update(digest, globals, new IdentityHashMap<Object, Boolean>());
+    this.globalFingerprint = toHex(digest.digest());
+    boolean renderAll = !this.globalFingerprint.equals(this.previous.getProperty(GLOBAL));
+    if (renderAll && this.file.exists()) {
+      this.logger.debug("The documentation template or the values shared by all pages changed; all pages will be rendered.");
+    }
+
+    for (Map.Entry<String, Object> page : pages) {
+      String key = keyOf(page.getValue());
+      this.pages.put(key, fileOf(page.getValue()));
+      this.fingerprints.put(key, fingerprint(page.getValue()));
+    }
+
+    List<Map.Entry<String, Object>> stale = new ArrayList<Map.Entry<String, Object>>();
+    for (Map.Entry<String, Object> page : pages) {
+      String key = keyOf(page.getValue());
+      String dependencies = this.previous.getProperty(DEPENDENCIES + key);
+      if (renderAll || dependencies == null || !new File(docsDir, this.pages.get(key)).exists() || isChanged(dependencies)) {
+        stale.add(page);
+      }
+      else {
+        this.dependencies.put(key, new TreeSet<String>(Arrays.asList(dependencies.split(" "))));
+      }
+    }
+
+    Collection<String> currentFiles = this.pages.values();
+    for (String property : this.previous.stringPropertyNames()) {
+      if (property.startsWith(PAGE) && !this.pages.containsKey(property.substring(PAGE.length()))) {
+        String removed = this.previous.getProperty(property);
+        if (!currentFiles.contains(removed) && new File(docsDir, removed).delete()) {
+          this.logger.debug("Deleted %s: %s no longer exists.", removed, property.substring(PAGE.length()));
+        }
+      }
+    }
+
+    this.logger.info("%s of %s documentation pages need to be rendered.", stale.size(), pages.size());
+    return stale;
+  }
+
+  private boolean isChanged(String dependencies) {
+    for (String dependency : dependencies.split(" ")) {
+      String fingerprint = this.fingerprints.get(dependency);
+      if (fingerprint == null || !fingerprint.equals(this.previous.getProperty(FINGERPRINT + dependency))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Start tracking the elements read by the page that's about to be rendered by the current thread.
+   */
+  public void startPage() {
+    this.objectWrapper.startTracking();
+  }
+
+  /**
+   * Record the elements read by the page just rendered by the current thread.
+   *
+   * @param element The element of the page.
+   */
+  public void endPage(Object element) {
+    Set<String> reads = this.objectWrapper.stopTracking();
+    String key = keyOf(element);
+    reads.add(key);
+    this.dependencies.put(key, reads);
+  }
+
+  /**
+   * Write the index to the documentation directory.
+   */
+  public void store() throws IOException {
+    Properties properties = new Properties();
+    properties.setProperty(GLOBAL, this.globalFingerprint);
+    for (Map.Entry<String, String> page : this.pages.entrySet()) {
+      Set<String> dependencies = this.dependencies.get(page.getKey());
+      if (dependencies != null) {
+        StringBuilder value = new StringBuilder();
+        for (String dependency : dependencies) {
+          if (value.length() > 0) {
+            value.append(' ');
+          }
+          value.append(dependency);
+        }
+        properties.setProperty(PAGE + page.getKey(), page.getValue());
+        properties.setProperty(DEPENDENCIES + page.getKey(), value.toString());
+      }
+    }
+
+    for (Map.Entry<String, String> fingerprint : this.fingerprints.entrySet()) {
+      properties.setProperty(FINGERPRINT + fingerprint.getKey(), fingerprint.getValue());
+    }
+
+    OutputStream out = new FileOutputStream(this.file);
+    try {
+      properties.store(out, "Model elements read by each documentation page.");
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Fingerprint an element that has a page of its own.
+   *
+   * @param element The element.
+   * @return The fingerprint.
+   */
+  protected String fingerprint(Object element) {
+    MessageDigest digest = newDigest();
+    IdentityHashMap<Object, Boolean> visited = new IdentityHashMap<Object, Boolean>();
+    visited.put(element, Boolean.TRUE);
+    updateProperties(digest, element, visited);
+    if (element instanceof DataType) {
+      updatePropertyMetadata(digest, (DataType) element);
+    }
+    return toHex(digest.digest());
+  }
+
+  /**
+   * Fingerprint the metadata of the properties of a data type, including the properties inherited from its supertypes,
+   * as the template reads it: by each key of the property metadata of the data type.
+   *
+   * @param digest The digest.
+   * @param dataType The data type.
+   */
+  private void updatePropertyMetadata(MessageDigest digest, DataType dataType) {
+    Map<String, String> propertyMetadata = dataType.getPropertyMetadata();
+    if (propertyMetadata == null || propertyMetadata.isEmpty()) {
+      return;
+    }
+
+    List<Property> properties = new ArrayList<Property>();
+    if (dataType.getProperties() != null) {
+      properties.addAll(dataType.getProperties());
+    }
+    if (dataType.getSupertypes() != null) {
+      for (DataTypeReference supertype : dataType.getSupertypes()) {
+        if (supertype.getValue() != null && supertype.getValue().getProperties() != null) {
+          properties.addAll(supertype.getValue().getProperties());
+        }
+      }
+    }
+
+    Set<String> keys = new TreeSet<String>(propertyMetadata.keySet());
+    update(digest, "property[meta]");
+    for (Property property : properties) {
+      update(digest, property.getName());
+      for (String key : keys) {
+        IdentityHashMap<Object, Boolean> visited = new IdentityHashMap<Object, Boolean>();
+        visited.put(dataType, Boolean.TRUE);
+        update(digest, key);
+        update(digest, readMetadata(property, key), visited);
+      }
+    }
+  }
+
+  /**
+   * Read the metadata of a property the way the template does: the bean property of the given name, or else the
+   * value of the generic <code>get(String)</code> method.
+   *
+   * @param property The property.
+   * @param key The metadata key.
+   * @return The metadata value.
+   */
+  private static Object readMetadata(Object property, String key) {
+    String capitalized = Character.toUpperCase(key.charAt(0)) + key.substring(1);
+    Method reader = null;
+    Object[] args = new Object[0];
+    for (String name : new String[]{"get" + capitalized, "is" + capitalized}) {
+      try {
+        reader = property.getClass().getMethod(name);
+        break;
+      }
+      catch (NoSuchMethodException e) {
+        //fall through...
+      }
+    }
+
+    if (reader == null) {
+      try {
+        reader = property.getClass().getMethod("get", String.class);
+        args = new Object[]{key};
+      }
+      catch (NoSuchMethodException e) {
+        return null;
+      }
+    }
+
+    try {
+      if (!reader.isAccessible()) {
+        reader.setAccessible(true);
+      }
+      return reader.invoke(property, args);
+    }
+    catch (Exception e) {
+      return "!" + e.getClass().getName();
+    }
+  }
+
+  private void update(MessageDigest digest, Object value, IdentityHashMap<Object, Boolean> visited) {
+    if (value == null) {
+      update(digest, "null");
+    }
+    else if (value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum) {
+      update(digest, String.valueOf(value));
+    }
+    else if (value instanceof Date) {
+      update(digest, String.valueOf(((Date) value).getTime()));
+    }
+    else if (keyOf(value) != null) {
+      //elements with pages of their own are fingerprinted separately.
+      update(digest, "@" + keyOf(value));
+    }
+    else if (visited.put(value, Boolean.TRUE) != null) {
+      update(digest, "^");
+    }
+    else if (value instanceof JavaDoc) {
+      update(digest, value.toString());
+      update(digest, new TreeMap<String, Object>((JavaDoc) value), visited);
+    }
+    else if (value instanceof Map) {
+      TreeMap<String, Object> entries = new TreeMap<String, Object>();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        entries.put(String.valueOf(entry.getKey()), entry.getValue());
+      }
+      update(digest, "{");
+      for (Map.Entry<String, Object> entry : entries.entrySet()) {
+        update(digest, entry.getKey());
+        update(digest, entry.getValue(), visited);
+      }
+      update(digest, "}");
+    }
+    else if (value instanceof Iterable) {
+      update(digest, "[");
+      for (Object item : (Iterable<?>) value) {
+        update(digest, item, visited);
+      }
+      update(digest, "]");
+    }
+    else if (value instanceof Object[]) {
+      update(digest, Arrays.asList((Object[]) value), visited);
+    }
+    else {
+      update(digest, value.getClass().getName());
+      updateProperties(digest, value, visited);
+    }
+  }
+
+  private void updateProperties(MessageDigest digest, Object value, IdentityHashMap<Object, Boolean> visited) {
+    for (Method getter : gettersOf(value.getClass())) {
+      update(digest, getter.getName());
+      try {
+        update(digest, getter.invoke(value), visited);
+      }
+      catch (Exception e) {
+        update(digest, "!" + e.getClass().getName());
+      }
+    }
+  }
+
+  /**
+   * The getters of a class that are declared by the API model. Other getters (e.g. those that expose the compiler model)
+   * aren't read by the templates.
+   *
+   * @param clazz The class.
+   * @return The getters, by name.
+   */
+  private List<Method> gettersOf(Class<?> clazz) {
+    synchronized (this.getters) {
+      List<Method> getters = this.getters.get(clazz);
+      if (getters == null) {
+        TreeMap<String, Method> byName = new TreeMap<String, Method>();
+        for (Method method : clazz.getMethods()) {
+          String name = method.getName();
+          boolean getter = (name.startsWith("get") && name.length() > 3) || (name.startsWith("is") && name.length() > 2);
+          if (getter && method.getParameterTypes().length == 0 && method.getReturnType() != Void.TYPE && !Modifier.isStatic(method.getModifiers()) && isDeclaredByApi(clazz, name)) {
+            if (!method.isAccessible()) {
+              try {
+                method.setAccessible(true);
+              }
+              catch (SecurityException e) {
+                continue;
+              }
+            }
+            byName.put(name, method);
+          }
+        }
+        getters = new ArrayList<Method>(byName.values());
+        this.getters.put(clazz, getters);
+      }
+      return getters;
+    }
+  }
+
+  private boolean isDeclaredByApi(Class<?> clazz, String methodName) {
+    if (clazz == null || clazz == Object.class) {
+      return false;
+    }
+
+    if (clazz.getName().startsWith(API_PACKAGE) && !clazz.getName().startsWith(API_PACKAGE + "detached.")) {
+      try {
+        clazz.getMethod(methodName);
+        return true;
+      }
+      catch (NoSuchMethodException e) {
+        //fall through...
+      }
+    }
+
+    for (Class<?> iface : clazz.getInterfaces()) {
+      if (isDeclaredByApi(iface, methodName)) {
+        return true;
+      }
+    }
+    return isDeclaredByApi(clazz.getSuperclass(), methodName);
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    try {
+      digest.update(value.getBytes("utf-8"));
+      digest.update((byte) 0);
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-1");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return hex.toString();
+  }
+}
@@ -0,0 +1,303 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.docs;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.webcohesion.enunciate.api.datatype.DataType;
+import com.webcohesion.enunciate.api.datatype.Namespace;
+import com.webcohesion.enunciate.api.datatype.Property;
+import com.webcohesion.enunciate.api.datatype.Syntax;
+import com.webcohesion.enunciate.api.datatype.Value;
+import com.webcohesion.enunciate.api.resources.Method;
+import com.webcohesion.enunciate.api.resources.Resource;
+import com.webcohesion.enunciate.api.resources.ResourceApi;
+import com.webcohesion.enunciate.api.resources.ResourceGroup;
+import com.webcohesion.enunciate.api.services.Operation;
+import com.webcohesion.enunciate.api.services.Service;
+import com.webcohesion.enunciate.api.services.ServiceApi;
+import com.webcohesion.enunciate.api.services.ServiceGroup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Full-text search index for the generated documentation, written as static JSON for the search box of the default
+ * template. The index has two parts:
+ * <ul>
+ *   <li>"docs.json": the searchable documents (resource groups, methods, services, operations and data types), as an
+ *   array of [url, title, kind]. A document is identified by its position in the array.</li>
+ *   <li>One shard per two-character term prefix (e.g. "pe.json"), mapping each term with that prefix to the documents
+ *   that contain it. The browser loads only the shards of the words being typed.</li>
+ * </ul>
+ * Documents are written out as they're added, and their text is reduced to terms as it's read, so neither the
+ * documents nor their text are kept in memory; only the postings are.
+ *
+ * @author Ryan Heaton
+ */
+public class DocsSearchIndex {
+
+  public static final String DOCUMENTS = "docs.json";
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final Pattern MARKUP = Pattern.compile("<[^>]*>|&#?[a-zA-Z0-9]+;");
+  private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+  private static final Pattern CAMEL_CASE = Pattern.compile("(?<=[\\p{Ll}\\p{N}])(?=\\p{Lu})");
+  private static final Set<String> STOP_WORDS = new HashSet<String>(Arrays.asList(
+    "an", "and", "are", "as", "at", "be", "by", "for", "from", "if", "in", "is", "it", "of", "on", "or", "that", "the", "this", "to", "will", "with"
+  ));
+
+  private final File dir;
+  private final JsonGenerator documents;
+  private final TreeMap<String, Postings> postings = new TreeMap<String, Postings>();
+  private int documentCount = 0;
+
+  public DocsSearchIndex(File dir) throws IOException {
+    this.dir = dir;
+    if (!dir.exists()) {
+      dir.mkdirs();
+    }
+    else {
+      //the shards of a previous build that aren't written again would still answer searches.
+      File[] files = dir.listFiles();
+      if (files != null) {
+        for (File file : files) {
+          if (file.isFile() && !file.delete()) {
+            throw new IOException("Unable to delete " + file + ".");
+          }
+        }
+      }
+    }
+
+    this.documents = JSON_FACTORY.createGenerator(new File(dir, DOCUMENTS), JsonEncoding.UTF8);
+    this.documents.writeStartArray();
+  }
+
+  /**
+   * Index the resources, services and data types of the API.
+   *
+   * @param resourceApis The resource APIs.
+   * @param serviceApis  The service APIs.
+   * @param syntaxes     The syntaxes.
+   * @return this.
+   */
+  public DocsSearchIndex index(List<ResourceApi> resourceApis, List<ServiceApi> serviceApis, Collection<Syntax> syntaxes) throws IOException {
+    for (ResourceApi resourceApi : resourceApis) {
+      for (ResourceGroup resourceGroup : resourceApi.getResourceGroups()) {
+        String page = resourceGroup.getSlug() + ".html";
+        int group = addDocument(page, resourceGroup.getLabel(), "Resource");
+        addText(group, resourceGroup.getLabel());
+        addText(group, resourceGroup.getDescription());
+        for (Resource resource : resourceGroup.getResources()) {
+          addText(group, resource.getPath());
+        }
+
+        //the postings of a document have to be added before those of the next document.
+        for (Resource resource : resourceGroup.getResources()) {
+          for (Method method : resource.getMethods()) {
+            int doc = addDocument(page + "#" + method.getSlug(), method.getLabel() + " " + resource.getPath(), resourceGroup.getLabel());
+            addText(doc, method.getLabel());
+            addText(doc, method.getHttpMethod());
+            addText(doc, resource.getPath());
+            addText(doc, method.getDescription());
+            for (com.webcohesion.enunciate.api.resources.Parameter parameter : method.getParameters()) {
+              addText(doc, parameter.getName());
+            }
+          }
+        }
+      }
+    }
+
+    for (ServiceApi serviceApi : serviceApis) {
+      for (ServiceGroup serviceGroup : serviceApi.getServiceGroups()) {
+        for (Service service : serviceGroup.getServices()) {
+          String page = service.getSlug() + ".html";
+          int doc = addDocument(page, service.getLabel(), "Service");
+          addText(doc, service.getLabel());
+          addText(doc, service.getDescription());
+          for (Operation operation : service.getOperations()) {
+            int op = addDocument(page + "#" + operation.getSlug(), operation.getName(), service.getLabel());
+            addText(op, operation.getName());
+            addText(op, operation.getDescription());
+            for (com.webcohesion.enunciate.api.services.Parameter parameter : operation.getInputParameters()) {
+              addText(op, parameter.getName());
+            }
+          }
+        }
+      }
+    }
+
+    for (Syntax syntax : syntaxes) {
+      for (Namespace namespace : syntax.getNamespaces()) {
+        for (DataType type : namespace.getTypes()) {
+          int doc = addDocument(type.getSlug() + ".html", type.getLabel(), syntax.getLabel());
+          addText(doc, type.getLabel());
+          addText(doc, type.getDescription());
+          List<? extends Property> properties = type.getProperties();
+          if (properties != null) {
+            for (Property property : properties) {
+              addText(doc, property.getName());
+              addText(doc, property.getDescription());
+            }
+          }
+          List<? extends Value> values = type.getValues();
+          if (values != null) {
+            for (Value value : values) {
+              addText(doc, value.getValue());
+              addText(doc, value.getDescription());
+            }
+          }
+        }
+      }
+    }
+
+    return this;
+  }
+
+  /**
+   * Add a document to the index.
+   *
+   * @param url   The URL of the document, relative to the documentation directory.
+   * @param title The title of the document.
+   * @param kind  The kind of document, displayed alongside the title.
+   * @return The id of the document.
+   */
+  public int addDocument(String url, String title, String kind) throws IOException {
+    this.documents.writeStartArray();
+    this.documents.writeString(url);
+    this.documents.writeString(title);
+    this.documents.writeString(kind);
+    this.documents.writeEndArray();
+    return this.documentCount++;
+  }
+
+  /**
+   * Add the terms of some text (which may contain markup) to a document.
+   *
+   * @param document The id of the document.
+   * @param text     The text.
+   */
+  public void addText(int document, String text) {
+    if (text == null) {
+      return;
+    }
+
+    Matcher words = WORD.matcher(MARKUP.matcher(text).replaceAll(" "));
+    while (words.find()) {
+      String word = words.group();
+      addTerm(document, word);
+      String[] parts = CAMEL_CASE.split(word);
+      if (parts.length > 1) {
+        for (String part : parts) {
+          addTerm(document, part);
+        }
+      }
+    }
+  }
+
+  private void addTerm(int document, String word) {
+    String term = word.toLowerCase(Locale.ENGLISH);
+    if (term.length() < 2 || STOP_WORDS.contains(term)) {
+      return;
+    }
+
+    Postings postings = this.postings.get(term);
+    if (postings == null) {
+      postings = new Postings();
+      this.postings.put(term, postings);
+    }
+    postings.add(document);
+  }
+
+  /**
+   * Finish the list of documents and write the shards of the index.
+   */
+  public void close() throws IOException {
+    this.documents.writeEndArray();
+    this.documents.close();
+
+    //terms that share a shard aren't necessarily adjacent (e.g. non-ASCII terms), so the terms are grouped first.
+    Map<String, List<Map.Entry<String, Postings>>> shards = new TreeMap<String, List<Map.Entry<String, Postings>>>();
+    for (Map.Entry<String, Postings> entry : this.postings.entrySet()) {
+      String shard = shardOf(entry.getKey());
+      List<Map.Entry<String, Postings>> terms = shards.get(shard);
+      if (terms == null) {
+        terms = new ArrayList<Map.Entry<String, Postings>>();
+        shards.put(shard, terms);
+      }
+      terms.add(entry);
+    }
+
+    for (Map.Entry<String, List<Map.Entry<String, Postings>>> shard : shards.entrySet()) {
+      JsonGenerator json = JSON_FACTORY.createGenerator(new File(this.dir, shard.getKey() + ".json"), JsonEncoding.UTF8);
+      try {
+        json.writeStartObject();
+        for (Map.Entry<String, Postings> entry : shard.getValue()) {
+          Postings postings = entry.getValue();
+          json.writeArrayFieldStart(entry.getKey());
+          for (int i = 0; i < postings.size; i++) {
+            json.writeNumber(postings.documents[i]);
+          }
+          json.writeEndArray();
+        }
+        json.writeEndObject();
+      }
+      finally {
+        json.close();
+      }
+    }
+    this.postings.clear();
+  }
+
+  /**
+   * The shard of a term: its first two characters, with anything but lowercase ASCII letters and digits replaced by "_".
+   *
+   * @param term The term.
+   * @return The shard.
+   */
+  public static String shardOf(String term) {
+    StringBuilder shard = new StringBuilder(2);
+    for (int i = 0; i < 2; i++) {
+      char ch = term.charAt(i);
+      shard.append((ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9') ? ch : '_');
+    }
+    return shard.toString();
+  }
+
+  /**
+   * The (ascending) ids of the documents that contain a term.
+   */
+  private static final class Postings {
+
+    private int[] documents = new int[4];
+    private int size = 0;
+
+    void add(int document) {
+      if (this.size > 0 && this.documents[this.size - 1] == document) {
+        return;
+      }
+
+      if (this.size == this.documents.length) {
+        this.documents = Arrays.copyOf(this.documents, this.size * 2);
+      }
+      this.documents[this.size++] = document;
+    }
+  }
+}
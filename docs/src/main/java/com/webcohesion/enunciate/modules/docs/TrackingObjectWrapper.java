@@ -0,0 +1,71 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.docs;
+
+import freemarker.template.Configuration;
+import freemarker.template.DefaultObjectWrapper;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An object wrapper that keeps track of the model elements that are wrapped by the current thread. Templates reach
+ * every model element through the object wrapper, so the elements wrapped while a page is rendered are the elements
+ * the page read.
+ *
+ * @author Ryan Heaton
+ */
+public class TrackingObjectWrapper extends DefaultObjectWrapper {
+
+  private final ThreadLocal<Set<String>> reads = new ThreadLocal<Set<String>>();
+
+  public TrackingObjectWrapper() {
+    super(Configuration.VERSION_2_3_22);
+  }
+
+  /**
+   * Start tracking the elements wrapped by the current thread.
+   */
+  public void startTracking() {
+    this.reads.set(new TreeSet<String>());
+  }
+
+  /**
+   * Stop tracking the elements wrapped by the current thread.
+   *
+   * @return The keys of the elements that were wrapped since tracking started.
+   */
+  public Set<String> stopTracking() {
+    Set<String> reads = this.reads.get();
+    this.reads.remove();
+    return reads == null ? new TreeSet<String>() : reads;
+  }
+
+  @Override
+  public TemplateModel wrap(Object obj) throws TemplateModelException {
+    Set<String> reads = this.reads.get();
+    if (reads != null) {
+      String key = DocsPageIndex.keyOf(obj);
+      if (key != null) {
+        reads.add(key);
+      }
+    }
+
+    return super.wrap(obj);
+  }
+}
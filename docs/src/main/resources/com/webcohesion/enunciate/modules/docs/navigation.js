@@ -0,0 +1,107 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Site-wide navigation of the generated documentation. The navigation is written once as JSON; this script renders it
+ * into the sidebar and keeps it for the rest of the browser session, so each page only carries a placeholder. The
+ * entries of a section are only rendered when the section is expanded.
+ */
+$(function () {
+  var container = $('#docs-navigation');
+  if (container.length === 0) {
+    return;
+  }
+
+  var url = container.data('navigation') + 'navigation.json';
+  var resolver = document.createElement('a');
+  resolver.href = url;
+  var key = 'enunciate-navigation:' + resolver.href;
+  var current = window.location.pathname.split('/').pop();
+
+  function fallback() {
+    var list = $('<ul class="nav nav-sidebar"></ul>');
+    $('<a/>').attr('href', container.data('index')).text('Index').appendTo($('<li/>').appendTo(list));
+    container.append(list);
+  }
+
+  function render(sections) {
+    var list = $('<ul class="nav nav-sidebar"></ul>');
+    $.each(sections, function (i, section) {
+      var item = $('<li/>').appendTo(list);
+      var entries = section.entries || [];
+      var open = section.href === current;
+      $.each(entries, function (j, entry) {
+        open = open || entry.href === current;
+      });
+      if (section.href === current) {
+        item.addClass('active');
+      }
+
+      var toggle = null;
+      if (entries.length > 0) {
+        var sublist = null;
+        toggle = $('<a href="#" class="pull-right" title="Expand"><span class="caret"></span></a>').appendTo(item);
+        toggle.on('click', function (e) {
+          e.preventDefault();
+          if (sublist === null) {
+            sublist = $('<ul class="nav" style="padding-left: 15px;"></ul>');
+            $.each(entries, function (j, entry) {
+              var entryItem = $('<li/>').appendTo(sublist);
+              if (entry.href === current) {
+                entryItem.addClass('active');
+              }
+              $('<a/>').attr('href', entry.href).text(entry.title).appendTo(entryItem);
+            });
+            item.append(sublist);
+          }
+          else {
+            sublist.toggle();
+          }
+        });
+      }
+
+      $('<a/>').attr('href', section.href).text(section.title).appendTo(item);
+      if (toggle !== null && open) {
+        toggle.click();
+      }
+    });
+    container.append(list);
+  }
+
+  var cached = null;
+  try {
+    cached = window.sessionStorage.getItem(key);
+  }
+  catch (e) {
+    //no session storage; the navigation is loaded on every page.
+  }
+
+  if (cached) {
+    render(JSON.parse(cached));
+    return;
+  }
+
+  $.ajax({url: url, dataType: 'text'})
+    .done(function (text) {
+      try {
+        window.sessionStorage.setItem(key, text);
+      }
+      catch (e) {
+        //no session storage, or it's full.
+      }
+      render(JSON.parse(text));
+    })
+    .fail(fallback);
+});
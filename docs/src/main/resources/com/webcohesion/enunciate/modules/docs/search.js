@@ -0,0 +1,149 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Search box of the generated documentation. The index is a list of documents ("docs.json") and a set of shards, one
+ * per two-character term prefix, that map each term to the documents that contain it. Only the shards of the words
+ * being typed are loaded. Each word matches the terms it's a prefix of, and a document has to match every word.
+ */
+$(function () {
+  var input = $('#docs-search');
+  var results = $('#docs-search-results');
+  if (input.length === 0) {
+    return;
+  }
+
+  var base = input.data('search-index');
+  var cache = {};
+  var latest = 0;
+
+  function load(name) {
+    if (!cache[name]) {
+      var loaded = $.Deferred();
+      $.ajax({url: base + name + '.json', dataType: 'json'})
+        .done(function (data) { loaded.resolve(data); })
+        .fail(function () { loaded.resolve(name === 'docs' ? [] : {}); });
+      cache[name] = loaded.promise();
+    }
+    return cache[name];
+  }
+
+  function shardOf(word) {
+    return word.substring(0, 2).replace(/[^a-z0-9]/g, '_');
+  }
+
+  function wordsOf(query) {
+    return $.grep(query.toLowerCase().split(/[^0-9a-z\u00c0-\uffff]+/), function (word) {
+      return word.length > 1;
+    });
+  }
+
+  function escape(text) {
+    return $('<div/>').text(text).html();
+  }
+
+  function show(words, docs, shards) {
+    var matches = null;
+    $.each(words, function (i, word) {
+      var matched = {};
+      $.each(shards[i], function (term, postings) {
+        if (term.indexOf(word) === 0) {
+          $.each(postings, function (j, doc) {
+            matched[doc] = (matched[doc] || 0) + (term === word ? 2 : 1);
+          });
+        }
+      });
+
+      if (matches === null) {
+        matches = matched;
+      }
+      else {
+        $.each(matches, function (doc, score) {
+          if (matched[doc]) {
+            matches[doc] = score + matched[doc];
+          }
+          else {
+            delete matches[doc];
+          }
+        });
+      }
+    });
+
+    var ranked = [];
+    $.each(matches || {}, function (doc, score) {
+      var entry = docs[doc];
+      if (entry) {
+        var title = entry[1].toLowerCase();
+        $.each(words, function (i, word) {
+          if (title.indexOf(word) >= 0) {
+            score += 5;
+          }
+        });
+        ranked.push({url: entry[0], title: entry[1], kind: entry[2], score: score});
+      }
+    });
+    ranked.sort(function (a, b) {
+      return b.score - a.score || (a.title < b.title ? -1 : a.title > b.title ? 1 : 0);
+    });
+
+    results.empty();
+    if (ranked.length === 0) {
+      results.append('<li class="dropdown-header">No results.</li>');
+    }
+    $.each(ranked.slice(0, 20), function (i, result) {
+      results.append('<li><a href="' + escape(result.url) + '">' + escape(result.title) + ' <small class="text-muted">' + escape(result.kind) + '</small></a></li>');
+    });
+    results.show();
+  }
+
+  function search() {
+    var words = wordsOf(input.val());
+    var current = ++latest;
+    if (words.length === 0) {
+      results.empty().hide();
+      return;
+    }
+
+    var loads = [load('docs')];
+    $.each(words, function (i, word) {
+      loads.push(load(shardOf(word)));
+    });
+    $.when.apply($, loads).done(function (docs) {
+      if (current === latest) {
+        show(words, docs, Array.prototype.slice.call(arguments, 1));
+      }
+    });
+  }
+
+  var pending = null;
+  input.on('input', function () {
+    clearTimeout(pending);
+    pending = setTimeout(search, 150);
+  });
+  input.on('keydown', function (e) {
+    if (e.which === 27) {
+      input.val('');
+      results.empty().hide();
+    }
+  });
+  input.on('blur', function () {
+    setTimeout(function () { results.hide(); }, 200);
+  });
+  input.on('focus', function () {
+    if (results.children().length > 0) {
+      results.show();
+    }
+  });
+});
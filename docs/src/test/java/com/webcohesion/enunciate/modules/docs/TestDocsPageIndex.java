@@ -0,0 +1,307 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.docs;
+
+import com.webcohesion.enunciate.EnunciateConsoleLogger;
+import com.webcohesion.enunciate.api.datatype.*;
+import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
+import junit.framework.TestCase;
+
+import javax.lang.model.element.AnnotationMirror;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+
+/**
+ * @author Ryan Heaton
+ */
+public class TestDocsPageIndex extends TestCase {
+
+  private File docsDir;
+  private File template;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    this.docsDir = File.createTempFile("enunciate", "");
+    this.docsDir.delete();
+    this.docsDir.mkdirs();
+    this.template = File.createTempFile("docs", ".fmt");
+    writeTemplate("template");
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    File[] files = this.docsDir.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    this.docsDir.delete();
+    this.template.delete();
+    super.tearDown();
+  }
+
+  /**
+   * tests that an unchanged model renders no pages, and that a changed model renders only the pages that changed.
+   */
+  public void testIncrementalBuild() throws Exception {
+    TestProperty name = new TestProperty("name", "1..1");
+    TestDataType person = new TestDataType("person", Arrays.asList(name));
+    TestDataType employee = new TestDataType("employee", Arrays.asList(new TestProperty("employer", "0..1")));
+    employee.supertypes.add(new TestDataTypeReference(person));
+    TestDataType address = new TestDataType("address", Arrays.asList(new TestProperty("street", "0..1")));
+
+    assertEquals(Arrays.asList("person", "employee", "address"), build(person, employee, address));
+    assertEquals(Collections.<String>emptyList(), build(person, employee, address));
+
+    address.description = "A street address.";
+    assertEquals("a changed API model value renders the page.", Arrays.asList("address"), build(person, employee, address));
+
+    name.minMaxOccurs = "0..1";
+    assertEquals("a changed property metadata value renders the page of the type and the pages that inherit the property.", Arrays.asList("person", "employee"), build(person, employee, address));
+
+    person.propertyMetadata.put("defaultValue", "default");
+    name.defaultValue = "Fred";
+    assertEquals("a new property metadata key renders the page.", Arrays.asList("person"), build(person, employee, address));
+
+    writeTemplate("changed template");
+    assertEquals("a changed template renders all pages.", Arrays.asList("person", "employee", "address"), build(person, employee, address));
+  }
+
+  /**
+   * tests that the pages of the elements that no longer exist are deleted.
+   */
+  public void testRemovedElement() throws Exception {
+    TestDataType person = new TestDataType("person", Arrays.asList(new TestProperty("name", "1..1")));
+    TestDataType address = new TestDataType("address", Arrays.asList(new TestProperty("street", "0..1")));
+    build(person, address);
+    assertTrue(new File(this.docsDir, "address.html").exists());
+
+    assertEquals(Collections.<String>emptyList(), build(person));
+    assertFalse(new File(this.docsDir, "address.html").exists());
+    assertTrue(new File(this.docsDir, "person.html").exists());
+
+    new File(this.docsDir, "person.html").delete();
+    assertEquals("a missing page is rendered.", Arrays.asList("person"), build(person));
+  }
+
+  /**
+   * Simulate a build of the documentation of the specified data types.
+   *
+   * @return The slugs of the data types whose pages were rendered.
+   */
+  private List<String> build(DataType... dataTypes) throws IOException {
+    DocsPageIndex index = new DocsPageIndex(this.docsDir, new EnunciateConsoleLogger());
+    List<Map.Entry<String, Object>> pages = new ArrayList<Map.Entry<String, Object>>();
+    for (DataType dataType : dataTypes) {
+      pages.add(new AbstractMap.SimpleEntry<String, Object>("type", dataType));
+    }
+
+    List<String> rendered = new ArrayList<String>();
+    Map<String, Object> globals = new HashMap<String, Object>();
+    globals.put("title", "Test");
+    for (Map.Entry<String, Object> page : index.findStalePages(this.template.toURI().toURL(), globals, pages, this.docsDir)) {
+      index.startPage();
+      DataType dataType = (DataType) page.getValue();
+      new File(this.docsDir, DocsPageIndex.fileOf(dataType)).createNewFile();
+      rendered.add(dataType.getSlug());
+      index.endPage(dataType);
+    }
+    index.store();
+    return rendered;
+  }
+
+  private void writeTemplate(String content) throws IOException {
+    OutputStream out = new FileOutputStream(this.template);
+    try {
+      out.write(content.getBytes("utf-8"));
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  public static class TestDataType implements DataType {
+
+    private final String slug;
+    private final List<TestProperty> properties;
+    private final List<DataTypeReference> supertypes = new ArrayList<DataTypeReference>();
+    private final Map<String, String> propertyMetadata = new TreeMap<String, String>();
+    private String description;
+
+    public TestDataType(String slug, List<TestProperty> properties) {
+      this.slug = slug;
+      this.properties = properties;
+      this.propertyMetadata.put("minMaxOccurs", "min/max occurs");
+    }
+
+    public String getLabel() {
+      return this.slug;
+    }
+
+    public String getSlug() {
+      return this.slug;
+    }
+
+    public String getDescription() {
+      return this.description;
+    }
+
+    public String getDeprecated() {
+      return null;
+    }
+
+    public Namespace getNamespace() {
+      return null;
+    }
+
+    public Syntax getSyntax() {
+      return null;
+    }
+
+    public BaseType getBaseType() {
+      return BaseType.object;
+    }
+
+    public List<DataTypeReference> getSupertypes() {
+      return this.supertypes;
+    }
+
+    public String getSince() {
+      return null;
+    }
+
+    public String getVersion() {
+      return null;
+    }
+
+    public Example getExample() {
+      return null;
+    }
+
+    public List<? extends Value> getValues() {
+      return null;
+    }
+
+    public List<? extends Property> getProperties() {
+      return this.properties;
+    }
+
+    public Map<String, String> getPropertyMetadata() {
+      return this.propertyMetadata;
+    }
+
+    public Map<String, AnnotationMirror> getAnnotations() {
+      return Collections.emptyMap();
+    }
+
+    public JavaDoc getJavaDoc() {
+      return null;
+    }
+
+    public Set<String> getStyles() {
+      return Collections.emptySet();
+    }
+  }
+
+  /**
+   * A property with metadata that isn't declared by the API model, which the template reads by key.
+   */
+  public static class TestProperty implements Property {
+
+    private final String name;
+    private String minMaxOccurs;
+    private String defaultValue;
+
+    public TestProperty(String name, String minMaxOccurs) {
+      this.name = name;
+      this.minMaxOccurs = minMaxOccurs;
+    }
+
+    public String getName() {
+      return this.name;
+    }
+
+    public String getDescription() {
+      return null;
+    }
+
+    public DataTypeReference getDataType() {
+      return null;
+    }
+
+    public String getDeprecated() {
+      return null;
+    }
+
+    public boolean isRequired() {
+      return false;
+    }
+
+    public Map<String, AnnotationMirror> getAnnotations() {
+      return Collections.emptyMap();
+    }
+
+    public JavaDoc getJavaDoc() {
+      return null;
+    }
+
+    public Set<String> getStyles() {
+      return Collections.emptySet();
+    }
+
+    public String getMinMaxOccurs() {
+      return this.minMaxOccurs;
+    }
+
+    public String getDefaultValue() {
+      return this.defaultValue;
+    }
+  }
+
+  public static class TestDataTypeReference implements DataTypeReference {
+
+    private final DataType value;
+
+    public TestDataTypeReference(DataType value) {
+      this.value = value;
+    }
+
+    public String getLabel() {
+      return this.value.getLabel();
+    }
+
+    public String getSlug() {
+      return this.value.getSlug();
+    }
+
+    public List<ContainerType> getContainers() {
+      return null;
+    }
+
+    public DataType getValue() {
+      return this.value;
+    }
+
+    public BaseType getBaseType() {
+      return this.value.getBaseType();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.docs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/**
+ * @author Ryan Heaton
+ */
+public class TestDocsSearchIndex extends TestCase {
+
+  /**
+   * tests that the terms are written to the shard of their prefix, and that stale shards are removed.
+   */
+  public void testShards() throws Exception {
+    File dir = File.createTempFile("enunciate", "");
+    dir.delete();
+    dir.mkdirs();
+    File stale = new File(dir, "zz.json");
+    stale.createNewFile();
+
+    DocsSearchIndex index = new DocsSearchIndex(dir);
+    assertFalse("stale shards should be removed.", stale.exists());
+    int person = index.addDocument("person.html", "Person", "JSON");
+    index.addText(person, "The <b>personName</b> of a person, ça.");
+    int address = index.addDocument("address.html", "Address", "JSON");
+    //the non-ASCII terms share the "_a" shard, but "ère" sorts between them.
+    index.addText(address, "éa ère 42 Person");
+    index.close();
+
+    ObjectMapper mapper = new ObjectMapper();
+    JsonNode documents = mapper.readTree(new File(dir, DocsSearchIndex.DOCUMENTS));
+    assertEquals(2, documents.size());
+    assertEquals("address.html", documents.get(1).get(0).asText());
+
+    assertEquals(new TreeSet<String>(Arrays.asList(DocsSearchIndex.DOCUMENTS, "pe.json", "na.json", "_a.json", "_r.json", "42.json")), new TreeSet<String>(Arrays.asList(dir.list())));
+
+    JsonNode pe = mapper.readTree(new File(dir, "pe.json"));
+    assertEquals(2, pe.size());
+    assertEquals(2, pe.get("person").size());
+    assertEquals(address, pe.get("person").get(1).asInt());
+    assertEquals(person, pe.get("personname").get(0).asInt());
+
+    JsonNode na = mapper.readTree(new File(dir, "na.json"));
+    assertEquals(person, na.get("name").get(0).asInt());
+
+    JsonNode a = mapper.readTree(new File(dir, "_a.json"));
+    assertEquals(2, a.size());
+    assertEquals(person, a.get("ça").get(0).asInt());
+    assertEquals(address, a.get("éa").get(0).asInt());
+
+    assertEquals(address, mapper.readTree(new File(dir, "_r.json")).get("ère").get(0).asInt());
+
+    for (File file : dir.listFiles()) {
+      file.delete();
+    }
+    dir.delete();
+  }
+}
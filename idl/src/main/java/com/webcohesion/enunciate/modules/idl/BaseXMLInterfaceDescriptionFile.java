@@ -19,64 +19,131 @@ import com.webcohesion.enunciate.api.InterfaceDescriptionFile;
 import com.webcohesion.enunciate.facets.FacetFilter;
 import com.webcohesion.enunciate.modules.jaxb.util.PrefixMethod;
 import com.webcohesion.enunciate.util.freemarker.IsFacetExcludedMethod;
-import freemarker.cache.URLTemplateLoader;
-import freemarker.core.Environment;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
-import freemarker.template.TemplateExceptionHandler;
 
 import java.io.*;
-import java.net.MalformedURLException;
 import java.net.URL;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
+ * An interface description file rendered from a template. The document is streamed straight to disk as it's rendered
+ * and is never held in memory. Once rendered, subsequent writes copy the rendered file, and a write that would produce
+ * the same content as the existing file leaves the existing file untouched.<br/><br/>
+ *
+ * No splice index is written with the file; that's up to whoever deploys the copy that's served by the IDL filter of
+ * the runtime (see {@link com.webcohesion.enunciate.util.IDLSpliceIndex}).
+ *
  * @author Ryan Heaton
  */
 public abstract class BaseXMLInterfaceDescriptionFile implements InterfaceDescriptionFile {
 
+  private static final String CHARSET = "UTF-8";
+
   protected final FacetFilter facetFilter;
   protected final Map<String, String> namespacePrefixes;
   protected final String filename;
-  private String contents;
+  protected final Configuration configuration;
+  private File renderedFile;
 
-  public BaseXMLInterfaceDescriptionFile(String filename, Map<String, String> namespacePrefixes, FacetFilter facetFilter) {
+  public BaseXMLInterfaceDescriptionFile(String filename, Map<String, String> namespacePrefixes, FacetFilter facetFilter, Configuration configuration) {
     this.namespacePrefixes = namespacePrefixes;
     this.facetFilter = facetFilter;
     this.filename = filename;
+    this.configuration = configuration;
   }
 
   @Override
   public String getHref() {
-    if (contents == null) {
+    if (getRenderedFile() == null) {
       throw new IllegalStateException(String.format("%s hasn't been written yet.", filename));
     }
 
     return filename;
   }
 
+  /**
+   * The file to which this document was first rendered, or null if it hasn't been rendered yet.
+   *
+   * @return The file to which this document was first rendered.
+   */
+  public synchronized File getRenderedFile() {
+    return renderedFile;
+  }
+
   @Override
   public void writeTo(File directory) throws IOException {
-    FileWriter writer = new FileWriter(new File(directory, this.filename));
-    writeTo(writer);
-    writer.flush();
-    writer.close();
+    File target = new File(directory, this.filename);
+    File rendered = render(directory);
+    if (!rendered.equals(target)) {
+      File tmp = new File(directory, this.filename + ".tmp");
+      String hash = copy(rendered, tmp);
+      replaceIfChanged(tmp, target, hash);
+    }
+  }
+
+  /**
+   * Render this document to the specified directory, unless it has already been rendered somewhere.
+   *
+   * @param directory The directory.
+   * @return The rendered file.
+   */
+  public synchronized File render(File directory) throws IOException {
+    if (this.renderedFile == null || !this.renderedFile.exists()) {
+      File target = new File(directory, this.filename);
+      File tmp = new File(directory, this.filename + ".tmp");
+      DigestOutputStream out = new DigestOutputStream(new FileOutputStream(tmp), newDigest());
+      Writer writer = new BufferedWriter(new OutputStreamWriter(out, CHARSET));
+      try {
+        render(writer);
+      }
+      finally {
+        writer.close();
+      }
+
+      String hash = toHex(out.getMessageDigest().digest());
+      replaceIfChanged(tmp, target, hash);
+      this.renderedFile = target;
+    }
+    return this.renderedFile;
   }
 
   protected void writeTo(Writer writer) throws IOException {
-    if (this.contents != null) {
-      writer.write(this.contents);
+    File rendered = getRenderedFile();
+    if (rendered != null && rendered.exists()) {
+      Reader reader = new InputStreamReader(new FileInputStream(rendered), CHARSET);
+      try {
+        char[] buffer = new char[8192];
+        int len;
+        while ((len = reader.read(buffer)) > 0) {
+          writer.write(buffer, 0, len);
+        }
+      }
+      finally {
+        reader.close();
+      }
     }
     else {
-      Map<String, Object> model = createModel();
-      URL template = getTemplateURL();
-      String idl = processTemplate(template, model);
-      writer.write(idl);
+      render(writer);
     }
   }
 
+  /**
+   * Render this document to the specified writer.
+   *
+   * @param writer The writer.
+   */
+  protected void render(Writer writer) throws IOException {
+    Map<String, Object> model = createModel();
+    URL template = getTemplateURL();
+    processTemplate(template, model, writer);
+  }
+
   protected Map<String, Object> createModel() {
     Map<String, Object> model = new HashMap<String, Object>();
     model.put("prefix", new PrefixMethod(namespacePrefixes));
@@ -87,46 +154,90 @@ public abstract class BaseXMLInterfaceDescriptionFile implements InterfaceDescri
   protected abstract URL getTemplateURL();
 
   /**
-   * Processes the specified template with the given model.
+   * Processes the specified template with the given model, streaming the output to the given writer.
    *
    * @param model       The root model.
+   * @param output      The output.
    */
-  protected String processTemplate(URL templateURL, Map<String, Object> model) throws IOException {
-    Configuration configuration = new Configuration(Configuration.VERSION_2_3_22);
+  protected void processTemplate(URL templateURL, Map<String, Object> model, Writer output) throws IOException {
+    Template template = this.configuration.getTemplate(templateURL.toString());
 
-    configuration.setTemplateLoader(new URLTemplateLoader() {
-      protected URL getURL(String name) {
-        try {
-          return new URL(name);
-        }
-        catch (MalformedURLException e) {
-          return null;
-        }
-      }
-    });
+    try {
+      template.process(model, output, new IDLObjectWrapper(this.namespacePrefixes));
+    }
+    catch (TemplateException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Move the temporary file into place, unless the target already has the same content, in which case the target is
+   * left untouched so that up-to-date checks downstream aren't invalidated.
+   */
+  private static void replaceIfChanged(File tmp, File target, String hash) throws IOException {
+    if (target.exists() && hash.equals(hashOf(target))) {
+      tmp.delete();
+      return;
+    }
+
+    if (target.exists() && !target.delete()) {
+      throw new IOException("Unable to replace " + target + ".");
+    }
+
+    if (!tmp.renameTo(target)) {
+      copy(tmp, target);
+      tmp.delete();
+    }
+  }
 
-    configuration.setTemplateExceptionHandler(new TemplateExceptionHandler() {
-      public void handleTemplateException(TemplateException templateException, Environment environment, Writer writer) throws TemplateException {
-        throw templateException;
+  private static String copy(File from, File to) throws IOException {
+    InputStream in = new FileInputStream(from);
+    DigestOutputStream out = new DigestOutputStream(new FileOutputStream(to), newDigest());
+    try {
+      byte[] buffer = new byte[8192];
+      int len;
+      while ((len = in.read(buffer)) > 0) {
+        out.write(buffer, 0, len);
       }
-    });
+    }
+    finally {
+      in.close();
+      out.close();
+    }
+    return toHex(out.getMessageDigest().digest());
+  }
 
-    configuration.setLocalizedLookup(false);
-    configuration.setDefaultEncoding("UTF-8");
-    configuration.setObjectWrapper(new IDLObjectWrapper(this.namespacePrefixes));
-    Template template = configuration.getTemplate(templateURL.toString());
-    StringWriter output = new StringWriter();
+  private static String hashOf(File file) throws IOException {
+    MessageDigest digest = newDigest();
+    InputStream in = new FileInputStream(file);
+    try {
+      byte[] buffer = new byte[8192];
+      int len;
+      while ((len = in.read(buffer)) > 0) {
+        digest.update(buffer, 0, len);
+      }
+    }
+    finally {
+      in.close();
+    }
+    return toHex(digest.digest());
+  }
 
+  private static MessageDigest newDigest() {
     try {
-      template.process(model, output);
+      return MessageDigest.getInstance("SHA-1");
     }
-    catch (TemplateException e) {
-      throw new RuntimeException(e);
+    catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
     }
+  }
 
-    String idl = output.toString();
-    this.contents = idl;
-    return idl;
+  private static String toHex(byte[] bytes) {
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
   }
 
 }
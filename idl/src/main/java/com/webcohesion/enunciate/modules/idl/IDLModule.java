@@ -24,16 +24,32 @@ import com.webcohesion.enunciate.module.DependencySpec;
 import com.webcohesion.enunciate.module.EnunciateModule;
 import com.webcohesion.enunciate.modules.jaxb.JaxbModule;
 import com.webcohesion.enunciate.modules.jaxb.model.SchemaInfo;
+import com.webcohesion.enunciate.modules.jaxb.model.util.NamespaceReferenceGraph;
 import com.webcohesion.enunciate.modules.jaxrs.JaxrsModule;
 import com.webcohesion.enunciate.modules.jaxws.JaxwsModule;
 import com.webcohesion.enunciate.modules.jaxws.WsdlInfo;
 import com.webcohesion.enunciate.util.StaticInterfaceDescriptionFile;
+import freemarker.cache.URLTemplateLoader;
+import freemarker.core.Environment;
+import freemarker.template.Configuration;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateExceptionHandler;
 import org.apache.commons.configuration.HierarchicalConfiguration;
 
 import java.io.File;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.*;
 
 /**
+ * Generates the schemas, WSDLs and WADL of the API.<br/><br/>
+ *
+ * The documents are rendered serially, on demand, in the thread of whichever module asks for them first; the
+ * {@link com.webcohesion.enunciate.Enunciate#getExecutorService() executor} isn't used. They're rendered from the JAXB,
+ * JAX-WS and JAX-RS compiler model, which isn't safe for concurrent reads and is never detached (unlike the API model
+ * read by the documentation and Swagger modules).
+ *
  * @author Ryan Heaton
  */
 public class IDLModule extends BasicGeneratingModule implements ApiFeatureProviderModule {
@@ -132,6 +148,25 @@ public class IDLModule extends BasicGeneratingModule implements ApiFeatureProvid
     return configs;
   }
 
+  /**
+   * Report the namespaces whose schemas import each other. Cyclic imports are legal, but some client generators
+   * produce unstable results for them, so we log them along with the accessors that cause them.
+   *
+   * @param graph The namespace reference graph.
+   */
+  protected void reportNamespaceCycles(NamespaceReferenceGraph graph) {
+    for (Set<String> cycle : graph.findNamespaceCycles()) {
+      info("The schemas for namespaces %s import each other.", cycle);
+      for (String namespace : cycle) {
+        for (Map.Entry<String, Set<String>> reference : graph.getNamespaceReferences(namespace).entrySet()) {
+          if (cycle.contains(reference.getKey())) {
+            debug("Namespace \"%s\" references namespace \"%s\" through %s.", namespace, reference.getKey(), reference.getValue());
+          }
+        }
+      }
+    }
+  }
+
   @Override
   public void call(EnunciateContext context) {
     Map<String, SchemaInfo> ns2schema = Collections.emptyMap();
@@ -139,6 +174,7 @@ public class IDLModule extends BasicGeneratingModule implements ApiFeatureProvid
     if (this.jaxbModule != null) {
       ns2schema = this.jaxbModule.getJaxbContext().getSchemas();
       ns2prefix = this.jaxbModule.getJaxbContext().getNamespacePrefixes();
+      reportNamespaceCycles(this.jaxbModule.getJaxbContext().getNamespaceReferenceGraph());
     }
 
     Map<String, WsdlInfo> ns2wsdl = Collections.emptyMap();
@@ -151,6 +187,7 @@ public class IDLModule extends BasicGeneratingModule implements ApiFeatureProvid
     Set<String> facetExcludes = new TreeSet<String>(this.enunciate.getConfiguration().getFacetExcludes());
     facetExcludes.addAll(getFacetExcludes());
     FacetFilter facetFilter = new FacetFilter(facetIncludes, facetExcludes);
+    Configuration freemarkerConfiguration = createFreemarkerConfiguration();
 
     Map<String, SchemaConfig> schemaConfigs = getSchemaConfigs();
     for (SchemaInfo schemaInfo : ns2schema.values()) {
@@ -166,11 +203,11 @@ public class IDLModule extends BasicGeneratingModule implements ApiFeatureProvid
         schemaInfo.setFilename(explicitConfig.getFilename() != null ? explicitConfig.getFilename() : defaultFilename);
         schemaInfo.setExplicitLocation(explicitConfig.getLocation());
         schemaInfo.setJaxbBindingVersion(explicitConfig.getJaxbBindingVersion());
-        schemaInfo.setSchemaFile(new JaxbSchemaFile(this.jaxbModule.getJaxbContext(), schemaInfo, facetFilter, ns2prefix));
+        schemaInfo.setSchemaFile(new JaxbSchemaFile(this.jaxbModule.getJaxbContext(), schemaInfo, facetFilter, ns2prefix, freemarkerConfiguration));
       }
       else {
         schemaInfo.setFilename(defaultFilename);
-        schemaInfo.setSchemaFile(new JaxbSchemaFile(this.jaxbModule.getJaxbContext(), schemaInfo, facetFilter, ns2prefix));
+        schemaInfo.setSchemaFile(new JaxbSchemaFile(this.jaxbModule.getJaxbContext(), schemaInfo, facetFilter, ns2prefix, freemarkerConfiguration));
       }
     }
 
@@ -188,19 +225,50 @@ public class IDLModule extends BasicGeneratingModule implements ApiFeatureProvid
       else if (explicitConfig != null) {
         wsdlInfo.setFilename(explicitConfig.getFilename() != null ? explicitConfig.getFilename() : defaultFilename);
         wsdlInfo.setInlineSchema(explicitConfig.isInlineSchema());
-        wsdlInfo.setWsdlFile(new JaxwsWsdlFile(wsdlInfo, this.jaxbModule.getJaxbContext(), baseUri, ns2prefix, facetFilter));
+        wsdlInfo.setWsdlFile(new JaxwsWsdlFile(wsdlInfo, this.jaxbModule.getJaxbContext(), baseUri, ns2prefix, facetFilter, freemarkerConfiguration));
       }
       else {
         wsdlInfo.setFilename(defaultFilename);
-        wsdlInfo.setWsdlFile(new JaxwsWsdlFile(wsdlInfo, this.jaxbModule.getJaxbContext(), baseUri, ns2prefix, facetFilter));
+        wsdlInfo.setWsdlFile(new JaxwsWsdlFile(wsdlInfo, this.jaxbModule.getJaxbContext(), baseUri, ns2prefix, facetFilter, freemarkerConfiguration));
       }
     }
 
     if (this.jaxrsModule != null && this.jaxbModule != null && !isDisableWadl()) {
-      this.jaxrsModule.getJaxrsContext().setWadlFile(new JaxrsWadlFile(this.jaxrsModule.getJaxrsContext(), new ArrayList<SchemaInfo>(ns2schema.values()), getWadlStylesheetUri(), baseUri, ns2prefix, facetFilter));
+      this.jaxrsModule.getJaxrsContext().setWadlFile(new JaxrsWadlFile(this.jaxrsModule.getJaxrsContext(), new ArrayList<SchemaInfo>(ns2schema.values()), getWadlStylesheetUri(), baseUri, ns2prefix, facetFilter, freemarkerConfiguration));
     }
   }
 
+  /**
+   * The FreeMarker configuration for the documents of this module. It's shared by the documents so that each template
+   * is parsed only once, and it's used by this module only.
+   *
+   * @return The FreeMarker configuration.
+   */
+  protected Configuration createFreemarkerConfiguration() {
+    Configuration configuration = new Configuration(Configuration.VERSION_2_3_22);
+
+    configuration.setTemplateLoader(new URLTemplateLoader() {
+      protected URL getURL(String name) {
+        try {
+          return new URL(name);
+        }
+        catch (MalformedURLException e) {
+          return null;
+        }
+      }
+    });
+
+    configuration.setTemplateExceptionHandler(new TemplateExceptionHandler() {
+      public void handleTemplateException(TemplateException templateException, Environment environment, Writer writer) throws TemplateException {
+        throw templateException;
+      }
+    });
+
+    configuration.setLocalizedLookup(false);
+    configuration.setDefaultEncoding("UTF-8");
+    return configuration;
+  }
+
   /**
    * Whether to disable the WADL.
    *
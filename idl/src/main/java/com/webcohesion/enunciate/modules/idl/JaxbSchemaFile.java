@@ -19,6 +19,7 @@ import com.webcohesion.enunciate.facets.FacetFilter;
 import com.webcohesion.enunciate.modules.jaxb.EnunciateJaxbContext;
 import com.webcohesion.enunciate.modules.jaxb.model.SchemaInfo;
 import com.webcohesion.enunciate.modules.jaxb.util.AccessorOverridesAnotherMethod;
+import freemarker.template.Configuration;
 
 import java.net.URL;
 import java.util.Map;
@@ -31,8 +32,8 @@ public class JaxbSchemaFile extends BaseXMLInterfaceDescriptionFile {
   private final EnunciateJaxbContext context;
   private final SchemaInfo schema;
 
-  public JaxbSchemaFile(EnunciateJaxbContext context, SchemaInfo schema, FacetFilter facetFilter, Map<String, String> namespacePrefixes) {
-    super(schema.getFilename(), namespacePrefixes, facetFilter);
+  public JaxbSchemaFile(EnunciateJaxbContext context, SchemaInfo schema, FacetFilter facetFilter, Map<String, String> namespacePrefixes, Configuration configuration) {
+    super(schema.getFilename(), namespacePrefixes, facetFilter, configuration);
     this.context = context;
     this.schema = schema;
   }
@@ -18,6 +18,7 @@ package com.webcohesion.enunciate.modules.idl;
 import com.webcohesion.enunciate.facets.FacetFilter;
 import com.webcohesion.enunciate.modules.jaxb.model.SchemaInfo;
 import com.webcohesion.enunciate.modules.jaxrs.EnunciateJaxrsContext;
+import freemarker.template.Configuration;
 
 import java.net.URL;
 import java.util.List;
@@ -33,8 +34,8 @@ public class JaxrsWadlFile extends BaseXMLInterfaceDescriptionFile {
   private final String stylesheetUri;
   private final String baseUri;
 
-  public JaxrsWadlFile(EnunciateJaxrsContext jaxrsContext, List<SchemaInfo> schemas, String stylesheetUri, String baseUri, Map<String, String> namespacePrefixes, FacetFilter facetFilter) {
-    super("application.wadl", namespacePrefixes, facetFilter);
+  public JaxrsWadlFile(EnunciateJaxrsContext jaxrsContext, List<SchemaInfo> schemas, String stylesheetUri, String baseUri, Map<String, String> namespacePrefixes, FacetFilter facetFilter, Configuration configuration) {
+    super("application.wadl", namespacePrefixes, facetFilter, configuration);
     this.jaxrsContext = jaxrsContext;
     this.schemas = schemas;
     this.stylesheetUri = stylesheetUri;
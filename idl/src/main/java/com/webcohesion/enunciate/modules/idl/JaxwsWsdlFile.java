@@ -20,6 +20,7 @@ import com.webcohesion.enunciate.modules.jaxb.EnunciateJaxbContext;
 import com.webcohesion.enunciate.modules.jaxb.model.SchemaInfo;
 import com.webcohesion.enunciate.modules.jaxb.util.AccessorOverridesAnotherMethod;
 import com.webcohesion.enunciate.modules.jaxws.WsdlInfo;
+import freemarker.template.Configuration;
 
 import java.net.URL;
 import java.util.Map;
@@ -33,8 +34,8 @@ public class JaxwsWsdlFile extends BaseXMLInterfaceDescriptionFile {
   private final String baseUri;
   private final EnunciateJaxbContext context;
 
-  public JaxwsWsdlFile(WsdlInfo wsdlInfo, EnunciateJaxbContext context, String baseUri, Map<String, String> namespacePrefixes, FacetFilter facetFilter) {
-    super(wsdlInfo.getFilename(), namespacePrefixes, facetFilter);
+  public JaxwsWsdlFile(WsdlInfo wsdlInfo, EnunciateJaxbContext context, String baseUri, Map<String, String> namespacePrefixes, FacetFilter facetFilter, Configuration configuration) {
+    super(wsdlInfo.getFilename(), namespacePrefixes, facetFilter, configuration);
     this.wsdlInfo = wsdlInfo;
     this.baseUri = baseUri;
     this.context = context;
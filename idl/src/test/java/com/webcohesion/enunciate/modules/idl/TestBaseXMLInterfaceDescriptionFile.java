@@ -0,0 +1,161 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.idl;
+
+import com.webcohesion.enunciate.facets.FacetFilter;
+import freemarker.template.Configuration;
+import junit.framework.TestCase;
+
+import java.io.*;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Ryan Heaton
+ */
+public class TestBaseXMLInterfaceDescriptionFile extends TestCase {
+
+  private File tempDir;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    this.tempDir = File.createTempFile("enunciate", "");
+    this.tempDir.delete();
+    this.tempDir.mkdirs();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    delete(this.tempDir);
+    super.tearDown();
+  }
+
+  /**
+   * tests that a document is rendered straight to its file, and that subsequent writes copy the rendered file.
+   */
+  public void testRenderAndCopy() throws Exception {
+    Configuration configuration = new IDLModule().createFreemarkerConfiguration();
+    File renderDir = new File(this.tempDir, "render");
+    renderDir.mkdirs();
+    TestDocument document = new TestDocument("test.xsd", "caf\u00e9", configuration);
+    assertNull(document.getRenderedFile());
+
+    File rendered = document.render(renderDir);
+    assertEquals(new File(renderDir, "test.xsd"), rendered);
+    assertEquals(rendered, document.getRenderedFile());
+    assertEquals("test.xsd", document.getHref());
+    assertEquals(1, renderDir.list().length);
+    String content = read(rendered);
+    assertTrue(content, content.contains("targetNamespace=\"urn:test\" xmlns:tst=\"urn:test\" title=\"caf&#233; caf\u00e9\""));
+
+    rendered.setLastModified(rendered.lastModified() - 60000);
+    long lastModified = rendered.lastModified();
+    assertSame("a rendered document isn't rendered again.", rendered, document.render(this.tempDir));
+
+    File writeDir = new File(this.tempDir, "write");
+    writeDir.mkdirs();
+    document.writeTo(writeDir);
+    assertEquals(content, read(new File(writeDir, "test.xsd")));
+    assertEquals(lastModified, rendered.lastModified());
+
+    StringWriter writer = new StringWriter();
+    document.writeTo(writer);
+    assertEquals(content, writer.toString());
+  }
+
+  /**
+   * tests that writing the same content leaves the existing file untouched, and that different content replaces it.
+   */
+  public void testUnchangedContentIsNotRewritten() throws Exception {
+    Configuration configuration = new IDLModule().createFreemarkerConfiguration();
+    File file = new TestDocument("test.xsd", "one", configuration).render(this.tempDir);
+    file.setLastModified(file.lastModified() - 60000);
+    long lastModified = file.lastModified();
+
+    assertEquals(file, new TestDocument("test.xsd", "one", configuration).render(this.tempDir));
+    assertEquals(lastModified, file.lastModified());
+    assertFalse(new File(this.tempDir, "test.xsd.tmp").exists());
+
+    new TestDocument("test.xsd", "two", configuration).render(this.tempDir);
+    assertTrue(read(file).contains("title=\"caf&#233; two\""));
+    assertFalse(new File(this.tempDir, "test.xsd.tmp").exists());
+  }
+
+  /**
+   * tests that each document renders with the configuration of the module that created it.
+   */
+  public void testConfigurationIsPerModule() throws Exception {
+    Configuration configuration = new IDLModule().createFreemarkerConfiguration();
+    configuration.setSharedVariable("greeting", "configured");
+    String configured = read(new TestDocument("configured.xsd", "one", configuration).render(this.tempDir));
+    assertTrue(configured, configured.contains("<!-- configured -->"));
+
+    String unconfigured = read(new TestDocument("unconfigured.xsd", "one", new IDLModule().createFreemarkerConfiguration()).render(this.tempDir));
+    assertTrue(unconfigured, unconfigured.contains("<!-- unconfigured -->"));
+  }
+
+  private static String read(File file) throws IOException {
+    Reader reader = new InputStreamReader(new FileInputStream(file), "utf-8");
+    try {
+      StringWriter writer = new StringWriter();
+      char[] buffer = new char[1024];
+      int len;
+      while ((len = reader.read(buffer)) > 0) {
+        writer.write(buffer, 0, len);
+      }
+      return writer.toString();
+    }
+    finally {
+      reader.close();
+    }
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+
+  private static class TestDocument extends BaseXMLInterfaceDescriptionFile {
+
+    private final String title;
+
+    TestDocument(String filename, String title, Configuration configuration) {
+      super(filename, Collections.singletonMap("urn:test", "tst"), new FacetFilter(Collections.<String>emptySet(), Collections.<String>emptySet()), configuration);
+      this.title = title;
+    }
+
+    @Override
+    protected Map<String, Object> createModel() {
+      Map<String, Object> model = super.createModel();
+      model.put("namespace", "urn:test");
+      model.put("title", this.title);
+      return model;
+    }
+
+    @Override
+    protected URL getTemplateURL() {
+      return TestBaseXMLInterfaceDescriptionFile.class.getResource("test-idl-document.fmt");
+    }
+  }
+}
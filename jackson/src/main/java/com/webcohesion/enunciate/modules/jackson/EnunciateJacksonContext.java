@@ -60,6 +60,7 @@ import javax.xml.bind.JAXBElement;
 import javax.xml.datatype.XMLGregorianCalendar;
 import java.sql.Timestamp;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Ryan Heaton
@@ -76,9 +77,16 @@ public class EnunciateJacksonContext extends EnunciateModuleContext implements S
   private final Map<String, TypeDefinition> typeDefinitionsBySlug;
   private final boolean collapseTypeHierarchy;
   private final Map<String, String> mixins;
-
-  public EnunciateJacksonContext(EnunciateContext context, boolean honorJaxb, KnownJsonType dateType, boolean collapseTypeHierarchy, Map<String, String> mixins) {
+  private final int examplesMaxDepth;
+  private final Map<String, String> examples = new ConcurrentHashMap<String, String>();
+  private final LinkedList<DiscoveredTypeDefinition> worklist = new LinkedList<DiscoveredTypeDefinition>();
+  private boolean processingWorklist = false;
+  private TypeElement jsonSubTypesElement;
+  private TypeElement jsonSeeAlsoElement;
+
+  public EnunciateJacksonContext(EnunciateContext context, boolean honorJaxb, KnownJsonType dateType, boolean collapseTypeHierarchy, Map<String, String> mixins, int examplesMaxDepth) {
     super(context);
+    this.examplesMaxDepth = examplesMaxDepth;
     this.dateType = dateType;
     this.mixins = mixins;
     this.knownTypes = loadKnownTypes();
@@ -110,6 +118,24 @@ public class EnunciateJacksonContext extends EnunciateModuleContext implements S
     return collapseTypeHierarchy;
   }
 
+  /**
+   * How deep to nest object types when generating examples.
+   *
+   * @return How deep to nest object types when generating examples.
+   */
+  public int getExamplesMaxDepth() {
+    return examplesMaxDepth;
+  }
+
+  /**
+   * The rendered examples, by type and depth. Types that are used by many endpoints are rendered once.
+   *
+   * @return The rendered examples.
+   */
+  public Map<String, String> getExamples() {
+    return examples;
+  }
+
   public Collection<TypeDefinition> getTypeDefinitions() {
     return this.typeDefinitions.values();
   }
@@ -378,29 +404,54 @@ public class EnunciateJacksonContext extends EnunciateModuleContext implements S
       }
 
       typeDef.getReferencedFrom().addAll(stack);
-      try {
-        stack.push(typeDef);
-
-        addSeeAlsoTypeDefinitions(typeDef, stack);
 
-        for (Member member : typeDef.getMembers()) {
-          addReferencedTypeDefinitions(member, stack);
+      //the type definition is queued with a copy of the stack that discovered it; the worklist is drained by the
+      //outermost call so that deep or wide models don't recurse through the call stack.
+      this.worklist.add(new DiscoveredTypeDefinition(typeDef, new LinkedList<Element>(stack)));
+      if (!this.processingWorklist) {
+        this.processingWorklist = true;
+        try {
+          while (!this.worklist.isEmpty()) {
+            DiscoveredTypeDefinition discovered = this.worklist.removeFirst();
+            addReferencedTypeDefinitions(discovered.typeDefinition, discovered.stack);
+          }
         }
-
-        Value value = typeDef.getValue();
-        if (value != null) {
-          addReferencedTypeDefinitions(value, stack);
+        finally {
+          this.worklist.clear();
+          this.processingWorklist = false;
         }
+      }
+    }
+  }
 
-        TypeMirror superclass = typeDef.getSuperclass();
-        if (!typeDef.isBaseObject() && superclass != null && superclass.getKind() != TypeKind.NONE && !isCollapseTypeHierarchy()) {
-          addReferencedTypeDefinitions(superclass, stack);
-        }
+  /**
+   * Add the type definitions referenced by the given type definition.
+   *
+   * @param typeDef The type definition.
+   * @param stack The stack that discovered the type definition.
+   */
+  protected void addReferencedTypeDefinitions(TypeDefinition typeDef, LinkedList<Element> stack) {
+    stack.push(typeDef);
+    try {
+      addSeeAlsoTypeDefinitions(typeDef, stack);
+
+      for (Member member : typeDef.getMembers()) {
+        addReferencedTypeDefinitions(member, stack);
       }
-      finally {
-        stack.pop();
+
+      Value value = typeDef.getValue();
+      if (value != null) {
+        addReferencedTypeDefinitions(value, stack);
+      }
+
+      TypeMirror superclass = typeDef.getSuperclass();
+      if (!typeDef.isBaseObject() && superclass != null && superclass.getKind() != TypeKind.NONE && !isCollapseTypeHierarchy()) {
+        addReferencedTypeDefinitions(superclass, stack);
       }
     }
+    finally {
+      stack.pop();
+    }
   }
 
   protected void addReferencedTypeDefinitions(Accessor accessor, LinkedList<Element> stack) {
@@ -478,14 +529,19 @@ public class EnunciateJacksonContext extends EnunciateModuleContext implements S
    * @param declaration The declaration.
    */
   protected void addSeeAlsoTypeDefinitions(Element declaration, LinkedList<Element> stack) {
+    Elements elementUtils = getContext().getProcessingEnvironment().getElementUtils();
+    Types typeUtils = getContext().getProcessingEnvironment().getTypeUtils();
+
     JsonSubTypes subTypes = declaration.getAnnotation(JsonSubTypes.class);
     if (subTypes != null) {
-      Elements elementUtils = getContext().getProcessingEnvironment().getElementUtils();
-      Types typeUtils = getContext().getProcessingEnvironment().getTypeUtils();
+      if (this.jsonSubTypesElement == null) {
+        this.jsonSubTypesElement = elementUtils.getTypeElement(JsonSubTypes.class.getName());
+      }
+
       JsonSubTypes.Type[] types = subTypes.value();
       for (JsonSubTypes.Type type : types) {
         try {
-          stack.push(elementUtils.getTypeElement(JsonSubTypes.class.getName()));
+          stack.push(this.jsonSubTypesElement);
           Class clazz = type.value();
           add(createTypeDefinition(elementUtils.getTypeElement(clazz.getName())), stack);
         }
@@ -513,9 +569,10 @@ public class EnunciateJacksonContext extends EnunciateModuleContext implements S
 
     JsonSeeAlso seeAlso = declaration.getAnnotation(JsonSeeAlso.class);
     if (seeAlso != null) {
-      Elements elementUtils = getContext().getProcessingEnvironment().getElementUtils();
-      Types typeUtils = getContext().getProcessingEnvironment().getTypeUtils();
-      stack.push(elementUtils.getTypeElement(JsonSeeAlso.class.getName()));
+      if (this.jsonSeeAlsoElement == null) {
+        this.jsonSeeAlsoElement = elementUtils.getTypeElement(JsonSeeAlso.class.getName());
+      }
+      stack.push(this.jsonSeeAlsoElement);
       try {
         Class[] classes = seeAlso.value();
         for (Class clazz : classes) {
@@ -692,6 +749,19 @@ public class EnunciateJacksonContext extends EnunciateModuleContext implements S
     }
   }
 
+  /**
+   * A type definition waiting to have its references added, along with the stack that discovered it.
+   */
+  private static class DiscoveredTypeDefinition {
+    final TypeDefinition typeDefinition;
+    final LinkedList<Element> stack;
+
+    DiscoveredTypeDefinition(TypeDefinition typeDefinition, LinkedList<Element> stack) {
+      this.typeDefinition = typeDefinition;
+      this.stack = stack;
+    }
+  }
+
   private class JacksonNamespace implements Namespace {
     @Override
     public String getUri() {
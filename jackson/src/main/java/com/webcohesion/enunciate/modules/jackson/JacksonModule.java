@@ -40,7 +40,7 @@ import java.util.*;
  * @author Ryan Heaton
  */
 @SuppressWarnings ( "unchecked" )
-public class JacksonModule extends BasicEnunicateModule implements TypeFilteringModule, MediaTypeDefinitionModule, ApiRegistryProviderModule, ApiFeatureProviderModule {
+public class JacksonModule extends BasicEnunicateModule implements TypeFilteringModule, MediaTypeDefinitionModule, ApiRegistryProviderModule, CompilerModelReleasingModule, ApiFeatureProviderModule {
 
   private DataTypeDetectionStrategy defaultDataTypeDetectionStrategy;
   private boolean jacksonDetected = false;
@@ -61,6 +61,10 @@ public class JacksonModule extends BasicEnunicateModule implements TypeFiltering
     return this.config.getBoolean("[@collapse-type-hierarchy]", false);
   }
 
+  public int getExamplesMaxDepth() {
+    return this.config.getInt("[@examplesMaxDepth]", 2);
+  }
+
   public KnownJsonType getDateFormat() {
     String dateFormatString = this.config.getString("[@dateFormat]", KnownJsonType.WHOLE_NUMBER.name());
     return KnownJsonType.valueOf(dateFormatString.toUpperCase());
@@ -71,6 +75,12 @@ public class JacksonModule extends BasicEnunicateModule implements TypeFiltering
     this.apiRegistry = registry;
   }
 
+  @Override
+  public void releaseCompilerModel() {
+    this.jacksonContext = null;
+    this.apiRegistry = null;
+  }
+
   @Override
   public boolean isEnabled() {
     return !this.config.getBoolean("[@disabled]", !jacksonDetected);
@@ -100,7 +110,7 @@ public class JacksonModule extends BasicEnunicateModule implements TypeFiltering
       }
     }
 
-    this.jacksonContext = new EnunciateJacksonContext(context, isHonorJaxbAnnotations(), getDateFormat(), isCollapseTypeHierarchy(), getMixins());
+    this.jacksonContext = new EnunciateJacksonContext(context, isHonorJaxbAnnotations(), getDateFormat(), isCollapseTypeHierarchy(), getMixins(), getExamplesMaxDepth());
     DataTypeDetectionStrategy detectionStrategy = getDataTypeDetectionStrategy();
     switch (detectionStrategy) {
       case aggressive:
@@ -34,7 +34,7 @@ import java.util.Set;
 /**
  * @author Ryan Heaton
  */
-public abstract class DataTypeImpl implements DataType {
+public abstract class DataTypeImpl implements DataType, HasJavaType {
 
   private final TypeDefinition typeDefinition;
 
@@ -108,6 +108,11 @@ public abstract class DataTypeImpl implements DataType {
     return null;
   }
 
+  @Override
+  public String getJavaTypeName() {
+    return this.typeDefinition.getQualifiedName().toString();
+  }
+
   @Override
   public Map<String, String> getPropertyMetadata() {
     Map<String, String> propertyMetadata = new LinkedHashMap<String, String>();
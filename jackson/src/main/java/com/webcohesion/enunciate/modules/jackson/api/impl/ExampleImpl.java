@@ -19,6 +19,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
@@ -29,6 +30,7 @@ import com.webcohesion.enunciate.facets.FacetFilter;
 import com.webcohesion.enunciate.javac.decorations.element.ElementUtils;
 import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
 import com.webcohesion.enunciate.metadata.DocumentationExample;
+import com.webcohesion.enunciate.modules.jackson.EnunciateJacksonContext;
 import com.webcohesion.enunciate.modules.jackson.model.*;
 import com.webcohesion.enunciate.modules.jackson.model.types.JsonArrayType;
 import com.webcohesion.enunciate.modules.jackson.model.types.JsonClassType;
@@ -44,6 +46,11 @@ import java.util.Random;
  */
 public class ExampleImpl implements Example {
 
+  /**
+   * The writer is immutable and thread-safe, so all examples are written through the same generator factory.
+   */
+  private static final ObjectWriter WRITER = new ObjectMapper().writer(SerializationFeature.INDENT_OUTPUT);
+
   private final ObjectTypeDefinition type;
 
   public ExampleImpl(ObjectTypeDefinition type) {
@@ -57,24 +64,34 @@ public class ExampleImpl implements Example {
 
   @Override
   public String getBody() {
-    ObjectNode node = JsonNodeFactory.instance.objectNode();
-
-    Context context = new Context();
-    context.stack = new LinkedList<String>();
-    build(node, this.type, context);
-
-    ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
-    try {
-      return mapper.writeValueAsString(node);
-    }
-    catch (JsonProcessingException e) {
-      throw new EnunciateException(e);
+    EnunciateJacksonContext jacksonContext = this.type.getContext();
+    int maxDepth = jacksonContext.getExamplesMaxDepth();
+    String key = this.type.getQualifiedName() + "#" + maxDepth;
+    String body = jacksonContext.getExamples().get(key);
+    if (body == null) {
+      ObjectNode node = JsonNodeFactory.instance.objectNode();
+
+      Context context = new Context();
+      context.stack = new LinkedList<String>();
+      context.maxDepth = maxDepth;
+      //seed the selector with the type name so the example is the same from build to build.
+      context.random = new Random(this.type.getQualifiedName().toString().hashCode());
+      build(node, this.type, context);
+
+      try {
+        body = WRITER.writeValueAsString(node);
+      }
+      catch (JsonProcessingException e) {
+        throw new EnunciateException(e);
+      }
+      jacksonContext.getExamples().put(key, body);
     }
+    return body;
   }
 
   private void build(ObjectNode node, ObjectTypeDefinition type, Context context) {
-    if (context.stack.size() > 2) {
-      //don't go deeper than 2 for fear of the OOM (see https://github.com/stoicflame/enunciate/issues/139).
+    if (context.stack.size() > context.maxDepth) {
+      //don't go too deep for fear of the OOM (see https://github.com/stoicflame/enunciate/issues/139).
       return;
     }
 
@@ -250,7 +267,7 @@ public class ExampleImpl implements Example {
         else {
           List<EnumValue> enumValues = ((EnumTypeDefinition) typeDefinition).getEnumValues();
           if (enumValues.size() > 0) {
-            int index = new Random().nextInt(enumValues.size());
+            int index = context.random.nextInt(enumValues.size());
             example = enumValues.get(index).getValue();
           }
         }
@@ -274,6 +291,8 @@ public class ExampleImpl implements Example {
         arrayNode.add(componentNode);
         Context context2 = new Context();
         context2.stack = context.stack;
+        context2.maxDepth = context.maxDepth;
+        context2.random = context.random;
         context2.currentIndex = 1;
         JsonNode componentNode2 = exampleNode(((JsonArrayType) jsonType).getComponentType(), specifiedExample2, specifiedExample, context2);
         arrayNode.add(componentNode2);
@@ -322,6 +341,8 @@ public class ExampleImpl implements Example {
 
   private static class Context {
     LinkedList<String> stack;
+    int maxDepth;
+    Random random;
     int currentIndex = 0;
   }
 }
@@ -17,6 +17,7 @@ package com.webcohesion.enunciate.modules.jackson.api.impl;
 
 import com.webcohesion.enunciate.api.Styles;
 import com.webcohesion.enunciate.api.datatype.DataTypeReference;
+import com.webcohesion.enunciate.api.datatype.HasMetadata;
 import com.webcohesion.enunciate.api.datatype.Property;
 import com.webcohesion.enunciate.javac.decorations.element.ElementUtils;
 import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
@@ -24,13 +25,14 @@ import com.webcohesion.enunciate.modules.jackson.model.Member;
 import com.webcohesion.enunciate.util.BeanValidationUtils;
 
 import javax.lang.model.element.AnnotationMirror;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * @author Ryan Heaton
  */
-public class PropertyImpl implements Property {
+public class PropertyImpl implements Property, HasMetadata {
 
   private final Member member;
 
@@ -76,6 +78,14 @@ public class PropertyImpl implements Property {
     return member.getDefaultValue();
   }
 
+  @Override
+  public Map<String, Object> getMetadata() {
+    Map<String, Object> metadata = new LinkedHashMap<String, Object>();
+    metadata.put("constraints", getConstraints());
+    metadata.put("defaultValue", getDefaultValue());
+    return metadata;
+  }
+
   @Override
   public JavaDoc getJavaDoc() {
     return member.getJavaDoc();
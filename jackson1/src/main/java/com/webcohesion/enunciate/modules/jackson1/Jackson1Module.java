@@ -39,7 +39,7 @@ import java.util.*;
  * @author Ryan Heaton
  */
 @SuppressWarnings ( "unchecked" )
-public class Jackson1Module extends BasicEnunicateModule implements TypeFilteringModule, MediaTypeDefinitionModule, ApiRegistryProviderModule, ApiFeatureProviderModule {
+public class Jackson1Module extends BasicEnunicateModule implements TypeFilteringModule, MediaTypeDefinitionModule, ApiRegistryProviderModule, CompilerModelReleasingModule, ApiFeatureProviderModule {
 
   private DataTypeDetectionStrategy defaultDataTypeDetectionStrategy;
   private boolean jacksonDetected = false;
@@ -70,6 +70,12 @@ public class Jackson1Module extends BasicEnunicateModule implements TypeFilterin
     this.apiRegistry = registry;
   }
 
+  @Override
+  public void releaseCompilerModel() {
+    this.jacksonContext = null;
+    this.apiRegistry = null;
+  }
+
   public EnunciateJackson1Context getJacksonContext() {
     return jacksonContext;
   }
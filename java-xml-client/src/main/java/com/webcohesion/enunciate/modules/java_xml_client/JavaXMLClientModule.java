@@ -133,6 +133,15 @@ public class JavaXMLClientModule extends BasicGeneratingModule implements ApiFea
       throw new EnunciateException("JAXB naming conflicts detected.");
     }
 
+    for (String typeNamingConflict : JAXBCodeErrors.findConflictingTypeNamingErrors(this.jaxbModule.getJaxbContext())) {
+      warn(typeNamingConflict);
+    }
+
+    ClientPackageForMethod packageFor = new ClientPackageForMethod(getClientPackageConversions(), this.context);
+    for (String clientNamingConflict : JAXBCodeErrors.findConflictingClientNamingErrors(this.jaxbModule.getJaxbContext(), packageFor)) {
+      warn(clientNamingConflict);
+    }
+
     File sourceDir = generateClientSources();
     File compileDir = compileClientSources(sourceDir);
     File resourcesDir = copyResources();
@@ -33,9 +33,11 @@ import com.webcohesion.enunciate.modules.jaxb.model.*;
 import com.webcohesion.enunciate.modules.jaxb.model.adapters.AdapterType;
 import com.webcohesion.enunciate.modules.jaxb.model.types.KnownXmlType;
 import com.webcohesion.enunciate.modules.jaxb.model.types.XmlType;
+import com.webcohesion.enunciate.modules.jaxb.model.types.XmlTypeCache;
 import com.webcohesion.enunciate.modules.jaxb.model.types.XmlTypeFactory;
 import com.webcohesion.enunciate.modules.jaxb.model.util.JAXBUtil;
 import com.webcohesion.enunciate.modules.jaxb.model.util.MapType;
+import com.webcohesion.enunciate.modules.jaxb.model.util.NamespaceReferenceGraph;
 import com.webcohesion.enunciate.util.OneTimeLogMessage;
 
 import javax.activation.DataHandler;
@@ -68,6 +70,8 @@ public class EnunciateJaxbContext extends EnunciateModuleContext implements Synt
   private final Map<String, String> namespacePrefixes;
   private final Map<String, SchemaInfo> schemas;
   private final Map<String, Map<String, XmlSchemaType>> packageSpecifiedTypes;
+  private final NamespaceReferenceGraph namespaceReferenceGraph;
+  private final XmlTypeCache xmlTypeCache;
 
   public EnunciateJaxbContext(EnunciateContext context) {
     super(context);
@@ -77,6 +81,8 @@ public class EnunciateJaxbContext extends EnunciateModuleContext implements Synt
     this.namespacePrefixes = loadKnownPrefixes(context);
     this.schemas = new HashMap<String, SchemaInfo>();
     this.packageSpecifiedTypes = new HashMap<String, Map<String, XmlSchemaType>>();
+    this.namespaceReferenceGraph = new NamespaceReferenceGraph();
+    this.xmlTypeCache = new XmlTypeCache();
   }
 
   protected Map<String, String> loadKnownPrefixes(EnunciateContext context) {
@@ -231,6 +237,24 @@ public class EnunciateJaxbContext extends EnunciateModuleContext implements Synt
     return schemas;
   }
 
+  /**
+   * The graph of references between the namespaces of the type definitions in this context.
+   *
+   * @return The graph of references between the namespaces of the type definitions in this context.
+   */
+  public NamespaceReferenceGraph getNamespaceReferenceGraph() {
+    return namespaceReferenceGraph;
+  }
+
+  /**
+   * The cache of resolved XML types.
+   *
+   * @return The cache of resolved XML types.
+   */
+  public XmlTypeCache getXmlTypeCache() {
+    return xmlTypeCache;
+  }
+
   protected Map<String, XmlType> loadKnownTypes() {
     HashMap<String, XmlType> knownTypes = new HashMap<String, XmlType>();
 
@@ -592,6 +616,8 @@ public class EnunciateJaxbContext extends EnunciateModuleContext implements Synt
   protected void add(TypeDefinition typeDef, LinkedList<Element> stack) {
     if (findTypeDefinition(typeDef) == null && !isKnownType(typeDef)) {
       this.typeDefinitions.put(typeDef.getQualifiedName().toString(), typeDef);
+      //a new type definition can change how types resolve.
+      this.xmlTypeCache.clear();
       if (this.context.isExcluded(typeDef)) {
         warn("Added %s as a JAXB type definition even though is was supposed to be excluded according to configuration. It was referenced from %s%s, so it had to be included to prevent broken references.", typeDef.getQualifiedName(), stack.size() > 0 ? stack.get(0) : "an unknown location", stack.size() > 1 ? " of " + stack.get(1) : "");
       }
@@ -625,6 +651,7 @@ public class EnunciateJaxbContext extends EnunciateModuleContext implements Synt
           this.schemas.put(namespace, schemaInfo);
         }
         schemaInfo.getTypeDefinitions().add(typeDef);
+        this.namespaceReferenceGraph.add(typeDef);
 
         addSeeAlsoTypeDefinitions(typeDef, stack);
 
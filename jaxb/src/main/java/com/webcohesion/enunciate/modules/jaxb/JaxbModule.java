@@ -37,7 +37,7 @@ import java.util.Set;
  * @author Ryan Heaton
  */
 @SuppressWarnings ( "unchecked" )
-public class JaxbModule extends BasicEnunicateModule implements TypeFilteringModule, MediaTypeDefinitionModule, ApiRegistryProviderModule, ApiFeatureProviderModule {
+public class JaxbModule extends BasicEnunicateModule implements TypeFilteringModule, MediaTypeDefinitionModule, ApiRegistryProviderModule, CompilerModelReleasingModule, ApiFeatureProviderModule {
 
   private DataTypeDetectionStrategy defaultDataTypeDetectionStrategy;
   private EnunciateJaxbContext jaxbContext;
@@ -78,6 +78,12 @@ public class JaxbModule extends BasicEnunicateModule implements TypeFilteringMod
     this.apiRegistry = registry;
   }
 
+  @Override
+  public void releaseCompilerModel() {
+    this.jaxbContext = null;
+    this.apiRegistry = null;
+  }
+
   @Override
   public void addDataTypeDefinitions(TypeMirror type, Set<String> declaredMediaTypes, LinkedList<Element> contextStack) {
     boolean jaxbApplies = false;
@@ -125,6 +131,8 @@ public class JaxbModule extends BasicEnunicateModule implements TypeFilteringMod
         }
     }
 
+    debug("XML type resolution: %s.", this.jaxbContext.getXmlTypeCache());
+
     this.enunciate.addArtifact(new JaxbContextClassListArtifact(this.jaxbContext));
     this.enunciate.addArtifact(new NamespacePropertiesArtifact(this.jaxbContext));
   }
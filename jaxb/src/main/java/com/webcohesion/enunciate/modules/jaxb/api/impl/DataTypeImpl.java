@@ -30,7 +30,7 @@ import java.util.Set;
 /**
  * @author Ryan Heaton
  */
-public abstract class DataTypeImpl implements DataType {
+public abstract class DataTypeImpl implements DataType, HasJavaType {
 
   private final TypeDefinition typeDefinition;
 
@@ -56,6 +56,11 @@ public abstract class DataTypeImpl implements DataType {
     return this.typeDefinition.isAnonymous() ? this.typeDefinition.getSimpleName() + " (Anonymous)" : this.typeDefinition.getName();
   }
 
+  @Override
+  public String getJavaTypeName() {
+    return this.typeDefinition.getQualifiedName().toString();
+  }
+
   @Override
   public String getSlug() {
     String ns = this.typeDefinition.getContext().getNamespacePrefixes().get(this.typeDefinition.getNamespace());
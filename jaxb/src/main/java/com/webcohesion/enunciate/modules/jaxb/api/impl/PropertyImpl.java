@@ -17,8 +17,9 @@ package com.webcohesion.enunciate.modules.jaxb.api.impl;
 
 import com.webcohesion.enunciate.api.Styles;
 import com.webcohesion.enunciate.api.datatype.DataTypeReference;
-import com.webcohesion.enunciate.api.datatype.Property;
+import com.webcohesion.enunciate.api.datatype.HasMetadata;
 import com.webcohesion.enunciate.api.datatype.PropertyMetadata;
+import com.webcohesion.enunciate.api.datatype.XmlProperty;
 import com.webcohesion.enunciate.javac.decorations.element.ElementUtils;
 import com.webcohesion.enunciate.javac.javadoc.JavaDoc;
 import com.webcohesion.enunciate.modules.jaxb.model.Accessor;
@@ -28,13 +29,14 @@ import com.webcohesion.enunciate.modules.jaxb.model.Value;
 import com.webcohesion.enunciate.util.BeanValidationUtils;
 
 import javax.lang.model.element.AnnotationMirror;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * @author Ryan Heaton
  */
-public class PropertyImpl implements Property {
+public class PropertyImpl implements XmlProperty, HasMetadata {
 
   private final Accessor accessor;
 
@@ -139,6 +141,22 @@ public class PropertyImpl implements Property {
     return this.accessor.isAttribute();
   }
 
+  @Override
+  public String getWrapperName() {
+    return null;
+  }
+
+  @Override
+  public Map<String, Object> getMetadata() {
+    Map<String, Object> metadata = new LinkedHashMap<String, Object>();
+    metadata.put("type", getType());
+    metadata.put("namespaceInfo", getNamespaceInfo());
+    metadata.put("minMaxOccurs", getMinMaxOccurs());
+    metadata.put("defaultValue", getDefaultValue());
+    metadata.put("constraints", getConstraints());
+    return metadata;
+  }
+
   @Override
   public DataTypeReference getDataType() {
     return new DataTypeReferenceImpl(accessor.getXmlType(), accessor.isXmlList());
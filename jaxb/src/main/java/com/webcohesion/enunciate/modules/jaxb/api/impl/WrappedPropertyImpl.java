@@ -18,6 +18,8 @@ package com.webcohesion.enunciate.modules.jaxb.api.impl;
 import com.webcohesion.enunciate.api.datatype.PropertyMetadata;
 import com.webcohesion.enunciate.modules.jaxb.model.Element;
 
+import java.util.Map;
+
 /**
  * @author Ryan Heaton
  */
@@ -42,6 +44,14 @@ public class WrappedPropertyImpl extends PropertyImpl {
     }
   }
 
+  @Override
+  public Map<String, Object> getMetadata() {
+    Map<String, Object> metadata = super.getMetadata();
+    metadata.put("wrapper", getWrapper());
+    return metadata;
+  }
+
+  @Override
   public String getWrapperName() {
     return wrapperName;
   }
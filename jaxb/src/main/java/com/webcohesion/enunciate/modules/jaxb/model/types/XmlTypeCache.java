@@ -0,0 +1,218 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.jaxb.model.types;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of resolved XML types, keyed by the canonical name of the type mirror. The XML type of a type mirror depends
+ * only on the type itself (its adapters, known types, collection/array/map structure) and on the type definitions
+ * known to the context, so the cache is cleared whenever a type definition is added.
+ *
+ * @author Ryan Heaton
+ */
+public class XmlTypeCache {
+
+  private final Map<String, XmlType> xmlTypes = new ConcurrentHashMap<String, XmlType>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong uncacheable = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  /**
+   * Look up the cached XML type for the specified key.
+   *
+   * @param key The key (see {@link #keyOf(TypeMirror)}), or null if the type mirror can't be cached.
+   * @return The cached XML type, or null if none.
+   */
+  public XmlType get(String key) {
+    if (key == null) {
+      this.uncacheable.incrementAndGet();
+      return null;
+    }
+
+    XmlType xmlType = this.xmlTypes.get(key);
+    if (xmlType == null) {
+      this.misses.incrementAndGet();
+    }
+    else {
+      this.hits.incrementAndGet();
+    }
+    return xmlType;
+  }
+
+  /**
+   * Cache the resolved XML type.
+   *
+   * @param key The key, or null if the type mirror can't be cached.
+   * @param xmlType The XML type.
+   */
+  public void put(String key, XmlType xmlType) {
+    if (key != null && xmlType != null) {
+      this.xmlTypes.put(key, xmlType);
+    }
+  }
+
+  /**
+   * Clear the cache, e.g. because a new type definition was added that could change the resolution of a type.
+   */
+  public void clear() {
+    if (!this.xmlTypes.isEmpty()) {
+      this.xmlTypes.clear();
+      this.invalidations.incrementAndGet();
+    }
+  }
+
+  /**
+   * The number of lookups that were answered from the cache.
+   *
+   * @return The number of lookups that were answered from the cache.
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * The number of lookups that had to be resolved.
+   *
+   * @return The number of lookups that had to be resolved.
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * The number of lookups for type mirrors that have no canonical key and are always resolved.
+   *
+   * @return The number of lookups for type mirrors that have no canonical key.
+   */
+  public long getUncacheable() {
+    return uncacheable.get();
+  }
+
+  /**
+   * The number of times the cache was cleared.
+   *
+   * @return The number of times the cache was cleared.
+   */
+  public long getInvalidations() {
+    return invalidations.get();
+  }
+
+  /**
+   * The number of cached XML types.
+   *
+   * @return The number of cached XML types.
+   */
+  public int size() {
+    return this.xmlTypes.size();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s hits, %s misses, %s uncacheable, %s invalidations, %s cached types", getHits(), getMisses(), getUncacheable(), getInvalidations(), size());
+  }
+
+  /**
+   * The canonical key for the specified type mirror, e.g. "java.util.List&lt;com.foo.Bar&gt;". Type variables include
+   * their bounds, so that same-named variables of different declarations don't collide.
+   *
+   * @param typeMirror The type mirror.
+   * @return The key, or null if the type mirror has no canonical key.
+   */
+  public static String keyOf(TypeMirror typeMirror) {
+    StringBuilder key = new StringBuilder();
+    return appendKey(typeMirror, key, new HashSet<Element>()) ? key.toString() : null;
+  }
+
+  private static boolean appendKey(TypeMirror typeMirror, StringBuilder key, Set<Element> typeVariables) {
+    if (typeMirror == null) {
+      return false;
+    }
+
+    TypeKind kind = typeMirror.getKind();
+    if (kind.isPrimitive()) {
+      key.append(kind.name().toLowerCase());
+      return true;
+    }
+
+    switch (kind) {
+      case DECLARED:
+        DeclaredType declaredType = (DeclaredType) typeMirror;
+        Element element = declaredType.asElement();
+        if (!(element instanceof TypeElement)) {
+          return false;
+        }
+        key.append(((TypeElement) element).getQualifiedName());
+        List<? extends TypeMirror> typeArgs = declaredType.getTypeArguments();
+        if (!typeArgs.isEmpty()) {
+          key.append('<');
+          for (int i = 0; i < typeArgs.size(); i++) {
+            if (i > 0) {
+              key.append(',');
+            }
+            if (!appendKey(typeArgs.get(i), key, typeVariables)) {
+              return false;
+            }
+          }
+          key.append('>');
+        }
+        return true;
+      case ARRAY:
+        if (!appendKey(((ArrayType) typeMirror).getComponentType(), key, typeVariables)) {
+          return false;
+        }
+        key.append("[]");
+        return true;
+      case TYPEVAR:
+        TypeVariable typeVariable = (TypeVariable) typeMirror;
+        Element declaration = typeVariable.asElement();
+        key.append(declaration.getSimpleName());
+        if (typeVariables.add(declaration)) {
+          try {
+            TypeMirror bound = typeVariable.getUpperBound();
+            if (bound != null) {
+              key.append(" extends ");
+              return appendKey(bound, key, typeVariables);
+            }
+          }
+          finally {
+            typeVariables.remove(declaration);
+          }
+        }
+        return true;
+      case WILDCARD:
+        WildcardType wildcardType = (WildcardType) typeMirror;
+        key.append('?');
+        if (wildcardType.getExtendsBound() != null) {
+          key.append(" extends ");
+          return appendKey(wildcardType.getExtendsBound(), key, typeVariables);
+        }
+        else if (wildcardType.getSuperBound() != null) {
+          key.append(" super ");
+          return appendKey(wildcardType.getSuperBound(), key, typeVariables);
+        }
+        return true;
+      default:
+        return false;
+    }
+  }
+}
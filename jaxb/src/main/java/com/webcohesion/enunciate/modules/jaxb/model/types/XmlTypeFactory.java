@@ -153,6 +153,24 @@ public class XmlTypeFactory {
    * @return The xml type for the specified type mirror.
    */
   public static XmlType getXmlType(TypeMirror typeMirror, EnunciateJaxbContext context) {
+    XmlTypeCache cache = context.getXmlTypeCache();
+    String key = XmlTypeCache.keyOf(typeMirror);
+    XmlType xmlType = cache.get(key);
+    if (xmlType == null) {
+      xmlType = resolveXmlType(typeMirror, context);
+      cache.put(key, xmlType);
+    }
+    return xmlType;
+  }
+
+  /**
+   * Resolve the XML type for the specified type mirror, bypassing the cache.
+   *
+   * @param typeMirror The type mirror.
+   * @param context The context.
+   * @return The xml type for the specified type mirror.
+   */
+  protected static XmlType resolveXmlType(TypeMirror typeMirror, EnunciateJaxbContext context) {
     DecoratedTypeMirror decorated = (DecoratedTypeMirror) TypeMirrorDecorator.decorate(typeMirror, context.getContext().getProcessingEnvironment());
     XmlTypeVisitor visitor = new XmlTypeVisitor();
     TypeMirror componentType = TypeMirrorUtils.getComponentType(decorated, context.getContext().getProcessingEnvironment());
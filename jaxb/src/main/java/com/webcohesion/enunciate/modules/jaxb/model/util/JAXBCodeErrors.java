@@ -17,20 +17,26 @@ package com.webcohesion.enunciate.modules.jaxb.model.util;
 
 import com.webcohesion.enunciate.modules.jaxb.EnunciateJaxbContext;
 import com.webcohesion.enunciate.modules.jaxb.model.Accessor;
+import com.webcohesion.enunciate.modules.jaxb.model.RootElementDeclaration;
 import com.webcohesion.enunciate.modules.jaxb.model.SchemaInfo;
 import com.webcohesion.enunciate.modules.jaxb.model.TypeDefinition;
+import com.webcohesion.enunciate.util.freemarker.ClientPackageForMethod;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import javax.lang.model.util.Elements;
+import java.util.*;
 
 /**
+ * Naming errors in the JAXB model. The model is indexed in a single pass into buckets of same-named accessors (per
+ * type definition), type definitions and root elements (per namespace), and the errors are found by scanning the
+ * buckets. The index is shared by all the modules that validate the model.
+ *
  * @author Ryan Heaton
  */
 public class JAXBCodeErrors {
 
   static final String CONFLICTING_JAXB_ACCESSOR_NAMING_ERRORS_PROPERTY = "com.webcohesion.enunciate.modules.jaxb.model.util.JAXBCodeErrors#CONFLICTING_JAXB_ACCESSOR_NAMING_ERRORS_PROPERTY";
+  static final String CONFLICTING_JAXB_TYPE_NAMING_ERRORS_PROPERTY = "com.webcohesion.enunciate.modules.jaxb.model.util.JAXBCodeErrors#CONFLICTING_JAXB_TYPE_NAMING_ERRORS_PROPERTY";
+  static final String NAMING_INDEX_PROPERTY = "com.webcohesion.enunciate.modules.jaxb.model.util.JAXBCodeErrors#NAMING_INDEX_PROPERTY";
 
   private JAXBCodeErrors() {}
 
@@ -40,22 +46,148 @@ public class JAXBCodeErrors {
       errors = new ArrayList<String>();
       context.getContext().setProperty(CONFLICTING_JAXB_ACCESSOR_NAMING_ERRORS_PROPERTY, errors);
 
+      for (Map.Entry<TypeDefinition, Map<String, List<Accessor>>> accessors : getNamingIndex(context).accessorsByName.entrySet()) {
+        TypeDefinition typeDefinition = accessors.getKey();
+        for (Map.Entry<String, List<Accessor>> bucket : accessors.getValue().entrySet()) {
+          List<Accessor> conflicting = bucket.getValue();
+          Accessor conflict = conflicting.get(0);
+          for (Accessor accessor : conflicting.subList(1, conflicting.size())) {
+            errors.add(String.format("%s: accessor \"%s\" conflicts with accessor \"%s\" of %s: both are named \"%s\".", typeDefinition.getQualifiedName(), accessor, conflict, conflict.getTypeDefinition().getQualifiedName(), bucket.getKey()));
+          }
+        }
+      }
+    }
+    return errors;
+  }
+
+  /**
+   * Find the type definitions and root elements that have the same XML name as another in the same namespace. Unlike
+   * conflicting accessors, these don't prevent generating a client, so the client modules report them as warnings.
+   *
+   * @param context The context.
+   * @return The errors.
+   */
+  public static List<String> findConflictingTypeNamingErrors(EnunciateJaxbContext context) {
+    List<String> errors = (List<String>) context.getContext().getProperty(CONFLICTING_JAXB_TYPE_NAMING_ERRORS_PROPERTY);
+    if (errors == null) {
+      errors = new ArrayList<String>();
+      context.getContext().setProperty(CONFLICTING_JAXB_TYPE_NAMING_ERRORS_PROPERTY, errors);
+
+      NamingIndex index = getNamingIndex(context);
+      for (Map.Entry<String, List<TypeDefinition>> bucket : index.typeDefinitionsByName.entrySet()) {
+        List<TypeDefinition> conflicting = bucket.getValue();
+        TypeDefinition conflict = conflicting.get(0);
+        for (TypeDefinition typeDefinition : conflicting.subList(1, conflicting.size())) {
+          errors.add(String.format("%s: type definition conflicts with %s: both define type \"%s\".", typeDefinition.getQualifiedName(), conflict.getQualifiedName(), bucket.getKey()));
+        }
+      }
+
+      for (Map.Entry<String, List<RootElementDeclaration>> bucket : index.rootElementsByName.entrySet()) {
+        List<RootElementDeclaration> conflicting = bucket.getValue();
+        RootElementDeclaration conflict = conflicting.get(0);
+        for (RootElementDeclaration rootElement : conflicting.subList(1, conflicting.size())) {
+          errors.add(String.format("%s: root element conflicts with %s: both define element \"%s\".", rootElement.getQualifiedName(), conflict.getQualifiedName(), bucket.getKey()));
+        }
+      }
+    }
+    return errors;
+  }
+
+  /**
+   * Find the type definitions that convert to the same class in the same client package. The package conversions are
+   * specific to each client module, so these errors aren't shared between modules.
+   *
+   * @param context The context.
+   * @param packageFor The client package conversion.
+   * @return The errors.
+   */
+  public static List<String> findConflictingClientNamingErrors(EnunciateJaxbContext context, ClientPackageForMethod packageFor) {
+    Elements elementUtils = context.getContext().getProcessingEnvironment().getElementUtils();
+    Map<String, List<TypeDefinition>> typeDefinitionsByClientName = new TreeMap<String, List<TypeDefinition>>();
+    for (TypeDefinition typeDefinition : getNamingIndex(context).typeDefinitions) {
+      String clientPackage = packageFor.convert(elementUtils.getPackageOf(typeDefinition).getQualifiedName().toString());
+      String clientName = clientPackage.isEmpty() ? typeDefinition.getClientSimpleName() : clientPackage + "." + typeDefinition.getClientSimpleName();
+      put(typeDefinitionsByClientName, clientName, typeDefinition);
+    }
+
+    List<String> errors = new ArrayList<String>();
+    for (Map.Entry<String, List<TypeDefinition>> bucket : typeDefinitionsByClientName.entrySet()) {
+      List<TypeDefinition> conflicting = bucket.getValue();
+      if (conflicting.size() > 1) {
+        TypeDefinition conflict = conflicting.get(0);
+        for (TypeDefinition typeDefinition : conflicting.subList(1, conflicting.size())) {
+          errors.add(String.format("%s: client class conflicts with %s: both are named \"%s\".", typeDefinition.getQualifiedName(), conflict.getQualifiedName(), bucket.getKey()));
+        }
+      }
+    }
+    return errors;
+  }
+
+  private static NamingIndex getNamingIndex(EnunciateJaxbContext context) {
+    NamingIndex index = (NamingIndex) context.getContext().getProperty(NAMING_INDEX_PROPERTY);
+    if (index == null) {
+      index = new NamingIndex(context);
+      context.getContext().setProperty(NAMING_INDEX_PROPERTY, index);
+    }
+    return index;
+  }
+
+  private static <V> void put(Map<String, List<V>> multimap, String key, V value) {
+    List<V> values = multimap.get(key);
+    if (values == null) {
+      values = new ArrayList<V>(1);
+      multimap.put(key, values);
+    }
+    values.add(value);
+  }
+
+  private static <K, V> Map<K, List<V>> conflictsOf(Map<K, List<V>> multimap) {
+    Iterator<List<V>> buckets = multimap.values().iterator();
+    while (buckets.hasNext()) {
+      if (buckets.next().size() < 2) {
+        buckets.remove();
+      }
+    }
+    return multimap;
+  }
+
+  /**
+   * The names of the model, indexed in one pass. Only the buckets with more than one entry are kept.
+   */
+  private static class NamingIndex {
+
+    final List<TypeDefinition> typeDefinitions = new ArrayList<TypeDefinition>();
+    final Map<TypeDefinition, Map<String, List<Accessor>>> accessorsByName = new LinkedHashMap<TypeDefinition, Map<String, List<Accessor>>>();
+    final Map<String, List<TypeDefinition>> typeDefinitionsByName = new TreeMap<String, List<TypeDefinition>>();
+    final Map<String, List<RootElementDeclaration>> rootElementsByName = new TreeMap<String, List<RootElementDeclaration>>();
+
+    NamingIndex(EnunciateJaxbContext context) {
       for (SchemaInfo schemaInfo : context.getSchemas().values()) {
+        String namespace = schemaInfo.getNamespace() == null ? "" : schemaInfo.getNamespace();
+
         for (TypeDefinition typeDefinition : schemaInfo.getTypeDefinitions()) {
-          Map<String, Accessor> accessorsBySimpleName = new HashMap<String, Accessor>();
+          this.typeDefinitions.add(typeDefinition);
+
+          Map<String, List<Accessor>> accessors = new LinkedHashMap<String, List<Accessor>>();
           for (Accessor accessor : typeDefinition.getAllAccessors()) {
-            String name = accessor.getClientSimpleName();
-            Accessor conflict = accessorsBySimpleName.get(name);
-            if (conflict != null) {
-              errors.add(String.format("%s: accessor \"%s\" conflicts with accessor \"%s\" of %s: both are named \"%s\".", typeDefinition.getQualifiedName(), accessor, conflict, conflict.getTypeDefinition().getQualifiedName(), name));
-            }
-            else {
-              accessorsBySimpleName.put(name, accessor);
-            }
+            put(accessors, accessor.getClientSimpleName(), accessor);
+          }
+          if (!conflictsOf(accessors).isEmpty()) {
+            this.accessorsByName.put(typeDefinition, accessors);
           }
+
+          if (!typeDefinition.isAnonymous()) {
+            put(this.typeDefinitionsByName, "{" + namespace + "}" + typeDefinition.getName(), typeDefinition);
+          }
+        }
+
+        for (RootElementDeclaration rootElement : schemaInfo.getRootElements()) {
+          put(this.rootElementsByName, "{" + namespace + "}" + rootElement.getName(), rootElement);
         }
       }
+
+      conflictsOf(this.typeDefinitionsByName);
+      conflictsOf(this.rootElementsByName);
     }
-    return errors;
   }
 }
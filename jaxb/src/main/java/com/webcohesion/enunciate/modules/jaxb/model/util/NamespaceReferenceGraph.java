@@ -0,0 +1,387 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.jaxb.model.util;
+
+import com.webcohesion.enunciate.modules.jaxb.model.*;
+import com.webcohesion.enunciate.modules.jaxb.model.types.MapXmlType;
+import com.webcohesion.enunciate.modules.jaxb.model.types.XmlClassType;
+import com.webcohesion.enunciate.modules.jaxb.model.types.XmlType;
+
+import javax.xml.namespace.QName;
+import java.util.*;
+
+/**
+ * The graph of namespace references between the JAXB type definitions. Each type definition is a node that references
+ * the namespaces of its attributes, elements, value and base type directly, and the type definitions of its accessors
+ * transitively. Every reference is annotated with the accessor that caused it.
+ * <p>
+ * The direct references of a type definition are resolved once, the first time they're needed. The set of namespaces
+ * reachable from a type definition is resolved once for each strongly-connected component of the type graph, so looking
+ * up the referenced namespaces of a schema doesn't walk its accessors again. Adding a type definition discards everything
+ * resolved so far. The graph is safe for use by multiple threads.
+ *
+ * @author Ryan Heaton
+ */
+public class NamespaceReferenceGraph {
+
+  private final Map<String, TypeDefinition> typeDefinitions = new TreeMap<String, TypeDefinition>();
+  private final Map<String, Node> nodes = new HashMap<String, Node>();
+
+  /**
+   * Add a type definition to the graph.
+   *
+   * @param typeDefinition The type definition.
+   */
+  public synchronized void add(TypeDefinition typeDefinition) {
+    this.typeDefinitions.put(typeDefinition.getQualifiedName().toString(), typeDefinition);
+
+    //the resolved references may be reached through (or replaced by) the new type definition.
+    this.nodes.clear();
+  }
+
+  /**
+   * The namespaces referenced by the specified type definition, including the namespaces referenced by the type
+   * definitions it references.
+   *
+   * @param typeDefinition The type definition.
+   * @return The referenced namespaces (unmodifiable).
+   */
+  public synchronized Set<String> getReferencedNamespaces(TypeDefinition typeDefinition) {
+    Node node = node(typeDefinition);
+    if (node.referencedNamespaces == null) {
+      resolveReferencedNamespaces(node);
+    }
+    return node.referencedNamespaces;
+  }
+
+  /**
+   * The namespaces referenced by the specified xml type, including the namespaces referenced by its type definition.
+   *
+   * @param xmlType The xml type.
+   * @return The referenced namespaces.
+   */
+  public synchronized Set<String> getReferencedNamespaces(XmlType xmlType) {
+    Set<String> referencedNamespaces = new HashSet<String>();
+    addNamespaces(xmlType, referencedNamespaces);
+    if (xmlType instanceof XmlClassType) {
+      referencedNamespaces.addAll(getReferencedNamespaces(((XmlClassType) xmlType).getTypeDefinition()));
+    }
+    return referencedNamespaces;
+  }
+
+  /**
+   * The namespaces directly referenced by the type definitions of the specified namespace, each mapped to the
+   * accessors that caused the reference. The namespace itself is not included.
+   *
+   * @param namespace The namespace.
+   * @return The references, by referenced namespace.
+   */
+  public synchronized Map<String, Set<String>> getNamespaceReferences(String namespace) {
+    namespace = normalize(namespace);
+    Map<String, Set<String>> references = new TreeMap<String, Set<String>>();
+    for (TypeDefinition typeDefinition : this.typeDefinitions.values()) {
+      if (namespace.equals(normalize(typeDefinition.getNamespace()))) {
+        for (Map.Entry<String, Set<String>> reference : node(typeDefinition).namespaces.entrySet()) {
+          String referencedNamespace = reference.getKey();
+          if (!namespace.equals(referencedNamespace) && !XMLSCHEMA_NAMESPACE.equals(referencedNamespace)) {
+            Set<String> causes = references.get(referencedNamespace);
+            if (causes == null) {
+              causes = new TreeSet<String>();
+              references.put(referencedNamespace, causes);
+            }
+            causes.addAll(reference.getValue());
+          }
+        }
+      }
+    }
+    return references;
+  }
+
+  /**
+   * Find the cycles between the namespaces of the type definitions in the graph. Each cycle is a set of namespaces in
+   * which every namespace (directly or indirectly) references every other namespace.
+   *
+   * @return The namespace cycles.
+   */
+  public synchronized List<Set<String>> findNamespaceCycles() {
+    final Map<String, Map<String, Set<String>>> references = new TreeMap<String, Map<String, Set<String>>>();
+    for (TypeDefinition typeDefinition : this.typeDefinitions.values()) {
+      String namespace = normalize(typeDefinition.getNamespace());
+      if (!references.containsKey(namespace)) {
+        references.put(namespace, getNamespaceReferences(namespace));
+      }
+    }
+
+    final List<Set<String>> cycles = new ArrayList<Set<String>>();
+    new StronglyConnectedComponents<String>() {
+      @Override
+      protected Collection<String> getEdges(String namespace) {
+        Map<String, Set<String>> edges = references.get(namespace);
+        return edges == null ? Collections.<String>emptySet() : edges.keySet();
+      }
+
+      @Override
+      protected void foundComponent(List<String> component) {
+        if (component.size() > 1) {
+          cycles.add(new TreeSet<String>(component));
+        }
+      }
+    }.visitAll(references.keySet());
+    return cycles;
+  }
+
+  /**
+   * Resolve the referenced namespaces of the specified node and of every node reachable from it. The components of the
+   * graph are found in reverse topological order, so the components referenced by a component are always resolved
+   * before it is.
+   *
+   * @param start The node at which to start.
+   */
+  private void resolveReferencedNamespaces(Node start) {
+    new StronglyConnectedComponents<Node>() {
+      @Override
+      protected Collection<Node> getEdges(Node node) {
+        List<Node> edges = new ArrayList<Node>();
+        for (TypeDefinition typeDefinition : node.types.values()) {
+          Node referenced = node(typeDefinition);
+          if (referenced.referencedNamespaces == null) {
+            edges.add(referenced);
+          }
+        }
+        return edges;
+      }
+
+      @Override
+      protected void foundComponent(List<Node> component) {
+        Set<String> referencedNamespaces = new HashSet<String>();
+        for (Node node : component) {
+          referencedNamespaces.addAll(node.namespaces.keySet());
+          for (TypeDefinition typeDefinition : node.types.values()) {
+            Set<String> resolved = node(typeDefinition).referencedNamespaces;
+            if (resolved != null) {
+              referencedNamespaces.addAll(resolved);
+            }
+          }
+        }
+
+        referencedNamespaces = Collections.unmodifiableSet(referencedNamespaces);
+        for (Node node : component) {
+          node.referencedNamespaces = referencedNamespaces;
+        }
+      }
+    }.visitAll(Collections.singleton(start));
+  }
+
+  /**
+   * Get the node for the specified type definition, resolving its direct references if needed.
+   *
+   * @param typeDefinition The type definition.
+   * @return The node.
+   */
+  private Node node(TypeDefinition typeDefinition) {
+    String qualifiedName = typeDefinition.getQualifiedName().toString();
+    Node node = this.nodes.get(qualifiedName);
+    if (node == null) {
+      node = new Node();
+      this.nodes.put(qualifiedName, node);
+
+      for (Attribute attribute : typeDefinition.getAttributes()) {
+        QName ref = attribute.getRef();
+        if (ref != null) {
+          node.addNamespace(ref.getNamespaceURI(), attribute);
+        }
+        else {
+          node.addReference(attribute.getBaseType(), attribute);
+        }
+      }
+
+      for (Element element : typeDefinition.getElements()) {
+        for (Element choice : element.getChoices()) {
+          QName ref = choice.getRef();
+          if (ref != null) {
+            node.addNamespace(ref.getNamespaceURI(), choice);
+          }
+          else {
+            node.addReference(choice.getBaseType(), choice);
+          }
+        }
+      }
+
+      Value value = typeDefinition.getValue();
+      if (value != null) {
+        node.addReference(value.getBaseType(), value);
+      }
+
+      if (typeDefinition instanceof QNameEnumTypeDefinition) {
+        for (EnumValue enumValue : ((QNameEnumTypeDefinition) typeDefinition).getEnumValues()) {
+          if (enumValue.getValue() != null) {
+            node.addNamespace(((QName) enumValue.getValue()).getNamespaceURI(), qualifiedName + "." + enumValue.getSimpleName());
+          }
+        }
+      }
+
+      node.addReference(typeDefinition.getBaseType(), qualifiedName);
+    }
+    return node;
+  }
+
+  private static void addNamespaces(XmlType xmlType, Set<String> namespaces) {
+    if (!xmlType.isAnonymous()) {
+      namespaces.add(xmlType.getNamespace());
+    }
+    else if (xmlType instanceof MapXmlType) {
+      namespaces.add(((MapXmlType) xmlType).getKeyType().getNamespace());
+      namespaces.add(((MapXmlType) xmlType).getValueType().getNamespace());
+    }
+  }
+
+  private static String normalize(String namespace) {
+    return namespace == null ? "" : namespace;
+  }
+
+  private static final String XMLSCHEMA_NAMESPACE = "http://www.w3.org/2001/XMLSchema";
+
+  /**
+   * A type definition in the graph.
+   */
+  private static class Node {
+
+    /**
+     * The directly-referenced namespaces, each mapped to the accessors that caused the reference. The null namespace
+     * is kept as null so that the referenced namespaces match what the schema templates expect.
+     */
+    final Map<String, Set<String>> namespaces = new HashMap<String, Set<String>>();
+
+    /**
+     * The referenced type definitions, by qualified name.
+     */
+    final Map<String, TypeDefinition> types = new LinkedHashMap<String, TypeDefinition>();
+
+    /**
+     * The namespaces referenced by this node and every node reachable from it, or null if not yet resolved.
+     */
+    Set<String> referencedNamespaces;
+
+    void addReference(XmlType xmlType, Accessor accessor) {
+      addReference(xmlType, accessor.getTypeDefinition().getQualifiedName() + "." + accessor.getSimpleName());
+    }
+
+    void addReference(XmlType xmlType, String cause) {
+      Set<String> namespaces = new HashSet<String>();
+      addNamespaces(xmlType, namespaces);
+      for (String namespace : namespaces) {
+        addNamespace(namespace, cause);
+      }
+
+      if (xmlType instanceof XmlClassType) {
+        TypeDefinition typeDefinition = ((XmlClassType) xmlType).getTypeDefinition();
+        this.types.put(typeDefinition.getQualifiedName().toString(), typeDefinition);
+      }
+    }
+
+    void addNamespace(String namespace, Accessor accessor) {
+      addNamespace(namespace, accessor.getTypeDefinition().getQualifiedName() + "." + accessor.getSimpleName());
+    }
+
+    void addNamespace(String namespace, String cause) {
+      Set<String> causes = this.namespaces.get(namespace);
+      if (causes == null) {
+        causes = new TreeSet<String>();
+        this.namespaces.put(namespace, causes);
+      }
+      causes.add(cause);
+    }
+  }
+
+  /**
+   * Tarjan's algorithm for finding the strongly-connected components of a graph, iterating over an explicit stack so
+   * that deep type hierarchies don't overflow the call stack. Components are reported in reverse topological order.
+   *
+   * @param <N> The type of the nodes.
+   */
+  private static abstract class StronglyConnectedComponents<N> {
+
+    private final Map<N, Integer> indexes = new HashMap<N, Integer>();
+    private final Map<N, Integer> lowlinks = new HashMap<N, Integer>();
+    private final LinkedList<N> stack = new LinkedList<N>();
+    private final Set<N> onStack = new HashSet<N>();
+    private int index = 0;
+
+    protected abstract Collection<N> getEdges(N node);
+
+    protected abstract void foundComponent(List<N> component);
+
+    void visitAll(Collection<N> nodes) {
+      for (N node : nodes) {
+        if (!this.indexes.containsKey(node)) {
+          visit(node);
+        }
+      }
+    }
+
+    private void visit(N start) {
+      LinkedList<N> path = new LinkedList<N>();
+      LinkedList<Iterator<N>> edges = new LinkedList<Iterator<N>>();
+      push(start);
+      path.push(start);
+      edges.push(getEdges(start).iterator());
+
+      while (!path.isEmpty()) {
+        N node = path.peek();
+        Iterator<N> it = edges.peek();
+        if (it.hasNext()) {
+          N next = it.next();
+          if (!this.indexes.containsKey(next)) {
+            push(next);
+            path.push(next);
+            edges.push(getEdges(next).iterator());
+          }
+          else if (this.onStack.contains(next)) {
+            this.lowlinks.put(node, Math.min(this.lowlinks.get(node), this.indexes.get(next)));
+          }
+        }
+        else {
+          path.pop();
+          edges.pop();
+          if (!path.isEmpty()) {
+            N parent = path.peek();
+            this.lowlinks.put(parent, Math.min(this.lowlinks.get(parent), this.lowlinks.get(node)));
+          }
+
+          if (this.lowlinks.get(node).equals(this.indexes.get(node))) {
+            List<N> component = new ArrayList<N>();
+            N member;
+            do {
+              member = this.stack.pop();
+              this.onStack.remove(member);
+              component.add(member);
+            }
+            while (member != node);
+            foundComponent(component);
+          }
+        }
+      }
+    }
+
+    private void push(N node) {
+      this.indexes.put(node, this.index);
+      this.lowlinks.put(node, this.index);
+      this.index++;
+      this.stack.push(node);
+      this.onStack.add(node);
+    }
+  }
+}
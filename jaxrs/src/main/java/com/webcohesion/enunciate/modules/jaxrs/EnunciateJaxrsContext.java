@@ -17,24 +17,28 @@ package com.webcohesion.enunciate.modules.jaxrs;
 
 import com.webcohesion.enunciate.EnunciateContext;
 import com.webcohesion.enunciate.api.InterfaceDescriptionFile;
+import com.webcohesion.enunciate.api.resources.Method;
 import com.webcohesion.enunciate.api.resources.Resource;
 import com.webcohesion.enunciate.api.resources.ResourceApi;
 import com.webcohesion.enunciate.api.resources.ResourceGroup;
 import com.webcohesion.enunciate.facets.FacetFilter;
 import com.webcohesion.enunciate.javac.TypeElementComparator;
-import com.webcohesion.enunciate.javac.decorations.type.DecoratedTypeMirror;
 import com.webcohesion.enunciate.module.EnunciateModuleContext;
 import com.webcohesion.enunciate.modules.jaxrs.api.impl.AnnotationBasedResourceGroupImpl;
 import com.webcohesion.enunciate.modules.jaxrs.api.impl.PathBasedResourceGroupImpl;
 import com.webcohesion.enunciate.modules.jaxrs.api.impl.ResourceClassResourceGroupImpl;
 import com.webcohesion.enunciate.modules.jaxrs.api.impl.ResourceImpl;
+import com.webcohesion.enunciate.modules.jaxrs.model.PathSegment;
 import com.webcohesion.enunciate.modules.jaxrs.model.ResourceMethod;
 import com.webcohesion.enunciate.modules.jaxrs.model.RootResource;
 import com.webcohesion.enunciate.modules.jaxrs.model.util.JaxrsUtil;
+import com.webcohesion.enunciate.modules.jaxrs.model.util.MediaTypeRegistry;
 import com.webcohesion.enunciate.util.*;
 import org.apache.commons.configuration.HierarchicalConfiguration;
 
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
@@ -53,7 +57,11 @@ public class EnunciateJaxrsContext extends EnunciateModuleContext implements Res
   }
 
   private final Map<String, String> mediaTypeIds;
+  private final MediaTypeRegistry mediaTypeRegistry;
   private final Set<RootResource> rootResources;
+  private final Map<String, RootResource> rootResourcesByName = new HashMap<String, RootResource>();
+  private final Map<String, String> implementationsByType = new HashMap<String, String>();
+  private final Map<String, String> deduplicatedRootResources = new TreeMap<String, String>();
   private final Set<TypeElement> providers;
   private final Set<String> customResourceParameterAnnotations;
   private final Set<String> systemResourceParameterAnnotations;
@@ -61,10 +69,15 @@ public class EnunciateJaxrsContext extends EnunciateModuleContext implements Res
   private GroupingStrategy groupingStrategy = GroupingStrategy.resource_class;
   private PathSortStrategy pathSortStrategy = PathSortStrategy.breadth_first;
   private InterfaceDescriptionFile wadlFile = null;
+  private ResourceMethodIndex methodIndex = null;
+  private ResourcePathTrie<ResourceMethod> pathTrie = null;
+  private final Map<GroupingStrategy, List<ResourceGroup>> groupedResources = new EnumMap<GroupingStrategy, List<ResourceGroup>>(GroupingStrategy.class);
+  private final Map<GroupingStrategy, List<ResourceGroup>> resourceGroups = new EnumMap<GroupingStrategy, List<ResourceGroup>>(GroupingStrategy.class);
 
   public EnunciateJaxrsContext(EnunciateContext context) {
     super(context);
     this.mediaTypeIds = loadKnownMediaTypes();
+    this.mediaTypeRegistry = new MediaTypeRegistry(context.getApiRegistry());
     this.rootResources = new TreeSet<RootResource>(new RootResourceComparator());
     this.providers = new TreeSet<TypeElement>(new TypeElementComparator());
     this.customResourceParameterAnnotations = loadKnownCustomResourceParameterAnnotations(context);
@@ -152,6 +165,15 @@ public class EnunciateJaxrsContext extends EnunciateModuleContext implements Res
     return mediaTypeIds;
   }
 
+  /**
+   * The registry of the media types in use by the resource methods.
+   *
+   * @return The registry of the media types in use by the resource methods.
+   */
+  public MediaTypeRegistry getMediaTypeRegistry() {
+    return mediaTypeRegistry;
+  }
+
   /**
    * Add a content type.
    *
@@ -225,29 +247,40 @@ public class EnunciateJaxrsContext extends EnunciateModuleContext implements Res
    * @param rootResource The root resource to add to the model.
    */
   public void add(RootResource rootResource) {
+    String name = rootResource.getQualifiedName().toString();
+    Set<String> supertypes = new HashSet<String>();
+    collectSupertypes(rootResource, supertypes);
+
     if (rootResource.isInterface()) {
       //if the root resource is an interface, don't add it if its implementation has already been added (avoid duplication).
-      for (RootResource resource : this.rootResources) {
-        if (((DecoratedTypeMirror)(resource.asType())).isInstanceOf(rootResource)) {
-          debug("%s was identified as a JAX-RS root resource, but will be ignored because root resource %s implements it.", rootResource.getQualifiedName(), resource.getQualifiedName());
-          return;
-        }
+      String implementation = this.implementationsByType.get(name);
+      if (implementation != null) {
+        debug("%s was identified as a JAX-RS root resource, but will be ignored because root resource %s implements it.", name, implementation);
+        this.deduplicatedRootResources.put(name, implementation);
+        return;
       }
     }
     else {
       //remove any interfaces of this root resource that have been identified as root resources (avoid duplication)
-      DecoratedTypeMirror rootResourceType = (DecoratedTypeMirror) rootResource.asType();
-      Iterator<RootResource> it = this.rootResources.iterator();
-      while (it.hasNext()) {
-        RootResource resource = it.next();
-        if (rootResourceType.isInstanceOf(resource)) {
-          debug("%s was identified as a JAX-RS root resource, but will be ignored because root resource %s implements it.", resource.getQualifiedName(), rootResource.getQualifiedName());
-          it.remove();
+      for (String supertype : supertypes) {
+        RootResource resource = this.rootResourcesByName.remove(supertype);
+        if (resource != null) {
+          this.rootResources.remove(resource);
+          if (!supertype.equals(name)) {
+            debug("%s was identified as a JAX-RS root resource, but will be ignored because root resource %s implements it.", supertype, name);
+            this.deduplicatedRootResources.put(supertype, name);
+          }
         }
       }
     }
 
+    //index the supertypes of the root resource so that later de-duplication is a lookup.
+    for (String supertype : supertypes) {
+      this.implementationsByType.put(supertype, name);
+    }
+    this.rootResourcesByName.put(name, rootResource);
     this.rootResources.add(rootResource);
+    clearResourceGroups();
     debug("Added %s as a JAX-RS root resource.", rootResource.getQualifiedName());
 
     if (getContext().getProcessingEnvironment().findSourcePosition(rootResource) == null) {
@@ -256,6 +289,32 @@ public class EnunciateJaxrsContext extends EnunciateModuleContext implements Res
     }
   }
 
+  private static void collectSupertypes(TypeElement type, Set<String> supertypes) {
+    if (type == null || Object.class.getName().equals(type.getQualifiedName().toString()) || !supertypes.add(type.getQualifiedName().toString())) {
+      return;
+    }
+
+    TypeMirror superclass = type.getSuperclass();
+    if (superclass instanceof DeclaredType) {
+      collectSupertypes((TypeElement) ((DeclaredType) superclass).asElement(), supertypes);
+    }
+
+    for (TypeMirror iface : type.getInterfaces()) {
+      if (iface instanceof DeclaredType) {
+        collectSupertypes((TypeElement) ((DeclaredType) iface).asElement(), supertypes);
+      }
+    }
+  }
+
+  /**
+   * The root resources that were ignored because another root resource implements them, mapped to the implementation.
+   *
+   * @return The de-duplicated root resources.
+   */
+  public Map<String, String> getDeduplicatedRootResources() {
+    return deduplicatedRootResources;
+  }
+
   /**
    * Add a JAX-RS provider to the model.
    *
@@ -287,10 +346,12 @@ public class EnunciateJaxrsContext extends EnunciateModuleContext implements Res
 
   public void setRelativeContextPath(String relativeContextPath) {
     this.relativeContextPath = relativeContextPath;
+    clearResourceGroups();
   }
 
   public void setGroupingStrategy(GroupingStrategy groupingStrategy) {
     this.groupingStrategy = groupingStrategy;
+    this.methodIndex = null;
   }
 
   public PathSortStrategy getPathSortStrategy() {
@@ -299,6 +360,7 @@ public class EnunciateJaxrsContext extends EnunciateModuleContext implements Res
 
   public void setPathSortStrategy(PathSortStrategy pathSortStrategy) {
     this.pathSortStrategy = pathSortStrategy;
+    clearResourceGroups();
   }
 
   @Override
@@ -312,28 +374,72 @@ public class EnunciateJaxrsContext extends EnunciateModuleContext implements Res
 
   @Override
   public List<ResourceGroup> getResourceGroups() {
-    List<ResourceGroup> resourceGroups;
-    if (this.groupingStrategy == GroupingStrategy.path) {
-      //group resources by path.
-      resourceGroups = getResourceGroupsByPath();
-    }
-    else if (this.groupingStrategy == GroupingStrategy.annotation) {
-      resourceGroups = getResourceGroupsByAnnotation();
-    }
-    else {
-      resourceGroups = getResourceGroupsByClass();
+    List<ResourceGroup> resourceGroups = this.resourceGroups.get(this.groupingStrategy);
+    if (resourceGroups == null) {
+      List<ResourceGroup> sorted = new ArrayList<ResourceGroup>(getResourceGroups(this.groupingStrategy));
+      Collections.sort(sorted, new Comparator<ResourceGroup>() {
+        @Override
+        public int compare(ResourceGroup o1, ResourceGroup o2) {
+          return o1.getLabel().compareTo(o2.getLabel());
+        }
+      });
+      resourceGroups = Collections.unmodifiableList(sorted);
+      this.resourceGroups.put(this.groupingStrategy, resourceGroups);
     }
+    return resourceGroups;
+  }
 
-    Collections.sort(resourceGroups, new Comparator<ResourceGroup>() {
-      @Override
-      public int compare(ResourceGroup o1, ResourceGroup o2) {
-        return o1.getLabel().compareTo(o2.getLabel());
+  /**
+   * The resource groups for the specified grouping strategy, in the order they were grouped. The groups are computed once (until the
+   * model changes) and shared by all callers, so they're unmodifiable.
+   *
+   * @param strategy The grouping strategy.
+   * @return The resource groups.
+   */
+  protected List<ResourceGroup> getResourceGroups(GroupingStrategy strategy) {
+    List<ResourceGroup> resourceGroups = this.groupedResources.get(strategy);
+    if (resourceGroups == null) {
+      if (strategy == GroupingStrategy.path) {
+        resourceGroups = loadResourceGroupsByPath();
       }
-    });
+      else if (strategy == GroupingStrategy.annotation) {
+        resourceGroups = loadResourceGroupsByAnnotation();
+      }
+      else {
+        resourceGroups = loadResourceGroupsByClass();
+      }
+      resourceGroups = Collections.unmodifiableList(resourceGroups);
+      this.groupedResources.put(strategy, resourceGroups);
+    }
     return resourceGroups;
   }
 
+  private void clearResourceGroups() {
+    this.groupedResources.clear();
+    this.resourceGroups.clear();
+    this.methodIndex = null;
+    this.pathTrie = null;
+  }
+
+  /**
+   * Find the methods of the resource at the specified path.
+   *
+   * @param path The path of the resource.
+   * @param httpMethod The HTTP method, or null for all HTTP methods.
+   * @return The methods.
+   */
+  public List<Method> findMethods(String path, String httpMethod) {
+    if (this.methodIndex == null) {
+      this.methodIndex = new ResourceMethodIndex(getResourceGroups());
+    }
+    return this.methodIndex.findMethods(path, httpMethod);
+  }
+
   public List<ResourceGroup> getResourceGroupsByClass() {
+    return getResourceGroups(GroupingStrategy.resource_class);
+  }
+
+  protected List<ResourceGroup> loadResourceGroupsByClass() {
     List<ResourceGroup> resourceGroups = new ArrayList<ResourceGroup>();
     Set<String> slugs = new TreeSet<String>();
     for (RootResource rootResource : rootResources) {
@@ -370,13 +476,46 @@ public class EnunciateJaxrsContext extends EnunciateModuleContext implements Res
     return resourceGroups;
   }
 
+  /**
+   * The trie of the paths of all (accepted) resource methods of all root resources.
+   *
+   * @return The trie of the paths of all resource methods.
+   */
+  public ResourcePathTrie<ResourceMethod> getResourcePathTrie() {
+    if (this.pathTrie == null) {
+      ResourcePathTrie<ResourceMethod> pathTrie = new ResourcePathTrie<ResourceMethod>();
+      FacetFilter facetFilter = context.getConfiguration().getFacetFilter();
+      for (RootResource rootResource : rootResources) {
+        for (ResourceMethod method : rootResource.getResourceMethods(true)) {
+          if (facetFilter.accept(method)) {
+            //the full path is the '/'-separated path components, so walk the components to pick up their regular expressions.
+            ResourcePathTrie.Node<ResourceMethod> node = pathTrie.getRoot().child("");
+            for (PathSegment segment : method.getPathComponents()) {
+              node = node.child(segment.getValue());
+              if (segment.getRegex() != null) {
+                node.setRegex(segment.getRegex());
+              }
+            }
+            node.getValues().add(method);
+          }
+        }
+      }
+      this.pathTrie = pathTrie;
+    }
+    return this.pathTrie;
+  }
+
   public List<ResourceGroup> getResourceGroupsByPath() {
-    Map<String, PathBasedResourceGroupImpl> resourcesByPath = new HashMap<String, PathBasedResourceGroupImpl>();
+    return getResourceGroups(GroupingStrategy.path);
+  }
 
-    FacetFilter facetFilter = context.getConfiguration().getFacetFilter();
-    for (RootResource rootResource : rootResources) {
-      for (ResourceMethod method : rootResource.getResourceMethods(true)) {
-        if (facetFilter.accept(method)) {
+  protected List<ResourceGroup> loadResourceGroupsByPath() {
+    //traversing the trie visits the paths in sorted order.
+    List<ResourceGroup> resourceGroups = new ArrayList<ResourceGroup>();
+    for (ResourcePathTrie.Node<ResourceMethod> node : getResourcePathTrie().nodes(this.pathSortStrategy)) {
+      PathBasedResourceGroupImpl resourceGroup = null;
+      for (ResourceMethod method : node.getValues()) {
+        if (resourceGroup == null) {
           com.webcohesion.enunciate.metadata.rs.ServiceContextRoot context = method.getAnnotation(com.webcohesion.enunciate.metadata.rs.ServiceContextRoot.class);
           com.webcohesion.enunciate.modules.jaxrs.model.Resource resource = method.getParent();
           while (context == null && resource != null) {
@@ -384,25 +523,22 @@ public class EnunciateJaxrsContext extends EnunciateModuleContext implements Res
             resource = resource.getParent();
           }
 
-          String path = method.getFullpath();
-          PathBasedResourceGroupImpl resourceGroup = resourcesByPath.get(path);
-          if (resourceGroup == null) {
-            String contextPath = context != null ? JaxrsModule.sanitizeContextPath(context.value()) : this.relativeContextPath;
-            resourceGroup = new PathBasedResourceGroupImpl(contextPath, path, new ArrayList<Resource>());
-            resourcesByPath.put(path, resourceGroup);
-          }
-
-          resourceGroup.getResources().add(new ResourceImpl(method, resourceGroup));
+          String contextPath = context != null ? JaxrsModule.sanitizeContextPath(context.value()) : this.relativeContextPath;
+          resourceGroup = new PathBasedResourceGroupImpl(contextPath, node.getPath(), new ArrayList<Resource>());
+          resourceGroups.add(resourceGroup);
         }
+
+        resourceGroup.getResources().add(new ResourceImpl(method, resourceGroup));
       }
     }
-
-    ArrayList<ResourceGroup> resourceGroups = new ArrayList<ResourceGroup>(resourcesByPath.values());
-    Collections.sort(resourceGroups, new ResourceGroupComparator(this.pathSortStrategy));
     return resourceGroups;
   }
 
   public List<ResourceGroup> getResourceGroupsByAnnotation() {
+    return getResourceGroups(GroupingStrategy.annotation);
+  }
+
+  protected List<ResourceGroup> loadResourceGroupsByAnnotation() {
     Map<String, AnnotationBasedResourceGroupImpl> resourcesByAnnotation = new HashMap<String, AnnotationBasedResourceGroupImpl>();
 
     FacetFilter facetFilter = context.getConfiguration().getFacetFilter();
@@ -20,7 +20,7 @@ import com.webcohesion.enunciate.EnunciateException;
 import com.webcohesion.enunciate.api.ApiRegistry;
 import com.webcohesion.enunciate.module.*;
 import com.webcohesion.enunciate.modules.jaxrs.model.*;
-import com.webcohesion.enunciate.modules.jaxrs.model.util.MediaType;
+import com.webcohesion.enunciate.modules.jaxrs.model.util.MediaTypeRegistry;
 import com.webcohesion.enunciate.util.IgnoreUtils;
 import com.webcohesion.enunciate.util.PathSortStrategy;
 import org.reflections.adapters.MetadataAdapter;
@@ -39,7 +39,7 @@ import static com.webcohesion.enunciate.util.IgnoreUtils.isIgnored;
  * @author Ryan Heaton
  */
 @SuppressWarnings ( "unchecked" )
-public class JaxrsModule extends BasicEnunicateModule implements TypeFilteringModule, ApiRegistryProviderModule, ApiFeatureProviderModule {
+public class JaxrsModule extends BasicEnunicateModule implements TypeFilteringModule, ApiRegistryProviderModule, CompilerModelReleasingModule, ApiFeatureProviderModule {
 
   private DataTypeDetectionStrategy defaultDataTypeDetectionStrategy;
   private final List<MediaTypeDefinitionModule> mediaTypeModules = new ArrayList<MediaTypeDefinitionModule>();
@@ -107,6 +107,12 @@ public class JaxrsModule extends BasicEnunicateModule implements TypeFilteringMo
     this.apiRegistry = registry;
   }
 
+  @Override
+  public void releaseCompilerModel() {
+    this.jaxrsContext = null;
+    this.apiRegistry = null;
+  }
+
   public EnunciateJaxrsContext getJaxrsContext() {
     return jaxrsContext;
   }
@@ -163,6 +169,9 @@ public class JaxrsModule extends BasicEnunicateModule implements TypeFilteringMo
       }
     }
 
+    if (!jaxrsContext.getDeduplicatedRootResources().isEmpty()) {
+      info("Ignored %s JAX-RS root resource(s) in favor of their implementations: %s", jaxrsContext.getDeduplicatedRootResources().size(), jaxrsContext.getDeduplicatedRootResources());
+    }
 
     //tidy up the application path.
     relativeContextPath = this.config.getString("application[@path]", relativeContextPath);
@@ -174,6 +183,7 @@ public class JaxrsModule extends BasicEnunicateModule implements TypeFilteringMo
 
     if (jaxrsContext.getRootResources().size() > 0) {
       this.enunciate.addArtifact(new JaxrsRootResourceClassListArtifact(this.jaxrsContext));
+      this.enunciate.addArtifact(new JaxrsRouteTrieArtifact(this.jaxrsContext));
       this.apiRegistry.getResourceApis().add(jaxrsContext);
     }
 
@@ -205,13 +215,10 @@ public class JaxrsModule extends BasicEnunicateModule implements TypeFilteringMo
       return;
     }
 
+    MediaTypeRegistry mediaTypeRegistry = this.jaxrsContext.getMediaTypeRegistry();
     ResourceEntityParameter ep = resourceMethod.getEntityParameter();
     if (ep != null) {
-      Set<com.webcohesion.enunciate.modules.jaxrs.model.util.MediaType> consumesMt = resourceMethod.getConsumesMediaTypes();
-      Set<String> consumes = new TreeSet<String>();
-      for (MediaType mediaType : consumesMt) {
-        consumes.add(mediaType.getMediaType());
-      }
+      Set<String> consumes = mediaTypeRegistry.toMediaTypes(resourceMethod.getConsumesMediaTypeIds());
 
       contextStack.push(ep.getDelegate());
 
@@ -230,11 +237,7 @@ public class JaxrsModule extends BasicEnunicateModule implements TypeFilteringMo
     ResourceRepresentationMetadata outputPayload = resourceMethod.getRepresentationMetadata();
     if (outputPayload != null) {
       TypeMirror type = outputPayload.getDelegate();
-      Set<com.webcohesion.enunciate.modules.jaxrs.model.util.MediaType> producesMt = resourceMethod.getProducesMediaTypes();
-      Set<String> produces = new TreeSet<String>();
-      for (MediaType mediaType : producesMt) {
-        produces.add(mediaType.getMediaType());
-      }
+      Set<String> produces = mediaTypeRegistry.toMediaTypes(resourceMethod.getProducesMediaTypeIds());
       contextStack.push(resourceMethod);
 
       try {
@@ -252,11 +255,7 @@ public class JaxrsModule extends BasicEnunicateModule implements TypeFilteringMo
       for (ResponseCode statusCode : statusCodes) {
         TypeMirror type = statusCode.getType();
         if (type != null) {
-          Set<com.webcohesion.enunciate.modules.jaxrs.model.util.MediaType> producesMt = resourceMethod.getProducesMediaTypes();
-          Set<String> produces = new TreeSet<String>();
-          for (MediaType mediaType : producesMt) {
-            produces.add(mediaType.getMediaType());
-          }
+          Set<String> produces = mediaTypeRegistry.toMediaTypes(resourceMethod.getProducesMediaTypeIds());
 
           contextStack.push(resourceMethod);
 
@@ -0,0 +1,151 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.jaxrs;
+
+import com.webcohesion.enunciate.Enunciate;
+import com.webcohesion.enunciate.artifacts.BaseArtifact;
+import com.webcohesion.enunciate.modules.jaxrs.model.ResourceMethod;
+import com.webcohesion.enunciate.util.ResourcePathTrie;
+
+import java.io.*;
+import java.util.Date;
+import java.util.Iterator;
+
+/**
+ * A JSON file containing the trie of the path segments of all JAX-RS resource methods, suitable for fast route
+ * matching at runtime. Each node has its segment, the regular expression of a variable segment (if any), the
+ * resource methods at the path of the node and the child nodes.
+ *
+ * @author Ryan Heaton
+ */
+public class JaxrsRouteTrieArtifact extends BaseArtifact {
+
+  private final EnunciateJaxrsContext jaxrsContext;
+  private final Date created = new Date();
+
+  public JaxrsRouteTrieArtifact(EnunciateJaxrsContext jaxrsContext) {
+    super(JaxrsModule.NAME, "jaxrs-routes.json");
+    this.jaxrsContext = jaxrsContext;
+    setBelongsOnServerSideClasspath(true);
+  }
+
+  @Override
+  public String getName() {
+    return "jaxrs-routes.json";
+  }
+
+  @Override
+  public String getDescription() {
+    return "A JSON file that contains the trie of the paths of all JAX-RS resource methods in the current project.";
+  }
+
+  @Override
+  public boolean isPublic() {
+    return false;
+  }
+
+  @Override
+  public Date getCreated() {
+    return this.created;
+  }
+
+  @Override
+  public void exportTo(File fileOrDirectory, Enunciate enunciate) throws IOException {
+    Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileOrDirectory.isDirectory() ? new File(fileOrDirectory, getName()) : fileOrDirectory), "utf-8"));
+    try {
+      writeChildren(this.jaxrsContext.getResourcePathTrie().getRoot(), out);
+      out.write('\n');
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  private void writeNode(ResourcePathTrie.Node<ResourceMethod> node, Writer out) throws IOException {
+    out.write("{\"segment\":");
+    writeString(node.getSegment(), out);
+    if (node.getRegex() != null) {
+      out.write(",\"regex\":");
+      writeString(node.getRegex(), out);
+    }
+
+    if (!node.getValues().isEmpty()) {
+      out.write(",\"methods\":[");
+      Iterator<ResourceMethod> methods = node.getValues().iterator();
+      while (methods.hasNext()) {
+        ResourceMethod method = methods.next();
+        out.write("{\"httpMethods\":[");
+        Iterator<String> httpMethods = method.getHttpMethods().iterator();
+        while (httpMethods.hasNext()) {
+          writeString(httpMethods.next(), out);
+          if (httpMethods.hasNext()) {
+            out.write(',');
+          }
+        }
+        out.write("],\"class\":");
+        writeString(method.getParent().getQualifiedName().toString(), out);
+        out.write(",\"method\":");
+        writeString(method.getSimpleName().toString(), out);
+        out.write('}');
+        if (methods.hasNext()) {
+          out.write(',');
+        }
+      }
+      out.write(']');
+    }
+
+    if (!node.getChildren().isEmpty()) {
+      out.write(",\"children\":");
+      writeChildren(node, out);
+    }
+    out.write('}');
+  }
+
+  private void writeChildren(ResourcePathTrie.Node<ResourceMethod> node, Writer out) throws IOException {
+    out.write('[');
+    Iterator<ResourcePathTrie.Node<ResourceMethod>> children = node.getChildren().iterator();
+    while (children.hasNext()) {
+      writeNode(children.next(), out);
+      if (children.hasNext()) {
+        out.write(',');
+      }
+    }
+    out.write(']');
+  }
+
+  private static void writeString(String value, Writer out) throws IOException {
+    out.write('"');
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      if (ch == '"' || ch == '\\') {
+        out.write('\\');
+        out.write(ch);
+      }
+      else if (ch < 0x20) {
+        out.write(String.format("\\u%04x", (int) ch));
+      }
+      else {
+        out.write(ch);
+      }
+    }
+    out.write('"');
+  }
+
+  @Override
+  public long getSize() {
+    return -1;
+  }
+}
@@ -15,7 +15,6 @@
  */
 package com.webcohesion.enunciate.modules.jaxrs.api.impl;
 
-import com.webcohesion.enunciate.api.datatype.Syntax;
 import com.webcohesion.enunciate.api.resources.Entity;
 import com.webcohesion.enunciate.api.resources.MediaTypeDescriptor;
 import com.webcohesion.enunciate.javac.decorations.type.DecoratedTypeMirror;
@@ -52,13 +51,9 @@ public class RequestEntityImpl implements Entity {
       boolean descriptorFound = false;
       if (this.entityParameter != null) {
         DecoratedTypeMirror type = (DecoratedTypeMirror) this.entityParameter.getType();
-        for (Syntax syntax : this.resourceMethod.getContext().getContext().getApiRegistry().getSyntaxes()) {
-          MediaTypeDescriptor descriptor = syntax.findMediaTypeDescriptor(mt.getMediaType(), type, mt.getQualityOfSource());
-          if (descriptor != null) {
-            mts.add(descriptor);
-            descriptorFound = true;
-          }
-        }
+        List<MediaTypeDescriptor> descriptors = this.resourceMethod.getContext().getMediaTypeRegistry().findDescriptors(mt, type);
+        mts.addAll(descriptors);
+        descriptorFound = !descriptors.isEmpty();
       }
 
       if (!descriptorFound) {
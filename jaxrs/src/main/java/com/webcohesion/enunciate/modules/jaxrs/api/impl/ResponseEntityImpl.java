@@ -15,7 +15,6 @@
  */
 package com.webcohesion.enunciate.modules.jaxrs.api.impl;
 
-import com.webcohesion.enunciate.api.datatype.Syntax;
 import com.webcohesion.enunciate.api.resources.Entity;
 import com.webcohesion.enunciate.api.resources.MediaTypeDescriptor;
 import com.webcohesion.enunciate.javac.decorations.type.DecoratedTypeMirror;
@@ -50,17 +49,11 @@ public class ResponseEntityImpl implements Entity {
     Set<com.webcohesion.enunciate.modules.jaxrs.model.util.MediaType> produces = resourceMethod.getProducesMediaTypes();
     ArrayList<MediaTypeDescriptor> mts = new ArrayList<MediaTypeDescriptor>(produces.size());
     for (com.webcohesion.enunciate.modules.jaxrs.model.util.MediaType mt : produces) {
-      boolean descriptorFound = false;
       DecoratedTypeMirror type = (DecoratedTypeMirror) this.responseMetadata.getDelegate();
-      for (Syntax syntax : this.resourceMethod.getContext().getContext().getApiRegistry().getSyntaxes()) {
-        MediaTypeDescriptor descriptor = syntax.findMediaTypeDescriptor(mt.getMediaType(), type, mt.getQualityOfSource());
-        if (descriptor != null) {
-          mts.add(descriptor);
-          descriptorFound = true;
-        }
-      }
+      List<MediaTypeDescriptor> descriptors = this.resourceMethod.getContext().getMediaTypeRegistry().findDescriptors(mt, type);
+      mts.addAll(descriptors);
 
-      if (!descriptorFound) {
+      if (descriptors.isEmpty()) {
         mts.add(new CustomMediaTypeDescriptor(mt.getMediaType(), mt.getQualityOfSource()));
       }
     }
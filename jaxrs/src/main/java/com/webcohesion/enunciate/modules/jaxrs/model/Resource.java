@@ -51,6 +51,8 @@ public abstract class Resource extends DecoratedTypeElement implements HasFacets
   private final List<ResourceMethod> resourceMethods;
   private final List<SubResourceLocator> resourceLocators;
   private final Set<Facet> facets = new TreeSet<Facet>();
+  private List<ResourceMethod> allResourceMethods;
+  private Map<String, List<ResourceMethod>> resourceMethodsByPath;
 
   protected Resource(TypeElement delegate, String path, EnunciateJaxrsContext context) {
     super(delegate, context.getContext().getProcessingEnvironment());
@@ -409,25 +411,71 @@ public abstract class Resource extends DecoratedTypeElement implements HasFacets
       return resourceMethods;
     }
     else {
-      List<ResourceMethod> resourceMethods = new ArrayList<ResourceMethod>();
-      LinkedList<Resource> resources = new LinkedList<Resource>();
-      Set<String> visited = new TreeSet<String>();
-      resources.add(this);
-      while (!resources.isEmpty()) {
-        Resource resource = resources.pop();
-        visited.add(resource.getQualifiedName().toString());
-        resourceMethods.addAll(resource.getResourceMethods());
-
-        for (SubResourceLocator locator : resource.getResourceLocators()) {
-          SubResource subresource = locator.getResource();
-          if (!visited.contains(subresource.getQualifiedName().toString())) {
-            resources.add(subresource);
+      if (this.allResourceMethods == null) {
+        //the resource tree is fully constructed by the time anybody asks, so we only need to walk it once.
+        List<ResourceMethod> resourceMethods = new ArrayList<ResourceMethod>();
+        LinkedList<Resource> resources = new LinkedList<Resource>();
+        Set<String> visited = new TreeSet<String>();
+        resources.add(this);
+        while (!resources.isEmpty()) {
+          Resource resource = resources.pop();
+          visited.add(resource.getQualifiedName().toString());
+          resourceMethods.addAll(resource.getResourceMethods());
+
+          for (SubResourceLocator locator : resource.getResourceLocators()) {
+            SubResource subresource = locator.getResource();
+            if (!visited.contains(subresource.getQualifiedName().toString())) {
+              resources.add(subresource);
+            }
           }
         }
+
+        this.allResourceMethods = Collections.unmodifiableList(resourceMethods);
       }
 
-      return resourceMethods;
+      return this.allResourceMethods;
+    }
+  }
+
+  /**
+   * Find the resource methods (including those of all sub-resources) at the specified full path.
+   *
+   * @param fullpath The full path of the resource method (see {@link ResourceMethod#getFullpath()}).
+   * @param httpMethod The HTTP method, or null for all HTTP methods.
+   * @return The resource methods.
+   */
+  public List<ResourceMethod> findResourceMethods(String fullpath, String httpMethod) {
+    if (this.resourceMethodsByPath == null) {
+      Map<String, List<ResourceMethod>> resourceMethodsByPath = new HashMap<String, List<ResourceMethod>>();
+      for (ResourceMethod resourceMethod : getResourceMethods(true)) {
+        List<ResourceMethod> resourceMethods = resourceMethodsByPath.get(resourceMethod.getFullpath());
+        if (resourceMethods == null) {
+          resourceMethods = new ArrayList<ResourceMethod>(1);
+          resourceMethodsByPath.put(resourceMethod.getFullpath(), resourceMethods);
+        }
+        resourceMethods.add(resourceMethod);
+      }
+      this.resourceMethodsByPath = resourceMethodsByPath;
+    }
+
+    List<ResourceMethod> resourceMethods = this.resourceMethodsByPath.get(fullpath);
+    if (resourceMethods == null) {
+      return Collections.emptyList();
+    }
+    else if (httpMethod == null) {
+      return Collections.unmodifiableList(resourceMethods);
+    }
+
+    List<ResourceMethod> matching = new ArrayList<ResourceMethod>(resourceMethods.size());
+    for (ResourceMethod resourceMethod : resourceMethods) {
+      for (String method : resourceMethod.getHttpMethods()) {
+        if (method.equalsIgnoreCase(httpMethod)) {
+          matching.add(resourceMethod);
+          break;
+        }
+      }
     }
+    return matching;
   }
 
   /**
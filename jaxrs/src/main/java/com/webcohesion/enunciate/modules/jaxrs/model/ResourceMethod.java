@@ -62,6 +62,8 @@ public class ResourceMethod extends DecoratedExecutableElement implements HasFac
   private final Set<String> httpMethods;
   private final Set<com.webcohesion.enunciate.modules.jaxrs.model.util.MediaType> consumesMediaTypes;
   private final Set<com.webcohesion.enunciate.modules.jaxrs.model.util.MediaType> producesMediaTypes;
+  private BitSet consumesMediaTypeIds;
+  private BitSet producesMediaTypeIds;
   private final Resource parent;
   private final Set<ResourceParameter> resourceParameters;
   private final ResourceEntityParameter entityParameter;
@@ -801,6 +803,32 @@ public class ResourceMethod extends DecoratedExecutableElement implements HasFac
     return producesMediaTypes;
   }
 
+  /**
+   * The ids (see {@link com.webcohesion.enunciate.modules.jaxrs.model.util.MediaTypeRegistry}) of the MIME types that
+   * are consumed by this method. The bit set is shared and must not be modified.
+   *
+   * @return The ids of the MIME types that are consumed by this method.
+   */
+  public BitSet getConsumesMediaTypeIds() {
+    if (this.consumesMediaTypeIds == null) {
+      this.consumesMediaTypeIds = this.context.getMediaTypeRegistry().toBitSet(this.consumesMediaTypes);
+    }
+    return this.consumesMediaTypeIds;
+  }
+
+  /**
+   * The ids (see {@link com.webcohesion.enunciate.modules.jaxrs.model.util.MediaTypeRegistry}) of the MIME types that
+   * are produced by this method. The bit set is shared and must not be modified.
+   *
+   * @return The ids of the MIME types that are produced by this method.
+   */
+  public BitSet getProducesMediaTypeIds() {
+    if (this.producesMediaTypeIds == null) {
+      this.producesMediaTypeIds = this.context.getMediaTypeRegistry().toBitSet(this.producesMediaTypes);
+    }
+    return this.producesMediaTypeIds;
+  }
+
   /**
    * The list of resource parameters that this method requires to be invoked.
    *
@@ -15,7 +15,6 @@
  */
 package com.webcohesion.enunciate.modules.jaxrs.model;
 
-import com.webcohesion.enunciate.api.datatype.Syntax;
 import com.webcohesion.enunciate.api.resources.MediaTypeDescriptor;
 import com.webcohesion.enunciate.api.resources.StatusCode;
 import com.webcohesion.enunciate.javac.decorations.type.DecoratedTypeMirror;
@@ -75,12 +74,7 @@ public class ResponseCode implements StatusCode {
     if (this.type != null) {
       Set<com.webcohesion.enunciate.modules.jaxrs.model.util.MediaType> produces = resourceMethod.getProducesMediaTypes();
       for (com.webcohesion.enunciate.modules.jaxrs.model.util.MediaType mt : produces) {
-        for (Syntax syntax : this.resourceMethod.getContext().getContext().getApiRegistry().getSyntaxes()) {
-          MediaTypeDescriptor descriptor = syntax.findMediaTypeDescriptor(mt.getMediaType(), this.type, mt.getQualityOfSource());
-          if (descriptor != null) {
-            mts.add(descriptor);
-          }
-        }
+        mts.addAll(this.resourceMethod.getContext().getMediaTypeRegistry().findDescriptors(mt, this.type));
       }
     }
     return mts;
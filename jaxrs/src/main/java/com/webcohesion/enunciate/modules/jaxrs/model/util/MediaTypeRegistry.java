@@ -0,0 +1,162 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.jaxrs.model.util;
+
+import com.webcohesion.enunciate.api.ApiRegistry;
+import com.webcohesion.enunciate.api.datatype.Syntax;
+import com.webcohesion.enunciate.api.resources.MediaTypeDescriptor;
+import com.webcohesion.enunciate.javac.decorations.type.DecoratedTypeMirror;
+
+import javax.lang.model.type.TypeMirror;
+import java.util.*;
+
+/**
+ * A registry of the media types in use by the resource methods of an API. Media types are interned to ids so that the
+ * sets of media types produced or consumed by a method can be held as bit sets. Thousands of methods typically share
+ * only a handful of media types, so the media type descriptors are resolved only once per (media type, data type).
+ * The registry is safe for use by multiple threads.
+ *
+ * @author Ryan Heaton
+ */
+public class MediaTypeRegistry {
+
+  private final ApiRegistry apiRegistry;
+  private final Map<String, Integer> ids = new HashMap<String, Integer>();
+  private final List<String> mediaTypes = new ArrayList<String>();
+  private final Map<BitSet, Set<String>> mediaTypeSets = new HashMap<BitSet, Set<String>>();
+  private final Map<TypeMirror, Map<String, List<MediaTypeDescriptor>>> descriptors = new IdentityHashMap<TypeMirror, Map<String, List<MediaTypeDescriptor>>>();
+  private List<Syntax> syntaxes = Collections.emptyList();
+
+  public MediaTypeRegistry(ApiRegistry apiRegistry) {
+    this.apiRegistry = apiRegistry;
+  }
+
+  /**
+   * Intern the specified media type.
+   *
+   * @param mediaType The media type.
+   * @return The id of the media type.
+   */
+  public synchronized int intern(String mediaType) {
+    Integer id = this.ids.get(mediaType);
+    if (id == null) {
+      id = this.mediaTypes.size();
+      this.mediaTypes.add(mediaType);
+      this.ids.put(mediaType, id);
+    }
+    return id;
+  }
+
+  /**
+   * The media type for the specified id.
+   *
+   * @param id The id.
+   * @return The media type.
+   */
+  public synchronized String getMediaType(int id) {
+    return this.mediaTypes.get(id);
+  }
+
+  /**
+   * Convert the specified media types to a bit set of their ids.
+   *
+   * @param mediaTypes The media types.
+   * @return The bit set.
+   */
+  public synchronized BitSet toBitSet(Collection<MediaType> mediaTypes) {
+    BitSet bits = new BitSet();
+    for (MediaType mediaType : mediaTypes) {
+      bits.set(intern(mediaType.getMediaType()));
+    }
+    return bits;
+  }
+
+  /**
+   * The (sorted, unmodifiable) set of media types for the specified bit set of ids. Equal bit sets share the same set.
+   *
+   * @param bits The bit set.
+   * @return The media types.
+   */
+  public synchronized Set<String> toMediaTypes(BitSet bits) {
+    Set<String> mediaTypes = this.mediaTypeSets.get(bits);
+    if (mediaTypes == null) {
+      TreeSet<String> set = new TreeSet<String>();
+      for (int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) {
+        set.add(getMediaType(id));
+      }
+      mediaTypes = Collections.unmodifiableSet(set);
+      this.mediaTypeSets.put((BitSet) bits.clone(), mediaTypes);
+    }
+    return mediaTypes;
+  }
+
+  /**
+   * Find the descriptors of the specified media type for the specified data type, one for each syntax that supports it.
+   * The descriptors are cached by the identity of the (undecorated) type, since distinct types may share a name.
+   *
+   * @param mediaType The media type.
+   * @param type The data type.
+   * @return The descriptors (unmodifiable), or an empty list if no syntax supports the media type.
+   */
+  public synchronized List<MediaTypeDescriptor> findDescriptors(MediaType mediaType, DecoratedTypeMirror type) {
+    Set<Syntax> syntaxes = this.apiRegistry.getSyntaxes();
+    if (!sameSyntaxes(syntaxes)) {
+      //the syntaxes changed; the resolved descriptors are stale.
+      this.descriptors.clear();
+      this.syntaxes = new ArrayList<Syntax>(syntaxes);
+    }
+
+    TypeMirror typeKey = type;
+    while (typeKey instanceof DecoratedTypeMirror) {
+      typeKey = ((DecoratedTypeMirror) typeKey).getDelegate();
+    }
+
+    Map<String, List<MediaTypeDescriptor>> descriptorsByMediaType = this.descriptors.get(typeKey);
+    if (descriptorsByMediaType == null) {
+      descriptorsByMediaType = new HashMap<String, List<MediaTypeDescriptor>>();
+      this.descriptors.put(typeKey, descriptorsByMediaType);
+    }
+
+    String key = intern(mediaType.getMediaType()) + "|" + mediaType.getQualityOfSource();
+    List<MediaTypeDescriptor> descriptors = descriptorsByMediaType.get(key);
+    if (descriptors == null) {
+      descriptors = new ArrayList<MediaTypeDescriptor>(1);
+      for (Syntax syntax : syntaxes) {
+        MediaTypeDescriptor descriptor = syntax.findMediaTypeDescriptor(mediaType.getMediaType(), type, mediaType.getQualityOfSource());
+        if (descriptor != null) {
+          descriptors.add(descriptor);
+        }
+      }
+      descriptors = descriptors.isEmpty() ? Collections.<MediaTypeDescriptor>emptyList() : Collections.unmodifiableList(descriptors);
+      descriptorsByMediaType.put(key, descriptors);
+    }
+    return descriptors;
+  }
+
+  private boolean sameSyntaxes(Set<Syntax> syntaxes) {
+    if (syntaxes.size() != this.syntaxes.size()) {
+      return false;
+    }
+
+    Iterator<Syntax> cached = this.syntaxes.iterator();
+    for (Syntax syntax : syntaxes) {
+      if (syntax != cached.next()) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -23,9 +23,7 @@ import com.webcohesion.enunciate.modules.jaxb.EnunciateJaxbContext;
 import com.webcohesion.enunciate.modules.jaxb.model.ImplicitSchemaElement;
 import com.webcohesion.enunciate.modules.jaxb.model.SchemaInfo;
 import com.webcohesion.enunciate.modules.jaxws.model.EndpointInterface;
-import com.webcohesion.enunciate.modules.jaxws.model.WebMessage;
 import com.webcohesion.enunciate.modules.jaxws.model.WebMessagePart;
-import com.webcohesion.enunciate.modules.jaxws.model.WebMethod;
 import com.webcohesion.enunciate.util.OneTimeLogMessage;
 
 import java.util.*;
@@ -85,26 +83,19 @@ public class EnunciateJaxwsContext extends EnunciateModuleContext implements Ser
       wsdlInfo.setTargetNamespace(namespace);
     }
 
-    for (WebMethod webMethod : ei.getWebMethods()) {
-      for (WebMessage webMessage : webMethod.getMessages()) {
-        for (WebMessagePart messagePart : webMessage.getParts()) {
-          if (messagePart.isImplicitSchemaElement()) {
-            ImplicitSchemaElement implicitElement = (ImplicitSchemaElement) messagePart;
-            String particleNamespace = messagePart.getParticleQName().getNamespaceURI();
-            SchemaInfo schemaInfo = this.jaxbContext.getSchemas().get(particleNamespace);
-            if (schemaInfo == null) {
-              schemaInfo = new SchemaInfo(this.jaxbContext);
-              schemaInfo.setId(this.jaxbContext.addNamespace(particleNamespace));
-              schemaInfo.setNamespace(particleNamespace);
-              this.jaxbContext.getSchemas().put(particleNamespace, schemaInfo);
-            }
-            schemaInfo.getImplicitSchemaElements().add(implicitElement);
-          }
-        }
+    for (WebMessagePart messagePart : wsdlInfo.add(ei)) {
+      ImplicitSchemaElement implicitElement = (ImplicitSchemaElement) messagePart;
+      String particleNamespace = messagePart.getParticleQName().getNamespaceURI();
+      SchemaInfo schemaInfo = this.jaxbContext.getSchemas().get(particleNamespace);
+      if (schemaInfo == null) {
+        schemaInfo = new SchemaInfo(this.jaxbContext);
+        schemaInfo.setId(this.jaxbContext.addNamespace(particleNamespace));
+        schemaInfo.setNamespace(particleNamespace);
+        this.jaxbContext.getSchemas().put(particleNamespace, schemaInfo);
       }
+      schemaInfo.getImplicitSchemaElements().add(implicitElement);
     }
 
-    wsdlInfo.getEndpointInterfaces().add(ei);
     this.endpointInterfaces.add(ei);
     debug("Added %s as a JAX-WS endpoint interface.", ei.getQualifiedName());
 
@@ -41,7 +41,7 @@ import java.util.*;
  * @author Ryan Heaton
  */
 @SuppressWarnings ( "unchecked" )
-public class JaxwsModule extends BasicEnunicateModule implements TypeFilteringModule, ApiRegistryProviderModule, ApiFeatureProviderModule, WebInfAwareModule {
+public class JaxwsModule extends BasicEnunicateModule implements TypeFilteringModule, ApiRegistryProviderModule, CompilerModelReleasingModule, ApiFeatureProviderModule, WebInfAwareModule {
 
   private JaxbModule jaxbModule;
   private DataTypeDetectionStrategy defaultDataTypeDetectionStrategy;
@@ -106,6 +106,12 @@ public class JaxwsModule extends BasicEnunicateModule implements TypeFilteringMo
     this.apiRegistry = registry;
   }
 
+  @Override
+  public void releaseCompilerModel() {
+    this.jaxwsContext = null;
+    this.apiRegistry = null;
+  }
+
   @Override
   public void setWebInfDir(File webInfDir) {
     this.webInfDir = webInfDir;
@@ -26,8 +26,10 @@ import com.webcohesion.enunciate.modules.jaxws.api.impl.ServiceImpl;
 import com.webcohesion.enunciate.modules.jaxws.model.EndpointInterface;
 import com.webcohesion.enunciate.modules.jaxws.model.WebFault;
 import com.webcohesion.enunciate.modules.jaxws.model.WebMessage;
+import com.webcohesion.enunciate.modules.jaxws.model.WebMessagePart;
 import com.webcohesion.enunciate.modules.jaxws.model.WebMethod;
 
+import javax.xml.namespace.QName;
 import java.util.*;
 
 /**
@@ -44,6 +46,12 @@ public class WsdlInfo implements ServiceGroup {
   private final Set<EndpointInterface> endpointInterfaces = new TreeSet<EndpointInterface>(new TypeElementComparator());
   private final EnunciateJaxbContext jaxbContext;
   private InterfaceDescriptionFile wsdlFile;
+  private final Map<String, List<WebMessage>> messagesByEndpointInterface = new HashMap<String, List<WebMessage>>();
+  private final Map<QName, WebMessage> messagesByQName = new HashMap<QName, WebMessage>();
+  private final Map<QName, List<WebMessagePart>> partsByParticleQName = new HashMap<QName, List<WebMessagePart>>();
+  private final Map<String, List<WebMessagePart>> implicitPartsByNamespace = new HashMap<String, List<WebMessagePart>>();
+  private final Set<String> endpointInterfaceNamespaces = new HashSet<String>();
+  private List<WebMessage> webMessages = null;
 
   public WsdlInfo(EnunciateJaxbContext jaxbContext) {
     this.jaxbContext = jaxbContext;
@@ -136,23 +144,111 @@ public class WsdlInfo implements ServiceGroup {
     this.inlineSchema = inlineSchema;
   }
 
-  public List<WebMessage> getWebMessages() {
-    ArrayList<WebMessage> messages = new ArrayList<WebMessage>();
-    HashSet<String> foundFaults = new HashSet<String>();
-    for (EndpointInterface ei : getEndpointInterfaces()) {
-      Collection<WebMethod> webMethods = ei.getWebMethods();
-      for (WebMethod method : webMethods) {
-        for (WebMessage webMessage : method.getMessages()) {
-          if (webMessage.isFault() && !foundFaults.add(((WebFault) webMessage).getQualifiedName().toString())) {
-            continue;
-          }
+  /**
+   * Add an endpoint interface to this WSDL, indexing its messages and message parts.
+   *
+   * @param ei The endpoint interface.
+   * @return The message parts of the endpoint interface that define implicit schema elements.
+   */
+  public List<WebMessagePart> add(EndpointInterface ei) {
+    List<WebMessagePart> implicitParts = new ArrayList<WebMessagePart>();
+    String eiName = ei.getQualifiedName().toString();
+    if (!this.endpointInterfaces.add(ei) || this.messagesByEndpointInterface.containsKey(eiName)) {
+      return implicitParts;
+    }
 
-          messages.add(webMessage);
+    List<WebMessage> messages = new ArrayList<WebMessage>();
+    for (WebMethod method : ei.getWebMethods()) {
+      for (WebMessage webMessage : method.getMessages()) {
+        QName messageQName = new QName(getTargetNamespace(), webMessage.getMessageName());
+        if (!this.messagesByQName.containsKey(messageQName)) {
+          this.messagesByQName.put(messageQName, webMessage);
+        }
+        messages.add(webMessage);
+
+        for (WebMessagePart part : webMessage.getParts()) {
+          QName particleQName = part.getParticleQName();
+          index(this.partsByParticleQName, particleQName, part);
+          if (part.isImplicitSchemaElement()) {
+            index(this.implicitPartsByNamespace, particleQName.getNamespaceURI(), part);
+            implicitParts.add(part);
+          }
         }
       }
+    }
 
+    this.messagesByEndpointInterface.put(eiName, messages);
+    this.endpointInterfaceNamespaces.add(ei.getTargetNamespace());
+    this.webMessages = null;
+    return implicitParts;
+  }
+
+  private static <K> void index(Map<K, List<WebMessagePart>> index, K key, WebMessagePart part) {
+    List<WebMessagePart> parts = index.get(key);
+    if (parts == null) {
+      parts = new ArrayList<WebMessagePart>();
+      index.put(key, parts);
     }
-    return messages;
+    parts.add(part);
+  }
+
+  /**
+   * The messages defined by this WSDL, in the order of the endpoint interfaces that define them.
+   *
+   * @return The messages defined by this WSDL.
+   */
+  public List<WebMessage> getWebMessages() {
+    if (this.webMessages == null) {
+      ArrayList<WebMessage> messages = new ArrayList<WebMessage>();
+      HashSet<String> foundFaults = new HashSet<String>();
+      for (EndpointInterface ei : getEndpointInterfaces()) {
+        List<WebMessage> eiMessages = this.messagesByEndpointInterface.get(ei.getQualifiedName().toString());
+        if (eiMessages != null) {
+          for (WebMessage webMessage : eiMessages) {
+            //faults are shared by the operations that throw them; each is defined only once.
+            if (webMessage.isFault() && !foundFaults.add(((WebFault) webMessage).getQualifiedName().toString())) {
+              continue;
+            }
+
+            messages.add(webMessage);
+          }
+        }
+      }
+      this.webMessages = Collections.unmodifiableList(messages);
+    }
+    return this.webMessages;
+  }
+
+  /**
+   * Look up a message of this WSDL by its qualified name.
+   *
+   * @param messageQName The qualified name of the message.
+   * @return The message, or null if none.
+   */
+  public WebMessage findWebMessage(QName messageQName) {
+    return this.messagesByQName.get(messageQName);
+  }
+
+  /**
+   * The message parts of this WSDL that refer to the specified schema particle.
+   *
+   * @param particleQName The qualified name of the particle (element or type).
+   * @return The message parts.
+   */
+  public List<WebMessagePart> findMessageParts(QName particleQName) {
+    List<WebMessagePart> parts = this.partsByParticleQName.get(particleQName);
+    return parts == null ? Collections.<WebMessagePart>emptyList() : Collections.unmodifiableList(parts);
+  }
+
+  /**
+   * The message parts of this WSDL that define implicit schema elements in the specified namespace.
+   *
+   * @param namespace The namespace.
+   * @return The message parts.
+   */
+  public List<WebMessagePart> findImplicitMessageParts(String namespace) {
+    List<WebMessagePart> parts = this.implicitPartsByNamespace.get(namespace);
+    return parts == null ? Collections.<WebMessagePart>emptyList() : Collections.unmodifiableList(parts);
   }
 
   /**
@@ -185,9 +281,8 @@ public class WsdlInfo implements ServiceGroup {
     importedNamespaces.add("http://schemas.xmlsoap.org/soap/encoding/");
     importedNamespaces.add("http://www.w3.org/2001/XMLSchema");
 
-    for (EndpointInterface endpointInterface : endpointInterfaces) {
-      importedNamespaces.addAll(endpointInterface.getReferencedNamespaces());
-    }
+    importedNamespaces.addAll(this.endpointInterfaceNamespaces);
+    importedNamespaces.addAll(this.implicitPartsByNamespace.keySet());
 
     if (isInlineSchema()) {
       SchemaInfo associatedSchema = getAssociatedSchema();
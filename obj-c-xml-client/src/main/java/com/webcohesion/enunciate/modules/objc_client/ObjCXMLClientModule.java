@@ -140,6 +140,10 @@ public class ObjCXMLClientModule extends BasicGeneratingModule implements ApiFea
       throw new EnunciateException("JAXB naming conflicts detected.");
     }
 
+    for (String typeNamingConflict : JAXBCodeErrors.findConflictingTypeNamingErrors(this.jaxbModule.getJaxbContext())) {
+      warn(typeNamingConflict);
+    }
+
     EnunciateJaxbContext jaxbContext = this.jaxbModule.getJaxbContext();
 
     Map<String, String> packageIdentifiers = getPackageIdentifiers();
@@ -132,6 +132,10 @@ public class PHPXMLClientModule extends BasicGeneratingModule implements ApiFeat
       throw new EnunciateException("JAXB naming conflicts detected.");
     }
 
+    for (String typeNamingConflict : JAXBCodeErrors.findConflictingTypeNamingErrors(this.jaxbModule.getJaxbContext())) {
+      warn(typeNamingConflict);
+    }
+
     Map<String, String> packageToNamespaceConversions = getPackageToNamespaceConversions();
     List<TypeDefinition> schemaTypes = new ArrayList<TypeDefinition>();
     ExtensionDepthComparator comparator = new ExtensionDepthComparator();
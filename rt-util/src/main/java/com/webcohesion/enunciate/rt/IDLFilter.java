@@ -17,97 +17,357 @@ package com.webcohesion.enunciate.rt;
 
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
 import javax.xml.stream.*;
 import javax.xml.stream.events.*;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.Writer;
+import java.io.*;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
 
 /**
+ * Serves the IDL files (WSDLs and schemas) of the application, replacing the base address that was assumed when they
+ * were generated with the base address of the request.<br/><br/>
+ *
+ * The IDL files are static resources of the application, so the rewritten documents are cached (by file and base
+ * address) along with a gzipped copy and an entity tag. Requests are answered from the cache, conditional requests
+ * ("If-None-Match") are supported, and the gzipped copy is served to clients that accept it. The number of cached
+ * documents can be set with the "idl-cache-size" init parameter of the filter (0 disables the cache).<br/><br/>
+ *
+ * IDLs that were shipped with a splice index (a file of the same name with a ".splices" suffix, written when the
+ * documentation is assembled into the web application) are rewritten by splicing the base address into the recorded byte ranges as the IDL is streamed, so
+ * no XML parsing is needed. IDLs without a splice index (or with one that doesn't match the IDL) are parsed and
+ * rewritten.
+ *
  * @author Ryan Heaton
  */
 public class IDLFilter implements Filter {
 
+  public static final String CACHE_SIZE_PARAM = "idl-cache-size";
+  public static final int DEFAULT_CACHE_SIZE = 32;
+  public static final String SPLICE_INDEX_SUFFIX = ".splices";
+
   private ServletContext servletContext = null;
   private XMLInputFactory inputFactory;
   private XMLOutputFactory outputFactory;
+  private IDLCache cache;
 
   public void init(FilterConfig filterConfig) throws ServletException {
     this.inputFactory = XMLInputFactory.newInstance();
     this.outputFactory = XMLOutputFactory.newInstance();
 
     this.servletContext = filterConfig.getServletContext();
+
+    int cacheSize = DEFAULT_CACHE_SIZE;
+    String cacheSizeParam = filterConfig.getInitParameter(CACHE_SIZE_PARAM);
+    if (cacheSizeParam != null) {
+      try {
+        cacheSize = Integer.parseInt(cacheSizeParam.trim());
+      }
+      catch (NumberFormatException e) {
+        throw new ServletException("Invalid " + CACHE_SIZE_PARAM + ": " + cacheSizeParam);
+      }
+    }
+    this.cache = new IDLCache(cacheSize);
   }
 
   public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain) throws IOException, ServletException {
     HttpServletRequest request = (HttpServletRequest) servletRequest;
     RequestURIParts parts = parseParts(request);
     if (parts != null) {
-      String realBaseAddress = parts.getBaseAddress();
-      String idlPath = parts.getFilePath();
-      InputStream idl = this.servletContext.getResourceAsStream(idlPath);
+      CachedIDL idl = findIDL(parts);
       if (idl != null) {
-        servletResponse.setContentType("text/xml");
-        String assumedBaseAddress = this.servletContext.getInitParameter("assumed-base-uri");
-        try {
-          XMLEventReader eventReader = this.inputFactory.createXMLEventReader(idl);
-          XMLEventWriter eventWriter = this.outputFactory.createXMLEventWriter(servletResponse.getWriter());
-          while (eventReader.hasNext()) {
-            XMLEvent event = eventReader.nextEvent();
-            if (event.isProcessingInstruction()) {
-              String target = ((ProcessingInstruction) event).getTarget();
-              if ("enunciate-assumed-base-uri".equals(target)) {
-                assumedBaseAddress = ((ProcessingInstruction) event).getData();
-                if (assumedBaseAddress.endsWith("/")) {
-                  assumedBaseAddress = assumedBaseAddress.substring(0, assumedBaseAddress.length() - 1);
-                }
-              }
-              continue;
-            }
-            else if (event.getEventType() == XMLStreamConstants.CDATA || event.getEventType() == XMLStreamConstants.CHARACTERS) {
-              String data = ((Characters) event).getData();
-              if (assumedBaseAddress != null && data.contains(assumedBaseAddress)) {
-                data = data.replace(assumedBaseAddress, realBaseAddress);
-                event = new DelegatingCharacters(((Characters) event), data);
-              }
-            }
-            else if (event.getEventType() == XMLStreamConstants.START_ELEMENT) {
-              List<Attribute> attributes = new ArrayList<Attribute>();
-              Iterator attributesIt = ((StartElement) event).getAttributes();
-              while (attributesIt.hasNext()) {
-                Attribute attribute = (Attribute) attributesIt.next();
-                String value = attribute.getValue();
-                if (assumedBaseAddress != null && value.contains(assumedBaseAddress)) {
-                  value = value.replace(assumedBaseAddress, realBaseAddress);
-                  attribute = new DelegatingAttribute(attribute, value);
-                  event = new DelegatingStartElement(((StartElement) event), attributes);
-                }
-                attributes.add(attribute);
-              }
-            }
+        writeIDL(idl, request, (HttpServletResponse) servletResponse);
+        return;
+      }
+    }
 
-            eventWriter.add(event);
-          }
+    chain.doFilter(servletRequest, servletResponse);
+  }
+
+  /**
+   * Find the IDL for the specified request, rewriting (and caching) it if it isn't cached yet.
+   *
+   * @param parts The parts of the request.
+   * @return The IDL, or null if there's no IDL at the requested path.
+   */
+  protected CachedIDL findIDL(RequestURIParts parts) throws IOException, ServletException {
+    String key = parts.getFilePath() + '\n' + parts.getBaseAddress();
+    CachedIDL idl = this.cache.get(key);
+    if (idl == null) {
+      byte[] content = splice(parts.getFilePath(), parts.getBaseAddress());
+      if (content == null) {
+        InputStream in = this.servletContext.getResourceAsStream(parts.getFilePath());
+        if (in == null) {
+          return null;
+        }
 
-          eventReader.close();
-          eventWriter.flush();
-          eventWriter.close();
-          return;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+          Writer out = new OutputStreamWriter(bytes, "utf-8");
+          rewrite(in, out, parts.getBaseAddress());
+          out.close();
         }
         catch (XMLStreamException e) {
           throw new ServletException(e);
         }
+        finally {
+          in.close();
+        }
+        content = bytes.toByteArray();
       }
+
+      idl = new CachedIDL(content);
+      this.cache.put(key, idl);
+    }
+    return idl;
+  }
+
+  /**
+   * Rewrite an IDL using its splice index, if it has one.
+   *
+   * @param filePath        The path to the IDL.
+   * @param realBaseAddress The real base address.
+   * @return The rewritten IDL, or null if the IDL has no (valid) splice index.
+   */
+  protected byte[] splice(String filePath, String realBaseAddress) throws IOException {
+    InputStream indexStream = this.servletContext.getResourceAsStream(filePath + SPLICE_INDEX_SUFFIX);
+    if (indexStream == null) {
+      return null;
     }
 
-    chain.doFilter(servletRequest, servletResponse);
+    SpliceIndex index;
+    try {
+      index = SpliceIndex.read(indexStream);
+    }
+    finally {
+      indexStream.close();
+    }
+
+    InputStream in = index == null ? null : this.servletContext.getResourceAsStream(filePath);
+    if (in == null) {
+      return null;
+    }
+
+    try {
+      byte[] base = escape(realBaseAddress).getBytes("utf-8");
+      ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(index.size + 1024, Integer.MAX_VALUE));
+      byte[] buffer = new byte[8192];
+      long position = 0;
+      for (long[] splice : index.splices) {
+        long length = splice[0] - position;
+        if (copy(in, out, length, buffer) < length || copy(in, null, splice[1], buffer) < splice[1]) {
+          //the index doesn't match the IDL.
+          return null;
+        }
+
+        if (splice[2] == SpliceIndex.BASE) {
+          out.write(base);
+        }
+        position = splice[0] + splice[1];
+      }
+
+      if (position + copy(in, out, Long.MAX_VALUE, buffer) != index.size) {
+        return null;
+      }
+      return out.toByteArray();
+    }
+    finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Copy (or skip, if there's no output) up to the specified number of bytes.
+   *
+   * @return The number of bytes copied.
+   */
+  private static long copy(InputStream in, OutputStream out, long count, byte[] buffer) throws IOException {
+    long copied = 0;
+    while (copied < count) {
+      int len = in.read(buffer, 0, (int) Math.min(buffer.length, count - copied));
+      if (len < 0) {
+        break;
+      }
+
+      if (out != null) {
+        out.write(buffer, 0, len);
+      }
+      copied += len;
+    }
+    return copied;
+  }
+
+  private static String escape(String value) {
+    StringBuilder escaped = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      switch (ch) {
+        case '&':
+          escaped.append("&amp;");
+          break;
+        case '<':
+          escaped.append("&lt;");
+          break;
+        case '>':
+          escaped.append("&gt;");
+          break;
+        case '"':
+          escaped.append("&quot;");
+          break;
+        case '\'':
+          escaped.append("&apos;");
+          break;
+        default:
+          escaped.append(ch);
+      }
+    }
+    return escaped.toString();
+  }
+
+  /**
+   * Write the IDL to the response, honoring conditional requests and the encodings accepted by the client.
+   *
+   * @param idl      The IDL.
+   * @param request  The request.
+   * @param response The response.
+   */
+  protected void writeIDL(CachedIDL idl, HttpServletRequest request, HttpServletResponse response) throws IOException {
+    boolean gzip = acceptsGzip(request.getHeader("Accept-Encoding"));
+    response.setContentType("text/xml");
+    response.setCharacterEncoding("utf-8");
+    response.setHeader("Vary", "Accept-Encoding");
+    response.setHeader("ETag", gzip ? idl.getGzipEtag() : idl.getEtag());
+
+    String ifNoneMatch = request.getHeader("If-None-Match");
+    if (ifNoneMatch != null && (matches(ifNoneMatch, idl.getEtag()) || matches(ifNoneMatch, idl.getGzipEtag()))) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    if (gzip) {
+      response.setHeader("Content-Encoding", "gzip");
+      response.setContentLength(idl.getGzipped().length);
+      OutputStream out = response.getOutputStream();
+      out.write(idl.getGzipped());
+      out.flush();
+    }
+    else {
+      Writer out = response.getWriter();
+      out.write(new String(idl.getContent(), "utf-8"));
+      out.flush();
+    }
+  }
+
+  /**
+   * Rewrite an IDL, replacing the base address assumed when it was generated with the real base address.
+   *
+   * @param idl              The IDL.
+   * @param out              Where to write the rewritten IDL.
+   * @param realBaseAddress  The real base address.
+   */
+  protected void rewrite(InputStream idl, Writer out, String realBaseAddress) throws XMLStreamException {
+    String assumedBaseAddress = this.servletContext.getInitParameter("assumed-base-uri");
+    XMLEventReader eventReader = this.inputFactory.createXMLEventReader(idl);
+    XMLEventWriter eventWriter = this.outputFactory.createXMLEventWriter(out);
+    while (eventReader.hasNext()) {
+      XMLEvent event = eventReader.nextEvent();
+      if (event.isProcessingInstruction()) {
+        String target = ((ProcessingInstruction) event).getTarget();
+        if ("enunciate-assumed-base-uri".equals(target)) {
+          assumedBaseAddress = ((ProcessingInstruction) event).getData();
+          if (assumedBaseAddress.endsWith("/")) {
+            assumedBaseAddress = assumedBaseAddress.substring(0, assumedBaseAddress.length() - 1);
+          }
+        }
+        continue;
+      }
+      else if (event.getEventType() == XMLStreamConstants.CDATA || event.getEventType() == XMLStreamConstants.CHARACTERS) {
+        String data = ((Characters) event).getData();
+        if (assumedBaseAddress != null && data.contains(assumedBaseAddress)) {
+          data = data.replace(assumedBaseAddress, realBaseAddress);
+          event = new DelegatingCharacters(((Characters) event), data);
+        }
+      }
+      else if (event.getEventType() == XMLStreamConstants.START_ELEMENT) {
+        List<Attribute> attributes = new ArrayList<Attribute>();
+        Iterator attributesIt = ((StartElement) event).getAttributes();
+        while (attributesIt.hasNext()) {
+          Attribute attribute = (Attribute) attributesIt.next();
+          String value = attribute.getValue();
+          if (assumedBaseAddress != null && value.contains(assumedBaseAddress)) {
+            value = value.replace(assumedBaseAddress, realBaseAddress);
+            attribute = new DelegatingAttribute(attribute, value);
+            event = new DelegatingStartElement(((StartElement) event), attributes);
+          }
+          attributes.add(attribute);
+        }
+      }
+
+      eventWriter.add(event);
+    }
+
+    eventReader.close();
+    eventWriter.flush();
+    eventWriter.close();
+  }
+
+  /**
+   * Whether an "If-None-Match" header matches an entity tag.
+   *
+   * @param ifNoneMatch The header.
+   * @param etag        The entity tag.
+   * @return Whether the header matches.
+   */
+  protected boolean matches(String ifNoneMatch, String etag) {
+    for (String candidate : ifNoneMatch.split(",")) {
+      candidate = candidate.trim();
+      if (candidate.startsWith("W/")) {
+        candidate = candidate.substring(2);
+      }
+
+      if ("*".equals(candidate) || etag.equals(candidate)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Whether an "Accept-Encoding" header accepts gzip.
+   *
+   * @param acceptEncoding The header.
+   * @return Whether the header accepts gzip.
+   */
+  protected boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    for (String coding : acceptEncoding.split(",")) {
+      String[] params = coding.split(";");
+      String name = params[0].trim().toLowerCase();
+      if ("gzip".equals(name) || "x-gzip".equals(name)) {
+        for (int i = 1; i < params.length; i++) {
+          String param = params[i].trim();
+          if (param.startsWith("q=")) {
+            try {
+              return Double.parseDouble(param.substring(2).trim()) > 0;
+            }
+            catch (NumberFormatException e) {
+              return false;
+            }
+          }
+        }
+        return true;
+      }
+    }
+    return false;
   }
 
   protected RequestURIParts parseParts(HttpServletRequest request) {
@@ -139,6 +399,144 @@ public class IDLFilter implements Filter {
   public void destroy() {
   }
 
+  /**
+   * A rewritten IDL, along with its gzipped copy and its entity tags.
+   */
+  public static class CachedIDL {
+
+    private final byte[] content;
+    private final byte[] gzipped;
+    private final String etag;
+    private final String gzipEtag;
+
+    public CachedIDL(byte[] content) throws IOException {
+      this.content = content;
+
+      ByteArrayOutputStream gzipped = new ByteArrayOutputStream(content.length / 4 + 64);
+      GZIPOutputStream gzip = new GZIPOutputStream(gzipped);
+      gzip.write(content);
+      gzip.close();
+      this.gzipped = gzipped.toByteArray();
+
+      String hash;
+      try {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-1").digest(content)) {
+          hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        hash = hex.toString();
+      }
+      catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+      this.etag = '"' + hash + '"';
+      this.gzipEtag = '"' + hash + "-gzip\"";
+    }
+
+    public byte[] getContent() {
+      return content;
+    }
+
+    public byte[] getGzipped() {
+      return gzipped;
+    }
+
+    public String getEtag() {
+      return etag;
+    }
+
+    public String getGzipEtag() {
+      return gzipEtag;
+    }
+  }
+
+  /**
+   * The splice index of an IDL: the size of the IDL and the byte ranges (offset, length and kind) to drop or to replace
+   * with the base address, in ascending order.
+   */
+  protected static class SpliceIndex {
+
+    static final long DROP = 0;
+    static final long BASE = 1;
+
+    private final long size;
+    private final List<long[]> splices;
+
+    private SpliceIndex(long size, List<long[]> splices) {
+      this.size = size;
+      this.splices = splices;
+    }
+
+    /**
+     * Read a splice index.
+     *
+     * @param in The index.
+     * @return The splice index, or null if the index is invalid.
+     */
+    static SpliceIndex read(InputStream in) throws IOException {
+      BufferedReader reader = new BufferedReader(new InputStreamReader(in, "utf-8"));
+      long size = -1;
+      long position = 0;
+      List<long[]> splices = new ArrayList<long[]>();
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        if (line.isEmpty() || line.startsWith("#")) {
+          continue;
+        }
+
+        String[] tokens = line.split("\\s+");
+        try {
+          if ("size".equals(tokens[0]) && tokens.length == 2) {
+            size = Long.parseLong(tokens[1]);
+          }
+          else if (("drop".equals(tokens[0]) || "base".equals(tokens[0])) && tokens.length == 3) {
+            long offset = Long.parseLong(tokens[1]);
+            long length = Long.parseLong(tokens[2]);
+            if (offset < position || length < 0) {
+              return null;
+            }
+            splices.add(new long[]{offset, length, "base".equals(tokens[0]) ? BASE : DROP});
+            position = offset + length;
+          }
+          else {
+            return null;
+          }
+        }
+        catch (NumberFormatException e) {
+          return null;
+        }
+      }
+
+      return size < position ? null : new SpliceIndex(size, splices);
+    }
+  }
+
+  /**
+   * A bounded cache of rewritten IDLs that evicts the least recently used entries.
+   */
+  protected static class IDLCache {
+
+    private final Map<String, CachedIDL> entries;
+
+    public IDLCache(final int maxEntries) {
+      this.entries = new LinkedHashMap<String, CachedIDL>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedIDL> eldest) {
+          return size() > maxEntries;
+        }
+      };
+    }
+
+    public synchronized CachedIDL get(String key) {
+      return this.entries.get(key);
+    }
+
+    public synchronized void put(String key, CachedIDL idl) {
+      this.entries.put(key, idl);
+    }
+  }
+
   public static class RequestURIParts {
 
     private final String baseAddress;
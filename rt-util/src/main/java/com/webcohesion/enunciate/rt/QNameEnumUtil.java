@@ -21,17 +21,28 @@ import com.webcohesion.enunciate.metadata.qname.XmlUnknownQNameEnumValue;
 
 import javax.xml.bind.annotation.XmlSchema;
 import javax.xml.namespace.QName;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Utilities for converting a QName to/from an QNameEnum. See <a href="http://docs.codehaus.org/display/ENUNCIATE/QName+Enums">QName Enums</a>.
- * 
+ * Utilities for converting a QName to/from an QNameEnum. See <a href="http://docs.codehaus.org/display/ENUNCIATE/QName+Enums">QName Enums</a>.<br/><br/>
+ *
+ * The QNames of the constants of each enum are read once and cached in both directions, so conversions are constant-time
+ * lookups. Reading the cache takes no lock. The enums are cached by class name, and the enums of the same name from
+ * different class loaders are cached side by side, so they don't evict each other. The cache refers to the enum classes
+ * only weakly and keeps nothing that refers back to them (just the QNames and the names of the constants), so it doesn't
+ * keep the classes from being unloaded.
+ *
  * @author Ryan Heaton
  */
 public class QNameEnumUtil {
@@ -42,7 +53,7 @@ public class QNameEnumUtil {
   private static final AtomicBoolean WRITE_RELATIVE_URIS = new AtomicBoolean(false);
   private static final QName UNKNOWN_QNAME_ENUM = new QName("enunciate:qname-enum", "UNKNOWN");
   private static final QName EXCLUDED_QNAME_ENUM = new QName("enunciate:qname-enum", "EXCLUDED");
-  private static final Map<Class<? extends Enum>, Map<? extends Enum, QName>> QNAME_CACHE = new ConcurrentHashMap<Class<? extends Enum>, Map<? extends Enum, QName>>();
+  private static final ConcurrentHashMap<String, CachedQNameEnum[]> QNAME_CACHE = new ConcurrentHashMap<String, CachedQNameEnum[]>();
 
   /**
    * Set the default base uri for resolving qname URIs.
@@ -98,28 +109,16 @@ public class QNameEnumUtil {
       throw new IllegalArgumentException(String.format("Class %s isn't a QName enum.", clazz.getName()));
     }
 
-    Map<? extends Enum, QName> qNameMap = QNAME_CACHE.get(clazz);
-    if (qNameMap == null) {
-      qNameMap = createQNameMap(clazz);
-      QNAME_CACHE.put(clazz, qNameMap);
-    }
-
-    XmlQNameEnum enumInfo = clazz.getAnnotation(XmlQNameEnum.class);
-    if (enumInfo.base() != XmlQNameEnum.BaseType.QNAME) {
+    CachedQNameEnum qNameEnum = lookup(clazz);
+    if (qNameEnum.base != XmlQNameEnum.BaseType.QNAME) {
       throw new IllegalArgumentException("Class " + clazz.getName() + " is supposed to be converted from a URI (not QName).");
     }
 
-    Q defaultValue = null;
-    for (Map.Entry<? extends Enum, QName> qNameEntry : qNameMap.entrySet()) {
-      if (qNameEntry.getValue().equals(qname)) {
-        return (Q) qNameEntry.getKey();
-      }
-      else if (defaultValue == null && UNKNOWN_QNAME_ENUM.equals(qNameEntry.getValue())) {
-        defaultValue = (Q) qNameEntry.getKey();
-      }
+    String name = qNameEnum.namesByQName.get(qname);
+    if (name == null) {
+      name = qNameEnum.unknownName;
     }
-
-    return defaultValue;
+    return name == null ? null : Enum.valueOf(clazz, name);
   }
 
   /**
@@ -141,18 +140,12 @@ public class QNameEnumUtil {
     }
     Class<Enum> clazz = e.getDeclaringClass();
 
-    Map<? extends Enum, QName> qNameMap = QNAME_CACHE.get(clazz);
-    if (qNameMap == null) {
-      qNameMap = createQNameMap(clazz);
-      QNAME_CACHE.put(clazz, qNameMap);
-    }
-
-    XmlQNameEnum enumInfo = clazz.getAnnotation(XmlQNameEnum.class);
-    if (enumInfo.base() != XmlQNameEnum.BaseType.QNAME) {
+    CachedQNameEnum qNameEnum = lookup(clazz);
+    if (qNameEnum.base != XmlQNameEnum.BaseType.QNAME) {
       throw new IllegalArgumentException("Class " + clazz.getName() + " is supposed to be converted from a URI (not QName).");
     }
 
-    QName result = qNameMap.get(e);
+    QName result = qNameEnum.qNames[e.ordinal()];
     if (result == null) {
       throw new IllegalStateException("Unable to find " + e.getDeclaringClass().getName() + "." + e + " as a QName enum value.");
     }
@@ -203,29 +196,16 @@ public class QNameEnumUtil {
       throw new IllegalArgumentException(String.format("Class %s isn't a QName enum.", clazz.getName()));
     }
 
-    Map<? extends Enum, QName> qNameMap = QNAME_CACHE.get(clazz);
-    if (qNameMap == null) {
-      qNameMap = createQNameMap(clazz);
-      QNAME_CACHE.put(clazz, qNameMap);
-    }
-
-    XmlQNameEnum enumInfo = clazz.getAnnotation(XmlQNameEnum.class);
-    if (enumInfo.base() != XmlQNameEnum.BaseType.URI) {
+    CachedQNameEnum qNameEnum = lookup(clazz);
+    if (qNameEnum.base != XmlQNameEnum.BaseType.URI) {
       throw new IllegalArgumentException("Class " + clazz.getName() + " is supposed to be converted to a QName (not URI).");
     }
 
-    Q defaultValue = null;
-    for (Map.Entry<? extends Enum, QName> qNameEntry : qNameMap.entrySet()) {
-      String uri = qNameEntry.getValue().getNamespaceURI() + qNameEntry.getValue().getLocalPart();
-      if (uri.equals(uriValue)) {
-        return (Q) qNameEntry.getKey();
-      }
-      else if (defaultValue == null && UNKNOWN_QNAME_ENUM.equals(qNameEntry.getValue())) {
-        defaultValue = (Q) qNameEntry.getKey();
-      }
+    String name = qNameEnum.namesByURI.get(uriValue);
+    if (name == null) {
+      name = qNameEnum.unknownName;
     }
-
-    return defaultValue;
+    return name == null ? null : Enum.valueOf(clazz, name);
   }
 
   /**
@@ -261,18 +241,12 @@ public class QNameEnumUtil {
     }
     Class<? extends Enum<?>> clazz = e.getDeclaringClass();
 
-    XmlQNameEnum enumInfo = clazz.getAnnotation(XmlQNameEnum.class);
-    if (enumInfo.base() != XmlQNameEnum.BaseType.URI) {
+    CachedQNameEnum qNameEnum = lookup(clazz);
+    if (qNameEnum.base != XmlQNameEnum.BaseType.URI) {
       throw new IllegalArgumentException("Class " + clazz.getName() + " is supposed to be converted to a QName (not URI).");
     }
 
-    Map<? extends Enum, QName> qNameMap = QNAME_CACHE.get(clazz);
-    if (qNameMap == null) {
-      qNameMap = createQNameMap((Class<? extends Enum>) clazz);
-      QNAME_CACHE.put(clazz, qNameMap);
-    }
-
-    QName result = qNameMap.get(e);
+    QName result = qNameEnum.qNames[e.ordinal()];
     if (result == null) {
       throw new IllegalStateException("Unable to find " + e.getDeclaringClass().getName() + "." + e + " as a QName enum value.");
     }
@@ -290,8 +264,52 @@ public class QNameEnumUtil {
     }
   }
 
-  private static <Q extends Enum<Q>> Map<? extends Enum, QName> createQNameMap(Class<Q> clazz) {
-    EnumMap<Q, QName> enumQNameEnumMap = new EnumMap<Q, QName>(clazz);
+  /**
+   * Look up the cached QNames of the specified enum, reading them if they haven't been cached yet.
+   *
+   * @param clazz The enum class.
+   * @return The cached QNames of the enum.
+   * @throws IllegalArgumentException If <code>clazz</code> isn't a QName enum.
+   */
+  private static CachedQNameEnum lookup(Class<?> clazz) {
+    String name = clazz.getName();
+    CachedQNameEnum[] cached = QNAME_CACHE.get(name);
+    if (cached != null) {
+      for (CachedQNameEnum qNameEnum : cached) {
+        if (qNameEnum.clazz.get() == clazz) {
+          return qNameEnum;
+        }
+      }
+    }
+
+    CachedQNameEnum qNameEnum = new CachedQNameEnum(clazz, createQNameMap((Class) clazz));
+    while (true) {
+      //copy on write, dropping the enums of this name whose classes have been unloaded.
+      CachedQNameEnum[] current = QNAME_CACHE.get(name);
+      List<CachedQNameEnum> updated = new ArrayList<CachedQNameEnum>();
+      updated.add(qNameEnum);
+      if (current != null) {
+        for (CachedQNameEnum other : current) {
+          Class<?> otherClass = other.clazz.get();
+          if (otherClass == clazz) {
+            //cached concurrently.
+            return other;
+          }
+          else if (otherClass != null) {
+            updated.add(other);
+          }
+        }
+      }
+
+      CachedQNameEnum[] replacement = updated.toArray(new CachedQNameEnum[updated.size()]);
+      if (current == null ? QNAME_CACHE.putIfAbsent(name, replacement) == null : QNAME_CACHE.replace(name, current, replacement)) {
+        return qNameEnum;
+      }
+    }
+  }
+
+  private static <Q extends Enum<Q>> Map<Q, QName> createQNameMap(Class<Q> clazz) {
+    Map<Q, QName> enumQNameEnumMap = new EnumMap<Q, QName>(clazz);
 
     XmlQNameEnum enumInfo = clazz.getAnnotation(XmlQNameEnum.class);
     if (enumInfo == null) {
@@ -341,4 +359,51 @@ public class QNameEnumUtil {
     return enumQNameEnumMap;
   }
 
+  /**
+   * The QNames of the constants of an enum, indexed in both directions. Constants are referred to by name (and
+   * resolved with {@link Enum#valueOf(Class, String)}) and the enum class is referred to weakly, so that the cache
+   * doesn't keep the class from being unloaded.
+   */
+  private static final class CachedQNameEnum {
+
+    final WeakReference<Class<?>> clazz;
+    final XmlQNameEnum.BaseType base;
+    final QName[] qNames;
+    final Map<QName, String> namesByQName;
+    final Map<String, String> namesByURI;
+    final String unknownName;
+
+    CachedQNameEnum(Class<?> clazz, Map<? extends Enum, QName> qNameMap) {
+      this.clazz = new WeakReference<Class<?>>(clazz);
+      this.base = clazz.getAnnotation(XmlQNameEnum.class).base();
+      this.qNames = new QName[clazz.getEnumConstants().length];
+
+      Map<QName, String> namesByQName = new HashMap<QName, String>();
+      Map<String, String> namesByURI = new HashMap<String, String>();
+      String unknownName = null;
+      //the map is ordered by constant, so the first constant with a given QName wins.
+      for (Map.Entry<? extends Enum, QName> qNameEntry : qNameMap.entrySet()) {
+        String name = qNameEntry.getKey().name();
+        QName qName = qNameEntry.getValue();
+        this.qNames[qNameEntry.getKey().ordinal()] = qName;
+
+        if (!namesByQName.containsKey(qName)) {
+          namesByQName.put(qName, name);
+        }
+
+        String uri = qName.getNamespaceURI() + qName.getLocalPart();
+        if (!namesByURI.containsKey(uri)) {
+          namesByURI.put(uri, name);
+        }
+
+        if (unknownName == null && UNKNOWN_QNAME_ENUM.equals(qName)) {
+          unknownName = name;
+        }
+      }
+      this.namesByQName = Collections.unmodifiableMap(namesByQName);
+      this.namesByURI = Collections.unmodifiableMap(namesByURI);
+      this.unknownName = unknownName;
+    }
+  }
+
 }
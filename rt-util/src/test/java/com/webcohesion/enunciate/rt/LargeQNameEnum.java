@@ -0,0 +1,1185 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.rt;
+
+import com.webcohesion.enunciate.metadata.qname.XmlQNameEnum;
+import com.webcohesion.enunciate.metadata.qname.XmlQNameEnumValue;
+import com.webcohesion.enunciate.metadata.qname.XmlUnknownQNameEnumValue;
+
+/**
+ * A QName enum with a large number of constants, used to compare the conversions of {@link QNameEnumUtil} with a
+ * linear scan.
+ *
+ * @author Ryan Heaton
+ */
+@XmlQNameEnum
+public enum LargeQNameEnum {
+
+  @XmlQNameEnumValue (localPart = "value-0")
+  value0,
+
+  value1,
+
+  value2,
+
+  value3,
+
+  @XmlQNameEnumValue (localPart = "value-4")
+  value4,
+
+  value5,
+
+  value6,
+
+  value7,
+
+  @XmlQNameEnumValue (localPart = "value-8")
+  value8,
+
+  value9,
+
+  value10,
+
+  value11,
+
+  @XmlQNameEnumValue (localPart = "value-12")
+  value12,
+
+  value13,
+
+  value14,
+
+  value15,
+
+  @XmlQNameEnumValue (localPart = "value-16")
+  value16,
+
+  value17,
+
+  value18,
+
+  value19,
+
+  @XmlQNameEnumValue (localPart = "value-20")
+  value20,
+
+  value21,
+
+  value22,
+
+  value23,
+
+  @XmlQNameEnumValue (localPart = "value-24")
+  value24,
+
+  value25,
+
+  value26,
+
+  value27,
+
+  @XmlQNameEnumValue (localPart = "value-28")
+  value28,
+
+  value29,
+
+  value30,
+
+  value31,
+
+  @XmlQNameEnumValue (localPart = "value-32")
+  value32,
+
+  value33,
+
+  value34,
+
+  value35,
+
+  @XmlQNameEnumValue (localPart = "value-36")
+  value36,
+
+  value37,
+
+  value38,
+
+  value39,
+
+  @XmlQNameEnumValue (localPart = "value-40")
+  value40,
+
+  value41,
+
+  value42,
+
+  value43,
+
+  @XmlQNameEnumValue (localPart = "value-44")
+  value44,
+
+  value45,
+
+  value46,
+
+  value47,
+
+  @XmlQNameEnumValue (localPart = "value-48")
+  value48,
+
+  value49,
+
+  value50,
+
+  value51,
+
+  @XmlQNameEnumValue (localPart = "value-52")
+  value52,
+
+  value53,
+
+  value54,
+
+  value55,
+
+  @XmlQNameEnumValue (localPart = "value-56")
+  value56,
+
+  value57,
+
+  value58,
+
+  value59,
+
+  @XmlQNameEnumValue (localPart = "value-60")
+  value60,
+
+  value61,
+
+  value62,
+
+  value63,
+
+  @XmlQNameEnumValue (localPart = "value-64")
+  value64,
+
+  value65,
+
+  value66,
+
+  value67,
+
+  @XmlQNameEnumValue (localPart = "value-68")
+  value68,
+
+  value69,
+
+  value70,
+
+  value71,
+
+  @XmlQNameEnumValue (localPart = "value-72")
+  value72,
+
+  value73,
+
+  value74,
+
+  value75,
+
+  @XmlQNameEnumValue (localPart = "value-76")
+  value76,
+
+  value77,
+
+  value78,
+
+  value79,
+
+  @XmlQNameEnumValue (localPart = "value-80")
+  value80,
+
+  value81,
+
+  value82,
+
+  value83,
+
+  @XmlQNameEnumValue (localPart = "value-84")
+  value84,
+
+  value85,
+
+  value86,
+
+  value87,
+
+  @XmlQNameEnumValue (localPart = "value-88")
+  value88,
+
+  value89,
+
+  value90,
+
+  value91,
+
+  @XmlQNameEnumValue (localPart = "value-92")
+  value92,
+
+  value93,
+
+  value94,
+
+  value95,
+
+  @XmlQNameEnumValue (localPart = "value-96")
+  value96,
+
+  value97,
+
+  value98,
+
+  value99,
+
+  @XmlQNameEnumValue (localPart = "value-100")
+  value100,
+
+  value101,
+
+  value102,
+
+  value103,
+
+  @XmlQNameEnumValue (localPart = "value-104")
+  value104,
+
+  value105,
+
+  value106,
+
+  value107,
+
+  @XmlQNameEnumValue (localPart = "value-108")
+  value108,
+
+  value109,
+
+  value110,
+
+  value111,
+
+  @XmlQNameEnumValue (localPart = "value-112")
+  value112,
+
+  value113,
+
+  value114,
+
+  value115,
+
+  @XmlQNameEnumValue (localPart = "value-116")
+  value116,
+
+  value117,
+
+  value118,
+
+  value119,
+
+  @XmlQNameEnumValue (localPart = "value-120")
+  value120,
+
+  value121,
+
+  value122,
+
+  value123,
+
+  @XmlQNameEnumValue (localPart = "value-124")
+  value124,
+
+  value125,
+
+  value126,
+
+  value127,
+
+  @XmlQNameEnumValue (localPart = "value-128")
+  value128,
+
+  value129,
+
+  value130,
+
+  value131,
+
+  @XmlQNameEnumValue (localPart = "value-132")
+  value132,
+
+  value133,
+
+  value134,
+
+  value135,
+
+  @XmlQNameEnumValue (localPart = "value-136")
+  value136,
+
+  value137,
+
+  value138,
+
+  value139,
+
+  @XmlQNameEnumValue (localPart = "value-140")
+  value140,
+
+  value141,
+
+  value142,
+
+  value143,
+
+  @XmlQNameEnumValue (localPart = "value-144")
+  value144,
+
+  value145,
+
+  value146,
+
+  value147,
+
+  @XmlQNameEnumValue (localPart = "value-148")
+  value148,
+
+  value149,
+
+  value150,
+
+  value151,
+
+  @XmlQNameEnumValue (localPart = "value-152")
+  value152,
+
+  value153,
+
+  value154,
+
+  value155,
+
+  @XmlQNameEnumValue (localPart = "value-156")
+  value156,
+
+  value157,
+
+  value158,
+
+  value159,
+
+  @XmlQNameEnumValue (localPart = "value-160")
+  value160,
+
+  value161,
+
+  value162,
+
+  value163,
+
+  @XmlQNameEnumValue (localPart = "value-164")
+  value164,
+
+  value165,
+
+  value166,
+
+  value167,
+
+  @XmlQNameEnumValue (localPart = "value-168")
+  value168,
+
+  value169,
+
+  value170,
+
+  value171,
+
+  @XmlQNameEnumValue (localPart = "value-172")
+  value172,
+
+  value173,
+
+  value174,
+
+  value175,
+
+  @XmlQNameEnumValue (localPart = "value-176")
+  value176,
+
+  value177,
+
+  value178,
+
+  value179,
+
+  @XmlQNameEnumValue (localPart = "value-180")
+  value180,
+
+  value181,
+
+  value182,
+
+  value183,
+
+  @XmlQNameEnumValue (localPart = "value-184")
+  value184,
+
+  value185,
+
+  value186,
+
+  value187,
+
+  @XmlQNameEnumValue (localPart = "value-188")
+  value188,
+
+  value189,
+
+  value190,
+
+  value191,
+
+  @XmlQNameEnumValue (localPart = "value-192")
+  value192,
+
+  value193,
+
+  value194,
+
+  value195,
+
+  @XmlQNameEnumValue (localPart = "value-196")
+  value196,
+
+  value197,
+
+  value198,
+
+  value199,
+
+  @XmlQNameEnumValue (localPart = "value-200")
+  value200,
+
+  value201,
+
+  value202,
+
+  value203,
+
+  @XmlQNameEnumValue (localPart = "value-204")
+  value204,
+
+  value205,
+
+  value206,
+
+  value207,
+
+  @XmlQNameEnumValue (localPart = "value-208")
+  value208,
+
+  value209,
+
+  value210,
+
+  value211,
+
+  @XmlQNameEnumValue (localPart = "value-212")
+  value212,
+
+  value213,
+
+  value214,
+
+  value215,
+
+  @XmlQNameEnumValue (localPart = "value-216")
+  value216,
+
+  value217,
+
+  value218,
+
+  value219,
+
+  @XmlQNameEnumValue (localPart = "value-220")
+  value220,
+
+  value221,
+
+  value222,
+
+  value223,
+
+  @XmlQNameEnumValue (localPart = "value-224")
+  value224,
+
+  value225,
+
+  value226,
+
+  value227,
+
+  @XmlQNameEnumValue (localPart = "value-228")
+  value228,
+
+  value229,
+
+  value230,
+
+  value231,
+
+  @XmlQNameEnumValue (localPart = "value-232")
+  value232,
+
+  value233,
+
+  value234,
+
+  value235,
+
+  @XmlQNameEnumValue (localPart = "value-236")
+  value236,
+
+  value237,
+
+  value238,
+
+  value239,
+
+  @XmlQNameEnumValue (localPart = "value-240")
+  value240,
+
+  value241,
+
+  value242,
+
+  value243,
+
+  @XmlQNameEnumValue (localPart = "value-244")
+  value244,
+
+  value245,
+
+  value246,
+
+  value247,
+
+  @XmlQNameEnumValue (localPart = "value-248")
+  value248,
+
+  value249,
+
+  value250,
+
+  value251,
+
+  @XmlQNameEnumValue (localPart = "value-252")
+  value252,
+
+  value253,
+
+  value254,
+
+  value255,
+
+  @XmlQNameEnumValue (localPart = "value-256")
+  value256,
+
+  value257,
+
+  value258,
+
+  value259,
+
+  @XmlQNameEnumValue (localPart = "value-260")
+  value260,
+
+  value261,
+
+  value262,
+
+  value263,
+
+  @XmlQNameEnumValue (localPart = "value-264")
+  value264,
+
+  value265,
+
+  value266,
+
+  value267,
+
+  @XmlQNameEnumValue (localPart = "value-268")
+  value268,
+
+  value269,
+
+  value270,
+
+  value271,
+
+  @XmlQNameEnumValue (localPart = "value-272")
+  value272,
+
+  value273,
+
+  value274,
+
+  value275,
+
+  @XmlQNameEnumValue (localPart = "value-276")
+  value276,
+
+  value277,
+
+  value278,
+
+  value279,
+
+  @XmlQNameEnumValue (localPart = "value-280")
+  value280,
+
+  value281,
+
+  value282,
+
+  value283,
+
+  @XmlQNameEnumValue (localPart = "value-284")
+  value284,
+
+  value285,
+
+  value286,
+
+  value287,
+
+  @XmlQNameEnumValue (localPart = "value-288")
+  value288,
+
+  value289,
+
+  value290,
+
+  value291,
+
+  @XmlQNameEnumValue (localPart = "value-292")
+  value292,
+
+  value293,
+
+  value294,
+
+  value295,
+
+  @XmlQNameEnumValue (localPart = "value-296")
+  value296,
+
+  value297,
+
+  value298,
+
+  value299,
+
+  @XmlQNameEnumValue (localPart = "value-300")
+  value300,
+
+  value301,
+
+  value302,
+
+  value303,
+
+  @XmlQNameEnumValue (localPart = "value-304")
+  value304,
+
+  value305,
+
+  value306,
+
+  value307,
+
+  @XmlQNameEnumValue (localPart = "value-308")
+  value308,
+
+  value309,
+
+  value310,
+
+  value311,
+
+  @XmlQNameEnumValue (localPart = "value-312")
+  value312,
+
+  value313,
+
+  value314,
+
+  value315,
+
+  @XmlQNameEnumValue (localPart = "value-316")
+  value316,
+
+  value317,
+
+  value318,
+
+  value319,
+
+  @XmlQNameEnumValue (localPart = "value-320")
+  value320,
+
+  value321,
+
+  value322,
+
+  value323,
+
+  @XmlQNameEnumValue (localPart = "value-324")
+  value324,
+
+  value325,
+
+  value326,
+
+  value327,
+
+  @XmlQNameEnumValue (localPart = "value-328")
+  value328,
+
+  value329,
+
+  value330,
+
+  value331,
+
+  @XmlQNameEnumValue (localPart = "value-332")
+  value332,
+
+  value333,
+
+  value334,
+
+  value335,
+
+  @XmlQNameEnumValue (localPart = "value-336")
+  value336,
+
+  value337,
+
+  value338,
+
+  value339,
+
+  @XmlQNameEnumValue (localPart = "value-340")
+  value340,
+
+  value341,
+
+  value342,
+
+  value343,
+
+  @XmlQNameEnumValue (localPart = "value-344")
+  value344,
+
+  value345,
+
+  value346,
+
+  value347,
+
+  @XmlQNameEnumValue (localPart = "value-348")
+  value348,
+
+  value349,
+
+  value350,
+
+  value351,
+
+  @XmlQNameEnumValue (localPart = "value-352")
+  value352,
+
+  value353,
+
+  value354,
+
+  value355,
+
+  @XmlQNameEnumValue (localPart = "value-356")
+  value356,
+
+  value357,
+
+  value358,
+
+  value359,
+
+  @XmlQNameEnumValue (localPart = "value-360")
+  value360,
+
+  value361,
+
+  value362,
+
+  value363,
+
+  @XmlQNameEnumValue (localPart = "value-364")
+  value364,
+
+  value365,
+
+  value366,
+
+  value367,
+
+  @XmlQNameEnumValue (localPart = "value-368")
+  value368,
+
+  value369,
+
+  value370,
+
+  value371,
+
+  @XmlQNameEnumValue (localPart = "value-372")
+  value372,
+
+  value373,
+
+  value374,
+
+  value375,
+
+  @XmlQNameEnumValue (localPart = "value-376")
+  value376,
+
+  value377,
+
+  value378,
+
+  value379,
+
+  @XmlQNameEnumValue (localPart = "value-380")
+  value380,
+
+  value381,
+
+  value382,
+
+  value383,
+
+  @XmlQNameEnumValue (localPart = "value-384")
+  value384,
+
+  value385,
+
+  value386,
+
+  value387,
+
+  @XmlQNameEnumValue (localPart = "value-388")
+  value388,
+
+  value389,
+
+  value390,
+
+  value391,
+
+  @XmlQNameEnumValue (localPart = "value-392")
+  value392,
+
+  value393,
+
+  value394,
+
+  value395,
+
+  @XmlQNameEnumValue (localPart = "value-396")
+  value396,
+
+  value397,
+
+  value398,
+
+  value399,
+
+  @XmlQNameEnumValue (localPart = "value-400")
+  value400,
+
+  value401,
+
+  value402,
+
+  value403,
+
+  @XmlQNameEnumValue (localPart = "value-404")
+  value404,
+
+  value405,
+
+  value406,
+
+  value407,
+
+  @XmlQNameEnumValue (localPart = "value-408")
+  value408,
+
+  value409,
+
+  value410,
+
+  value411,
+
+  @XmlQNameEnumValue (localPart = "value-412")
+  value412,
+
+  value413,
+
+  value414,
+
+  value415,
+
+  @XmlQNameEnumValue (localPart = "value-416")
+  value416,
+
+  value417,
+
+  value418,
+
+  value419,
+
+  @XmlQNameEnumValue (localPart = "value-420")
+  value420,
+
+  value421,
+
+  value422,
+
+  value423,
+
+  @XmlQNameEnumValue (localPart = "value-424")
+  value424,
+
+  value425,
+
+  value426,
+
+  value427,
+
+  @XmlQNameEnumValue (localPart = "value-428")
+  value428,
+
+  value429,
+
+  value430,
+
+  value431,
+
+  @XmlQNameEnumValue (localPart = "value-432")
+  value432,
+
+  value433,
+
+  value434,
+
+  value435,
+
+  @XmlQNameEnumValue (localPart = "value-436")
+  value436,
+
+  value437,
+
+  value438,
+
+  value439,
+
+  @XmlQNameEnumValue (localPart = "value-440")
+  value440,
+
+  value441,
+
+  value442,
+
+  value443,
+
+  @XmlQNameEnumValue (localPart = "value-444")
+  value444,
+
+  value445,
+
+  value446,
+
+  value447,
+
+  @XmlQNameEnumValue (localPart = "value-448")
+  value448,
+
+  value449,
+
+  value450,
+
+  value451,
+
+  @XmlQNameEnumValue (localPart = "value-452")
+  value452,
+
+  value453,
+
+  value454,
+
+  value455,
+
+  @XmlQNameEnumValue (localPart = "value-456")
+  value456,
+
+  value457,
+
+  value458,
+
+  value459,
+
+  @XmlQNameEnumValue (localPart = "value-460")
+  value460,
+
+  value461,
+
+  value462,
+
+  value463,
+
+  @XmlQNameEnumValue (localPart = "value-464")
+  value464,
+
+  value465,
+
+  value466,
+
+  value467,
+
+  @XmlQNameEnumValue (localPart = "value-468")
+  value468,
+
+  value469,
+
+  value470,
+
+  value471,
+
+  @XmlQNameEnumValue (localPart = "value-472")
+  value472,
+
+  value473,
+
+  value474,
+
+  value475,
+
+  @XmlQNameEnumValue (localPart = "value-476")
+  value476,
+
+  value477,
+
+  value478,
+
+  value479,
+
+  @XmlQNameEnumValue (localPart = "value-480")
+  value480,
+
+  value481,
+
+  value482,
+
+  value483,
+
+  @XmlQNameEnumValue (localPart = "value-484")
+  value484,
+
+  value485,
+
+  value486,
+
+  value487,
+
+  @XmlQNameEnumValue (localPart = "value-488")
+  value488,
+
+  value489,
+
+  value490,
+
+  value491,
+
+  @XmlQNameEnumValue (localPart = "value-492")
+  value492,
+
+  value493,
+
+  value494,
+
+  value495,
+
+  @XmlQNameEnumValue (localPart = "value-496")
+  value496,
+
+  value497,
+
+  value498,
+
+  value499,
+
+  @XmlQNameEnumValue (localPart = "value-500")
+  value500,
+
+  value501,
+
+  value502,
+
+  value503,
+
+  @XmlQNameEnumValue (localPart = "value-504")
+  value504,
+
+  value505,
+
+  value506,
+
+  value507,
+
+  @XmlQNameEnumValue (localPart = "value-508")
+  value508,
+
+  value509,
+
+  value510,
+
+  value511,
+
+  @XmlUnknownQNameEnumValue
+  unknown
+}
@@ -20,13 +20,13 @@ import junit.framework.TestCase;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
 import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.*;
+import java.util.zip.GZIPInputStream;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.reset;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Ryan Heaton
@@ -69,4 +69,102 @@ public class TestIDLFilter extends TestCase {
     assertFalse(actual.contains("http://localhost:8080/base"));
   }
 
+  /**
+   * tests that rewritten IDLs are cached, gzipped and served conditionally.
+   */
+  public void testCachingAndConditionalRequests() throws Exception {
+    ServletContext context = mock(ServletContext.class);
+    FilterConfig filterConfig = mock(FilterConfig.class);
+    when(filterConfig.getServletContext()).thenReturn(context);
+    when(context.getResourceAsStream("/something/test.wsdl")).thenReturn(getClass().getResourceAsStream("test.wsdl"));
+    FilterChain chain = mock(FilterChain.class);
+    IDLFilter filter = new IDLFilter();
+    filter.init(filterConfig);
+
+    HttpServletRequest req = mock(HttpServletRequest.class);
+    when(req.getRequestURL()).thenReturn(new StringBuffer("http://myhost.com/mycontext/something/test.wsdl"));
+    when(req.getContextPath()).thenReturn("/mycontext");
+    HttpServletResponse res = mock(HttpServletResponse.class);
+    StringWriter writer = new StringWriter();
+    when(res.getWriter()).thenReturn(new PrintWriter(writer));
+    filter.doFilter(req, res, chain);
+    String plain = writer.toString();
+    assertTrue(plain.contains("http://myhost.com/mycontext"));
+    IDLFilter.CachedIDL idl = filter.findIDL(filter.parseParts(req));
+    verify(res).setHeader("ETag", idl.getEtag());
+
+    //the second request is answered from the cache, gzipped.
+    when(req.getHeader("Accept-Encoding")).thenReturn("deflate, gzip;q=0.8");
+    res = mock(HttpServletResponse.class);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    when(res.getOutputStream()).thenReturn(new ServletOutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        bytes.write(b);
+      }
+    });
+    filter.doFilter(req, res, chain);
+    verify(res).setHeader("Content-Encoding", "gzip");
+    verify(res).setHeader("ETag", idl.getGzipEtag());
+    InputStream gunzipped = new GZIPInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    int b;
+    while ((b = gunzipped.read()) >= 0) {
+      content.write(b);
+    }
+    assertEquals(plain, new String(content.toByteArray(), "utf-8"));
+    verify(context, times(1)).getResourceAsStream("/something/test.wsdl");
+
+    //a conditional request for an unchanged IDL is answered with "304 Not Modified".
+    when(req.getHeader("If-None-Match")).thenReturn(idl.getGzipEtag());
+    res = mock(HttpServletResponse.class);
+    filter.doFilter(req, res, chain);
+    verify(res).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+    verify(res, never()).getOutputStream();
+    verify(res, never()).getWriter();
+    verify(chain, never()).doFilter(req, res);
+  }
+
+  /**
+   * tests that IDLs with a splice index are rewritten by splicing in the base address.
+   */
+  public void testSplicing() throws Exception {
+    ByteArrayOutputStream wsdl = new ByteArrayOutputStream();
+    InputStream in = getClass().getResourceAsStream("test.wsdl");
+    int b;
+    while ((b = in.read()) >= 0) {
+      wsdl.write(b);
+    }
+    in.close();
+
+    //one char per byte, so that string indexes are byte offsets.
+    String bytes = new String(wsdl.toByteArray(), "iso-8859-1");
+    String instruction = "<?enunciate-assumed-base-uri http://localhost:8080/base?>";
+    String assumedBase = "http://localhost:8080/base";
+    StringBuilder index = new StringBuilder("# splice points\nsize ").append(bytes.length()).append('\n');
+    int offset = bytes.indexOf(instruction);
+    index.append("drop ").append(offset).append(' ').append(instruction.length()).append('\n');
+    while ((offset = bytes.indexOf(assumedBase, offset + 1)) >= 0) {
+      index.append("base ").append(offset).append(' ').append(assumedBase.length()).append('\n');
+    }
+
+    ServletContext context = mock(ServletContext.class);
+    FilterConfig filterConfig = mock(FilterConfig.class);
+    when(filterConfig.getServletContext()).thenReturn(context);
+    when(context.getResourceAsStream("/something/test.wsdl")).thenReturn(new ByteArrayInputStream(wsdl.toByteArray()));
+    when(context.getResourceAsStream("/something/test.wsdl.splices")).thenReturn(new ByteArrayInputStream(index.toString().getBytes("utf-8")));
+    HttpServletRequest req = mock(HttpServletRequest.class);
+    when(req.getRequestURL()).thenReturn(new StringBuffer("http://myhost.com/mycontext/something/test.wsdl"));
+    when(req.getContextPath()).thenReturn("/mycontext");
+    HttpServletResponse res = mock(HttpServletResponse.class);
+    StringWriter writer = new StringWriter();
+    when(res.getWriter()).thenReturn(new PrintWriter(writer));
+    IDLFilter filter = new IDLFilter();
+    filter.init(filterConfig);
+    filter.doFilter(req, res, mock(FilterChain.class));
+
+    String expected = new String(wsdl.toByteArray(), "utf-8").replace(instruction, "").replace(assumedBase, "http://myhost.com/mycontext");
+    assertEquals(expected, writer.toString());
+  }
+
 }
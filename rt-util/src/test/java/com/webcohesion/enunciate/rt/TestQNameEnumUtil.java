@@ -20,6 +20,8 @@ import junit.framework.TestCase;
 import javax.xml.namespace.QName;
 import java.lang.annotation.RetentionPolicy;
 import java.net.URI;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * @author Ryan Heaton
@@ -103,4 +105,66 @@ public class TestQNameEnumUtil extends TestCase {
     catch (IllegalArgumentException e) {}
   }
 
+  /**
+   * tests converting all the constants of a large qname enum.
+   */
+  public void testLargeEnum() throws Exception {
+    for (LargeQNameEnum e : LargeQNameEnum.values()) {
+      if (e != LargeQNameEnum.unknown) {
+        assertEquals(e, QNameEnumUtil.fromQName(QNameEnumUtil.toQName(e), LargeQNameEnum.class));
+      }
+    }
+    assertEquals(new QName("urn:enunciate", "value-4"), QNameEnumUtil.toQName(LargeQNameEnum.value4));
+    assertEquals(new QName("urn:enunciate", "value5"), QNameEnumUtil.toQName(LargeQNameEnum.value5));
+    assertEquals(LargeQNameEnum.unknown, QNameEnumUtil.fromQName(new QName("urn:enunciate", "value4"), LargeQNameEnum.class));
+  }
+
+  /**
+   * compares the conversions of a large enum with a linear scan of its QNames (the way the conversions used to be done).
+   */
+  public void testLargeEnumBenchmark() throws Exception {
+    Map<LargeQNameEnum, QName> qNames = new EnumMap<LargeQNameEnum, QName>(LargeQNameEnum.class);
+    for (LargeQNameEnum e : LargeQNameEnum.values()) {
+      if (e != LargeQNameEnum.unknown) {
+        qNames.put(e, QNameEnumUtil.toQName(e));
+      }
+    }
+
+    int iterations = 20;
+    //warm up.
+    scan(qNames, iterations);
+    lookup(qNames, iterations);
+
+    long linear = scan(qNames, iterations);
+    long cached = lookup(qNames, iterations);
+    assertTrue(String.format("QNameEnumUtil (%d ns) should outperform a linear scan (%d ns) of a large enum.", cached, linear), cached < linear);
+  }
+
+  private static long scan(Map<LargeQNameEnum, QName> qNames, int iterations) {
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      for (QName qName : qNames.values()) {
+        LargeQNameEnum found = LargeQNameEnum.unknown;
+        for (Map.Entry<LargeQNameEnum, QName> entry : qNames.entrySet()) {
+          if (entry.getValue().equals(qName)) {
+            found = entry.getKey();
+            break;
+          }
+        }
+        assertNotSame(LargeQNameEnum.unknown, found);
+      }
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static long lookup(Map<LargeQNameEnum, QName> qNames, int iterations) {
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      for (QName qName : qNames.values()) {
+        assertNotSame(LargeQNameEnum.unknown, QNameEnumUtil.fromQName(qName, LargeQNameEnum.class));
+      }
+    }
+    return System.nanoTime() - start;
+  }
+
 }
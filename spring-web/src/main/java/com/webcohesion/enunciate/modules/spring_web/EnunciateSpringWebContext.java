@@ -17,6 +17,7 @@ package com.webcohesion.enunciate.modules.spring_web;
 
 import com.webcohesion.enunciate.EnunciateContext;
 import com.webcohesion.enunciate.api.InterfaceDescriptionFile;
+import com.webcohesion.enunciate.api.resources.Method;
 import com.webcohesion.enunciate.api.resources.Resource;
 import com.webcohesion.enunciate.api.resources.ResourceApi;
 import com.webcohesion.enunciate.api.resources.ResourceGroup;
@@ -27,12 +28,15 @@ import com.webcohesion.enunciate.modules.spring_web.api.impl.AnnotationBasedReso
 import com.webcohesion.enunciate.modules.spring_web.api.impl.PathBasedResourceGroupImpl;
 import com.webcohesion.enunciate.modules.spring_web.api.impl.ResourceClassResourceGroupImpl;
 import com.webcohesion.enunciate.modules.spring_web.api.impl.ResourceImpl;
+import com.webcohesion.enunciate.modules.spring_web.model.ControllerAdviceIndex;
 import com.webcohesion.enunciate.modules.spring_web.model.RequestMapping;
 import com.webcohesion.enunciate.modules.spring_web.model.SpringController;
 import com.webcohesion.enunciate.modules.spring_web.model.SpringControllerAdvice;
 import com.webcohesion.enunciate.util.PathSortStrategy;
 import com.webcohesion.enunciate.util.ResourceComparator;
 import com.webcohesion.enunciate.util.ResourceGroupComparator;
+import com.webcohesion.enunciate.util.ResourceMethodIndex;
+import com.webcohesion.enunciate.util.ResourcePathTrie;
 import com.webcohesion.enunciate.util.SortedList;
 
 import java.util.*;
@@ -51,9 +55,14 @@ public class EnunciateSpringWebContext extends EnunciateModuleContext implements
 
   private final Set<SpringController> controllers;
   private final Set<SpringControllerAdvice> advice;
+  private ControllerAdviceIndex adviceIndex = null;
   private String relativeContextPath = "";
   private GroupingStrategy groupingStrategy = GroupingStrategy.resource_class;
   private InterfaceDescriptionFile wadlFile = null;
+  private ResourceMethodIndex methodIndex = null;
+  private ResourcePathTrie<RequestMapping> pathTrie = null;
+  private final Map<GroupingStrategy, List<ResourceGroup>> groupedResources = new EnumMap<GroupingStrategy, List<ResourceGroup>>(GroupingStrategy.class);
+  private final Map<GroupingStrategy, List<ResourceGroup>> resourceGroups = new EnumMap<GroupingStrategy, List<ResourceGroup>>(GroupingStrategy.class);
   private PathSortStrategy pathSortStrategy = PathSortStrategy.breadth_first;
 
   public EnunciateSpringWebContext(EnunciateContext context) {
@@ -74,13 +83,28 @@ public class EnunciateSpringWebContext extends EnunciateModuleContext implements
     return advice;
   }
 
+  /**
+   * Find the advice that applies to the specified request mapping.
+   *
+   * @param requestMapping The request mapping.
+   * @return The applicable advice.
+   */
+  public List<SpringControllerAdvice> findAdvice(RequestMapping requestMapping) {
+    if (this.adviceIndex == null) {
+      this.adviceIndex = new ControllerAdviceIndex(this.advice);
+    }
+    return this.adviceIndex.findAdvice(requestMapping);
+  }
+
   public void add(SpringController controller) {
     this.controllers.add(controller);
+    clearResourceGroups();
     debug("Added %s as a Spring controller.", controller.getQualifiedName());
   }
 
   public void add(SpringControllerAdvice advice) {
     this.advice.add(advice);
+    this.adviceIndex = null;
     debug("Added %s as Spring controller advice.", advice.getQualifiedName());
   }
 
@@ -91,10 +115,12 @@ public class EnunciateSpringWebContext extends EnunciateModuleContext implements
 
   public void setRelativeContextPath(String relativeContextPath) {
     this.relativeContextPath = relativeContextPath;
+    clearResourceGroups();
   }
 
   public void setGroupingStrategy(GroupingStrategy groupingStrategy) {
     this.groupingStrategy = groupingStrategy;
+    this.methodIndex = null;
   }
 
   public PathSortStrategy getPathSortStrategy() {
@@ -103,6 +129,7 @@ public class EnunciateSpringWebContext extends EnunciateModuleContext implements
 
   public void setPathSortStrategy(PathSortStrategy pathSortStrategy) {
     this.pathSortStrategy = pathSortStrategy;
+    clearResourceGroups();
   }
 
   @Override
@@ -116,28 +143,72 @@ public class EnunciateSpringWebContext extends EnunciateModuleContext implements
 
   @Override
   public List<ResourceGroup> getResourceGroups() {
-    List<ResourceGroup> resourceGroups;
-    if (this.groupingStrategy == GroupingStrategy.path) {
-      //group resources by path.
-      resourceGroups = getResourceGroupsByPath();
-    }
-    else if (this.groupingStrategy == GroupingStrategy.annotation) {
-      resourceGroups = getResourceGroupsByAnnotation();
-    }
-    else {
-      resourceGroups = getResourceGroupsByClass();
+    List<ResourceGroup> resourceGroups = this.resourceGroups.get(this.groupingStrategy);
+    if (resourceGroups == null) {
+      List<ResourceGroup> sorted = new ArrayList<ResourceGroup>(getResourceGroups(this.groupingStrategy));
+      Collections.sort(sorted, new Comparator<ResourceGroup>() {
+        @Override
+        public int compare(ResourceGroup o1, ResourceGroup o2) {
+          return o1.getLabel().compareTo(o2.getLabel());
+        }
+      });
+      resourceGroups = Collections.unmodifiableList(sorted);
+      this.resourceGroups.put(this.groupingStrategy, resourceGroups);
     }
+    return resourceGroups;
+  }
 
-    Collections.sort(resourceGroups, new Comparator<ResourceGroup>() {
-      @Override
-      public int compare(ResourceGroup o1, ResourceGroup o2) {
-        return o1.getLabel().compareTo(o2.getLabel());
+  /**
+   * The resource groups for the specified grouping strategy, in the order they were grouped. The groups are computed once (until the
+   * model changes) and shared by all callers, so they're unmodifiable.
+   *
+   * @param strategy The grouping strategy.
+   * @return The resource groups.
+   */
+  protected List<ResourceGroup> getResourceGroups(GroupingStrategy strategy) {
+    List<ResourceGroup> resourceGroups = this.groupedResources.get(strategy);
+    if (resourceGroups == null) {
+      if (strategy == GroupingStrategy.path) {
+        resourceGroups = loadResourceGroupsByPath();
+      }
+      else if (strategy == GroupingStrategy.annotation) {
+        resourceGroups = loadResourceGroupsByAnnotation();
+      }
+      else {
+        resourceGroups = loadResourceGroupsByClass();
       }
-    });
+      resourceGroups = Collections.unmodifiableList(resourceGroups);
+      this.groupedResources.put(strategy, resourceGroups);
+    }
     return resourceGroups;
   }
 
+  private void clearResourceGroups() {
+    this.groupedResources.clear();
+    this.resourceGroups.clear();
+    this.methodIndex = null;
+    this.pathTrie = null;
+  }
+
+  /**
+   * Find the methods of the resource at the specified path.
+   *
+   * @param path The path of the resource.
+   * @param httpMethod The HTTP method, or null for all HTTP methods.
+   * @return The methods.
+   */
+  public List<Method> findMethods(String path, String httpMethod) {
+    if (this.methodIndex == null) {
+      this.methodIndex = new ResourceMethodIndex(getResourceGroups());
+    }
+    return this.methodIndex.findMethods(path, httpMethod);
+  }
+
   public List<ResourceGroup> getResourceGroupsByClass() {
+    return getResourceGroups(GroupingStrategy.resource_class);
+  }
+
+  protected List<ResourceGroup> loadResourceGroupsByClass() {
     List<ResourceGroup> resourceGroups = new ArrayList<ResourceGroup>();
     Set<String> slugs = new TreeSet<String>();
     for (SpringController springController : controllers) {
@@ -166,31 +237,49 @@ public class EnunciateSpringWebContext extends EnunciateModuleContext implements
     return resourceGroups;
   }
 
-  public List<ResourceGroup> getResourceGroupsByPath() {
-    Map<String, PathBasedResourceGroupImpl> resourcesByPath = new HashMap<String, PathBasedResourceGroupImpl>();
-
-    FacetFilter facetFilter = context.getConfiguration().getFacetFilter();
-    for (SpringController springController : controllers) {
-      for (RequestMapping method : springController.getRequestMappings()) {
-        if (facetFilter.accept(method)) {
-          String path = method.getFullpath();
-          PathBasedResourceGroupImpl resourceGroup = resourcesByPath.get(path);
-          if (resourceGroup == null) {
-            resourceGroup = new PathBasedResourceGroupImpl(relativeContextPath, path, new ArrayList<Resource>());
-            resourcesByPath.put(path, resourceGroup);
+  /**
+   * The trie of the paths of all (accepted) request mappings of all controllers.
+   *
+   * @return The trie of the paths of all request mappings.
+   */
+  public ResourcePathTrie<RequestMapping> getResourcePathTrie() {
+    if (this.pathTrie == null) {
+      ResourcePathTrie<RequestMapping> pathTrie = new ResourcePathTrie<RequestMapping>();
+      FacetFilter facetFilter = context.getConfiguration().getFacetFilter();
+      for (SpringController springController : controllers) {
+        for (RequestMapping method : springController.getRequestMappings()) {
+          if (facetFilter.accept(method)) {
+            pathTrie.add(method.getFullpath(), method);
           }
-
-          resourceGroup.getResources().add(new ResourceImpl(method, resourceGroup));
         }
       }
+      this.pathTrie = pathTrie;
     }
+    return this.pathTrie;
+  }
 
-    ArrayList<ResourceGroup> resourceGroups = new ArrayList<ResourceGroup>(resourcesByPath.values());
-    Collections.sort(resourceGroups, new ResourceGroupComparator(this.pathSortStrategy));
+  public List<ResourceGroup> getResourceGroupsByPath() {
+    return getResourceGroups(GroupingStrategy.path);
+  }
+
+  protected List<ResourceGroup> loadResourceGroupsByPath() {
+    //traversing the trie visits the paths in sorted order.
+    List<ResourceGroup> resourceGroups = new ArrayList<ResourceGroup>();
+    for (ResourcePathTrie.Node<RequestMapping> node : getResourcePathTrie().nodes(this.pathSortStrategy)) {
+      PathBasedResourceGroupImpl resourceGroup = new PathBasedResourceGroupImpl(relativeContextPath, node.getPath(), new ArrayList<Resource>());
+      for (RequestMapping method : node.getValues()) {
+        resourceGroup.getResources().add(new ResourceImpl(method, resourceGroup));
+      }
+      resourceGroups.add(resourceGroup);
+    }
     return resourceGroups;
   }
 
   public List<ResourceGroup> getResourceGroupsByAnnotation() {
+    return getResourceGroups(GroupingStrategy.annotation);
+  }
+
+  protected List<ResourceGroup> loadResourceGroupsByAnnotation() {
     Map<String, AnnotationBasedResourceGroupImpl> resourcesByAnnotation = new HashMap<String, AnnotationBasedResourceGroupImpl>();
 
     FacetFilter facetFilter = context.getConfiguration().getFacetFilter();
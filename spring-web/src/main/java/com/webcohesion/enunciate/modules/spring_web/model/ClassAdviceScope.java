@@ -30,6 +30,10 @@ public class ClassAdviceScope implements AdviceScope {
     this.classes = classes;
   }
 
+  public Set<String> getClasses() {
+    return classes;
+  }
+
   @Override
   public boolean applies(Element el) {
     while (el != null && !(el instanceof TypeElement)) {
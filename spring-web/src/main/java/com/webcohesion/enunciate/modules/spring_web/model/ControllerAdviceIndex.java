@@ -0,0 +1,146 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.spring_web.model;
+
+import com.webcohesion.enunciate.javac.TypeElementComparator;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import java.util.*;
+
+/**
+ * Index of controller advice by the packages, classes and annotations to which the advice applies, so that the advice
+ * applicable to a request mapping can be looked up without testing every advice against every mapping. The applicable
+ * advice is resolved once for each declaring type and shared by all of its request mappings.
+ *
+ * @author Ryan Heaton
+ */
+public class ControllerAdviceIndex {
+
+  private final Set<SpringControllerAdvice> advice;
+  private final List<SpringControllerAdvice> globalAdvice = new ArrayList<SpringControllerAdvice>();
+  private final List<SpringControllerAdvice> unindexedAdvice = new ArrayList<SpringControllerAdvice>();
+  private final Map<String, List<SpringControllerAdvice>> adviceByPackage = new HashMap<String, List<SpringControllerAdvice>>();
+  private final Map<String, List<SpringControllerAdvice>> adviceByClass = new HashMap<String, List<SpringControllerAdvice>>();
+  private final Map<String, List<SpringControllerAdvice>> adviceByAnnotation = new HashMap<String, List<SpringControllerAdvice>>();
+  private final Map<String, List<SpringControllerAdvice>> adviceByType = new HashMap<String, List<SpringControllerAdvice>>();
+
+  /**
+   * @param advice The advice, in the order in which it is to be applied.
+   */
+  public ControllerAdviceIndex(Set<SpringControllerAdvice> advice) {
+    this.advice = advice;
+    for (SpringControllerAdvice controllerAdvice : advice) {
+      for (AdviceScope scope : controllerAdvice.getScope()) {
+        if (scope instanceof GlobalScope) {
+          this.globalAdvice.add(controllerAdvice);
+        }
+        else if (scope instanceof PackageAdviceScope) {
+          index(this.adviceByPackage, ((PackageAdviceScope) scope).getPackages(), controllerAdvice);
+        }
+        else if (scope instanceof ClassAdviceScope) {
+          index(this.adviceByClass, ((ClassAdviceScope) scope).getClasses(), controllerAdvice);
+        }
+        else if (scope instanceof AnnotationAdviceScope) {
+          index(this.adviceByAnnotation, ((AnnotationAdviceScope) scope).getAnnotations(), controllerAdvice);
+        }
+        else {
+          //unknown scope; it has to be tested against each type.
+          this.unindexedAdvice.add(controllerAdvice);
+        }
+      }
+    }
+  }
+
+  private static void index(Map<String, List<SpringControllerAdvice>> index, Set<String> keys, SpringControllerAdvice advice) {
+    for (String key : keys) {
+      List<SpringControllerAdvice> entries = index.get(key);
+      if (entries == null) {
+        entries = new ArrayList<SpringControllerAdvice>();
+        index.put(key, entries);
+      }
+      entries.add(advice);
+    }
+  }
+
+  /**
+   * Find the advice that applies to the specified element (e.g. a request mapping).
+   *
+   * @param el The element.
+   * @return The applicable advice, in the order in which it is to be applied.
+   */
+  public List<SpringControllerAdvice> findAdvice(Element el) {
+    while (el != null && !(el instanceof TypeElement)) {
+      el = el.getEnclosingElement();
+    }
+
+    if (el == null) {
+      return Collections.emptyList();
+    }
+
+    TypeElement declaringType = (TypeElement) el;
+    String qualifiedName = declaringType.getQualifiedName().toString();
+    List<SpringControllerAdvice> applicable = this.adviceByType.get(qualifiedName);
+    if (applicable == null) {
+      Set<SpringControllerAdvice> candidates = new TreeSet<SpringControllerAdvice>(new TypeElementComparator());
+      candidates.addAll(this.globalAdvice);
+      addAll(candidates, this.adviceByClass.get(qualifiedName));
+
+      Element pckg = declaringType;
+      while (pckg != null && !(pckg instanceof PackageElement)) {
+        pckg = pckg.getEnclosingElement();
+      }
+      if (pckg != null) {
+        addAll(candidates, this.adviceByPackage.get(((PackageElement) pckg).getQualifiedName().toString()));
+      }
+
+      List<? extends AnnotationMirror> annotationMirrors = declaringType.getAnnotationMirrors();
+      if (annotationMirrors != null) {
+        for (AnnotationMirror annotationMirror : annotationMirrors) {
+          DeclaredType annotationType = annotationMirror.getAnnotationType();
+          if (annotationType != null && annotationType.asElement() instanceof TypeElement) {
+            addAll(candidates, this.adviceByAnnotation.get(((TypeElement) annotationType.asElement()).getQualifiedName().toString()));
+          }
+        }
+      }
+
+      for (SpringControllerAdvice controllerAdvice : this.unindexedAdvice) {
+        if (controllerAdvice.appliesTo(declaringType)) {
+          candidates.add(controllerAdvice);
+        }
+      }
+
+      applicable = Collections.unmodifiableList(new ArrayList<SpringControllerAdvice>(candidates));
+      this.adviceByType.put(qualifiedName, applicable);
+    }
+    return applicable;
+  }
+
+  private static void addAll(Set<SpringControllerAdvice> candidates, List<SpringControllerAdvice> advice) {
+    if (advice != null) {
+      candidates.addAll(advice);
+    }
+  }
+
+  /**
+   * All the advice in the index.
+   *
+   * @return All the advice in the index.
+   */
+  public Set<SpringControllerAdvice> getAdvice() {
+    return advice;
+  }
+}
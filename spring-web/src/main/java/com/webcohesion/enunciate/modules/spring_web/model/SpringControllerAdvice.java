@@ -36,6 +36,8 @@ import java.util.*;
 public class SpringControllerAdvice extends DecoratedTypeElement {
 
   private final EnunciateSpringWebContext context;
+  private List<AdviceScope> scope;
+  private List<AdviceMethod> adviceMethods;
 
   public SpringControllerAdvice(TypeElement delegate, EnunciateSpringWebContext context) {
     super(delegate, context.getContext().getProcessingEnvironment());
@@ -66,7 +68,19 @@ public class SpringControllerAdvice extends DecoratedTypeElement {
     return context;
   }
 
-  public List<RequestMappingAdvice> findRequestMappingAdvice(RequestMapping requestMapping) {
+  /**
+   * The scope of this advice, i.e. the controllers to which it applies.
+   *
+   * @return The scope of this advice.
+   */
+  public List<AdviceScope> getScope() {
+    if (this.scope == null) {
+      this.scope = Collections.unmodifiableList(loadScope());
+    }
+    return this.scope;
+  }
+
+  protected List<AdviceScope> loadScope() {
     List<AdviceScope> scope = new ArrayList<AdviceScope>();
     ControllerAdvice adviceInfo = getAnnotation(ControllerAdvice.class);
     if (adviceInfo != null) {
@@ -147,29 +161,60 @@ public class SpringControllerAdvice extends DecoratedTypeElement {
       scope.add(new ClassAdviceScope(new TreeSet<String>(Collections.singletonList(getQualifiedName().toString()))));
     }
 
-    return findRequestMappingAdvice(requestMapping, this, scope, new TypeVariableContext());
+    return scope;
+  }
+
+  /**
+   * Whether this advice applies to the specified element.
+   *
+   * @param el The element.
+   * @return Whether this advice applies to the specified element.
+   */
+  public boolean appliesTo(Element el) {
+    for (AdviceScope adviceScope : getScope()) {
+      if (adviceScope.applies(el)) {
+        return true;
+      }
+    }
+    return false;
   }
 
-  protected List<RequestMappingAdvice> findRequestMappingAdvice(RequestMapping requestMapping, TypeElement controllerAdvice, List<AdviceScope> scope, TypeVariableContext variableContext) {
+  public List<RequestMappingAdvice> findRequestMappingAdvice(RequestMapping requestMapping) {
+    if (!appliesTo(requestMapping)) {
+      return Collections.emptyList();
+    }
+
+    if (this.adviceMethods == null) {
+      this.adviceMethods = findAdviceMethods(this, new TypeVariableContext());
+    }
+
+    ArrayList<RequestMappingAdvice> advice = new ArrayList<RequestMappingAdvice>(this.adviceMethods.size());
+    for (AdviceMethod adviceMethod : this.adviceMethods) {
+      advice.add(new RequestMappingAdvice(requestMapping, adviceMethod.modelAttribute, adviceMethod.method, this, adviceMethod.variableContext, this.context));
+    }
+    return advice;
+  }
+
+  /**
+   * Find the model attribute methods of the specified advice type, including the ones it inherits. These don't depend on
+   * the request mapping, so they're found once and reused for every request mapping the advice applies to.
+   *
+   * @param controllerAdvice The advice type.
+   * @param variableContext The type variable context.
+   * @return The advice methods.
+   */
+  protected List<AdviceMethod> findAdviceMethods(TypeElement controllerAdvice, TypeVariableContext variableContext) {
     if (controllerAdvice == null || controllerAdvice.getQualifiedName().toString().equals(Object.class.getName())) {
       return Collections.emptyList();
     }
 
-    ArrayList<RequestMappingAdvice> advice = new ArrayList<RequestMappingAdvice>();
+    ArrayList<AdviceMethod> advice = new ArrayList<AdviceMethod>();
+    ArrayList<ExecutableElement> methods = new ArrayList<ExecutableElement>();
     for (ExecutableElement method : ElementFilter.methodsIn(controllerAdvice.getEnclosedElements())) {
-      boolean applies = false;
-      for (AdviceScope adviceScope : scope) {
-        if (adviceScope.applies(requestMapping)) {
-          applies = true;
-          break;
-        }
-      }
-
-      if (applies) {
-        org.springframework.web.bind.annotation.ModelAttribute modelAttribute = method.getAnnotation(org.springframework.web.bind.annotation.ModelAttribute.class);
-        if (modelAttribute != null) {
-          advice.add(new RequestMappingAdvice(requestMapping, modelAttribute, method, this, variableContext, this.context));
-        }
+      org.springframework.web.bind.annotation.ModelAttribute modelAttribute = method.getAnnotation(org.springframework.web.bind.annotation.ModelAttribute.class);
+      if (modelAttribute != null) {
+        advice.add(new AdviceMethod(method, modelAttribute, variableContext));
+        methods.add(method);
       }
     }
 
@@ -178,10 +223,11 @@ public class SpringControllerAdvice extends DecoratedTypeElement {
       if (interfaceType instanceof DeclaredType) {
         DeclaredType declared = (DeclaredType) interfaceType;
         TypeElement element = (TypeElement) declared.asElement();
-        List<RequestMappingAdvice> interfaceMethods = findRequestMappingAdvice(requestMapping, element, scope, variableContext.push(element.getTypeParameters(), declared.getTypeArguments()));
-        for (RequestMappingAdvice interfaceMethod : interfaceMethods) {
-          if (!isOverridden(interfaceMethod, advice)) {
+        List<AdviceMethod> interfaceMethods = findAdviceMethods(element, variableContext.push(element.getTypeParameters(), declared.getTypeArguments()));
+        for (AdviceMethod interfaceMethod : interfaceMethods) {
+          if (!isOverridden(interfaceMethod.method, methods)) {
             advice.add(interfaceMethod);
+            methods.add(interfaceMethod.method);
           }
         }
       }
@@ -192,10 +238,11 @@ public class SpringControllerAdvice extends DecoratedTypeElement {
       if (superclass instanceof DeclaredType && ((DeclaredType)superclass).asElement() != null) {
         DeclaredType declared = (DeclaredType) superclass;
         TypeElement element = (TypeElement) declared.asElement();
-        List<RequestMappingAdvice> superMethods = findRequestMappingAdvice(requestMapping, element, scope, variableContext.push(element.getTypeParameters(), declared.getTypeArguments()));
-        for (RequestMappingAdvice superMethod : superMethods) {
-          if (!isOverridden(superMethod, advice)) {
+        List<AdviceMethod> superMethods = findAdviceMethods(element, variableContext.push(element.getTypeParameters(), declared.getTypeArguments()));
+        for (AdviceMethod superMethod : superMethods) {
+          if (!isOverridden(superMethod.method, methods)) {
             advice.add(superMethod);
+            methods.add(superMethod.method);
           }
         }
       }
@@ -203,4 +250,19 @@ public class SpringControllerAdvice extends DecoratedTypeElement {
 
     return advice;
   }
+
+  /**
+   * A model attribute method of the advice, along with the type variable context in which it was found.
+   */
+  protected static class AdviceMethod {
+    final ExecutableElement method;
+    final org.springframework.web.bind.annotation.ModelAttribute modelAttribute;
+    final TypeVariableContext variableContext;
+
+    AdviceMethod(ExecutableElement method, org.springframework.web.bind.annotation.ModelAttribute modelAttribute, TypeVariableContext variableContext) {
+      this.method = method;
+      this.modelAttribute = modelAttribute;
+      this.variableContext = variableContext;
+    }
+  }
 }
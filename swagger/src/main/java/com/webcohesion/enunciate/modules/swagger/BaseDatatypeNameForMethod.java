@@ -50,15 +50,6 @@ public class BaseDatatypeNameForMethod implements TemplateMethodModelEx {
       throw new TemplateModelException("No base data type name for: " + unwrapped);
     }
 
-    switch (baseType) {
-      case bool:
-        return "boolean";
-      case number:
-        return "number";
-      case string:
-        return "string";
-      default:
-        return "object";
-    }
+    return ReferencedDatatypeNameForMethod.datatypeNameFor(baseType, "object");
   }
 }
\ No newline at end of file
@@ -56,6 +56,10 @@ public class ReferencedDatatypeNameForMethod implements TemplateMethodModelEx {
       defaultType = wrpper.unwrap((TemplateModel) list.get(1)).toString();
     }
 
+    return datatypeNameFor(baseType, defaultType);
+  }
+
+  protected static String datatypeNameFor(BaseType baseType, String defaultType) {
     switch (baseType) {
       case bool:
         return "boolean";
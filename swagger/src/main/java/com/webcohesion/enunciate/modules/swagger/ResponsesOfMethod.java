@@ -42,32 +42,35 @@ public class ResponsesOfMethod implements TemplateMethodModelEx {
     TemplateModel from = (TemplateModel) list.get(0);
     Object unwrapped = new BeansWrapperBuilder(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS).build().unwrap(from);
     if (unwrapped instanceof Method) {
-      Method method = (Method) unwrapped;
-      ArrayList<SwaggerResponse> responses = new ArrayList<SwaggerResponse>();
+      return responsesOf((Method) unwrapped);
+    }
 
-      List<? extends Parameter> successHeaders = method.getResponseHeaders();
-      DataTypeReference successDataType = FindBestDataTypeMethod.findBestDataType(method.getResponseEntity());
-      boolean successResponseFound = false;
-      if (method.getResponseCodes() != null) {
-        for (StatusCode code : method.getResponseCodes()) {
-          boolean successResponse = code.getCode() >= 200 && code.getCode() < 300;
-          DataTypeReference dataType = FindBestDataTypeMethod.findBestDataType(code.getMediaTypes());
-          dataType = dataType == null && successResponse ? successDataType : dataType;
-          List<? extends Parameter> headers = successResponse ? successHeaders : Collections.<Parameter>emptyList();
-          responses.add(new SwaggerResponse(code.getCode(), dataType, headers, code.getCondition()));
-          successResponseFound |= successResponse;
-        }
-      }
+    throw new TemplateModelException("No responses for: " + unwrapped);
+  }
 
-      if (!successResponseFound) {
-        int code = DEFAULT_201_METHODS.contains(method.getHttpMethod().toUpperCase()) ? 201 : 200;
-        responses.add(new SwaggerResponse(code, successDataType, successHeaders, "Success"));
+  protected static List<SwaggerResponse> responsesOf(Method method) {
+    ArrayList<SwaggerResponse> responses = new ArrayList<SwaggerResponse>();
+
+    List<? extends Parameter> successHeaders = method.getResponseHeaders();
+    DataTypeReference successDataType = FindBestDataTypeMethod.findBestDataType(method.getResponseEntity());
+    boolean successResponseFound = false;
+    if (method.getResponseCodes() != null) {
+      for (StatusCode code : method.getResponseCodes()) {
+        boolean successResponse = code.getCode() >= 200 && code.getCode() < 300;
+        DataTypeReference dataType = FindBestDataTypeMethod.findBestDataType(code.getMediaTypes());
+        dataType = dataType == null && successResponse ? successDataType : dataType;
+        List<? extends Parameter> headers = successResponse ? successHeaders : Collections.<Parameter>emptyList();
+        responses.add(new SwaggerResponse(code.getCode(), dataType, headers, code.getCondition()));
+        successResponseFound |= successResponse;
       }
+    }
 
-      return responses;
+    if (!successResponseFound) {
+      int code = DEFAULT_201_METHODS.contains(method.getHttpMethod().toUpperCase()) ? 201 : 200;
+      responses.add(new SwaggerResponse(code, successDataType, successHeaders, "Success"));
     }
 
-    throw new TemplateModelException("No responses for: " + unwrapped);
+    return responses;
   }
 
 }
\ No newline at end of file
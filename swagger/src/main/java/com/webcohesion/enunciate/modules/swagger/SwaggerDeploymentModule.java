@@ -25,6 +25,7 @@ import com.webcohesion.enunciate.api.InterfaceDescriptionFile;
 import com.webcohesion.enunciate.api.resources.ResourceApi;
 import com.webcohesion.enunciate.artifacts.FileArtifact;
 import com.webcohesion.enunciate.module.*;
+import com.webcohesion.enunciate.util.StaticAssetProcessor;
 import com.webcohesion.enunciate.util.freemarker.FileDirective;
 import freemarker.cache.URLTemplateLoader;
 import freemarker.core.Environment;
@@ -43,7 +44,7 @@ import java.util.*;
  * <h1>Swagger Module</h1>
  * @author Ryan Heaton
  */
-public class SwaggerDeploymentModule extends BasicGeneratingModule implements ApiFeatureProviderModule, ApiRegistryAwareModule {
+public class SwaggerDeploymentModule extends BasicGeneratingModule implements ApiFeatureProviderModule, DetachedApiModelModule {
 
   private ApiRegistry apiRegistry;
 
@@ -130,6 +131,46 @@ public class SwaggerDeploymentModule extends BasicGeneratingModule implements Ap
         srcDir.mkdirs();
       }
 
+      buildBase(srcDir);
+      if (isUseTemplate()) {
+        writeFromTemplate(srcDir);
+      }
+      else {
+        List<EnunciateConfiguration.Contact> contacts = enunciate.getConfiguration().getContacts();
+        SwaggerJsonEmitter emitter = new SwaggerJsonEmitter(this.resourceApis, apiRegistry.getSyntaxes())
+          .setProjectVersion(enunciate.getConfiguration().getVersion())
+          .setProjectTitle(enunciate.getConfiguration().getTitle())
+          .setProjectDescription(enunciate.getConfiguration().readDescription(context))
+          .setTermsOfService(enunciate.getConfiguration().getTerms())
+          .setContact(contacts == null || contacts.isEmpty() ? null : contacts.get(0))
+          .setLicense(enunciate.getConfiguration().getApiLicense())
+          .setHost(getHost())
+          .setSchemes(getSchemes())
+          .setBasePath(getBasePath());
+        if (isShardByResourceGroup()) {
+          //the compiler model isn't safe for concurrent reads; only a detached model can be shared across threads.
+          emitter.writeShardsTo(srcDir, apiRegistry.isDetached() ? SwaggerDeploymentModule.this.enunciate.getExecutorService() : null);
+        }
+        else {
+          emitter.writeTo(new File(srcDir, "swagger.json"));
+        }
+      }
+
+      if (isOptimizeAssets()) {
+        new StaticAssetProcessor(SwaggerDeploymentModule.this.enunciate.getLogger()).process(srcDir);
+      }
+
+      FileArtifact swaggerArtifact = new FileArtifact(getName(), "swagger", srcDir);
+      swaggerArtifact.setPublic(false);
+      SwaggerDeploymentModule.this.enunciate.addArtifact(swaggerArtifact);
+    }
+
+    /**
+     * Render the Swagger document from the FreeMarker template, validating the generated JSON afterwards.
+     *
+     * @param srcDir The output directory.
+     */
+    private void writeFromTemplate(File srcDir) throws IOException {
       Map<String, Object> model = new HashMap<String, Object>();
       model.put("apis", this.resourceApis);
       model.put("syntaxes", apiRegistry.getSyntaxes());
@@ -150,7 +191,6 @@ public class SwaggerDeploymentModule extends BasicGeneratingModule implements Ap
       model.put("host", getHost());
       model.put("schemes", getSchemes());
       model.put("basePath", getBasePath());
-      buildBase(srcDir);
       try {
         processTemplate(getTemplateURL(), model);
       }
@@ -174,10 +214,6 @@ public class SwaggerDeploymentModule extends BasicGeneratingModule implements Ap
           reader.close();
         }
       }
-
-      FileArtifact swaggerArtifact = new FileArtifact(getName(), "swagger", srcDir);
-      swaggerArtifact.setPublic(false);
-      SwaggerDeploymentModule.this.enunciate.addArtifact(swaggerArtifact);
     }
   }
 
@@ -333,10 +369,39 @@ public class SwaggerDeploymentModule extends BasicGeneratingModule implements Ap
     return this.config.getString("[@css]", null);
   }
 
+  /**
+   * Whether to write a Swagger document per resource group (plus a shared document for the data type definitions and
+   * an index of the documents) instead of a single document. The UI loads the group documents on demand.
+   *
+   * @return Whether to write a Swagger document per resource group.
+   */
+  public boolean isShardByResourceGroup() {
+    return this.config.getBoolean("[@shardByResourceGroup]", false);
+  }
+
+  /**
+   * Whether to write content-hashed copies and precompressed siblings of the static assets of the UI.
+   *
+   * @return Whether to optimize the static assets of the UI.
+   */
+  public boolean isOptimizeAssets() {
+    return this.config.getBoolean("[@optimizeAssets]", false);
+  }
+
   public String getFreemarkerProcessingTemplate() {
     return this.config.getString("[@freemarkerProcessingTemplate]", null);
   }
 
+  /**
+   * Whether to render the Swagger document from a FreeMarker template instead of writing it directly from the API
+   * model. A custom processing template implies the use of a template.
+   *
+   * @return Whether to render the Swagger document from a FreeMarker template.
+   */
+  public boolean isUseTemplate() {
+    return this.config.getBoolean("[@useTemplate]", false) || getFreemarkerProcessingTemplate() != null;
+  }
+
   /**
    * The swagger "base".  The swagger base is the initial contents of the directory
    * where the swagger ui will be output.  Can be a zip file or a directory.
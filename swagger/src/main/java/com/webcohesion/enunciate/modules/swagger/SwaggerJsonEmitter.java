@@ -0,0 +1,666 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.swagger;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.webcohesion.enunciate.EnunciateConfiguration;
+import com.webcohesion.enunciate.EnunciateException;
+import com.webcohesion.enunciate.api.PathSummary;
+import com.webcohesion.enunciate.api.datatype.*;
+import com.webcohesion.enunciate.api.resources.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes the Swagger document straight from the API model through a streaming JSON generator, so the output is valid
+ * JSON by construction and is never held in memory as text. The structure follows "swagger.fmt", which is still used
+ * when a custom layout is needed.
+ * <p>
+ * The document can also be written as shards: one document per resource group, a shared document holding the data
+ * type definitions (which the group documents reference by a stable "$ref"), and a small index of the shards.
+ *
+ * @author Ryan Heaton
+ */
+public class SwaggerJsonEmitter {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  public static final String DEFINITIONS_SHARD = "swagger-definitions.json";
+  public static final String SHARD_INDEX = "swagger-index.json";
+
+  private final List<ResourceApi> resourceApis;
+  private final Collection<Syntax> syntaxes;
+  private String projectVersion;
+  private String projectTitle;
+  private String projectDescription;
+  private String termsOfService;
+  private EnunciateConfiguration.Contact contact;
+  private EnunciateConfiguration.License license;
+  private String host;
+  private String[] schemes;
+  private String basePath;
+  private String definitionsDocument = "";
+
+  public SwaggerJsonEmitter(List<ResourceApi> resourceApis, Collection<Syntax> syntaxes) {
+    this.resourceApis = resourceApis;
+    this.syntaxes = syntaxes;
+  }
+
+  public SwaggerJsonEmitter setProjectVersion(String projectVersion) {
+    this.projectVersion = projectVersion;
+    return this;
+  }
+
+  public SwaggerJsonEmitter setProjectTitle(String projectTitle) {
+    this.projectTitle = projectTitle;
+    return this;
+  }
+
+  public SwaggerJsonEmitter setProjectDescription(String projectDescription) {
+    this.projectDescription = projectDescription;
+    return this;
+  }
+
+  public SwaggerJsonEmitter setTermsOfService(String termsOfService) {
+    this.termsOfService = termsOfService;
+    return this;
+  }
+
+  public SwaggerJsonEmitter setContact(EnunciateConfiguration.Contact contact) {
+    this.contact = contact;
+    return this;
+  }
+
+  public SwaggerJsonEmitter setLicense(EnunciateConfiguration.License license) {
+    this.license = license;
+    return this;
+  }
+
+  public SwaggerJsonEmitter setHost(String host) {
+    this.host = host;
+    return this;
+  }
+
+  public SwaggerJsonEmitter setSchemes(String[] schemes) {
+    this.schemes = schemes;
+    return this;
+  }
+
+  public SwaggerJsonEmitter setBasePath(String basePath) {
+    this.basePath = basePath;
+    return this;
+  }
+
+  /**
+   * Write the Swagger document to the specified file.
+   *
+   * @param file The file.
+   */
+  public void writeTo(File file) throws IOException {
+    JsonGenerator json = JSON_FACTORY.createGenerator(file, JsonEncoding.UTF8);
+    try {
+      json.useDefaultPrettyPrinter();
+      write(json);
+    }
+    finally {
+      json.close();
+    }
+  }
+
+  /**
+   * Write the Swagger document to the specified generator.
+   *
+   * @param json The generator.
+   */
+  public void write(JsonGenerator json) throws IOException {
+    write(json, getResourceGroups(), true);
+  }
+
+  /**
+   * Write a Swagger document for the specified resource groups to the specified generator.
+   *
+   * @param json The generator.
+   * @param resourceGroups The resource groups to include.
+   * @param includeDefinitions Whether to include the data type definitions.
+   */
+  protected void write(JsonGenerator json, List<ResourceGroup> resourceGroups, boolean includeDefinitions) throws IOException {
+    json.writeStartObject();
+    json.writeStringField("swagger", "2.0");
+    writeInfo(json);
+    if (this.host != null) {
+      json.writeStringField("host", this.host);
+    }
+    if (this.basePath != null) {
+      json.writeStringField("basePath", this.basePath);
+    }
+    if (this.schemes != null) {
+      json.writeArrayFieldStart("schemes");
+      for (String scheme : this.schemes) {
+        json.writeString(scheme);
+      }
+      json.writeEndArray();
+    }
+    writeTags(json, resourceGroups);
+    if (includeDefinitions) {
+      writeDefinitions(json);
+    }
+    writePaths(json, resourceGroups);
+    json.writeEndObject();
+  }
+
+  /**
+   * Write the Swagger document as shards to the specified directory: a document per resource group, a document with
+   * the data type definitions, and an index of the shards. The group documents are written in parallel if an executor
+   * is supplied, so an executor should only be supplied if the API model is safe for concurrent reads (i.e. detached).
+   *
+   * @param dir The directory.
+   * @param executor The executor, or null to write the shards in the current thread.
+   */
+  public void writeShardsTo(File dir, ExecutorService executor) throws IOException {
+    //the definitions shard has no paths; all its references are local.
+    JsonGenerator definitions = JSON_FACTORY.createGenerator(new File(dir, DEFINITIONS_SHARD), JsonEncoding.UTF8);
+    try {
+      definitions.useDefaultPrettyPrinter();
+      write(definitions, Collections.<ResourceGroup>emptyList(), true);
+    }
+    finally {
+      definitions.close();
+    }
+
+    Map<String, ResourceGroup> shards = new LinkedHashMap<String, ResourceGroup>();
+    for (ResourceGroup resourceGroup : getResourceGroups()) {
+      String name = "swagger-" + resourceGroup.getSlug();
+      String shard = name + ".json";
+      int i = 1;
+      while (shards.containsKey(shard) || DEFINITIONS_SHARD.equals(shard) || SHARD_INDEX.equals(shard)) {
+        shard = name + "_" + (i++) + ".json";
+      }
+      shards.put(shard, resourceGroup);
+    }
+
+    List<ShardWrite> writes = new ArrayList<ShardWrite>();
+    for (Map.Entry<String, ResourceGroup> shard : shards.entrySet()) {
+      SwaggerJsonEmitter shardEmitter = copy();
+      shardEmitter.definitionsDocument = DEFINITIONS_SHARD;
+      writes.add(new ShardWrite(new File(dir, shard.getKey()), shard.getValue(), shardEmitter));
+    }
+
+    if (executor == null) {
+      for (ShardWrite write : writes) {
+        write.write();
+      }
+    }
+    else {
+      List<Future<File>> written = new ArrayList<Future<File>>();
+      for (ShardWrite write : writes) {
+        written.add(executor.submit(write));
+      }
+
+      List<Future<File>> pooled = new ArrayList<Future<File>>();
+      try {
+        for (int i = 0; i < writes.size(); i++) {
+          //the caller may itself be running on the executor, so write anything that hasn't started yet in this thread.
+          if (writes.get(i).claim()) {
+            writes.get(i).write();
+          }
+          else {
+            pooled.add(written.get(i));
+          }
+        }
+      }
+      finally {
+        //after a failure, keep the shards that haven't started from being written at all.
+        for (ShardWrite write : writes) {
+          write.claim();
+        }
+      }
+
+      for (Future<File> file : pooled) {
+        try {
+          file.get();
+        }
+        catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new EnunciateException(e);
+        }
+        catch (ExecutionException e) {
+          if (e.getCause() instanceof IOException) {
+            throw (IOException) e.getCause();
+          }
+          throw new EnunciateException(e.getCause());
+        }
+      }
+    }
+
+    writeShardIndex(new File(dir, SHARD_INDEX), shards);
+  }
+
+  /**
+   * Write the index of the shards, which the UI reads to load the shards on demand.
+   *
+   * @param file The index file.
+   * @param shards The resource group of each shard, by shard file name.
+   */
+  protected void writeShardIndex(File file, Map<String, ResourceGroup> shards) throws IOException {
+    JsonGenerator json = JSON_FACTORY.createGenerator(file, JsonEncoding.UTF8);
+    try {
+      json.useDefaultPrettyPrinter();
+      json.writeStartObject();
+      json.writeStringField("title", this.projectTitle);
+      json.writeStringField("version", this.projectVersion == null ? "0.0.0" : this.projectVersion);
+      json.writeStringField("definitions", DEFINITIONS_SHARD);
+      json.writeArrayFieldStart("shards");
+      for (Map.Entry<String, ResourceGroup> shard : shards.entrySet()) {
+        ResourceGroup resourceGroup = shard.getValue();
+        int operations = 0;
+        for (Resource resource : resourceGroup.getResources()) {
+          operations += resource.getMethods().size();
+        }
+
+        json.writeStartObject();
+        json.writeStringField("name", resourceGroup.getLabel());
+        json.writeStringField("url", shard.getKey());
+        if (resourceGroup.getDescription() != null && resourceGroup.getDescription().length() > 0) {
+          json.writeStringField("description", summarize(resourceGroup.getDescription()));
+        }
+        json.writeNumberField("operations", operations);
+        json.writeEndObject();
+      }
+      json.writeEndArray();
+      json.writeEndObject();
+    }
+    finally {
+      json.close();
+    }
+  }
+
+  private SwaggerJsonEmitter copy() {
+    SwaggerJsonEmitter copy = new SwaggerJsonEmitter(this.resourceApis, this.syntaxes);
+    copy.projectVersion = this.projectVersion;
+    copy.projectTitle = this.projectTitle;
+    copy.projectDescription = this.projectDescription;
+    copy.termsOfService = this.termsOfService;
+    copy.contact = this.contact;
+    copy.license = this.license;
+    copy.host = this.host;
+    copy.schemes = this.schemes;
+    copy.basePath = this.basePath;
+    copy.definitionsDocument = this.definitionsDocument;
+    return copy;
+  }
+
+  private List<ResourceGroup> getResourceGroups() {
+    List<ResourceGroup> resourceGroups = new ArrayList<ResourceGroup>();
+    for (ResourceApi api : this.resourceApis) {
+      resourceGroups.addAll(api.getResourceGroups());
+    }
+    return resourceGroups;
+  }
+
+  protected void writeInfo(JsonGenerator json) throws IOException {
+    json.writeObjectFieldStart("info");
+    if (this.projectDescription != null) {
+      json.writeStringField("description", this.projectDescription);
+    }
+    if (this.termsOfService != null) {
+      json.writeStringField("termsOfService", this.termsOfService);
+    }
+    if (this.contact != null && this.contact.getName() != null) {
+      json.writeObjectFieldStart("contact");
+      if (this.contact.getUrl() != null) {
+        json.writeStringField("url", this.contact.getUrl());
+      }
+      if (this.contact.getEmail() != null) {
+        json.writeStringField("email", this.contact.getEmail());
+      }
+      json.writeStringField("name", this.contact.getName());
+      json.writeEndObject();
+    }
+    if (this.license != null && this.license.getName() != null) {
+      json.writeObjectFieldStart("license");
+      if (this.license.getUrl() != null) {
+        json.writeStringField("url", this.license.getUrl());
+      }
+      json.writeStringField("name", this.license.getName());
+      json.writeEndObject();
+    }
+    json.writeStringField("version", this.projectVersion == null ? "0.0.0" : this.projectVersion);
+    json.writeStringField("title", this.projectTitle);
+    json.writeEndObject();
+  }
+
+  protected void writeTags(JsonGenerator json, List<ResourceGroup> resourceGroups) throws IOException {
+    json.writeArrayFieldStart("tags");
+    for (ResourceGroup resourceGroup : resourceGroups) {
+      json.writeStartObject();
+      json.writeStringField("name", resourceGroup.getLabel());
+      if (resourceGroup.getDescription() != null && resourceGroup.getDescription().length() > 0) {
+        json.writeStringField("description", summarize(resourceGroup.getDescription()));
+      }
+      json.writeEndObject();
+    }
+    json.writeEndArray();
+  }
+
+  protected void writeDefinitions(JsonGenerator json) throws IOException {
+    json.writeObjectFieldStart("definitions");
+    for (Syntax syntax : this.syntaxes) {
+      for (Namespace namespace : syntax.getNamespaces()) {
+        for (DataType dataType : namespace.getTypes()) {
+          writeDefinition(json, dataType);
+        }
+      }
+    }
+    json.writeEndObject();
+  }
+
+  protected void writeDefinition(JsonGenerator json, DataType dataType) throws IOException {
+    if (dataType.getBaseType() == null) {
+      throw new EnunciateException("No base data type name for: " + dataType);
+    }
+
+    json.writeObjectFieldStart(dataType.getSlug());
+    json.writeStringField("type", ReferencedDatatypeNameForMethod.datatypeNameFor(dataType.getBaseType(), "object"));
+    json.writeStringField("title", dataType.getLabel());
+
+    List<? extends Property> properties = dataType.getProperties();
+    if (properties != null) {
+      boolean required = false;
+      for (Property property : properties) {
+        if (property.isRequired()) {
+          if (!required) {
+            json.writeArrayFieldStart("required");
+            required = true;
+          }
+          json.writeString(property.getName());
+        }
+      }
+      if (required) {
+        json.writeEndArray();
+      }
+    }
+
+    List<DataTypeReference> supertypes = dataType.getSupertypes();
+    boolean hasSupertype = supertypes != null && !supertypes.isEmpty();
+    if (hasSupertype) {
+      json.writeArrayFieldStart("allOf");
+      DataTypeReference supertype = supertypes.get(0);
+      if (supertype.getSlug() != null) {
+        json.writeStartObject();
+        json.writeStringField("$ref", "#/definitions/" + supertype.getSlug());
+        json.writeEndObject();
+      }
+      json.writeStartObject();
+    }
+
+    List<? extends Value> values = dataType.getValues();
+    if (properties != null && !properties.isEmpty()) {
+      json.writeObjectFieldStart("properties");
+      for (Property property : properties) {
+        json.writeObjectFieldStart(property.getName());
+        if (property instanceof XmlProperty && ((XmlProperty) property).getNamespaceInfo() != null) {
+          XmlProperty xmlProperty = (XmlProperty) property;
+          json.writeObjectFieldStart("xml");
+          if (xmlProperty.getWrapperName() != null) {
+            json.writeStringField("name", xmlProperty.getWrapperName());
+            json.writeBooleanField("wrapped", true);
+          }
+          if (xmlProperty.isAttribute()) {
+            json.writeBooleanField("attribute", true);
+          }
+          json.writeStringField("namespace", valueOrEmpty(xmlProperty.getNamespace()));
+          json.writeEndObject();
+        }
+        writeReference(json, property.getDataType(), property.getDescription(), "object");
+        json.writeEndObject();
+      }
+      json.writeEndObject();
+    }
+    else if (values != null && !values.isEmpty()) {
+      json.writeArrayFieldStart("enum");
+      for (Value value : values) {
+        json.writeString(value.getValue());
+      }
+      json.writeEndArray();
+    }
+
+    if (hasSupertype) {
+      json.writeEndObject();
+      json.writeEndArray();
+    }
+
+    json.writeStringField("description", valueOrEmpty(dataType.getDescription()));
+    json.writeEndObject();
+  }
+
+  protected void writePaths(JsonGenerator json, List<ResourceGroup> resourceGroups) throws IOException {
+    json.writeObjectFieldStart("paths");
+    for (ResourceGroup resourceGroup : resourceGroups) {
+      for (PathSummary path : resourceGroup.getPaths()) {
+        json.writeObjectFieldStart(path.getPath());
+        for (Resource resource : resourceGroup.getResources()) {
+          if (resource.getPath().equals(path.getPath())) {
+            for (Method method : resource.getMethods()) {
+              writeOperation(json, resourceGroup, method);
+            }
+          }
+        }
+        json.writeEndObject();
+      }
+    }
+    json.writeEndObject();
+  }
+
+  protected void writeOperation(JsonGenerator json, ResourceGroup resourceGroup, Method method) throws IOException {
+    json.writeObjectFieldStart(method.getHttpMethod().toLowerCase());
+    if (resourceGroup.getDeprecated() != null || method.getDeprecated() != null) {
+      json.writeBooleanField("deprecated", true);
+    }
+    json.writeArrayFieldStart("tags");
+    json.writeString(resourceGroup.getLabel());
+    json.writeEndArray();
+    if (method.getDescription() != null && method.getDescription().length() > 0) {
+      json.writeStringField("summary", summarize(method.getDescription()));
+    }
+    json.writeStringField("description", valueOrEmpty(method.getDescription()));
+    json.writeStringField("operationId", method.getSlug());
+
+    Entity requestEntity = method.getRequestEntity();
+    if (requestEntity != null) {
+      writeStrings(json, "consumes", UniqueMediaTypesForMethod.uniqueMediaTypesFor(requestEntity));
+    }
+    if (method.getResponseEntity() != null) {
+      writeStrings(json, "produces", UniqueMediaTypesForMethod.uniqueMediaTypesFor(method.getResponseEntity()));
+    }
+
+    json.writeArrayFieldStart("parameters");
+    if (method.getParameters() != null && !method.getParameters().isEmpty()) {
+      for (Parameter parameter : ValidParametersMethod.validParametersOf(method)) {
+        writeParameter(json, parameter);
+      }
+    }
+    if (requestEntity != null) {
+      json.writeStartObject();
+      json.writeStringField("name", "body");
+      json.writeStringField("in", "body");
+      DataTypeReference bodyType = FindBestDataTypeMethod.findBestDataType(requestEntity);
+      if (bodyType != null) {
+        json.writeObjectFieldStart("schema");
+        writeReference(json, bodyType, null, "file");
+        json.writeEndObject();
+      }
+      else {
+        json.writeStringField("type", "file");
+      }
+      json.writeStringField("description", valueOrEmpty(requestEntity.getDescription()));
+      json.writeEndObject();
+    }
+    json.writeEndArray();
+
+    json.writeObjectFieldStart("responses");
+    for (SwaggerResponse response : ResponsesOfMethod.responsesOf(method)) {
+      json.writeObjectFieldStart(String.valueOf(response.getCode()));
+      if (response.getDataType() != null) {
+        json.writeObjectFieldStart("schema");
+        writeReference(json, response.getDataType(), null, "file");
+        json.writeEndObject();
+      }
+      json.writeObjectFieldStart("headers");
+      for (Parameter header : response.getHeaders()) {
+        json.writeObjectFieldStart(header.getName());
+        json.writeStringField("description", valueOrEmpty(header.getDescription()));
+        json.writeStringField("type", "string");
+        json.writeEndObject();
+      }
+      json.writeEndObject();
+      json.writeStringField("description", valueOrEmpty(response.getDescription()));
+      json.writeEndObject();
+    }
+    json.writeObjectFieldStart("default");
+    json.writeStringField("description", "Unexpected error.");
+    json.writeEndObject();
+    json.writeEndObject();
+
+    json.writeEndObject();
+  }
+
+  protected void writeParameter(JsonGenerator json, Parameter parameter) throws IOException {
+    json.writeStartObject();
+    json.writeStringField("name", parameter.getName());
+    json.writeStringField("in", parameter.getTypeLabel());
+    if ("path".equals(parameter.getTypeLabel())) {
+      json.writeBooleanField("required", true);
+    }
+    if (parameter.getDefaultValue() != null) {
+      json.writeStringField("default", parameter.getDefaultValue());
+    }
+    if (parameter.isMultivalued()) {
+      json.writeStringField("type", "array");
+      json.writeObjectFieldStart("items");
+    }
+    json.writeStringField("type", parameter.getTypeName());
+    if (parameter.getConstraintValues() != null) {
+      writeStrings(json, "enum", parameter.getConstraintValues());
+    }
+    if (parameter.isMultivalued()) {
+      json.writeEndObject();
+      json.writeStringField("collectionFormat", "multi");
+    }
+    json.writeStringField("description", valueOrEmpty(parameter.getDescription()));
+    json.writeEndObject();
+  }
+
+  /**
+   * Write the fields that reference a data type (the "referenceDataType" macro of "swagger.fmt").
+   */
+  protected void writeReference(JsonGenerator json, DataTypeReference dataType, String description, String defaultType) throws IOException {
+    json.writeStringField("description", valueOrEmpty(description));
+
+    List<DataTypeReference.ContainerType> containers = dataType.getContainers();
+    int depth = containers == null ? 0 : containers.size();
+    for (int i = 0; i < depth; i++) {
+      json.writeStringField("type", "array");
+      json.writeObjectFieldStart("items");
+    }
+
+    if (dataType.getValue() != null) {
+      json.writeStringField("$ref", this.definitionsDocument + "#/definitions/" + dataType.getSlug());
+    }
+    else {
+      if (dataType.getBaseType() == null) {
+        throw new EnunciateException("No referenced data type name for: " + dataType);
+      }
+      json.writeStringField("type", ReferencedDatatypeNameForMethod.datatypeNameFor(dataType.getBaseType(), defaultType));
+    }
+
+    for (int i = 0; i < depth; i++) {
+      json.writeEndObject();
+    }
+  }
+
+  private static void writeStrings(JsonGenerator json, String fieldName, Set<String> values) throws IOException {
+    json.writeArrayFieldStart(fieldName);
+    for (String value : values) {
+      json.writeString(value);
+    }
+    json.writeEndArray();
+  }
+
+  /**
+   * The first sentence of a description, before any markup.
+   */
+  static String summarize(String description) {
+    int markup = description.indexOf('<');
+    if (markup >= 0) {
+      description = description.substring(0, markup);
+    }
+    int period = description.indexOf('.');
+    if (period >= 0) {
+      description = description.substring(0, period);
+    }
+    return description.trim() + '.';
+  }
+
+  private static String valueOrEmpty(String value) {
+    return value == null ? "" : value;
+  }
+
+  /**
+   * The write of a shard, done by whichever of the pooled task and the calling thread claims it first.
+   */
+  private static class ShardWrite implements Callable<File> {
+
+    private final File file;
+    private final ResourceGroup resourceGroup;
+    private final SwaggerJsonEmitter emitter;
+    private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+    private ShardWrite(File file, ResourceGroup resourceGroup, SwaggerJsonEmitter emitter) {
+      this.file = file;
+      this.resourceGroup = resourceGroup;
+      this.emitter = emitter;
+    }
+
+    boolean claim() {
+      return this.claimed.compareAndSet(false, true);
+    }
+
+    File write() throws IOException {
+      JsonGenerator json = JSON_FACTORY.createGenerator(this.file, JsonEncoding.UTF8);
+      try {
+        json.useDefaultPrettyPrinter();
+        this.emitter.write(json, Collections.singletonList(this.resourceGroup), false);
+      }
+      finally {
+        json.close();
+      }
+      return this.file;
+    }
+
+    @Override
+    public File call() throws IOException {
+      return claim() ? write() : null;
+    }
+  }
+}
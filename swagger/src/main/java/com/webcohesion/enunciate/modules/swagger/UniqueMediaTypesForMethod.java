@@ -43,9 +43,12 @@ public class UniqueMediaTypesForMethod implements TemplateMethodModelEx {
 
     TemplateModel from = (TemplateModel) list.get(0);
     Object unwrapped = new BeansWrapperBuilder(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS).build().unwrap(from);
+    return uniqueMediaTypesFor(unwrapped instanceof Entity ? (Entity) unwrapped : null);
+  }
+
+  protected static Set<String> uniqueMediaTypesFor(Entity entity) {
     Set<String> uniqueMediaTypes = new TreeSet<String>();
-    if (unwrapped instanceof Entity) {
-      Entity entity = (Entity) unwrapped;
+    if (entity != null) {
       List<? extends MediaTypeDescriptor> mts = entity.getMediaTypes();
       if (mts != null) {
         for (MediaTypeDescriptor mt : mts) {
@@ -41,29 +41,31 @@ public class ValidParametersMethod implements TemplateMethodModelEx {
     TemplateModel from = (TemplateModel) list.get(0);
     Object unwrapped = new BeansWrapperBuilder(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS).build().unwrap(from);
     if (unwrapped instanceof Method) {
-      Method method = (Method) unwrapped;
-      ArrayList<Parameter> params = new ArrayList<Parameter>();
-
-      for (Parameter parameter : method.getParameters()) {
-        String type = parameter.getTypeLabel().toLowerCase();
-        if (type.contains("path")) {
-          params.add(new SwaggerParameter(parameter, "path"));
-        }
-        else if (type.contains("form")) {
-          params.add(new SwaggerParameter(parameter, "formData"));
-        }
-        else if (type.contains("query")) {
-          params.add(new SwaggerParameter(parameter, "query"));
-        }
-        else if (type.contains("header")) {
-          params.add(new SwaggerParameter(parameter, "header"));
-        }
-      }
-
-      return params;
+      return validParametersOf((Method) unwrapped);
     }
 
     throw new TemplateModelException("No parameters for: " + unwrapped);
   }
 
-}
\ No newline at end of file
+  protected static List<Parameter> validParametersOf(Method method) {
+    ArrayList<Parameter> params = new ArrayList<Parameter>();
+
+    for (Parameter parameter : method.getParameters()) {
+      String type = parameter.getTypeLabel().toLowerCase();
+      if (type.contains("path")) {
+        params.add(new SwaggerParameter(parameter, "path"));
+      }
+      else if (type.contains("form")) {
+        params.add(new SwaggerParameter(parameter, "formData"));
+      }
+      else if (type.contains("query")) {
+        params.add(new SwaggerParameter(parameter, "query"));
+      }
+      else if (type.contains("header")) {
+        params.add(new SwaggerParameter(parameter, "header"));
+      }
+    }
+
+    return params;
+  }
+}
@@ -0,0 +1,304 @@
+/**
+ * Copyright © 2006-2016 Web Cohesion (info@webcohesion.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.webcohesion.enunciate.modules.swagger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webcohesion.enunciate.EnunciateConfiguration;
+import com.webcohesion.enunciate.EnunciateConsoleLogger;
+import com.webcohesion.enunciate.api.PathSummary;
+import com.webcohesion.enunciate.api.datatype.*;
+import com.webcohesion.enunciate.api.resources.*;
+import com.webcohesion.enunciate.util.freemarker.FileDirective;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * Makes sure the Swagger documents written by the JSON emitter are the same as the one rendered by "swagger.fmt".
+ *
+ * @author Ryan Heaton
+ */
+public class TestSwaggerJsonEmitter extends TestCase {
+
+  private File tempDir;
+  private List<ResourceApi> apis;
+  private List<Syntax> syntaxes;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    this.tempDir = File.createTempFile("swagger", "");
+    this.tempDir.delete();
+    this.tempDir.mkdirs();
+
+    DataType base = fake(DataType.class, "slug", "json_Base", "label", "Base", "baseType", BaseType.object);
+    DataTypeReference baseRef = reference(base, null);
+
+    DataType address = fake(DataType.class,
+      "slug", "json_Address",
+      "label", "Address",
+      "description", "An address.",
+      "baseType", BaseType.object,
+      "supertypes", Arrays.asList(baseRef),
+      "properties", Arrays.asList(fake(Property.class, "name", "street", "dataType", reference(null, BaseType.string))));
+    DataTypeReference addressRef = reference(address, null);
+
+    DataType color = fake(DataType.class,
+      "slug", "json_Color",
+      "label", "Color",
+      "baseType", BaseType.string,
+      "values", Arrays.asList(fake(Value.class, "value", "red"), fake(Value.class, "value", "\"blue\"")));
+
+    XmlProperty personId = fake(XmlProperty.class, "name", "id", "required", true, "namespaceInfo", new PropertyMetadata("urn:people"), "namespace", "urn:people", "attribute", true, "dataType", reference(null, BaseType.string));
+    DataType person = fake(ObjectDataType.class,
+      "slug", "xml_ns0_person",
+      "label", "person",
+      "description", "A \"person\".",
+      "baseType", BaseType.object,
+      "requiredProperties", Arrays.asList(personId),
+      "properties", Arrays.asList(
+        personId,
+        fake(XmlProperty.class, "name", "addresses", "namespaceInfo", new PropertyMetadata(""), "wrapperName", "addresses", "dataType", reference(address, null, DataTypeReference.ContainerType.list)),
+        fake(Property.class, "name", "age", "description", "The age.", "dataType", reference(null, BaseType.number)),
+        fake(Property.class, "name", "flags", "dataType", reference(null, BaseType.bool, DataTypeReference.ContainerType.array, DataTypeReference.ContainerType.list))));
+    DataTypeReference personRef = reference(person, null);
+
+    Namespace namespace = fake(Namespace.class, "uri", "urn:people", "types", Arrays.asList(base, address, color, person));
+    this.syntaxes = Arrays.asList(fake(Syntax.class, "id", "json", "namespaces", Arrays.asList(namespace)));
+
+    MediaTypeDescriptor json = fake(MediaTypeDescriptor.class, "mediaType", "application/json", "syntax", "json", "dataType", personRef, "qualityOfSourceFactor", 1.0F);
+    MediaTypeDescriptor xml = fake(MediaTypeDescriptor.class, "mediaType", "application/xml", "syntax", "xml", "dataType", personRef, "qualityOfSourceFactor", 1.0F);
+    Parameter id = fake(Parameter.class, "name", "id", "typeLabel", "path", "typeName", "string", "description", "The id.");
+    Parameter fields = fake(Parameter.class, "name", "fields", "typeLabel", "query", "typeName", "string", "multivalued", true, "constraintValues", new TreeSet<String>(Arrays.asList("age", "name")));
+    Parameter version = fake(Parameter.class, "name", "version", "typeLabel", "header", "typeName", "integer", "defaultValue", "1");
+    Parameter etag = fake(Parameter.class, "name", "ETag", "description", "The entity tag.");
+
+    Method get = fake(Method.class,
+      "httpMethod", "GET",
+      "slug", "resource_People_getPerson_GET",
+      "description", "Read a person. <p>More about reading.</p>",
+      "parameters", Arrays.asList(id, fields, version),
+      "responseEntity", fake(Entity.class, "mediaTypes", Arrays.asList(xml, json)),
+      "responseHeaders", Arrays.asList(etag),
+      "responseCodes", Arrays.asList(fake(StatusCode.class, "code", 200, "condition", "The person."), fake(StatusCode.class, "code", 404, "condition", "Not found.")));
+    Method put = fake(Method.class,
+      "httpMethod", "PUT",
+      "slug", "resource_People_putPerson_PUT",
+      "deprecated", "",
+      "parameters", Arrays.asList(id),
+      "requestEntity", fake(Entity.class, "description", "The person.", "mediaTypes", Arrays.asList(json, xml)),
+      "responseHeaders", Collections.emptyList());
+    Method upload = fake(Method.class,
+      "httpMethod", "POST",
+      "slug", "resource_People_upload_POST",
+      "parameters", Collections.emptyList(),
+      "requestEntity", fake(Entity.class, "mediaTypes", Arrays.asList(fake(MediaTypeDescriptor.class, "mediaType", "image/png"))),
+      "responseHeaders", Collections.emptyList());
+
+    ResourceGroup people = fake(ResourceGroup.class,
+      "slug", "resource_People",
+      "label", "People",
+      "description", "Manages people. <b>All</b> of them.",
+      "paths", Arrays.asList(fake(PathSummary.class, "path", "/people/{id}"), fake(PathSummary.class, "path", "/people")),
+      "resources", Arrays.asList(fake(Resource.class, "path", "/people/{id}", "methods", Arrays.asList(get, put)), fake(Resource.class, "path", "/people", "methods", Arrays.asList(upload))));
+    ResourceGroup colors = fake(ResourceGroup.class,
+      "slug", "resource_Colors",
+      "label", "Colors",
+      "deprecated", "",
+      "paths", Collections.emptyList(),
+      "resources", Collections.emptyList());
+    this.apis = Arrays.asList(fake(ResourceApi.class, "resourceGroups", Arrays.asList(people, colors)));
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    delete(this.tempDir);
+    super.tearDown();
+  }
+
+  /**
+   * tests the emitter against the template.
+   */
+  public void testParityWithTemplate() throws Exception {
+    EnunciateConfiguration.Contact contact = new EnunciateConfiguration.Contact("Support", "http://example.com", "support@example.com");
+    EnunciateConfiguration.License license = new EnunciateConfiguration.License("Apache \"2\"", "http://www.apache.org/licenses/LICENSE-2.0", null, null);
+    File templateDir = new File(this.tempDir, "template");
+    Map<String, Object> model = new HashMap<String, Object>();
+    model.put("apis", this.apis);
+    model.put("syntaxes", this.syntaxes);
+    model.put("file", new FileDirective(templateDir, new EnunciateConsoleLogger()));
+    model.put("projectVersion", "1.2");
+    model.put("projectTitle", "People \"API\"");
+    model.put("projectDescription", "The people API.\nLine two.");
+    model.put("termsOfService", "Be nice.");
+    model.put("contact", contact);
+    model.put("license", license);
+    model.put("baseDatatypeNameFor", new BaseDatatypeNameForMethod());
+    model.put("referencedDatatypeNameFor", new ReferencedDatatypeNameForMethod());
+    model.put("uniqueMediaTypesFor", new UniqueMediaTypesForMethod());
+    model.put("responsesOf", new ResponsesOfMethod());
+    model.put("findBestDataType", new FindBestDataTypeMethod());
+    model.put("validParametersOf", new ValidParametersMethod());
+    model.put("host", "example.com");
+    model.put("schemes", new String[] {"https"});
+    model.put("basePath", "/api");
+    Configuration configuration = new Configuration(Configuration.VERSION_2_3_22);
+    configuration.setObjectWrapper(new SwaggerUIObjectWrapper());
+    Template template = new Template("swagger.fmt", new InputStreamReader(SwaggerDeploymentModule.class.getResourceAsStream("swagger.fmt"), "utf-8"), configuration);
+    template.process(model, new StringWriter());
+
+    File emitted = new File(this.tempDir, "swagger.json");
+    new SwaggerJsonEmitter(this.apis, new ArrayList<Syntax>(this.syntaxes))
+      .setProjectVersion("1.2")
+      .setProjectTitle("People \"API\"")
+      .setProjectDescription("The people API.\nLine two.")
+      .setTermsOfService("Be nice.")
+      .setContact(contact)
+      .setLicense(license)
+      .setHost("example.com")
+      .setSchemes(new String[] {"https"})
+      .setBasePath("/api")
+      .writeTo(emitted);
+
+    ObjectMapper mapper = new ObjectMapper();
+    JsonNode expected = mapper.readTree(new File(templateDir, "swagger.json"));
+    JsonNode actual = mapper.readTree(emitted);
+    assertEquals(expected, actual);
+  }
+
+  /**
+   * tests the shard layout and the references from the shards to the definitions.
+   */
+  public void testShards() throws Exception {
+    File dir = new File(this.tempDir, "shards");
+    dir.mkdirs();
+    new SwaggerJsonEmitter(this.apis, new ArrayList<Syntax>(this.syntaxes)).setProjectTitle("People").writeShardsTo(dir, null);
+
+    Set<String> files = new TreeSet<String>(Arrays.asList(dir.list()));
+    assertEquals(new TreeSet<String>(Arrays.asList(SwaggerJsonEmitter.DEFINITIONS_SHARD, SwaggerJsonEmitter.SHARD_INDEX, "swagger-resource_People.json", "swagger-resource_Colors.json")), files);
+
+    ObjectMapper mapper = new ObjectMapper();
+    JsonNode index = mapper.readTree(new File(dir, SwaggerJsonEmitter.SHARD_INDEX));
+    assertEquals(SwaggerJsonEmitter.DEFINITIONS_SHARD, index.get("definitions").asText());
+    assertEquals(2, index.get("shards").size());
+    assertEquals("People", index.get("shards").get(0).get("name").asText());
+    assertEquals("swagger-resource_People.json", index.get("shards").get(0).get("url").asText());
+    assertEquals("Manages people.", index.get("shards").get(0).get("description").asText());
+    assertEquals(3, index.get("shards").get(0).get("operations").asInt());
+    assertEquals("swagger-resource_Colors.json", index.get("shards").get(1).get("url").asText());
+    assertEquals(0, index.get("shards").get(1).get("operations").asInt());
+
+    JsonNode definitions = mapper.readTree(new File(dir, SwaggerJsonEmitter.DEFINITIONS_SHARD));
+    assertEquals(0, definitions.get("paths").size());
+    assertEquals(4, definitions.get("definitions").size());
+    List<String> localRefs = definitions.findValuesAsText("$ref");
+    assertEquals(Arrays.asList("#/definitions/json_Base", "#/definitions/json_Address"), localRefs);
+
+    JsonNode people = mapper.readTree(new File(dir, "swagger-resource_People.json"));
+    assertNull(people.get("definitions"));
+    assertEquals(1, people.get("tags").size());
+    assertEquals(new TreeSet<String>(Arrays.asList("/people/{id}", "/people")), fieldNames(people.get("paths")));
+    List<String> refs = people.findValuesAsText("$ref");
+    assertEquals(2, refs.size());
+    for (String ref : refs) {
+      assertTrue(ref, ref.startsWith(SwaggerJsonEmitter.DEFINITIONS_SHARD + "#/definitions/"));
+      String slug = ref.substring(ref.lastIndexOf('/') + 1);
+      assertNotNull(ref, definitions.get("definitions").get(slug));
+    }
+
+    JsonNode colors = mapper.readTree(new File(dir, "swagger-resource_Colors.json"));
+    assertEquals(0, colors.get("paths").size());
+  }
+
+  private static Set<String> fieldNames(JsonNode node) {
+    Set<String> names = new TreeSet<String>();
+    Iterator<String> fieldNames = node.fieldNames();
+    while (fieldNames.hasNext()) {
+      names.add(fieldNames.next());
+    }
+    return names;
+  }
+
+  /**
+   * The object data types of the API modules expose their required properties to the template.
+   */
+  public interface ObjectDataType extends DataType {
+
+    List<? extends Property> getRequiredProperties();
+  }
+
+  /**
+   * A fake of an API model interface, answering each bean property from the specified name/value pairs.
+   */
+  static <T> T fake(final Class<T> type, Object... properties) {
+    final Map<String, Object> values = new HashMap<String, Object>();
+    for (int i = 0; i < properties.length; i += 2) {
+      values.put((String) properties[i], properties[i + 1]);
+    }
+
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, new InvocationHandler() {
+      public Object invoke(Object proxy, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if ("equals".equals(name) && args != null && args.length == 1) {
+          return proxy == args[0];
+        }
+        else if ("hashCode".equals(name) && args == null) {
+          return System.identityHashCode(proxy);
+        }
+        else if ("toString".equals(name) && args == null) {
+          return type.getSimpleName() + values;
+        }
+
+        String property = name.startsWith("get") ? name.substring(3) : name.startsWith("is") ? name.substring(2) : name;
+        property = Character.toLowerCase(property.charAt(0)) + property.substring(1);
+        Object value = values.get(property);
+        if (value == null && method.getReturnType().isPrimitive()) {
+          Class<?> returnType = method.getReturnType();
+          value = returnType == boolean.class ? Boolean.FALSE : returnType == float.class ? (Object) 0F : (Object) 0;
+        }
+        return value;
+      }
+    }));
+  }
+
+  static DataTypeReference reference(DataType value, BaseType baseType, DataTypeReference.ContainerType... containers) {
+    return fake(DataTypeReference.class,
+      "value", value,
+      "slug", value == null ? null : value.getSlug(),
+      "label", value == null ? String.valueOf(baseType) : value.getLabel(),
+      "baseType", value == null ? baseType : value.getBaseType(),
+      "containers", containers.length == 0 ? null : Arrays.asList(containers));
+  }
+
+  private static void delete(File file) throws IOException {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+}